@@ -7,8 +7,14 @@ import com.omniflow.ofkit.adapter.http.domain.rules.*;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Orchestrates the adapter pipeline: HttpPort → RuleEngine (success → errors → generic).
@@ -16,84 +22,426 @@ import java.util.Map;
  */
 @ApplicationScoped
 public class AdapterFacade {
+    /** Answer to a client that cannot take the upstream coding when the body decodes past the profile's cap. */
+    static final ProblemDetails BODY_TOO_LARGE =
+            ProblemDetails.of("about:blank", "Réponse amont trop volumineuse", 502, "Decoded upstream body exceeds http.max_decoded_kb");
+    static final String BODY_TOO_LARGE_RULE_ID = "decoded-body-too-large";
+
     private final HttpPort http;
     private final RuleEngine ruleEngine;
     private final ProfileRegistry profiles;
     private final CacheGateway cacheGateway; // optional in tests
     private final RetryGateway retryGateway; // optional in tests
     private final AuthGateway authGateway; // optional in tests
+    private final CircuitBreakerGateway breakerGateway; // optional in tests
+    private final ConcurrencyLimitGateway limitGateway; // optional in tests
+    private final RateLimitGateway rateLimitGateway; // optional in tests
+    // HttpPort bound to each profile's client settings, rebuilt if the profile instance changes
+    private final ConcurrentHashMap<String, BoundPort> bound = new ConcurrentHashMap<>();
+    private final RetryTimer timer = RetryTimer.shared();
 
     public AdapterFacade(HttpPort http, RuleEngine ruleEngine, ProfileRegistry profiles, CacheGateway cacheGateway) {
-        this.http = http;
-        this.ruleEngine = ruleEngine;
-        this.profiles = profiles;
-        this.cacheGateway = cacheGateway;
-        this.retryGateway = null;
-        this.authGateway = null;
+        this(http, ruleEngine, profiles, cacheGateway, null, null);
     }
 
     // Non-CDI convenience constructor for tests without caching
     public AdapterFacade(HttpPort http, RuleEngine ruleEngine, ProfileRegistry profiles) {
-        this.http = http;
-        this.ruleEngine = ruleEngine;
-        this.profiles = profiles;
-        this.cacheGateway = null;
-        this.retryGateway = null;
-        this.authGateway = null;
+        this(http, ruleEngine, profiles, null, null, null);
     }
 
     public AdapterFacade(HttpPort http, RuleEngine ruleEngine, ProfileRegistry profiles, CacheGateway cacheGateway, RetryGateway retryGateway) {
-        this.http = http;
-        this.ruleEngine = ruleEngine;
-        this.profiles = profiles;
-        this.cacheGateway = cacheGateway;
-        this.retryGateway = retryGateway;
-        this.authGateway = null;
+        this(http, ruleEngine, profiles, cacheGateway, retryGateway, null);
     }
 
-    @Inject
     public AdapterFacade(HttpPort http, RuleEngine ruleEngine, ProfileRegistry profiles, CacheGateway cacheGateway, RetryGateway retryGateway, AuthGateway authGateway) {
+        this(http, ruleEngine, profiles, cacheGateway, retryGateway, authGateway, null);
+    }
+
+    public AdapterFacade(HttpPort http, RuleEngine ruleEngine, ProfileRegistry profiles, CacheGateway cacheGateway, RetryGateway retryGateway,
+                         AuthGateway authGateway, CircuitBreakerGateway breakerGateway) {
+        this(http, ruleEngine, profiles, cacheGateway, retryGateway, authGateway, breakerGateway, null);
+    }
+
+    public AdapterFacade(HttpPort http, RuleEngine ruleEngine, ProfileRegistry profiles, CacheGateway cacheGateway, RetryGateway retryGateway,
+                         AuthGateway authGateway, CircuitBreakerGateway breakerGateway, ConcurrencyLimitGateway limitGateway) {
+        this(http, ruleEngine, profiles, cacheGateway, retryGateway, authGateway, breakerGateway, limitGateway, null);
+    }
+
+    @Inject
+    public AdapterFacade(HttpPort http, RuleEngine ruleEngine, ProfileRegistry profiles, CacheGateway cacheGateway, RetryGateway retryGateway,
+                         AuthGateway authGateway, CircuitBreakerGateway breakerGateway, ConcurrencyLimitGateway limitGateway,
+                         RateLimitGateway rateLimitGateway) {
         this.http = http;
         this.ruleEngine = ruleEngine;
         this.profiles = profiles;
         this.cacheGateway = cacheGateway;
         this.retryGateway = retryGateway;
         this.authGateway = authGateway;
+        this.breakerGateway = breakerGateway;
+        this.limitGateway = limitGateway;
+        this.rateLimitGateway = rateLimitGateway;
+        // Build each known profile's client once, up front
+        if (profiles != null && http != null) for (AdapterProfile p : profiles.all()) portFor(p);
     }
 
+    /**
+     * Blocking pipeline: the same stages as {@link #handleAsync}, run on the calling thread with
+     * the HttpPort's blocking {@code execute} and slept retry backoff. Meant for virtual threads
+     * ({@link ExecutionMode#VIRTUAL_THREADS}), where blocking costs no platform thread. The deadline
+     * is kept by cutting each attempt's timeout to the time left; interrupting the thread cancels.
+     */
     public Result handle(String profileId, HttpRequest request) throws Exception {
-        AdapterProfile profile = profiles.findById(profileId)
-                .orElseThrow(() -> new IllegalArgumentException("Unknown profile: " + profileId));
-
-        HttpPort effective = (retryGateway != null)
-                ? (req) -> retryGateway.execute(profile, req, http)
-                : http;
-        // Apply auth headers first
-        HttpRequest authed = (authGateway != null)
-                ? authGateway.apply(profile.authSpec() == null ? new com.omniflow.ofkit.adapter.http.domain.model.AuthSpec.None() : profile.authSpec(), request)
-                : request;
-        // Apply HTTP options to headers for the reactive adapter (timeouts/SSL)
-        authed = adornHttpOptions(profile, authed);
-        HttpResponse upstream = (cacheGateway != null)
-                ? cacheGateway.execute(profile, authed, effective)
-                : effective.execute(authed);
-        ResponseContext ctx = new ResponseContext(upstream);
-        List<SuccessRule> success = profile.successRules();
-        List<ErrorRule> errors = profile.errorRules();
-        return ruleEngine.evaluate(ctx, success, errors, profile.genericProblem());
-    }
-
-    private static HttpRequest adornHttpOptions(com.omniflow.ofkit.adapter.http.domain.model.AdapterProfile profile, HttpRequest req) {
-        var http = profile.httpSpec() != null ? profile.httpSpec() : com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec.defaults();
-        Map<String, List<String>> headers = new java.util.HashMap<>();
-        if (req.headers() != null) req.headers().forEach((k, vs) -> headers.put(k, java.util.List.copyOf(vs)));
-        headers.put("X-OF-Read-Timeout-Ms", java.util.List.of(Integer.toString(http.readTimeoutMs())));
-        headers.put("X-OF-Connect-Timeout-Ms", java.util.List.of(Integer.toString(http.connectTimeoutMs())));
-        if (http.ssl() != null && http.ssl().insecure()) headers.put("X-OF-SSL-Insecure", java.util.List.of("true"));
-        headers.put("X-OF-HTTP-Max-Pool-Size", java.util.List.of(Integer.toString(http.maxPoolSize())));
-        headers.put("X-OF-HTTP-Max-Wait-Queue", java.util.List.of(Integer.toString(http.maxWaitQueueSize())));
-        headers.put("X-OF-HTTP-Keep-Alive", java.util.List.of(Boolean.toString(http.keepAlive())));
-        headers.put("X-OF-HTTP-Keep-Alive-Timeout-S", java.util.List.of(Integer.toString(http.keepAliveTimeoutSeconds())));
-        return new HttpRequest(req.method(), req.uri(), headers, req.body());
+        return Futures.await(pipeline(profileId, request, true));
     }
+
+    /**
+     * Non-blocking pipeline: Auth → Cache → Circuit breaker → Retry → Rate limit → Concurrency limit
+     * → HttpPort run as a chain of stages, so no thread is held while the upstream call is in flight.
+     * A call over a limit or behind an open circuit is answered with its configured problem at once.
+     * Once the request's deadline passes it is answered with the deadline problem; cancelling the
+     * returned stage (the client went away) cancels the upstream work still running for it.
+     */
+    public CompletionStage<Result> handleAsync(String profileId, HttpRequest request) {
+        return pipeline(profileId, request, false);
+    }
+
+    private CompletionStage<Result> pipeline(String profileId, HttpRequest request, boolean blocking) {
+        AdapterProfile profile = profiles.findById(profileId).orElse(null);
+        if (profile == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown profile: " + profileId));
+        }
+
+        DeadlineSpec deadlineSpec = profile.resilience().deadline();
+        request = withDeadline(deadlineSpec, request);
+        Deadline deadline = request.deadline();
+        HttpPort client = portFor(profile);
+        HttpPort timed = deadlined(profile.id(), deadlineSpec.problem(), client);
+        // Each attempt holds a permit only while it is upstream, so its RTT leaves out retry
+        // backoff and rate-limit waits
+        HttpPort limited = (limitGateway != null) ? new HttpPort() {
+            @Override
+            public HttpResponse execute(HttpRequest req) throws Exception {
+                return limitGateway.execute(profile, req, timed);
+            }
+
+            @Override
+            public CompletionStage<HttpResponse> executeAsync(HttpRequest req) {
+                return limitGateway.executeAsync(profile, req, timed);
+            }
+
+            @Override
+            public CompletionStage<StreamingResponse> stream(HttpRequest req) {
+                return limitGateway.stream(profile, req, timed);
+            }
+        } : timed;
+        // Every attempt (retries and hedges included) takes a rate-limit token
+        HttpPort metered = (rateLimitGateway != null) ? new HttpPort() {
+            @Override
+            public HttpResponse execute(HttpRequest req) throws Exception {
+                return rateLimitGateway.execute(profile, req, limited);
+            }
+
+            @Override
+            public CompletionStage<HttpResponse> executeAsync(HttpRequest req) {
+                return rateLimitGateway.executeAsync(profile, req, limited);
+            }
+
+            @Override
+            public CompletionStage<StreamingResponse> stream(HttpRequest req) {
+                return rateLimitGateway.stream(profile, req, limited);
+            }
+        } : limited;
+        HttpPort retried = (retryGateway != null) ? new HttpPort() {
+            @Override
+            public HttpResponse execute(HttpRequest req) throws Exception {
+                return retryGateway.execute(profile, req, metered);
+            }
+
+            @Override
+            public CompletionStage<HttpResponse> executeAsync(HttpRequest req) {
+                return retryGateway.executeAsync(profile, req, metered);
+            }
+
+            @Override
+            public CompletionStage<StreamingResponse> stream(HttpRequest req) {
+                return metered.stream(req); // a streamed body cannot be replayed
+            }
+        } : metered;
+        HttpPort guarded = (breakerGateway != null) ? new HttpPort() {
+            @Override
+            public HttpResponse execute(HttpRequest req) throws Exception {
+                return breakerGateway.execute(profile, req, retried);
+            }
+
+            @Override
+            public CompletionStage<HttpResponse> executeAsync(HttpRequest req) {
+                return breakerGateway.executeAsync(profile, req, retried);
+            }
+
+            @Override
+            public CompletionStage<StreamingResponse> stream(HttpRequest req) {
+                return breakerGateway.stream(profile, req, retried);
+            }
+        } : retried;
+        HttpPort effective = blocking ? inline(guarded) : guarded;
+        CompletionStage<HttpResponse> upstream;
+        try {
+            // Apply auth headers first
+            HttpRequest authed = (authGateway != null)
+                    ? authGateway.apply(profile.authSpec() == null ? new com.omniflow.ofkit.adapter.http.domain.model.AuthSpec.None() : profile.authSpec(), request)
+                    : request;
+            if (profile.streaming().responseBody()) return streamAsync(profile, deadlineSpec.problem(), guarded, authed);
+            HttpRequest outbound = withCompression(profile, authed);
+            upstream = (cacheGateway != null)
+                    ? cacheGateway.executeAsync(profile, outbound, effective)
+                    : effective.executeAsync(outbound);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest inbound = request;
+        return withinDeadline(deadline, deadlineSpec.problem(), upstream.handle((resp, err) -> {
+            if (err != null) {
+                Throwable cause = Futures.unwrap(err);
+                if (cause instanceof RejectedCallException rejected) return new Result.Failure(rejected.problem(), rejected.ruleId());
+                if (cause instanceof DeadlineTimeoutException) return new Result.Failure(deadlineSpec.problem(), DeadlineExceededException.RULE_ID);
+                throw err instanceof CompletionException ce ? ce : new CompletionException(err);
+            }
+            int maxDecoded = (profile.httpSpec() != null ? profile.httpSpec() : HttpClientSpec.defaults()).maxDecodedBytes();
+            ResponseContext ctx = new ResponseContext(resp, maxDecoded);
+            return forClient(ruleEngine.evaluate(ctx, profile.rules(), profile.genericProblem()), ctx, inbound, maxDecoded);
+        }));
+    }
+
+    /**
+     * The request's deadline: the caller's own (if any), tightened to the profile's {@code total_ms}
+     * and to the budget the client sent in the deadline header, which is not forwarded upstream.
+     * A request always gets one, if only to carry its cancellation.
+     */
+    private static HttpRequest withDeadline(DeadlineSpec spec, HttpRequest request) {
+        Deadline deadline = request.deadline() != null ? request.deadline() : Deadline.unbounded();
+        if (!spec.enabled()) return request.withDeadline(deadline);
+        if (spec.totalMs() > 0) deadline = deadline.tightenedTo(spec.totalMs());
+        if (request.headers() == null) return request.withDeadline(deadline);
+        Map<String, List<String>> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> e : request.headers().entrySet()) {
+            if (e.getKey() == null || !e.getKey().equalsIgnoreCase(spec.header())) {
+                headers.put(e.getKey(), e.getValue());
+                continue;
+            }
+            for (String v : e.getValue()) {
+                try {
+                    long ms = Long.parseLong(v.trim());
+                    if (ms > 0) deadline = deadline.tightenedTo(ms);
+                } catch (NumberFormatException ignored) { }
+            }
+        }
+        return headers.size() == request.headers().size() ? request.withDeadline(deadline)
+                : request.withHeaders(headers).withDeadline(deadline);
+    }
+
+    /**
+     * Completes with the deadline problem when the deadline passes first, cancelling the work
+     * still running; cancellation of the returned stage cancels the deadline the same way.
+     */
+    private CompletionStage<Result> withinDeadline(Deadline deadline, ProblemDetails problem, CompletionStage<Result> stage) {
+        CompletableFuture<Result> out = new CompletableFuture<>();
+        stage.whenComplete((r, err) -> {
+            if (err != null) out.completeExceptionally(Futures.unwrap(err));
+            else out.complete(r);
+        });
+        if (out.isDone()) return out;
+        RetryTimer.Timeout timeout = deadline.bounded() ? timer.schedule(() -> {
+            if (out.isDone()) return;
+            deadline.cancel(); // first, so the attempt cut off is counted before the client is answered
+            out.complete(new Result.Failure(problem, DeadlineExceededException.RULE_ID));
+        }, deadline.remainingMs()) : null;
+        out.whenComplete((r, err) -> {
+            if (timeout != null) timeout.cancel();
+            if (out.isCancelled()) deadline.cancel();
+        });
+        return out;
+    }
+
+    /**
+     * Innermost stage, once per attempt: refuses to start past the deadline and aborts the
+     * attempt when the request is cancelled, both as a {@link DeadlineExceededException}. An
+     * attempt the deadline cuts off while running (its own timeout was cut to the time left by
+     * the HttpPort) fails with a {@link DeadlineTimeoutException}, which the breaker and the
+     * concurrency limit count against the upstream.
+     */
+    private static HttpPort deadlined(String profileId, ProblemDetails problem, HttpPort port) {
+        return new HttpPort() {
+            @Override
+            public HttpResponse execute(HttpRequest req) throws Exception {
+                Deadline d = req.deadline();
+                if (d == null) return port.execute(req);
+                if (d.expired()) throw new DeadlineExceededException(profileId, problem);
+                try {
+                    return port.execute(req);
+                } catch (Exception e) {
+                    if (d.expired()) throw cutOff(d, e);
+                    throw e;
+                }
+            }
+
+            @Override
+            public CompletionStage<HttpResponse> executeAsync(HttpRequest req) {
+                Deadline d = req.deadline();
+                if (d == null) return port.executeAsync(req);
+                if (d.expired()) return CompletableFuture.failedFuture(new DeadlineExceededException(profileId, problem));
+                CompletableFuture<HttpResponse> call;
+                try {
+                    call = port.executeAsync(req).toCompletableFuture();
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+                CompletableFuture<HttpResponse> out = new CompletableFuture<>();
+                call.whenComplete((resp, err) -> {
+                    if (err == null) out.complete(resp);
+                    else out.completeExceptionally(d.expired() ? cutOff(d, Futures.unwrap(err)) : Futures.unwrap(err));
+                });
+                // Cancelling the attempt (a lost hedge) or the request aborts the exchange
+                out.whenComplete((resp, err) -> {
+                    if (out.isCancelled()) call.cancel(true);
+                });
+                // the attempt is aborted before anyone is answered; its failure then reads as the
+                // deadline's doing (see above), not as an upstream failure
+                d.onCancel(() -> call.cancel(true));
+                return out;
+            }
+
+            /**
+             * Streams are not cut short by a timer: a long download may outlive the deadline. A
+             * request cancelled before the response head still aborts the exchange.
+             */
+            @Override
+            public CompletionStage<StreamingResponse> stream(HttpRequest req) {
+                Deadline d = req.deadline();
+                if (d == null) return port.stream(req);
+                if (d.isCancelled()) return CompletableFuture.failedFuture(new DeadlineExceededException(profileId, problem));
+                CompletableFuture<StreamingResponse> call;
+                try {
+                    call = port.stream(req).toCompletableFuture();
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+                CompletableFuture<StreamingResponse> out = new CompletableFuture<>();
+                call.whenComplete((resp, err) -> {
+                    if (err != null) out.completeExceptionally(d.expired() ? cutOff(d, Futures.unwrap(err)) : Futures.unwrap(err));
+                    else if (!out.complete(resp)) resp.discard(); // head arrived after the cancel
+                });
+                d.onCancel(() -> call.cancel(true));
+                return out;
+            }
+
+            /** Timed out if the deadline passed, abandoned if the request was cancelled before that. */
+            private Exception cutOff(Deadline d, Throwable cause) {
+                if (!d.passed()) return new DeadlineExceededException(profileId, problem);
+                Exception timeout = new DeadlineTimeoutException(profileId);
+                if (cause != null) timeout.initCause(cause);
+                return timeout;
+            }
+        };
+    }
+
+    /**
+     * Profiles with {@code http.compression} ask the upstream for every coding we can decode,
+     * whatever the client accepts, so the cache holds one compressed form per key.
+     */
+    private static HttpRequest withCompression(AdapterProfile profile, HttpRequest request) {
+        if (profile.httpSpec() == null || !profile.httpSpec().compression()) return request;
+        Map<String, List<String>> headers = new HashMap<>();
+        if (request.headers() != null) request.headers().forEach((k, v) -> {
+            if (!"Accept-Encoding".equalsIgnoreCase(k)) headers.put(k, v);
+        });
+        headers.put("Accept-Encoding", List.of(ContentCoding.acceptEncoding()));
+        return request.withHeaders(headers);
+    }
+
+    /**
+     * A successful response goes out in its upstream coding when the client accepts it, and
+     * decoded otherwise. The decoded body is reused if the rules already needed it; one that
+     * decodes past {@code http.max_decoded_kb} is answered with {@link #BODY_TOO_LARGE}.
+     */
+    private static Result forClient(Result result, ResponseContext ctx, HttpRequest request, int maxDecoded) {
+        if (!(result instanceof Result.Success s)) return result;
+        HttpResponse resp = s.response();
+        if (resp.payload() == null || resp.payload().size() == 0 || ContentCoding.accepted(request.headers(), resp.headers())) return result;
+        BodyBuffer decoded = resp.payload() == ctx.payload() ? ctx.decodedPayload() : null;
+        if (decoded == null) {
+            try {
+                decoded = ContentCoding.decode(resp.headers(), resp.payload(), maxDecoded);
+            } catch (DecodedBodyTooLargeException e) {
+                return new Result.Failure(BODY_TOO_LARGE, BODY_TOO_LARGE_RULE_ID);
+            } catch (IOException e) {
+                return result; // undecodable here too: pass it on as the upstream sent it
+            }
+        }
+        return new Result.Success(new HttpResponse(resp.statusCode(), ContentCoding.withoutEncoding(resp.headers()), decoded), s.ruleId());
+    }
+
+    /**
+     * Streaming profiles: rules are decided on status and headers as soon as they arrive, and a
+     * matched success hands the still-unread body to the caller. The call goes through the
+     * concurrency limit, circuit breaker and rate limit like any other, which judge it on its
+     * head; the body cannot be replayed or stored without buffering it, so this path skips retry
+     * and cache, and the deadline does not cut a transfer short. Cancelling the returned stage
+     * before the head arrives cancels the request, which aborts the exchange.
+     */
+    private CompletionStage<Result> streamAsync(AdapterProfile profile, ProblemDetails deadlineProblem, HttpPort port, HttpRequest request) {
+        CompletableFuture<Result> out = new CompletableFuture<>();
+        port.stream(request).handle((resp, err) -> {
+            if (err != null) {
+                Throwable cause = Futures.unwrap(err);
+                if (cause instanceof RejectedCallException rejected) return new Result.Failure(rejected.problem(), rejected.ruleId());
+                if (cause instanceof DeadlineTimeoutException) return new Result.Failure(deadlineProblem, DeadlineExceededException.RULE_ID);
+                throw err instanceof CompletionException ce ? ce : new CompletionException(err);
+            }
+            Result r = ruleEngine.evaluate(new ResponseContext(resp.head()), profile.rules(), profile.genericProblem());
+            if (r instanceof Result.Success s) return new Result.Streamed(resp, s.ruleId());
+            resp.discard();
+            return r;
+        }).whenComplete((r, err) -> {
+            if (err != null) out.completeExceptionally(Futures.unwrap(err));
+            else if (!out.complete(r) && r instanceof Result.Streamed streamed) streamed.response().discard();
+        });
+        out.whenComplete((r, err) -> {
+            if (out.isCancelled() && request.deadline() != null) request.deadline().cancel();
+        });
+        return out;
+    }
+
+    /**
+     * Runs calls made on the current thread with the blocking {@code execute}, so the stages built
+     * on them complete there too. Calls from other threads (SWR refreshes, a coalesced follower
+     * whose wait timed out on the timer thread) keep the non-blocking path.
+     */
+    private static HttpPort inline(HttpPort port) {
+        Thread owner = Thread.currentThread();
+        return new HttpPort() {
+            @Override
+            public HttpResponse execute(HttpRequest req) throws Exception {
+                return port.execute(req);
+            }
+
+            @Override
+            public CompletionStage<HttpResponse> executeAsync(HttpRequest req) {
+                if (Thread.currentThread() != owner) return port.executeAsync(req);
+                try {
+                    return CompletableFuture.completedFuture(port.execute(req));
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+        };
+    }
+
+    private HttpPort portFor(AdapterProfile profile) {
+        BoundPort b = bound.get(profile.id());
+        if (b != null && b.profile() == profile) return b.port();
+        return bound.compute(profile.id(), (id, old) -> old != null && old.profile() == profile ? old
+                : new BoundPort(profile, http.bind(profile.httpSpec() != null ? profile.httpSpec() : HttpClientSpec.defaults()))).port();
+    }
+
+    private record BoundPort(AdapterProfile profile, HttpPort port) {}
 }
@@ -22,7 +22,7 @@ public class AuthGateway {
         } else if (auth instanceof AuthSpec.ApiKey ak) {
             headers.put(ak.headerName(), List.of(ak.value()));
         }
-        return new HttpRequest(req.method(), req.uri(), headers, req.body());
+        return req.withHeaders(headers);
     }
 }
 
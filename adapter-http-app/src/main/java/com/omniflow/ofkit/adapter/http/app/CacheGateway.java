@@ -3,6 +3,7 @@ package com.omniflow.ofkit.adapter.http.app;
 import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
 import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
 import com.omniflow.ofkit.adapter.http.domain.model.AdapterProfile;
+import com.omniflow.ofkit.adapter.http.domain.model.CachePolicy;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
 import com.omniflow.ofkit.adapter.http.domain.ports.CacheStore;
@@ -13,33 +14,58 @@ import jakarta.inject.Inject;
 
 import java.time.Instant;
 import java.util.*;
-
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read-through HTTP cache for GET requests. Upstream calls are single-flight per {@link CacheKey}:
+ * concurrent misses for the same key share one upstream call (followers wait at most the
+ * profile read timeout before calling upstream themselves), and a stale entry within its SWR
+ * window is refreshed through the {@link RevalidationScheduler}, at most once per key at a time.
+ */
 @ApplicationScoped
 public class CacheGateway {
 
     private final CacheStore cache;
     private final com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort metrics;
+    // Upstream calls in progress per key (misses and expired entries)
+    private final ConcurrentHashMap<CacheKey, CompletableFuture<HttpResponse>> inFlight = new ConcurrentHashMap<>();
+    private final RevalidationScheduler revalidation;
 
     @Inject
-    public CacheGateway(CacheStore cache, com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort metrics) {
+    public CacheGateway(CacheStore cache, com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort metrics,
+                        RevalidationScheduler revalidation) {
         this.cache = cache;
         this.metrics = metrics;
+        this.revalidation = revalidation;
+    }
+
+    public CacheGateway(CacheStore cache, com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort metrics) {
+        this(cache, metrics, RevalidationScheduler.defaults(metrics));
     }
 
     // Test convenience constructor when MetricsPort is not available
     public CacheGateway(CacheStore cache) {
-        this.cache = cache;
-        this.metrics = null;
+        this(cache, null);
     }
 
     public HttpResponse execute(AdapterProfile profile, HttpRequest request, HttpPort http) throws Exception {
+        return Futures.await(executeAsync(profile, request, http));
+    }
+
+    /** Non-blocking variant: cache lookups are synchronous, only the upstream call is awaited asynchronously. */
+    public CompletionStage<HttpResponse> executeAsync(AdapterProfile profile, HttpRequest request, HttpPort http) {
         if (!"GET".equalsIgnoreCase(request.method())) {
-            return http.execute(request);
+            return http.executeAsync(request);
         }
 
         var policy = profile.cachePolicy();
         if (policy == null || !policy.enabled()) {
-            return http.execute(request);
+            return http.executeAsync(request);
         }
 
         CacheKey key = toKey(profile.id(), request, policy);
@@ -61,45 +87,39 @@ public class CacheGateway {
                     if (entry.response().statusCode() >= 400) metrics.incrementCacheNegative(profile.id());
                     else metrics.incrementCacheHit(profile.id());
                 }
-                return withHeader(entry.response(), "X-OF-Cache", "hit");
+                return CompletableFuture.completedFuture(withHeader(entry.response(), "X-OF-Cache", "hit"));
             }
 
             boolean withinSwr = policy.swrTtlSeconds() > 0 && exp != null && now.isBefore(exp.plusSeconds(policy.swrTtlSeconds()));
             if (withinSwr) {
                 if (metrics != null) metrics.incrementCacheSwr(profile.id());
-                // background revalidation (fire-and-forget)
-                java.util.concurrent.CompletableFuture.runAsync(() -> {
-                    try {
-                        Map<String, List<String>> hdrs = new HashMap<>();
-                        if (request.headers() != null) request.headers().forEach((k, vs) -> hdrs.put(k, List.copyOf(vs)));
-                        if (policy.useEtag() && entry.etag() != null) hdrs.put("If-None-Match", List.of(entry.etag()));
-                        if (policy.useLastModified() && entry.lastModified() != null) hdrs.put("If-Modified-Since", List.of(entry.lastModified()));
-                        HttpRequest r2 = new HttpRequest(request.method(), request.uri(), hdrs, request.body());
-                        HttpResponse re;
-                        try {
-                            re = http.execute(r2);
-                        } catch (Exception e) {
-                            return; // give up silently
-                        }
-                        var now2 = Instant.now();
-                        var ttl2 = Math.max(0, policy.defaultTtlSeconds());
-                        if (re.statusCode() == 304) {
-                            CachedEntry renewed = new CachedEntry(entry.response(), now2, now2.plusSeconds(ttl2), entry.etag(), entry.lastModified());
-                            cache.put(key, renewed);
-                            if (metrics != null) metrics.incrementCacheRevalidate(profile.id());
-                        } else if (re.statusCode() >= 200 && re.statusCode() <= 299) {
-                            String etag2 = firstHeader(re.headers(), "ETag");
-                            String lastMod2 = firstHeader(re.headers(), "Last-Modified");
-                            CachedEntry updated = new CachedEntry(re, now2, now2.plusSeconds(ttl2), etag2, lastMod2);
-                            cache.put(key, updated);
-                        }
-                    } catch (Throwable ignored) {}
-                });
+                // background revalidation (fire-and-forget); dispatched off the caller so blocking ports do not delay the stale hit
+                Map<String, List<String>> hdrs = new HashMap<>();
+                if (request.headers() != null) request.headers().forEach((k, vs) -> hdrs.put(k, List.copyOf(vs)));
+                if (policy.useEtag() && entry.etag() != null) hdrs.put("If-None-Match", List.of(entry.etag()));
+                if (policy.useLastModified() && entry.lastModified() != null) hdrs.put("If-Modified-Since", List.of(entry.lastModified()));
+                // the refresh outlives this request: no deadline, and a client going away does not cancel it
+                HttpRequest r2 = request.withHeaders(hdrs).withDeadline(null);
+                // one refresh per key at a time on the bounded revalidation executor
+                revalidation.submit(profile.id(), key, () -> http.executeAsync(r2).thenAccept(re -> {
+                    var now2 = Instant.now();
+                    var ttl2 = Math.max(0, policy.defaultTtlSeconds());
+                    if (re.statusCode() == 304) {
+                        CachedEntry renewed = new CachedEntry(entry.response(), now2, now2.plusSeconds(ttl2), entry.etag(), entry.lastModified());
+                        cache.put(key, renewed, policy);
+                        if (metrics != null) metrics.incrementCacheRevalidate(profile.id());
+                    } else if (re.statusCode() >= 200 && re.statusCode() <= 299) {
+                        String etag2 = firstHeader(re.headers(), "ETag");
+                        String lastMod2 = firstHeader(re.headers(), "Last-Modified");
+                        CachedEntry updated = new CachedEntry(re, now2, now2.plusSeconds(ttl2), etag2, lastMod2);
+                        cache.put(key, updated, policy);
+                    }
+                }));
                 if (metrics != null) {
                     if (entry.response().statusCode() >= 400) metrics.incrementCacheNegative(profile.id());
                     else metrics.incrementCacheSwr(profile.id());
                 }
-                return withHeader(entry.response(), "X-OF-Cache", "swr");
+                return CompletableFuture.completedFuture(withHeader(entry.response(), "X-OF-Cache", "swr"));
             }
             String etag = existing.get().etag();
             String lastMod = existing.get().lastModified();
@@ -107,16 +127,63 @@ public class CacheGateway {
             if (policy.useLastModified() && lastMod != null) headers.put("If-Modified-Since", List.of(lastMod));
         }
 
-        HttpRequest req2 = new HttpRequest(request.method(), request.uri(), headers, request.body());
-        HttpResponse resp = http.execute(req2);
+        HttpRequest req2 = request.withHeaders(headers);
+        Supplier<CompletionStage<HttpResponse>> upstream =
+                () -> http.executeAsync(req2).thenApply(resp -> onUpstream(profile, policy, key, existing, resp));
+
+        CompletableFuture<HttpResponse> flight = new CompletableFuture<>();
+        CompletableFuture<HttpResponse> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return follow(profile, req2, leader, upstream);
+        }
+        CompletionStage<HttpResponse> call;
+        try {
+            call = upstream.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((resp, err) -> {
+            // unregister before completing so late arrivals read the freshly stored entry instead
+            inFlight.remove(key, flight);
+            if (err != null) flight.completeExceptionally(Futures.unwrap(err));
+            else flight.complete(resp);
+        });
+        return flight.copy();
+    }
+
+    /**
+     * Waits for the leader's result for at most the profile read timeout (or the follower's own
+     * deadline, if sooner); if the leader is still running by then the follower calls upstream on
+     * its own. Leader failures are shared, except those owed to the leader's own deadline or
+     * cancellation: the follower then calls upstream with its own.
+     */
+    private CompletionStage<HttpResponse> follow(AdapterProfile profile, HttpRequest request, CompletableFuture<HttpResponse> leader,
+                                                 Supplier<CompletionStage<HttpResponse>> upstream) {
+        if (metrics != null) metrics.incrementCacheCoalesced(profile.id());
+        var spec = profile.httpSpec() != null ? profile.httpSpec() : com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec.defaults();
+        long waitMs = Math.max(1, spec.readTimeoutMs());
+        if (request.deadline() != null) waitMs = request.deadline().attemptTimeoutMs(waitMs);
+        return leader.copy().orTimeout(waitMs, TimeUnit.MILLISECONDS)
+                .handle((resp, err) -> {
+                    if (err == null) return CompletableFuture.completedFuture(resp);
+                    Throwable cause = Futures.unwrap(err);
+                    if (!leader.isDone()) return upstream.get(); // bounded wait elapsed
+                    if (cause instanceof DeadlineExceededException || cause instanceof DeadlineTimeoutException
+                            || cause instanceof CancellationException) return upstream.get();
+                    return CompletableFuture.<HttpResponse>failedFuture(cause);
+                })
+                .thenCompose(stage -> stage);
+    }
 
+    private HttpResponse onUpstream(AdapterProfile profile, CachePolicy policy, CacheKey key,
+                                    Optional<CachedEntry> existing, HttpResponse resp) {
         if (existing.isPresent()) {
             var entry = existing.get();
             var now = Instant.now();
             var ttl = Math.max(0, policy.defaultTtlSeconds());
             if (resp.statusCode() == 304) {
                 CachedEntry renewed = new CachedEntry(entry.response(), now, now.plusSeconds(ttl), entry.etag(), entry.lastModified());
-                cache.put(key, renewed);
+                cache.put(key, renewed, policy);
                 if (metrics != null) metrics.incrementCacheRevalidate(profile.id());
                 return withHeader(renewed.response(), "X-OF-Cache", "revalidate");
             }
@@ -135,15 +202,15 @@ public class CacheGateway {
             var now = Instant.now();
             var ttl = Math.max(0, policy.defaultTtlSeconds());
             // respect max body size
-            if (policy.maxBodyKb() <= 0 || resp.body() == null || (resp.body().length / 1024) <= policy.maxBodyKb()) {
+            if (policy.maxBodyKb() <= 0 || resp.payload() == null || (resp.payload().size() / 1024) <= policy.maxBodyKb()) {
                 CachedEntry entry = new CachedEntry(resp, now, now.plusSeconds(ttl), etag, lastMod);
-                cache.put(key, entry);
+                cache.put(key, entry, policy);
             }
         } else if (policy.negativeTtlSeconds() > 0 && resp.statusCode() >= 400 && resp.statusCode() != 304) {
             var now = Instant.now();
-            if (policy.maxBodyKb() <= 0 || resp.body() == null || (resp.body().length / 1024) <= policy.maxBodyKb()) {
+            if (policy.maxBodyKb() <= 0 || resp.payload() == null || (resp.payload().size() / 1024) <= policy.maxBodyKb()) {
                 CachedEntry entry = new CachedEntry(resp, now, now.plusSeconds(policy.negativeTtlSeconds()), null, null);
-                cache.put(key, entry);
+                cache.put(key, entry, policy);
             }
         }
         if (metrics != null && existing.isEmpty()) metrics.incrementCacheMiss(profile.id());
@@ -183,6 +250,6 @@ public class CacheGateway {
         Map<String, List<String>> h = new HashMap<>();
         if (resp.headers() != null) resp.headers().forEach((k, v) -> h.put(k, List.copyOf(v)));
         h.computeIfAbsent(name, k -> new java.util.ArrayList<>()).add(value);
-        return new HttpResponse(resp.statusCode(), h, resp.body());
+        return new HttpResponse(resp.statusCode(), h, resp.payload());
     }
 }
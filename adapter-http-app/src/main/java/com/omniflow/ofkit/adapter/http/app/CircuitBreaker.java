@@ -0,0 +1,99 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.CircuitBreakerSpec;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Closed/open/half-open state machine over a ring buffer of the last {@code window} outcomes.
+ * Recording an outcome swaps it into the next slot and adjusts running counts by what it
+ * replaced, so the failure rate is known without scanning; all state is in atomics and no
+ * call blocks. Counts are approximate for a moment while the ring is reset on closing.
+ */
+final class CircuitBreaker {
+    static final int CLOSED = 0;
+    static final int OPEN = 1;
+    static final int HALF_OPEN = 2;
+
+    private static final int EMPTY = 0;
+    private static final int SUCCESS = 1;
+    private static final int FAILURE = 2;
+
+    final CircuitBreakerSpec spec;
+    private final int window;
+    private final AtomicIntegerArray ring;
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicInteger trialPermits = new AtomicInteger();
+    private final AtomicInteger trialSuccesses = new AtomicInteger();
+    private final LongSupplier clockMs;
+    private volatile long openedAt;
+
+    CircuitBreaker(CircuitBreakerSpec spec) {
+        this(spec, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(CircuitBreakerSpec spec, LongSupplier clockMs) {
+        this.spec = spec;
+        this.window = Math.max(1, spec.window());
+        this.ring = new AtomicIntegerArray(window);
+        this.clockMs = clockMs;
+    }
+
+    int state() {
+        return state.get();
+    }
+
+    /** Whether a call may go upstream now; when open past {@code openMs}, lets the trial calls through. */
+    boolean tryAcquire() {
+        int s = state.get();
+        if (s == CLOSED) return true;
+        if (s == OPEN) {
+            if (clockMs.getAsLong() - openedAt < spec.openMs()) return false;
+            if (state.compareAndSet(OPEN, HALF_OPEN)) {
+                trialSuccesses.set(0);
+                trialPermits.set(Math.max(1, spec.halfOpenCalls()));
+            }
+        }
+        return trialPermits.getAndDecrement() > 0;
+    }
+
+    /** Outcome of a call let through by {@link #tryAcquire()}. */
+    void onResult(boolean success) {
+        int s = state.get();
+        if (s == HALF_OPEN) {
+            if (!success) open(HALF_OPEN);
+            else if (trialSuccesses.incrementAndGet() >= Math.max(1, spec.halfOpenCalls()) && state.compareAndSet(HALF_OPEN, CLOSED)) reset();
+            return;
+        }
+        if (s != CLOSED) return; // finished after the circuit opened: already accounted for
+        int slot = (int) (next.getAndIncrement() % window);
+        int old = ring.getAndSet(slot, success ? SUCCESS : FAILURE);
+        if (old == EMPTY) recorded.incrementAndGet();
+        if (old == FAILURE) failures.decrementAndGet();
+        int failed = success ? failures.get() : failures.incrementAndGet();
+        int calls = recorded.get();
+        if (calls >= Math.max(1, spec.minCalls()) && failed * 100L >= (long) spec.failureRatePercent() * calls) open(CLOSED);
+    }
+
+    /** Gives back a trial permit taken by a call that never reached the upstream. */
+    void release() {
+        if (state.get() == HALF_OPEN) trialPermits.incrementAndGet();
+    }
+
+    private void open(int from) {
+        openedAt = clockMs.getAsLong();
+        state.compareAndSet(from, OPEN);
+    }
+
+    private void reset() {
+        for (int i = 0; i < window; i++) ring.set(i, EMPTY);
+        recorded.set(0);
+        failures.set(0);
+    }
+}
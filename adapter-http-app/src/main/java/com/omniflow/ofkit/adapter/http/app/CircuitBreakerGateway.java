@@ -0,0 +1,185 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.AdapterProfile;
+import com.omniflow.ofkit.adapter.http.domain.model.CircuitBreakerSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.StreamingResponse;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-profile (or per-host) circuit breakers in front of the retried upstream call. While a
+ * circuit is open, calls fail at once with {@link CircuitOpenException} instead of waiting out
+ * connect/read timeouts and retries; cache hits are answered before this gateway and keep working.
+ * One outcome is recorded per request, after its retries: a transport error or a 5xx is a failure,
+ * while a call refused before reaching the upstream (rate limit) records nothing.
+ */
+@ApplicationScoped
+public class CircuitBreakerGateway {
+
+    /** Per-host breakers kept for one profile; the least recently used host is forgotten past it. */
+    static final int MAX_HOSTS = 256;
+
+    private final MetricsPort metrics;
+    // By profile id, rebuilt if the profile's settings change: one breaker, or its per-host breakers
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, HostBreakers> hostBreakers = new ConcurrentHashMap<>();
+
+    @Inject
+    public CircuitBreakerGateway(MetricsPort metrics) {
+        this.metrics = metrics;
+    }
+
+    // Test convenience constructor when MetricsPort is not available
+    public CircuitBreakerGateway() {
+        this(null);
+    }
+
+    public HttpResponse execute(AdapterProfile profile, HttpRequest request, HttpPort http) throws Exception {
+        CircuitBreaker breaker = breakerFor(profile, request);
+        if (breaker == null) return http.execute(request);
+        acquire(profile, breaker);
+        HttpResponse resp;
+        try {
+            resp = http.execute(request);
+        } catch (RejectedCallException e) {
+            breaker.release();
+            throw e;
+        } catch (Exception e) {
+            breaker.onResult(false);
+            throw e;
+        }
+        breaker.onResult(succeeded(resp));
+        return resp;
+    }
+
+    public CompletionStage<HttpResponse> executeAsync(AdapterProfile profile, HttpRequest request, HttpPort http) {
+        return guard(profile, request, () -> http.executeAsync(request), resp -> resp);
+    }
+
+    /** A streamed response is judged on its status: the outcome is recorded when the head arrives. */
+    public CompletionStage<StreamingResponse> stream(AdapterProfile profile, HttpRequest request, HttpPort http) {
+        return guard(profile, request, () -> http.stream(request), StreamingResponse::head);
+    }
+
+    private <R> CompletionStage<R> guard(AdapterProfile profile, HttpRequest request, Supplier<CompletionStage<R>> call,
+                                         Function<R, HttpResponse> head) {
+        CircuitBreaker breaker = breakerFor(profile, request);
+        if (breaker == null) return call.get();
+        try {
+            acquire(profile, breaker);
+        } catch (CircuitOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletionStage<R> stage;
+        try {
+            stage = call.get();
+        } catch (RuntimeException e) {
+            breaker.onResult(false);
+            throw e;
+        }
+        return stage.whenComplete((resp, err) -> {
+            if (err != null && Futures.unwrap(err) instanceof RejectedCallException) breaker.release();
+            else breaker.onResult(err == null && resp != null && succeeded(head.apply(resp)));
+        });
+    }
+
+    private void acquire(AdapterProfile profile, CircuitBreaker breaker) {
+        if (breaker.tryAcquire()) return;
+        if (metrics != null) metrics.incrementCircuitRejected(profile.id());
+        throw new CircuitOpenException(profile.id(), breaker.spec.problem());
+    }
+
+    private static boolean succeeded(HttpResponse resp) {
+        return resp != null && resp.statusCode() < 500;
+    }
+
+    private CircuitBreaker breakerFor(AdapterProfile profile, HttpRequest request) {
+        CircuitBreakerSpec spec = profile.resilience().circuitBreaker();
+        if (!spec.enabled()) return null;
+        String host = spec.perHost() && request.uri() != null ? hostOf(request) : "";
+        if (!host.isEmpty()) return hostsFor(profile.id(), spec).get(host);
+        CircuitBreaker b = breakers.get(profile.id());
+        if (b != null && b.spec == spec) return b;
+        return breakers.compute(profile.id(), (id, old) -> {
+            if (old != null && old.spec == spec) return old;
+            if (metrics != null && old == null) metrics.gaugeCircuitState(id, () -> state(id));
+            return new CircuitBreaker(spec);
+        });
+    }
+
+    private HostBreakers hostsFor(String profileId, CircuitBreakerSpec spec) {
+        HostBreakers h = hostBreakers.get(profileId);
+        if (h != null && h.spec == spec) return h;
+        return hostBreakers.compute(profileId, (id, old) -> {
+            if (old != null && old.spec == spec) return old;
+            if (metrics != null && old == null) metrics.gaugeCircuitOpenHosts(id, () -> openHosts(id));
+            return new HostBreakers(spec);
+        });
+    }
+
+    /** Looked up by profile id on each read, so the gauge survives the breaker being rebuilt on reload. */
+    private long state(String profileId) {
+        CircuitBreaker b = breakers.get(profileId);
+        return b == null ? CircuitBreaker.CLOSED : b.state();
+    }
+
+    /** Per-host breakers currently kept for the profile. */
+    int trackedHosts(String profileId) {
+        HostBreakers h = hostBreakers.get(profileId);
+        return h == null ? 0 : h.size();
+    }
+
+    private long openHosts(String profileId) {
+        HostBreakers h = hostBreakers.get(profileId);
+        return h == null ? 0 : h.notClosed();
+    }
+
+    /**
+     * Breakers of a {@code per_host} profile, by host and port. The host comes from the request
+     * (a client may pick its target base), so at most {@link #MAX_HOSTS} are kept, in LRU order.
+     */
+    private static final class HostBreakers {
+        final CircuitBreakerSpec spec;
+        private final LinkedHashMap<String, CircuitBreaker> byHost = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CircuitBreaker> eldest) {
+                return size() > MAX_HOSTS;
+            }
+        };
+
+        HostBreakers(CircuitBreakerSpec spec) {
+            this.spec = spec;
+        }
+
+        synchronized CircuitBreaker get(String host) {
+            return byHost.computeIfAbsent(host, h -> new CircuitBreaker(spec));
+        }
+
+        synchronized int size() {
+            return byHost.size();
+        }
+
+        synchronized long notClosed() {
+            return byHost.values().stream().filter(b -> b.state() != CircuitBreaker.CLOSED).count();
+        }
+    }
+
+    private static String hostOf(HttpRequest request) {
+        String host = request.uri().getHost();
+        if (host == null) return "";
+        int port = request.uri().getPort();
+        return port < 0 ? host : host + ':' + port;
+    }
+}
@@ -0,0 +1,17 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+
+/** A call refused because the circuit is open; the facade answers with {@link #problem()}. */
+public class CircuitOpenException extends RejectedCallException {
+    public static final String RULE_ID = "circuit-open";
+
+    public CircuitOpenException(String circuit, ProblemDetails problem) {
+        super("Circuit open: " + circuit, problem);
+    }
+
+    @Override
+    public String ruleId() {
+        return RULE_ID;
+    }
+}
@@ -0,0 +1,128 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.AdapterProfile;
+import com.omniflow.ofkit.adapter.http.domain.model.ConcurrencyLimitSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.StreamingResponse;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-profile adaptive concurrency limits in front of the upstream call. Over the limit, calls fail
+ * at once with {@link LimitExceededException} instead of waiting in the HTTP client's pool queue,
+ * which is what drives tail latency up under overload. The facade applies it per attempt, inside
+ * retry and rate limiting, so an RTT sample is one upstream exchange and never includes backoff
+ * or a wait for a token; a transport error, 429 or 503 counts as a drop, and an attempt refused
+ * further down (cancelled, or past its deadline before it started) gives its permit back without
+ * a sample.
+ */
+@ApplicationScoped
+public class ConcurrencyLimitGateway {
+
+    private final MetricsPort metrics;
+    // Limiters by profile id; rebuilt if the profile's settings change
+    private final ConcurrentHashMap<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Inject
+    public ConcurrencyLimitGateway(MetricsPort metrics) {
+        this.metrics = metrics;
+    }
+
+    // Test convenience constructor when MetricsPort is not available
+    public ConcurrencyLimitGateway() {
+        this(null);
+    }
+
+    public HttpResponse execute(AdapterProfile profile, HttpRequest request, HttpPort http) throws Exception {
+        ConcurrencyLimiter limiter = limiterFor(profile);
+        if (limiter == null) return http.execute(request);
+        acquire(profile, limiter);
+        long start = System.nanoTime();
+        HttpResponse resp;
+        try {
+            resp = http.execute(request);
+        } catch (RejectedCallException e) {
+            limiter.release();
+            throw e;
+        } catch (Exception e) {
+            limiter.onSample(System.nanoTime() - start, true);
+            throw e;
+        }
+        limiter.onSample(System.nanoTime() - start, dropped(resp));
+        return resp;
+    }
+
+    public CompletionStage<HttpResponse> executeAsync(AdapterProfile profile, HttpRequest request, HttpPort http) {
+        return limit(profile, () -> http.executeAsync(request), resp -> resp);
+    }
+
+    /**
+     * A streamed call holds its permit until the response head arrives, which is also its RTT
+     * sample; the body then flows at the client's pace and no longer counts against the limit.
+     */
+    public CompletionStage<StreamingResponse> stream(AdapterProfile profile, HttpRequest request, HttpPort http) {
+        return limit(profile, () -> http.stream(request), StreamingResponse::head);
+    }
+
+    private <R> CompletionStage<R> limit(AdapterProfile profile, Supplier<CompletionStage<R>> call, Function<R, HttpResponse> head) {
+        ConcurrencyLimiter limiter = limiterFor(profile);
+        if (limiter == null) return call.get();
+        try {
+            acquire(profile, limiter);
+        } catch (LimitExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        CompletionStage<R> stage;
+        try {
+            stage = call.get();
+        } catch (RuntimeException e) {
+            limiter.onSample(System.nanoTime() - start, true);
+            throw e;
+        }
+        return stage.whenComplete((resp, err) -> {
+            if (err != null && Futures.unwrap(err) instanceof RejectedCallException) limiter.release();
+            else limiter.onSample(System.nanoTime() - start, err != null || dropped(resp == null ? null : head.apply(resp)));
+        });
+    }
+
+    private void acquire(AdapterProfile profile, ConcurrencyLimiter limiter) {
+        if (limiter.tryAcquire()) return;
+        if (metrics != null) metrics.incrementLimitRejected(profile.id());
+        throw new LimitExceededException(profile.id(), limiter.limit(), limiter.spec.problem());
+    }
+
+    private static boolean dropped(HttpResponse resp) {
+        return resp == null || resp.statusCode() == 429 || resp.statusCode() == 503;
+    }
+
+    private ConcurrencyLimiter limiterFor(AdapterProfile profile) {
+        ConcurrencyLimitSpec spec = profile.resilience().concurrencyLimit();
+        if (!spec.enabled()) return null;
+        ConcurrencyLimiter l = limiters.get(profile.id());
+        if (l != null && l.spec == spec) return l;
+        return limiters.compute(profile.id(), (id, old) -> {
+            if (old != null && old.spec == spec) return old;
+            if (metrics != null && old == null) {
+                metrics.gaugeConcurrencyLimit(id, () -> current(id, true), () -> current(id, false));
+            }
+            return new ConcurrencyLimiter(spec);
+        });
+    }
+
+    /** The profile's current limit or calls in flight, 0 until its first call. */
+    private long current(String profileId, boolean limit) {
+        ConcurrencyLimiter l = limiters.get(profileId);
+        if (l == null) return 0;
+        return limit ? l.limit() : l.inFlight();
+    }
+}
@@ -0,0 +1,92 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.ConcurrencyLimitSpec;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Adaptive in-flight limit of one profile. Permits are taken with a CAS on the in-flight count and
+ * never queued: a call over the limit is refused at once. Each finished call feeds its RTT back;
+ * the limit (a double, kept as raw bits in an atomic long) only grows while the profile actually
+ * runs near it, so an idle profile does not inflate it. The no-load RTT is the smallest RTT seen
+ * since the last probe, re-taken every {@value #BASELINE_PROBE} samples to follow the upstream.
+ */
+final class ConcurrencyLimiter {
+    static final int BASELINE_PROBE = 1000;
+    private static final double SMOOTHING = 0.2;
+
+    final ConcurrencyLimitSpec spec;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong noLoadRtt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicInteger samples = new AtomicInteger();
+
+    ConcurrencyLimiter(ConcurrencyLimitSpec spec) {
+        this.spec = spec;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(clamp(spec.initialLimit())));
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Takes a permit if fewer than {@link #limit()} calls are in flight. */
+    boolean tryAcquire() {
+        int limit = limit();
+        for (;;) {
+            int n = inFlight.get();
+            if (n >= limit) return false;
+            if (inFlight.compareAndSet(n, n + 1)) return true;
+        }
+    }
+
+    /** Releases a permit and adjusts the limit: {@code dropped} is a timeout, transport error or overload status. */
+    void onSample(long rttNanos, boolean dropped) {
+        int running = inFlight.getAndDecrement();
+        if (dropped) {
+            update(limit -> limit * spec.backoffRatio());
+            return;
+        }
+        long rtt = Math.max(1, rttNanos);
+        long baseline = samples.incrementAndGet() % BASELINE_PROBE == 0
+                ? swap(rtt)
+                : noLoadRtt.accumulateAndGet(rtt, Math::min);
+        update(limit -> {
+            if (running * 2 < limit) return limit; // not running near the limit: no evidence it is too low
+            if (spec.algorithm() == ConcurrencyLimitSpec.Algorithm.AIMD) return limit + 1;
+            double gradient = Math.max(0.5, Math.min(1.0, spec.rttTolerance() * baseline / rtt));
+            double target = limit * gradient + Math.sqrt(limit);
+            return limit * (1 - SMOOTHING) + target * SMOOTHING;
+        });
+    }
+
+    /** Releases a permit without a sample (the call never reached the upstream). */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private long swap(long rtt) {
+        noLoadRtt.set(rtt);
+        return rtt;
+    }
+
+    private void update(DoubleUnaryOperator f) {
+        long prev;
+        long next;
+        do {
+            prev = limitBits.get();
+            next = Double.doubleToRawLongBits(clamp(f.applyAsDouble(Double.longBitsToDouble(prev))));
+        } while (prev != next && !limitBits.compareAndSet(prev, next));
+    }
+
+    private double clamp(double limit) {
+        int min = Math.max(1, spec.minLimit());
+        return Math.max(min, Math.min(Math.max(min, spec.maxLimit()), limit));
+    }
+}
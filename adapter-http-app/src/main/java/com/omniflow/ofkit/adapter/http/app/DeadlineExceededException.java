@@ -0,0 +1,21 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+
+/**
+ * A call refused because the request's deadline had already passed, or abandoned because the
+ * request was cancelled (the client went away). An attempt the deadline cuts off while running
+ * fails with {@link DeadlineTimeoutException} instead.
+ */
+public class DeadlineExceededException extends RejectedCallException {
+    public static final String RULE_ID = "deadline-exceeded";
+
+    public DeadlineExceededException(String profileId, ProblemDetails problem) {
+        super("Deadline exceeded: " + profileId, problem);
+    }
+
+    @Override
+    public String ruleId() {
+        return RULE_ID;
+    }
+}
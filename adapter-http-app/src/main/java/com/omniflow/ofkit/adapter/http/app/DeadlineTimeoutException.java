@@ -0,0 +1,15 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * An attempt still running when the request's deadline passed. Unlike a call refused past the
+ * deadline ({@link DeadlineExceededException}) the upstream was given the whole budget and did
+ * not answer, so the circuit breaker counts it as a failure and the concurrency limit as a drop;
+ * the facade answers with the deadline problem.
+ */
+public class DeadlineTimeoutException extends TimeoutException {
+    public DeadlineTimeoutException(String profileId) {
+        super("Deadline passed mid-flight: " + profileId);
+    }
+}
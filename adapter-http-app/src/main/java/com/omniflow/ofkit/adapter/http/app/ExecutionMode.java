@@ -0,0 +1,31 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import java.util.Locale;
+
+/**
+ * How the adapter runs a request ({@code ofkit.http.execution-mode}).
+ */
+public enum ExecutionMode {
+    /** Non-blocking stages, continued on the event loop and the HTTP client's threads (default). */
+    ASYNC,
+    /**
+     * The blocking pipeline ({@link AdapterFacade#handle}) on a virtual thread per request: upstream
+     * calls and retry backoff block the virtual thread only. Needs JDK 21+.
+     */
+    VIRTUAL_THREADS;
+
+    /** {@code async} or {@code virtual-threads}; blank means {@link #ASYNC}. */
+    public static ExecutionMode parse(String value) {
+        if (value == null || value.isBlank()) return ASYNC;
+        return switch (value.trim().toLowerCase(Locale.ROOT).replace('_', '-')) {
+            case "async" -> ASYNC;
+            case "virtual-threads" -> VIRTUAL_THREADS;
+            default -> throw new IllegalArgumentException("Unknown execution mode: " + value);
+        };
+    }
+
+    /** This mode when the runtime supports it, {@link #ASYNC} otherwise. */
+    public ExecutionMode effective() {
+        return this == VIRTUAL_THREADS && !VirtualThreads.available() ? ASYNC : this;
+    }
+}
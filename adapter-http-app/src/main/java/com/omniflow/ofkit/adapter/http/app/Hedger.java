@@ -0,0 +1,129 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.HedgeSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hedging state of one profile: a window of recent upstream latencies for the percentile delay
+ * and a credit balance for the budget. Each request deposits {@code budgetPercent} of a hedge
+ * and each hedge spends a whole one, so hedges stay within that share of traffic; the balance is
+ * capped so an idle period does not bank a burst. Lock-free; shared by all calls of the profile.
+ */
+final class Hedger {
+    private static final int WINDOW = 256;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final long HEDGE = 10_000; // credit one hedge costs
+    private static final long MAX_CREDIT = 10 * HEDGE;
+
+    final HedgeSpec spec;
+    private final String profileId;
+    private final MetricsPort metrics;
+    private final RetryTimer timer;
+    private final long deposit;
+    private final AtomicLong credit = new AtomicLong();
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW);
+    private final AtomicLong samples = new AtomicLong();
+    private volatile long percentileMs = -1;
+
+    Hedger(String profileId, HedgeSpec spec, MetricsPort metrics, RetryTimer timer) {
+        this.profileId = profileId;
+        this.spec = spec;
+        this.metrics = metrics;
+        this.timer = timer;
+        this.deposit = Math.round(Math.max(0, Math.min(100, spec.budgetPercent())) * HEDGE / 100);
+    }
+
+    /**
+     * Sends {@code request} and, if no response has arrived after the hedge delay and the budget
+     * allows, a second copy. The first response wins and the other attempt is cancelled; a failed
+     * attempt waits for the other one while it is still running.
+     */
+    CompletableFuture<HttpResponse> execute(HttpRequest request, HttpPort http) {
+        credit.getAndUpdate(c -> Math.min(MAX_CREDIT, c + deposit));
+        CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+        AtomicBoolean decided = new AtomicBoolean();
+        AtomicReference<CompletableFuture<HttpResponse>> hedge = new AtomicReference<>();
+        CompletableFuture<HttpResponse> primary = attempt(request, http);
+        primary.whenComplete((resp, err) -> settle(result, decided, hedge.get(), resp, err, false));
+        if (primary.isDone()) return result;
+        RetryTimer.Timeout timeout = timer.schedule(() -> {
+            if (decided.get() || !tryAcquire()) return;
+            if (metrics != null) metrics.incrementHedgeSent(profileId);
+            CompletableFuture<HttpResponse> second = attempt(request, http);
+            hedge.set(second);
+            if (decided.get()) {
+                second.cancel(true);
+                return;
+            }
+            second.whenComplete((resp, err) -> settle(result, decided, primary, resp, err, true));
+        }, delayMs());
+        result.whenComplete((resp, err) -> timeout.cancel());
+        return result;
+    }
+
+    long delayMs() {
+        long observed = percentileMs;
+        return spec.delayPercentile() > 0 && observed >= 0 ? Math.max(1, observed) : spec.delayMs();
+    }
+
+    /** The loser is cancelled before the result completes, so callers never see it still running. */
+    private void settle(CompletableFuture<HttpResponse> result, AtomicBoolean decided, CompletableFuture<HttpResponse> other,
+                        HttpResponse resp, Throwable err, boolean hedged) {
+        if (err == null) {
+            if (decided.compareAndSet(false, true)) {
+                if (other != null) other.cancel(true);
+                if (hedged && metrics != null) metrics.incrementHedgeWon(profileId);
+                result.complete(resp);
+            }
+        } else if ((other == null || other.isDone()) && decided.compareAndSet(false, true)) {
+            // Whichever attempt completes last sees the other one done, so the result always settles
+            result.completeExceptionally(Futures.unwrap(err));
+        }
+    }
+
+    private CompletableFuture<HttpResponse> attempt(HttpRequest request, HttpPort http) {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse> f;
+        try {
+            f = http.executeAsync(request).toCompletableFuture();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        f.whenComplete((resp, err) -> {
+            if (err == null) record((System.nanoTime() - start) / 1_000_000L);
+        });
+        return f;
+    }
+
+    private boolean tryAcquire() {
+        long c;
+        do {
+            c = credit.get();
+            if (c < HEDGE) return false;
+        } while (!credit.compareAndSet(c, c - HEDGE));
+        return true;
+    }
+
+    private void record(long ms) {
+        long n = samples.getAndIncrement() + 1;
+        latencies.set((int) ((n - 1) % WINDOW), ms);
+        if (spec.delayPercentile() <= 0 || n < MIN_SAMPLES || n % RECOMPUTE_EVERY != 0) return;
+        int size = (int) Math.min(n, WINDOW);
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) sorted[i] = latencies.get(i);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(Math.min(100, spec.delayPercentile()) / 100.0 * size);
+        percentileMs = sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -27,6 +27,11 @@ public class InMemoryProfileRegistry implements ProfileRegistry {
         return Optional.ofNullable(byId.get(id));
     }
 
+    @Override
+    public Collection<AdapterProfile> all() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
     private static AdapterProfile defaultProfile() {
         SuccessRule ok2xx = new SuccessRule("ok-2xx", new StatusPredicate(200, 299), null);
         ErrorRule rateLimit429 = new ErrorRule(
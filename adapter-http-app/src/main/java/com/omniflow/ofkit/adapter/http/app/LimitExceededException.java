@@ -0,0 +1,17 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+
+/** A call refused because the profile's concurrency limit was reached. */
+public class LimitExceededException extends RejectedCallException {
+    public static final String RULE_ID = "concurrency-limit";
+
+    public LimitExceededException(String profileId, int limit, ProblemDetails problem) {
+        super("Concurrency limit " + limit + " reached: " + profileId, problem);
+    }
+
+    @Override
+    public String ruleId() {
+        return RULE_ID;
+    }
+}
@@ -2,9 +2,16 @@ package com.omniflow.ofkit.adapter.http.app;
 
 import com.omniflow.ofkit.adapter.http.domain.model.AdapterProfile;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProfileRegistry {
     Optional<AdapterProfile> findById(String id);
+
+    /** All loaded profiles, used to prepare per-profile resources up front; empty if not enumerable. */
+    default Collection<AdapterProfile> all() {
+        return List.of();
+    }
 }
 
@@ -0,0 +1,146 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.AdapterProfile;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.RateLimitSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.StreamingResponse;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-profile token-bucket rate limits on upstream attempts, to stay within a partner's quota
+ * rather than collect its 429s. Every attempt takes a token, retries and hedges included. Without
+ * one, the attempt waits for the next token on the {@link RetryTimer} wheel if it comes within
+ * {@code max_wait_ms} (and before the request's deadline), and otherwise fails with
+ * {@link RateLimitedException}, which is not retried. An attempt cancelled while it waits (a
+ * lost hedge, a client gone) gives its token back.
+ */
+@ApplicationScoped
+public class RateLimitGateway {
+
+    private final MetricsPort metrics;
+    private final RetryTimer timer;
+    // Limiters by profile id; rebuilt if the profile's settings change
+    private final ConcurrentHashMap<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Inject
+    public RateLimitGateway(MetricsPort metrics) {
+        this(metrics, RetryTimer.shared());
+    }
+
+    RateLimitGateway(MetricsPort metrics, RetryTimer timer) {
+        this.metrics = metrics;
+        this.timer = timer;
+    }
+
+    // Test convenience constructor when MetricsPort is not available
+    public RateLimitGateway() {
+        this(null);
+    }
+
+    public HttpResponse execute(AdapterProfile profile, HttpRequest request, HttpPort http) throws Exception {
+        RateLimiter limiter = limiterFor(profile);
+        if (limiter == null) return http.execute(request);
+        RateLimiter.RouteBucket route = routeFor(limiter, request);
+        long waitNanos = acquire(profile, limiter, route, request);
+        if (waitNanos > 0) {
+            // Parks the caller (cheap on a virtual thread) on the timer wheel rather than sleeping
+            CompletableFuture<Void> slot = timer.delay(toMillis(waitNanos));
+            try {
+                slot.get();
+            } catch (InterruptedException e) {
+                slot.cancel(false);
+                limiter.refund(route);
+                throw e;
+            }
+        }
+        return http.execute(request);
+    }
+
+    public CompletionStage<HttpResponse> executeAsync(AdapterProfile profile, HttpRequest request, HttpPort http) {
+        return meter(profile, request, () -> http.executeAsync(request));
+    }
+
+    /** A streamed call takes a token like any attempt; its body is not metered. */
+    public CompletionStage<StreamingResponse> stream(AdapterProfile profile, HttpRequest request, HttpPort http) {
+        return meter(profile, request, () -> http.stream(request));
+    }
+
+    private <R> CompletionStage<R> meter(AdapterProfile profile, HttpRequest request, Supplier<CompletionStage<R>> call) {
+        RateLimiter limiter = limiterFor(profile);
+        if (limiter == null) return call.get();
+        RateLimiter.RouteBucket route = routeFor(limiter, request);
+        long waitNanos;
+        try {
+            waitNanos = acquire(profile, limiter, route, request);
+        } catch (RateLimitedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (waitNanos == 0) return call.get();
+        CompletableFuture<R> result = new CompletableFuture<>();
+        RetryTimer.Timeout timeout = timer.schedule(() -> {
+            if (result.isDone()) { // cancelled while waiting, e.g. a hedge that lost
+                limiter.refund(route);
+                return;
+            }
+            CompletionStage<R> stage;
+            try {
+                stage = call.get();
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            CompletableFuture<R> f = stage.toCompletableFuture();
+            result.whenComplete((r, e) -> f.cancel(true));
+            f.whenComplete((r, e) -> {
+                if (e != null) result.completeExceptionally(Futures.unwrap(e));
+                else result.complete(r);
+            });
+        }, toMillis(waitNanos));
+        // cancelled before the slot came: the token goes back (once the slot is due, the task does it)
+        result.whenComplete((r, e) -> {
+            if (timeout.cancel()) limiter.refund(route);
+        });
+        return result;
+    }
+
+    /** Nanos to wait for a token; throws when none comes within the profile's {@code max_wait_ms}. */
+    private long acquire(AdapterProfile profile, RateLimiter limiter, RateLimiter.RouteBucket route, HttpRequest request) {
+        long maxWaitMs = limiter.spec.maxWaitMs();
+        // never wait past the request's deadline for a token
+        if (request.deadline() != null) maxWaitMs = Math.min(maxWaitMs, request.deadline().remainingMs());
+        long waitNanos = limiter.reserve(route, TimeUnit.MILLISECONDS.toNanos(maxWaitMs));
+        if (waitNanos < 0) {
+            String bucket = waitNanos == RateLimiter.ROUTE_EMPTY ? route.prefix() : "";
+            if (metrics != null) metrics.incrementRateLimitRejected(profile.id(), bucket);
+            throw new RateLimitedException(bucket.isEmpty() ? profile.id() : profile.id() + ':' + bucket, limiter.spec.problem());
+        }
+        if (metrics != null && waitNanos > 0) metrics.recordRateLimitWait(profile.id(), waitNanos);
+        return waitNanos;
+    }
+
+    private static RateLimiter.RouteBucket routeFor(RateLimiter limiter, HttpRequest request) {
+        return limiter.routeFor(request.uri() == null ? null : request.uri().getRawPath());
+    }
+
+    private static long toMillis(long nanos) {
+        return (nanos + 999_999) / 1_000_000;
+    }
+
+    private RateLimiter limiterFor(AdapterProfile profile) {
+        RateLimitSpec spec = profile.resilience().rateLimit();
+        if (!spec.enabled()) return null;
+        RateLimiter l = limiters.get(profile.id());
+        if (l != null && l.spec == spec) return l;
+        return limiters.compute(profile.id(), (id, old) -> old != null && old.spec == spec ? old : new RateLimiter(spec));
+    }
+}
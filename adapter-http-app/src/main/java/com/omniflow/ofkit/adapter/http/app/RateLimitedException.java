@@ -0,0 +1,17 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+
+/** A call refused because the profile's (or route's) rate limit had no token within the allowed wait. */
+public class RateLimitedException extends RejectedCallException {
+    public static final String RULE_ID = "rate-limited";
+
+    public RateLimitedException(String bucket, ProblemDetails problem) {
+        super("Rate limit reached: " + bucket, problem);
+    }
+
+    @Override
+    public String ruleId() {
+        return RULE_ID;
+    }
+}
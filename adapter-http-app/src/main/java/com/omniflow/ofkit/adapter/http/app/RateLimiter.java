@@ -0,0 +1,59 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.RateLimitSpec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/** The token buckets of one profile: the profile-wide bucket and one per configured route. */
+final class RateLimiter {
+    static final long ROUTE_EMPTY = -1;
+    static final long PROFILE_EMPTY = -2;
+
+    final RateLimitSpec spec;
+    private final TokenBucket profileBucket; // null when only routes are limited
+    private final List<RouteBucket> routes; // longest prefix first
+
+    RateLimiter(RateLimitSpec spec) {
+        this.spec = spec;
+        this.profileBucket = spec.ratePerSecond() > 0 ? new TokenBucket(spec.ratePerSecond(), spec.burst()) : null;
+        List<RouteBucket> rs = new ArrayList<>();
+        for (RateLimitSpec.Route r : spec.routes()) {
+            if (r.ratePerSecond() > 0) rs.add(new RouteBucket(r.pathPrefix(), new TokenBucket(r.ratePerSecond(), r.burst())));
+        }
+        rs.sort(Comparator.comparingInt((RouteBucket r) -> r.prefix().length()).reversed());
+        this.routes = List.copyOf(rs);
+    }
+
+    /** The route whose bucket applies to {@code path}, or null. */
+    RouteBucket routeFor(String path) {
+        String p = path == null || path.isEmpty() ? "/" : path;
+        for (RouteBucket r : routes) if (p.startsWith(r.prefix())) return r;
+        return null;
+    }
+
+    /**
+     * Reserves a token from the route's bucket and the profile's: nanos to wait before sending, or
+     * {@link #ROUTE_EMPTY}/{@link #PROFILE_EMPTY} if that bucket is out of tokens for longer than
+     * {@code maxWaitNanos}.
+     */
+    long reserve(RouteBucket route, long maxWaitNanos) {
+        long routeWait = route == null ? 0 : route.bucket().reserve(maxWaitNanos);
+        if (routeWait < 0) return ROUTE_EMPTY;
+        long profileWait = profileBucket == null ? 0 : profileBucket.reserve(maxWaitNanos);
+        if (profileWait < 0) {
+            if (route != null) route.bucket().refund();
+            return PROFILE_EMPTY;
+        }
+        return Math.max(routeWait, profileWait);
+    }
+
+    /** Gives back a token {@link #reserve} took from the route's bucket and the profile's. */
+    void refund(RouteBucket route) {
+        if (route != null) route.bucket().refund();
+        if (profileBucket != null) profileBucket.refund();
+    }
+
+    record RouteBucket(String prefix, TokenBucket bucket) {}
+}
@@ -0,0 +1,25 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+
+/**
+ * An upstream call refused (or abandoned) by the adapter itself to protect the upstream, the
+ * adapter or the request's deadline; the facade answers with {@link #problem()} and
+ * {@link #ruleId()} instead of failing the request. It says nothing about the upstream's health,
+ * so it is never retried nor counted by the circuit breaker or the concurrency limit.
+ */
+public abstract class RejectedCallException extends RuntimeException {
+    private final transient ProblemDetails problem;
+
+    protected RejectedCallException(String message, ProblemDetails problem) {
+        super(message, null, false, false);
+        this.problem = problem;
+    }
+
+    public ProblemDetails problem() {
+        return problem;
+    }
+
+    /** Names the guard that refused the call; the facade's failure carries it as its rule id. */
+    public abstract String ruleId();
+}
@@ -0,0 +1,136 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streamed request body that keeps a copy of what it forwards, up to {@code capacity} bytes, so a
+ * retry can send it again. The first subscriber reads the source; later subscribers get the copy,
+ * which is only possible once the source completed within the capacity. Past the capacity the
+ * copy is dropped and the body becomes single-use.
+ */
+final class ReplayableBody implements Flow.Publisher<ByteBuffer> {
+    private final Flow.Publisher<ByteBuffer> source;
+    private final long capacity;
+    private final List<byte[]> copy = new ArrayList<>();
+    private long copied;
+    private volatile boolean subscribed;
+    private volatile boolean complete;
+    private volatile boolean overflow;
+
+    ReplayableBody(Flow.Publisher<ByteBuffer> source, long capacity) {
+        this.source = source;
+        this.capacity = capacity;
+    }
+
+    /** True if another attempt can send the whole body: the source is untouched, or fully copied. */
+    boolean replayable() {
+        return !subscribed || (complete && !overflow);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (!subscribed) {
+            subscribed = true;
+            source.subscribe(new Tee(subscriber));
+        } else if (replayable()) {
+            subscriber.onSubscribe(new Replay(subscriber, List.copyOf(copy)));
+        } else {
+            Replay none = new Replay(subscriber, List.of());
+            subscriber.onSubscribe(none);
+            none.cancel();
+            subscriber.onError(new IllegalStateException("Request body exceeded the replay buffer and cannot be sent again"));
+        }
+    }
+
+    private final class Tee implements Flow.Subscriber<ByteBuffer> {
+        private final Flow.Subscriber<? super ByteBuffer> downstream;
+
+        Tee(Flow.Subscriber<? super ByteBuffer> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            downstream.onSubscribe(s);
+        }
+
+        @Override
+        public void onNext(ByteBuffer chunk) {
+            if (!overflow) {
+                if (copied + chunk.remaining() > capacity) {
+                    overflow = true;
+                    copy.clear();
+                } else {
+                    byte[] bytes = new byte[chunk.remaining()];
+                    chunk.duplicate().get(bytes);
+                    copy.add(bytes);
+                    copied += bytes.length;
+                }
+            }
+            downstream.onNext(chunk);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+            downstream.onComplete();
+        }
+    }
+
+    /** Publishes the copied chunks as read-only buffers, honouring demand. */
+    private static final class Replay implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final List<byte[]> chunks;
+        private final AtomicLong demand = new AtomicLong();
+        private int next;
+        private volatile boolean done;
+
+        Replay(Flow.Subscriber<? super ByteBuffer> subscriber, List<byte[]> chunks) {
+            this.subscriber = subscriber;
+            this.chunks = chunks;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+            // whoever moves demand off zero emits; re-entrant and concurrent calls only add demand
+            if (demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b) != 0) return;
+            long wanted = n;
+            while (true) {
+                long emitted = 0;
+                while (emitted < wanted && next < chunks.size()) {
+                    if (done) return;
+                    subscriber.onNext(ByteBuffer.wrap(chunks.get(next++)).asReadOnlyBuffer());
+                    emitted++;
+                }
+                if (next == chunks.size()) {
+                    if (!done) {
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+                wanted = demand.addAndGet(-emitted);
+                if (wanted == 0) return;
+            }
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.RetryBudgetSpec;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Retry budget of one profile over a sliding window of one-second buckets. Each bucket packs the
+ * second it belongs to (high 32 bits) with its count (low 32 bits) in one atomic long, so a bucket
+ * is reused for a new second and counted in the same CAS: no locks and no lost updates.
+ */
+final class RetryBudget {
+    final RetryBudgetSpec spec;
+    private final int window;
+    private final AtomicLongArray attempts;
+    private final AtomicLongArray retries;
+    private final LongSupplier nanoTime;
+    private final long origin;
+
+    RetryBudget(RetryBudgetSpec spec) {
+        this(spec, System::nanoTime);
+    }
+
+    RetryBudget(RetryBudgetSpec spec, LongSupplier nanoTime) {
+        this.spec = spec;
+        this.window = Math.max(1, spec.windowSeconds());
+        this.attempts = new AtomicLongArray(window);
+        this.retries = new AtomicLongArray(window);
+        this.nanoTime = nanoTime;
+        this.origin = nanoTime.getAsLong();
+    }
+
+    /** Counts a first attempt, which earns {@code ratio} of a retry. */
+    void onAttempt() {
+        add(attempts, second());
+    }
+
+    /** Takes one retry from the budget if the window still has room for it. */
+    boolean tryRetry() {
+        long now = second();
+        double allowed = spec.ratio() * sum(attempts, now) + (double) spec.minRetriesPerSecond() * window;
+        // Concurrent callers may overshoot by a few retries; the window corrects it a moment later
+        if (sum(retries, now) + 1 > allowed) return false;
+        add(retries, now);
+        return true;
+    }
+
+    private long second() {
+        return (nanoTime.getAsLong() - origin) / 1_000_000_000L + 1;
+    }
+
+    private void add(AtomicLongArray buckets, long second) {
+        int i = (int) (second % window);
+        long v;
+        long next;
+        do {
+            v = buckets.get(i);
+            next = (v >>> 32) == second ? v + 1 : (second << 32) | 1;
+        } while (!buckets.compareAndSet(i, v, next));
+    }
+
+    private long sum(AtomicLongArray buckets, long now) {
+        long total = 0;
+        for (int i = 0; i < window; i++) {
+            long v = buckets.get(i);
+            if (now - (v >>> 32) < window) total += v & 0xFFFFFFFFL;
+        }
+        return total;
+    }
+}
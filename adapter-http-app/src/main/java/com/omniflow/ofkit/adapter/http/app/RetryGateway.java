@@ -1,11 +1,18 @@
 package com.omniflow.ofkit.adapter.http.app;
 
 import com.omniflow.ofkit.adapter.http.domain.model.AdapterProfile;
+import com.omniflow.ofkit.adapter.http.domain.model.Deadline;
+import com.omniflow.ofkit.adapter.http.domain.model.HedgeSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.RetryBudgetSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.RetrySpec;
 import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import com.omniflow.ofkit.adapter.http.domain.retry.RetryPolicy;
+import com.omniflow.ofkit.adapter.http.domain.rules.ResponseContext;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 import java.time.Duration;
 import java.time.format.DateTimeFormatter;
@@ -14,13 +21,35 @@ import java.time.temporal.TemporalAccessor;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 @ApplicationScoped
 public class RetryGateway {
 
+    private final MetricsPort metrics;
+    private final RetryTimer timer = RetryTimer.shared();
+    // Hedging state per profile, rebuilt if the profile's hedge settings change
+    private final ConcurrentHashMap<String, Hedger> hedgers = new ConcurrentHashMap<>();
+    // Retry budget per profile, rebuilt if the profile's budget settings change
+    private final ConcurrentHashMap<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    @Inject
+    public RetryGateway(MetricsPort metrics) {
+        this.metrics = metrics;
+    }
+
+    // Test convenience constructor when MetricsPort is not available
+    public RetryGateway() {
+        this(null);
+    }
+
     public HttpResponse execute(AdapterProfile profile, HttpRequest request, HttpPort http) throws Exception {
         RetrySpec spec = profile.retrySpec();
+        http = hedged(profile, request, http);
         if (spec == null || !spec.enabled()) {
             return http.execute(request);
         }
@@ -28,6 +57,11 @@ public class RetryGateway {
         if (spec.idempotentOnly() && !idempotent) {
             return http.execute(request);
         }
+        HttpRequest resendable = replayable(profile, request);
+        if (resendable == null) return http.execute(request);
+        RetryBudget budget = budgetFor(profile);
+        if (budget != null) budget.onAttempt();
+        RetryPolicy policy = new SpecRetryPolicy(spec);
 
         int attempts = 0;
         HttpResponse last = null;
@@ -35,24 +69,135 @@ public class RetryGateway {
             attempts++;
             Exception lastEx = null;
             try {
-                last = http.execute(request);
+                last = http.execute(resendable);
             } catch (Exception e) {
                 lastEx = e;
             }
 
-            boolean retriable = lastEx != null || isRetriableStatus(last);
-            if (!retriable) {
+            Optional<Duration> backoff = policy.nextBackoff(attempts, lastEx == null && last != null ? new ResponseContext(last) : null, lastEx);
+            if (backoff.isEmpty() || !canResend(resendable) || !inTime(resendable, backoff.get().toMillis())
+                    || !permitted(profile.id(), budget)) {
                 if (lastEx != null) throw lastEx;
                 return last;
             }
-            if (attempts > spec.maxRetries()) {
-                if (lastEx != null) throw lastEx;
-                return last;
+
+            long delayMs = backoff.get().toMillis();
+            // Parks the caller (cheap on a virtual thread) on the timer wheel rather than sleeping
+            if (delayMs > 0) timer.delay(delayMs).get();
+        }
+    }
+
+    /**
+     * Non-blocking variant: backoff delays are scheduled on the {@link RetryTimer} wheel instead of
+     * slept, so no thread is held between attempts. Same classification and backoff as {@link #execute}.
+     */
+    public CompletionStage<HttpResponse> executeAsync(AdapterProfile profile, HttpRequest request, HttpPort http) {
+        RetrySpec spec = profile.retrySpec();
+        http = hedged(profile, request, http);
+        if (spec == null || !spec.enabled()) {
+            return http.executeAsync(request);
+        }
+        boolean idempotent = isIdempotent(request.method());
+        if (spec.idempotentOnly() && !idempotent) {
+            return http.executeAsync(request);
+        }
+        HttpRequest resendable = replayable(profile, request);
+        if (resendable == null) return http.executeAsync(request);
+        RetryBudget budget = budgetFor(profile);
+        if (budget != null) budget.onAttempt();
+        CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+        attemptAsync(profile.id(), new SpecRetryPolicy(spec), budget, resendable, http, 1, result);
+        return result;
+    }
+
+    private void attemptAsync(String profileId, RetryPolicy policy, RetryBudget budget, HttpRequest request, HttpPort http,
+                              int attempt, CompletableFuture<HttpResponse> result) {
+        CompletionStage<HttpResponse> stage;
+        try {
+            stage = http.executeAsync(request);
+        } catch (Exception e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        stage.whenComplete((resp, err) -> {
+            Throwable cause = err == null ? null : Futures.unwrap(err);
+            Optional<Duration> backoff = policy.nextBackoff(attempt, cause == null && resp != null ? new ResponseContext(resp) : null, cause);
+            if (backoff.isEmpty() || !canResend(request) || !inTime(request, backoff.get().toMillis())
+                    || !permitted(profileId, budget)) {
+                if (cause != null) result.completeExceptionally(cause);
+                else result.complete(resp);
+                return;
             }
+            timer.schedule(() -> attemptAsync(profileId, policy, budget, request, http, attempt + 1, result), backoff.get().toMillis());
+        });
+    }
+
+    /** The profile's retry budget, or null when retries are not budgeted. */
+    private RetryBudget budgetFor(AdapterProfile profile) {
+        RetryBudgetSpec spec = profile.retrySpec().budget();
+        if (!spec.enabled()) return null;
+        RetryBudget b = budgets.get(profile.id());
+        if (b != null && b.spec == spec) return b;
+        return budgets.compute(profile.id(), (id, old) -> old != null && old.spec == spec ? old : new RetryBudget(spec));
+    }
 
-            long delayMs = computeDelayMs(spec, attempts, last);
-            if (delayMs > 0) Thread.sleep(delayMs);
+    /** Spends a retry from {@code budget}; every decision is counted. */
+    private boolean permitted(String profileId, RetryBudget budget) {
+        if (budget == null) return true;
+        boolean ok = budget.tryRetry();
+        if (metrics != null) {
+            if (ok) metrics.incrementRetryPermitted(profileId);
+            else metrics.incrementRetryDenied(profileId);
         }
+        return ok;
+    }
+
+    /**
+     * Each attempt of an idempotent request goes through the profile's {@link Hedger} when hedging
+     * is on. Streamed bodies are never hedged: two attempts cannot read one stream at once.
+     */
+    private HttpPort hedged(AdapterProfile profile, HttpRequest request, HttpPort http) {
+        HedgeSpec hedge = profile.retrySpec() == null ? null : profile.retrySpec().hedge();
+        if (hedge == null || !hedge.enabled() || request.bodyStream() != null || !isIdempotent(request.method())) {
+            return http;
+        }
+        Hedger h = hedgers.get(profile.id());
+        if (h == null || h.spec != hedge) {
+            h = hedgers.compute(profile.id(), (id, old) -> old != null && old.spec == hedge ? old : new Hedger(id, hedge, metrics, timer));
+        }
+        Hedger hedger = h;
+        return new HttpPort() {
+            @Override
+            public HttpResponse execute(HttpRequest req) throws Exception {
+                return Futures.await(hedger.execute(req, http));
+            }
+
+            @Override
+            public CompletionStage<HttpResponse> executeAsync(HttpRequest req) {
+                return hedger.execute(req, http);
+            }
+        };
+    }
+
+    /**
+     * Streamed request bodies are read once. They are retried only through a replay buffer of the
+     * profile's {@code streaming.replay_buffer_kb}; null means the request gets a single attempt.
+     */
+    private static HttpRequest replayable(AdapterProfile profile, HttpRequest request) {
+        if (request.bodyStream() == null) return request;
+        int replayKb = profile.streaming().replayBufferKb();
+        if (replayKb <= 0) return null;
+        return new HttpRequest(request.method(), request.uri(), request.headers(), null,
+                new ReplayableBody(request.bodyStream(), replayKb * 1024L), request.deadline());
+    }
+
+    /** A retry is only started if the request's deadline leaves time for it after the backoff. */
+    private static boolean inTime(HttpRequest request, long delayMs) {
+        Deadline deadline = request.deadline();
+        return deadline == null || (!deadline.expired() && deadline.remainingMs() > delayMs);
+    }
+
+    private static boolean canResend(HttpRequest request) {
+        return !(request.bodyStream() instanceof ReplayableBody body) || body.replayable();
     }
 
     private static boolean isIdempotent(String method) {
@@ -60,15 +205,31 @@ public class RetryGateway {
         return m.equals("GET") || m.equals("HEAD") || m.equals("PUT") || m.equals("DELETE") || m.equals("OPTIONS");
     }
 
-    private static boolean isRetriableStatus(HttpResponse resp) {
-        if (resp == null) return true;
-        int s = resp.statusCode();
-        return s == 429 || (s >= 500 && s <= 599);
+    /**
+     * The profile's {@link RetrySpec} as a {@link RetryPolicy}: its classifier decides whether an
+     * outcome is retried, up to {@code maxRetries}, after the exponential backoff (or Retry-After).
+     * A {@link RejectedCallException} never is.
+     */
+    private static final class SpecRetryPolicy implements RetryPolicy {
+        private final RetrySpec spec;
+
+        SpecRetryPolicy(RetrySpec spec) {
+            this.spec = spec;
+        }
+
+        @Override
+        public Optional<Duration> nextBackoff(int attempt, ResponseContext ctx, Throwable error) {
+            // A call refused up front (rate limit) is final: retrying it would only add to the load
+            if (attempt > spec.maxRetries() || error instanceof RejectedCallException || !spec.classifier().isRetriable(ctx, error)) {
+                return Optional.empty();
+            }
+            return Optional.of(Duration.ofMillis(computeDelayMs(spec, attempt, ctx == null ? null : ctx.headers())));
+        }
     }
 
-    private static long computeDelayMs(RetrySpec spec, int attempt, HttpResponse resp) {
-        if (spec.respectRetryAfter() && resp != null) {
-            String ra = firstHeader(resp.headers(), "Retry-After");
+    private static long computeDelayMs(RetrySpec spec, int attempt, Map<String, List<String>> headers) {
+        if (spec.respectRetryAfter() && headers != null) {
+            String ra = firstHeader(headers, "Retry-After");
             if (ra != null) {
                 Long fromHeader = parseRetryAfter(ra);
                 if (fromHeader != null) return Math.min(fromHeader, spec.maxDelayMs());
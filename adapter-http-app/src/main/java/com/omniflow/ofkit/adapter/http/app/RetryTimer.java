@@ -0,0 +1,149 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel for retry backoff, hedge delays and request deadlines. Scheduling and
+ * cancelling are O(1) and lock-free for callers; one daemon thread advances the wheel every tick
+ * and hands expired tasks to an executor, so a brownout with long Retry-After delays costs queued
+ * entries, not threads. Deadlines are rounded up to the tick.
+ */
+final class RetryTimer {
+    private static final RetryTimer SHARED = new RetryTimer(10, 512, dispatcher(2, 4096));
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<List<Timeout>> wheel; // touched only by the wheel thread
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile long startTime;
+
+    RetryTimer(long tickMs, int buckets, Executor executor) {
+        if (Integer.bitCount(buckets) != 1) throw new IllegalArgumentException("buckets must be a power of two");
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMs));
+        this.mask = buckets - 1;
+        this.wheel = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) wheel.add(new ArrayList<>());
+        this.executor = executor;
+    }
+
+    static RetryTimer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Dedicated pool for expired tasks (never the common ForkJoinPool, which callers' own work
+     * may saturate). Tasks only complete futures or start the next async attempt, so a few
+     * threads suffice; when the queue is full the wheel thread runs the task itself rather than
+     * drop a retry or a deadline.
+     */
+    private static Executor dispatcher(int threads, int queueSize) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), VirtualThreads.factory("ofkit-retry-dispatch", false),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /** Runs {@code task} on the executor after {@code delayMs}; a non-positive delay runs it now, inline. */
+    Timeout schedule(Runnable task, long delayMs) {
+        Timeout t = new Timeout(task);
+        if (delayMs <= 0) {
+            t.expire(Runnable::run);
+            return t;
+        }
+        start();
+        t.deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        pending.add(t);
+        return t;
+    }
+
+    /** Completes after {@code delayMs}; cancelling the future cancels the timeout. */
+    CompletableFuture<Void> delay(long delayMs) {
+        CompletableFuture<Void> f = new CompletableFuture<>();
+        Timeout t = schedule(() -> f.complete(null), delayMs);
+        f.whenComplete((v, e) -> {
+            if (f.isCancelled()) t.cancel();
+        });
+        return f;
+    }
+
+    private void start() {
+        if (started.get() || !started.compareAndSet(false, true)) {
+            while (startTime == 0) Thread.onSpinWait();
+            return;
+        }
+        long now = System.nanoTime();
+        startTime = now == 0 ? 1 : now;
+        Thread worker = new Thread(this::run, "ofkit-retry-timer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void run() {
+        long tick = 0;
+        while (true) {
+            long wakeUp = startTime + (tick + 1) * tickNanos;
+            for (long wait; (wait = wakeUp - System.nanoTime()) > 0; ) LockSupport.parkNanos(this, wait);
+            transferPending(tick);
+            expire(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private void transferPending(long tick) {
+        for (Timeout t; (t = pending.poll()) != null; ) {
+            if (t.done.get()) continue;
+            long due = (t.deadline + tickNanos - 1) / tickNanos; // first tick at or after the deadline
+            t.rounds = Math.max(0, (due - tick) / wheel.size());
+            wheel.get((int) (Math.max(due, tick) & mask)).add(t);
+        }
+    }
+
+    private void expire(List<Timeout> bucket) {
+        for (Iterator<Timeout> it = bucket.iterator(); it.hasNext(); ) {
+            Timeout t = it.next();
+            if (t.done.get()) {
+                it.remove();
+            } else if (t.rounds <= 0) {
+                it.remove();
+                t.expire(executor);
+            } else {
+                t.rounds--;
+            }
+        }
+    }
+
+    /** A scheduled task; runs at most once, and not at all once cancelled. */
+    static final class Timeout {
+        private final Runnable task;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private long deadline; // nanos since the wheel started
+        private long rounds;
+
+        private Timeout(Runnable task) {
+            this.task = task;
+        }
+
+        /** True if the task had not started yet and now never will. */
+        boolean cancel() {
+            return done.compareAndSet(false, true);
+        }
+
+        private void expire(Executor executor) {
+            if (done.compareAndSet(false, true)) executor.execute(task);
+        }
+    }
+}
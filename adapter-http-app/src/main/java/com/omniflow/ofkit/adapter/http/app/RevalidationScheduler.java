@@ -0,0 +1,112 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs stale-while-revalidate refreshes off the caller on a dedicated, bounded executor (never
+ * the common ForkJoinPool). At most one refresh per {@link CacheKey} is pending at a time, and
+ * each profile may have at most {@code perProfileLimit} refreshes queued or in flight; work over
+ * either bound, or over the queue capacity, is dropped and the stale entry is simply served
+ * again until a later refresh succeeds.
+ *
+ * <p>A refresh holds its profile slot until the returned stage completes, so non-blocking ports
+ * are bounded as well as blocking ones. Reports queue depth, rejections and refresh latency
+ * (submit to completion, tagged by outcome) through {@link MetricsPort}.
+ */
+public final class RevalidationScheduler implements AutoCloseable {
+    public static final int DEFAULT_THREADS = 4;
+    public static final int DEFAULT_QUEUE_SIZE = 256;
+    public static final int DEFAULT_PER_PROFILE_LIMIT = 4;
+
+    private final MetricsPort metrics;
+    private final ThreadPoolExecutor executor;
+    private final int perProfileLimit;
+    private final Set<CacheKey> pending = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, AtomicInteger> activeByProfile = new ConcurrentHashMap<>();
+
+    public RevalidationScheduler(MetricsPort metrics, int threads, int queueSize, int perProfileLimit, boolean virtualThreads) {
+        this.metrics = metrics;
+        this.perProfileLimit = Math.max(1, perProfileLimit);
+        int n = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(n, n, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                VirtualThreads.factory("ofkit-revalidate", virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        if (metrics != null) metrics.gaugeRevalidationQueueDepth(() -> executor.getQueue().size());
+    }
+
+    /** Scheduler with the default bounds on platform threads. */
+    public static RevalidationScheduler defaults(MetricsPort metrics) {
+        return new RevalidationScheduler(metrics, DEFAULT_THREADS, DEFAULT_QUEUE_SIZE, DEFAULT_PER_PROFILE_LIMIT, false);
+    }
+
+    /**
+     * Schedules {@code refresh} for {@code key} unless one is already pending for it, the profile
+     * is at its limit or the queue is full. Returns true when the refresh was accepted.
+     */
+    public boolean submit(String profileId, CacheKey key, Supplier<? extends CompletionStage<?>> refresh) {
+        if (!pending.add(key)) {
+            if (metrics != null) metrics.incrementCacheCoalesced(profileId);
+            return false;
+        }
+        AtomicInteger active = activeByProfile.computeIfAbsent(profileId, p -> new AtomicInteger());
+        if (active.incrementAndGet() > perProfileLimit) {
+            release(key, active);
+            if (metrics != null) metrics.incrementRevalidationRejected(profileId);
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            executor.execute(() -> run(profileId, key, active, start, refresh));
+        } catch (RejectedExecutionException e) {
+            release(key, active);
+            if (metrics != null) metrics.incrementRevalidationRejected(profileId);
+            return false;
+        }
+        return true;
+    }
+
+    private void run(String profileId, CacheKey key, AtomicInteger active, long start,
+                     Supplier<? extends CompletionStage<?>> refresh) {
+        CompletionStage<?> stage;
+        try {
+            stage = refresh.get();
+        } catch (RuntimeException e) {
+            done(profileId, key, active, start, false);
+            return;
+        }
+        stage.whenComplete((r, err) -> done(profileId, key, active, start, err == null));
+    }
+
+    private void done(String profileId, CacheKey key, AtomicInteger active, long start, boolean success) {
+        release(key, active);
+        if (metrics != null) metrics.recordRevalidation(profileId, System.nanoTime() - start, success);
+    }
+
+    private void release(CacheKey key, AtomicInteger active) {
+        active.decrementAndGet();
+        pending.remove(key);
+    }
+
+    /** Refreshes waiting for a worker. */
+    int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,45 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket kept as a single atomic "theoretical arrival time" (GCRA): each token pushes it one
+ * emission interval further, and a token is available while that leaves it no more than
+ * {@code burst} intervals ahead of now. Taking a token is one CAS, and a caller prepared to wait reserves a
+ * future token the same way and learns how long to wait for it.
+ */
+final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong tat;
+    private final LongSupplier nanoTime;
+
+    TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoTime) {
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / ratePerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.nanoTime = nanoTime;
+        this.tat = new AtomicLong(nanoTime.getAsLong()); // starts full
+    }
+
+    /** Reserves a token: nanos to wait before using it ({@code 0}: now), or {@code -1} if that is over {@code maxWaitNanos}. */
+    long reserve(long maxWaitNanos) {
+        long now = nanoTime.getAsLong();
+        for (;;) {
+            long prev = tat.get();
+            long next = Math.max(prev, now) + intervalNanos;
+            long wait = next - burstNanos - now;
+            if (wait > maxWaitNanos) return -1;
+            if (tat.compareAndSet(prev, next)) return Math.max(0, wait);
+        }
+    }
+
+    /** Gives back a token reserved by a call that did not go through after all. */
+    void refund() {
+        tat.addAndGet(-intervalNanos);
+    }
+}
@@ -0,0 +1,70 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread factories that use virtual threads when the runtime has them (JDK 21+). The project
+ * targets JDK 17, so the virtual-thread API is looked up reflectively; on older runtimes the
+ * factories fall back to daemon platform threads.
+ */
+public final class VirtualThreads {
+    private static final ThreadFactory VIRTUAL = lookupVirtualFactory();
+
+    private VirtualThreads() {}
+
+    /** True when the running JVM can create virtual threads. */
+    public static boolean available() {
+        return VIRTUAL != null;
+    }
+
+    /**
+     * Factory for worker threads named {@code prefix-N}: virtual when {@code preferVirtual} and
+     * {@link #available()}, daemon platform threads otherwise.
+     */
+    public static ThreadFactory factory(String prefix, boolean preferVirtual) {
+        AtomicLong seq = new AtomicLong();
+        if (preferVirtual && VIRTUAL != null) {
+            return r -> {
+                Thread t = VIRTUAL.newThread(r);
+                t.setName(prefix + "-" + seq.incrementAndGet());
+                return t;
+            };
+        }
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Executor that starts a new virtual thread named {@code prefix-N} for each task, or null when
+     * the runtime has no virtual threads. Virtual threads are cheap enough that pooling them only
+     * adds a bottleneck.
+     */
+    public static ExecutorService perTaskExecutor(String prefix) {
+        if (VIRTUAL == null) return null;
+        try {
+            Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) perTask.invoke(null, factory(prefix, true));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory lookupVirtualFactory() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtual.invoke(null);
+            // resolve through the public Thread.Builder interface, the builder class itself is internal
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.omniflow.ofkit.adapter.http.domain.model;
 
+import com.omniflow.ofkit.adapter.http.domain.rules.CompiledRules;
 import com.omniflow.ofkit.adapter.http.domain.rules.ErrorRule;
 import com.omniflow.ofkit.adapter.http.domain.rules.SuccessRule;
 
 import java.util.List;
 import java.util.Objects;
 
-/** Minimal profile aggregate required by the RuleEngine. */
+/**
+ * Minimal profile aggregate required by the RuleEngine. {@code rules} is the load-time
+ * compilation of {@code successRules}/{@code errorRules}; the 9-argument constructor derives it.
+ * {@code streaming} forwards bodies without buffering them; streaming responses require rules
+ * that look only at status and headers and no cache. {@code resilience} holds the protections in
+ * front of the upstream (circuit breaker).
+ */
 public record AdapterProfile(
         String id,
         String baseUrl,
@@ -16,12 +23,55 @@ public record AdapterProfile(
         CachePolicy cachePolicy,
         RetrySpec retrySpec,
         HttpClientSpec httpSpec,
-        AuthSpec authSpec
+        AuthSpec authSpec,
+        CompiledRules rules,
+        StreamingSpec streaming,
+        ResilienceSpec resilience
 ) {
     public AdapterProfile {
         Objects.requireNonNull(id, "id");
         successRules = successRules == null ? List.of() : List.copyOf(successRules);
         errorRules = errorRules == null ? List.of() : List.copyOf(errorRules);
         Objects.requireNonNull(genericProblem, "genericProblem");
+        if (rules == null) rules = CompiledRules.compile(successRules, errorRules);
+        if (streaming == null) streaming = StreamingSpec.disabled();
+        if (resilience == null) resilience = ResilienceSpec.none();
+        if (streaming.responseBody() && rules.needsBody()) {
+            throw new IllegalArgumentException("Profile " + id + ": streaming requires rules on status and headers only");
+        }
+        if (streaming.responseBody() && cachePolicy != null && cachePolicy.enabled()) {
+            throw new IllegalArgumentException("Profile " + id + ": streaming cannot be combined with cache");
+        }
+    }
+
+    public AdapterProfile(String id, String baseUrl, List<SuccessRule> successRules, List<ErrorRule> errorRules,
+                          ProblemDetails genericProblem, CachePolicy cachePolicy, RetrySpec retrySpec,
+                          HttpClientSpec httpSpec, AuthSpec authSpec, CompiledRules rules, StreamingSpec streaming) {
+        this(id, baseUrl, successRules, errorRules, genericProblem, cachePolicy, retrySpec, httpSpec, authSpec, rules, streaming, ResilienceSpec.none());
+    }
+
+    public AdapterProfile(String id, String baseUrl, List<SuccessRule> successRules, List<ErrorRule> errorRules,
+                          ProblemDetails genericProblem, CachePolicy cachePolicy, RetrySpec retrySpec,
+                          HttpClientSpec httpSpec, AuthSpec authSpec, CompiledRules rules) {
+        this(id, baseUrl, successRules, errorRules, genericProblem, cachePolicy, retrySpec, httpSpec, authSpec, rules, StreamingSpec.disabled());
+    }
+
+    public AdapterProfile(String id, String baseUrl, List<SuccessRule> successRules, List<ErrorRule> errorRules,
+                          ProblemDetails genericProblem, CachePolicy cachePolicy, RetrySpec retrySpec,
+                          HttpClientSpec httpSpec, AuthSpec authSpec, boolean streaming) {
+        this(id, baseUrl, successRules, errorRules, genericProblem, cachePolicy, retrySpec, httpSpec, authSpec, null,
+                new StreamingSpec(streaming, false, 0, 0));
+    }
+
+    public AdapterProfile(String id, String baseUrl, List<SuccessRule> successRules, List<ErrorRule> errorRules,
+                          ProblemDetails genericProblem, CachePolicy cachePolicy, RetrySpec retrySpec,
+                          HttpClientSpec httpSpec, AuthSpec authSpec, StreamingSpec streaming) {
+        this(id, baseUrl, successRules, errorRules, genericProblem, cachePolicy, retrySpec, httpSpec, authSpec, null, streaming);
+    }
+
+    public AdapterProfile(String id, String baseUrl, List<SuccessRule> successRules, List<ErrorRule> errorRules,
+                          ProblemDetails genericProblem, CachePolicy cachePolicy, RetrySpec retrySpec,
+                          HttpClientSpec httpSpec, AuthSpec authSpec) {
+        this(id, baseUrl, successRules, errorRules, genericProblem, cachePolicy, retrySpec, httpSpec, authSpec, null, StreamingSpec.disabled());
     }
 }
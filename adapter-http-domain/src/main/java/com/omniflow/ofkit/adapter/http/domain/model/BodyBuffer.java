@@ -0,0 +1,99 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Read-only view over a message body, backed by a byte array or a {@link ByteBuffer} (which may in
+ * turn wrap a Netty/Vert.x buffer). Readers index and decode it in place; {@link #bytes()} returns
+ * the backing array when there is one and otherwise copies once. Immutable and safe to share.
+ */
+public final class BodyBuffer {
+    public static final BodyBuffer EMPTY = new BodyBuffer(ByteBuffer.allocate(0).asReadOnlyBuffer(), new byte[0]);
+
+    private final ByteBuffer buffer; // read-only, position 0, limit = size
+    private volatile byte[] array;
+
+    private BodyBuffer(ByteBuffer buffer, byte[] array) {
+        this.buffer = buffer;
+        this.array = array;
+    }
+
+    /** Wraps {@code bytes} without copying; the caller must not modify them afterwards. Null stays null. */
+    public static BodyBuffer of(byte[] bytes) {
+        if (bytes == null) return null;
+        if (bytes.length == 0) return EMPTY;
+        return new BodyBuffer(ByteBuffer.wrap(bytes).asReadOnlyBuffer(), bytes);
+    }
+
+    /** Wraps the remaining bytes of {@code buffer} without copying; its contents must not change afterwards. Null stays null. */
+    public static BodyBuffer of(ByteBuffer buffer) {
+        if (buffer == null) return null;
+        if (!buffer.hasRemaining()) return EMPTY;
+        return new BodyBuffer(buffer.asReadOnlyBuffer().slice(), null);
+    }
+
+    public int size() {
+        return buffer.limit();
+    }
+
+    public byte get(int index) {
+        return buffer.get(index);
+    }
+
+    /** A fresh read-only buffer over the whole body, for writing to a channel. */
+    public ByteBuffer asByteBuffer() {
+        return buffer.duplicate();
+    }
+
+    /** Stream over the body that reads the buffer in place. */
+    public InputStream inputStream() {
+        ByteBuffer in = buffer.duplicate();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return in.hasRemaining() ? in.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (len == 0) return 0;
+                if (!in.hasRemaining()) return -1;
+                int n = Math.min(len, in.remaining());
+                in.get(b, off, n);
+                return n;
+            }
+
+            @Override
+            public int available() {
+                return in.remaining();
+            }
+        };
+    }
+
+    /**
+     * The body as an array, for consumers that need one (cache stores, JSON picking). Shared, not
+     * a defensive copy: callers must not modify it.
+     */
+    public byte[] bytes() {
+        byte[] a = array;
+        if (a == null) {
+            a = new byte[size()];
+            buffer.get(0, a);
+            array = a;
+        }
+        return a;
+    }
+
+    /** Decodes the body in place, without an intermediate array. */
+    public String toString(Charset charset) {
+        byte[] a = array;
+        return a != null ? new String(a, charset) : charset.decode(buffer.duplicate()).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "BodyBuffer[size=" + size() + "]";
+    }
+}
@@ -12,10 +12,22 @@ public record CachePolicy(
         boolean useLastModified,
         List<String> varyHeaders,
         int maxBodyKb,
-        int negativeTtlSeconds
+        int negativeTtlSeconds,
+        int quotaKb
 ) {
     public CachePolicy {
         varyHeaders = varyHeaders == null ? List.of() : List.copyOf(varyHeaders);
+        quotaKb = Math.max(0, quotaKb);
     }
+
+    /** Policy without a per-profile byte quota. */
+    public CachePolicy(boolean enabled, int defaultTtlSeconds, int swrTtlSeconds, int sieTtlSeconds, boolean useEtag,
+                       boolean useLastModified, List<String> varyHeaders, int maxBodyKb, int negativeTtlSeconds) {
+        this(enabled, defaultTtlSeconds, swrTtlSeconds, sieTtlSeconds, useEtag, useLastModified, varyHeaders, maxBodyKb, negativeTtlSeconds, 0);
+    }
+
+    /** Per-profile cap on cached body bytes; 0 means unlimited. */
+    public long quotaBytes() { return quotaKb * 1024L; }
+
     public static CachePolicy disabled() { return new CachePolicy(false, 0, 0, 0, true, true, List.of(), 0, 0); }
 }
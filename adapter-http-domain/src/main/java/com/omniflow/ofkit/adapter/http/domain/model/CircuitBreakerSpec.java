@@ -0,0 +1,30 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+/**
+ * Circuit breaker of a profile (or of each upstream host when {@code perHost}). The circuit opens
+ * when, among the last {@code window} calls and once at least {@code minCalls} are recorded,
+ * {@code failureRatePercent} or more failed (transport error or 5xx). While open, calls fail fast
+ * with {@code problem}; after {@code openMs}, {@code halfOpenCalls} trial calls decide whether it
+ * closes again.
+ */
+public record CircuitBreakerSpec(
+        boolean enabled,
+        int window,
+        int minCalls,
+        int failureRatePercent,
+        long openMs,
+        int halfOpenCalls,
+        boolean perHost,
+        ProblemDetails problem
+) {
+    public static final ProblemDetails DEFAULT_PROBLEM =
+            ProblemDetails.of("about:blank", "Service externe indisponible", 503, "Circuit open for upstream");
+
+    public CircuitBreakerSpec {
+        if (problem == null) problem = DEFAULT_PROBLEM;
+    }
+
+    public static CircuitBreakerSpec disabled() {
+        return new CircuitBreakerSpec(false, 20, 10, 50, 30_000, 3, false, DEFAULT_PROBLEM);
+    }
+}
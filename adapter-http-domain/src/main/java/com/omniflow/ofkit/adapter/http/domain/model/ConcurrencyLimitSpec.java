@@ -0,0 +1,34 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+/**
+ * Adaptive concurrency limit of a profile. The number of upstream calls in flight is capped by a
+ * limit that starts at {@code initialLimit} and moves between {@code minLimit} and
+ * {@code maxLimit} as round-trip times are observed: {@link Algorithm#AIMD} adds one per
+ * successful call made near the limit and multiplies by {@code backoffRatio} on a drop;
+ * {@link Algorithm#GRADIENT} scales it by how far the latest RTT strays from the no-load RTT
+ * (beyond {@code rttTolerance}). Calls over the limit fail at once with {@code problem}.
+ */
+public record ConcurrencyLimitSpec(
+        boolean enabled,
+        Algorithm algorithm,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double backoffRatio,
+        double rttTolerance,
+        ProblemDetails problem
+) {
+    public enum Algorithm { AIMD, GRADIENT }
+
+    public static final ProblemDetails DEFAULT_PROBLEM =
+            ProblemDetails.of("about:blank", "Service externe surchargé", 503, "Concurrency limit reached for upstream");
+
+    public ConcurrencyLimitSpec {
+        if (algorithm == null) algorithm = Algorithm.GRADIENT;
+        if (problem == null) problem = DEFAULT_PROBLEM;
+    }
+
+    public static ConcurrencyLimitSpec disabled() {
+        return new ConcurrencyLimitSpec(false, Algorithm.GRADIENT, 20, 1, 200, 0.9, 2.0, DEFAULT_PROBLEM);
+    }
+}
@@ -0,0 +1,76 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Time budget of one request end to end, and its cancellation. It travels with the
+ * {@link HttpRequest} through cache, retries and every attempt: each attempt's timeout is cut to
+ * what remains, no retry is started that could not finish in time, and work stops once the
+ * deadline passes or is cancelled (the client went away). An unbounded deadline only carries the
+ * cancellation. Tightening keeps the cancellation shared, so cancelling either cancels both.
+ */
+public final class Deadline {
+    private final boolean bounded;
+    private final long atNanos;
+    private final CompletableFuture<Void> cancelled;
+
+    private Deadline(boolean bounded, long atNanos, CompletableFuture<Void> cancelled) {
+        this.bounded = bounded;
+        this.atNanos = atNanos;
+        this.cancelled = cancelled;
+    }
+
+    public static Deadline unbounded() {
+        return new Deadline(false, 0, new CompletableFuture<>());
+    }
+
+    public static Deadline after(long ms) {
+        return new Deadline(true, System.nanoTime() + Math.max(0, ms) * 1_000_000L, new CompletableFuture<>());
+    }
+
+    /** This deadline, moved to {@code ms} from now if that comes earlier. */
+    public Deadline tightenedTo(long ms) {
+        long at = System.nanoTime() + Math.max(0, ms) * 1_000_000L;
+        if (bounded && atNanos - at <= 0) return this;
+        return new Deadline(true, at, cancelled);
+    }
+
+    public boolean bounded() {
+        return bounded;
+    }
+
+    /** Milliseconds left, rounded up; {@code 0} once passed and {@link Long#MAX_VALUE} when unbounded. */
+    public long remainingMs() {
+        if (!bounded) return Long.MAX_VALUE;
+        long left = atNanos - System.nanoTime();
+        return left <= 0 ? 0 : (left + 999_999) / 1_000_000L;
+    }
+
+    /** Timeout for one attempt: {@code attemptMs} (when above 0) capped by the time left, never below 1 ms. */
+    public long attemptTimeoutMs(long attemptMs) {
+        long left = remainingMs();
+        return Math.max(1, attemptMs > 0 ? Math.min(attemptMs, left) : left);
+    }
+
+    public boolean passed() {
+        return bounded && atNanos - System.nanoTime() <= 0;
+    }
+
+    /** Whether no more work should be done for the request: passed or cancelled. */
+    public boolean expired() {
+        return cancelled.isDone() || passed();
+    }
+
+    public boolean isCancelled() {
+        return cancelled.isDone();
+    }
+
+    public void cancel() {
+        cancelled.complete(null);
+    }
+
+    /** Runs {@code action} when the request is cancelled, at once if it already is. */
+    public void onCancel(Runnable action) {
+        cancelled.thenRun(action);
+    }
+}
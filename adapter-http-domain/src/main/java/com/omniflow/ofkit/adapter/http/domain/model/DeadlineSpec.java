@@ -0,0 +1,26 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+/**
+ * End-to-end deadline of a profile's requests: {@code totalMs} from the moment the adapter takes
+ * the request, tightened (never extended) by a budget in milliseconds sent by the client in
+ * {@code header}. A request that runs out of time is answered with {@code problem}.
+ */
+public record DeadlineSpec(
+        boolean enabled,
+        long totalMs,
+        String header,
+        ProblemDetails problem
+) {
+    public static final String DEFAULT_HEADER = "X-OF-Deadline-Ms";
+    public static final ProblemDetails DEFAULT_PROBLEM =
+            ProblemDetails.of("about:blank", "Délai de réponse dépassé", 504, "Request deadline exceeded");
+
+    public DeadlineSpec {
+        if (header == null || header.isBlank()) header = DEFAULT_HEADER;
+        if (problem == null) problem = DEFAULT_PROBLEM;
+    }
+
+    public static DeadlineSpec disabled() {
+        return new DeadlineSpec(false, 0, DEFAULT_HEADER, DEFAULT_PROBLEM);
+    }
+}
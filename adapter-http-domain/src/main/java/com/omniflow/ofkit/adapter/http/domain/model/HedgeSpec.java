@@ -0,0 +1,18 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+/**
+ * Hedged requests for idempotent methods: when the first attempt has not answered after a delay,
+ * a second one is sent and the first response wins. The delay is {@code delayMs}, or the
+ * {@code delayPercentile} of the profile's recently observed latencies once enough are known.
+ * {@code budgetPercent} caps hedges as a share of the profile's requests.
+ */
+public record HedgeSpec(
+        boolean enabled,
+        long delayMs,
+        int delayPercentile,
+        double budgetPercent
+) {
+    public static HedgeSpec disabled() {
+        return new HedgeSpec(false, 0, 0, 0);
+    }
+}
@@ -0,0 +1,11 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+/**
+ * HTTP/2 tuning for a profile. {@code multiplexingLimit} caps concurrent streams per connection
+ * (-1: whatever the server advertises); the window sizes are in KiB (-1: protocol default of 64 KiB).
+ */
+public record Http2Spec(int multiplexingLimit, int connectionWindowKb, int streamWindowKb) {
+    public static Http2Spec defaults() {
+        return new Http2Spec(-1, -1, -1);
+    }
+}
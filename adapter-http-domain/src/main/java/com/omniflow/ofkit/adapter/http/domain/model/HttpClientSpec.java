@@ -7,8 +7,47 @@ public record HttpClientSpec(
         int maxPoolSize,
         int maxWaitQueueSize,
         boolean keepAlive,
-        int keepAliveTimeoutSeconds
+        int keepAliveTimeoutSeconds,
+        HttpProtocol version,
+        Http2Spec h2,
+        boolean compression,
+        int maxDecodedKb
 ) {
+    /** Cap on a body once its content codings are undone, when nothing else is configured. */
+    public static final int DEFAULT_MAX_DECODED_KB = 10 * 1024;
+
+    public HttpClientSpec {
+        if (version == null) version = HttpProtocol.HTTP1;
+        if (h2 == null) h2 = Http2Spec.defaults();
+        if (maxDecodedKb <= 0) maxDecodedKb = DEFAULT_MAX_DECODED_KB;
+    }
+
+    /** With the default cap on decoded bodies. */
+    public HttpClientSpec(int connectTimeoutMs, int readTimeoutMs, SslSpec ssl, int maxPoolSize, int maxWaitQueueSize,
+                          boolean keepAlive, int keepAliveTimeoutSeconds, HttpProtocol version, Http2Spec h2, boolean compression) {
+        this(connectTimeoutMs, readTimeoutMs, ssl, maxPoolSize, maxWaitQueueSize, keepAlive, keepAliveTimeoutSeconds,
+                version, h2, compression, DEFAULT_MAX_DECODED_KB);
+    }
+
+    /** Without {@code compression}: the client's own Accept-Encoding is forwarded as is. */
+    public HttpClientSpec(int connectTimeoutMs, int readTimeoutMs, SslSpec ssl, int maxPoolSize, int maxWaitQueueSize,
+                          boolean keepAlive, int keepAliveTimeoutSeconds, HttpProtocol version, Http2Spec h2) {
+        this(connectTimeoutMs, readTimeoutMs, ssl, maxPoolSize, maxWaitQueueSize, keepAlive, keepAliveTimeoutSeconds,
+                version, h2, false);
+    }
+
+    /** HTTP/1.1 client spec. */
+    public HttpClientSpec(int connectTimeoutMs, int readTimeoutMs, SslSpec ssl, int maxPoolSize, int maxWaitQueueSize,
+                          boolean keepAlive, int keepAliveTimeoutSeconds) {
+        this(connectTimeoutMs, readTimeoutMs, ssl, maxPoolSize, maxWaitQueueSize, keepAlive, keepAliveTimeoutSeconds,
+                HttpProtocol.HTTP1, Http2Spec.defaults());
+    }
+
+    /** {@link #maxDecodedKb()} in bytes. */
+    public int maxDecodedBytes() {
+        return (int) Math.min(Integer.MAX_VALUE - 8, maxDecodedKb * 1024L);
+    }
+
     public static HttpClientSpec defaults() {
         return new HttpClientSpec(5000, 10000, new SslSpec(false), 50, -1, true, 60);
     }
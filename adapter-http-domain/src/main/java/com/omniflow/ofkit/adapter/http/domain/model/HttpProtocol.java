@@ -0,0 +1,26 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+import java.util.Locale;
+
+/** Wire protocol a profile speaks to its upstream. */
+public enum HttpProtocol {
+    /** HTTP/1.1, one request per connection at a time. */
+    HTTP1,
+    /** HTTP/2 negotiated with ALPN over TLS; plain-text URLs fall back to an upgrade request. */
+    H2,
+    /** HTTP/2 over plain text with prior knowledge (no upgrade round-trip). */
+    H2C;
+
+    /** Parses the profile value ({@code http1}, {@code h2}, {@code h2c}); blank means {@link #HTTP1}. */
+    public static HttpProtocol parse(String value) {
+        if (value == null || value.isBlank()) return HTTP1;
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "http1", "http/1.1", "http1.1" -> HTTP1;
+            case "h2", "http2", "http/2" -> H2;
+            case "h2c" -> H2C;
+            default -> throw new IllegalArgumentException("Unknown http.version: " + value);
+        };
+    }
+
+    public boolean isHttp2() { return this != HTTP1; }
+}
@@ -1,14 +1,39 @@
 package com.omniflow.ofkit.adapter.http.domain.model;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Flow;
 
+/**
+ * Outbound request. The body is either buffered in {@code body} or, for streamed uploads, read
+ * from {@code bodyStream} as the upstream connection accepts it (then {@code body} is null). A
+ * body stream can be subscribed once. {@code deadline} (null: none) bounds the whole request,
+ * retries included, and is kept by every copy made on the way upstream.
+ */
 public record HttpRequest(
         String method,
         URI uri,
         Map<String, List<String>> headers,
-        byte[] body
+        byte[] body,
+        Flow.Publisher<ByteBuffer> bodyStream,
+        Deadline deadline
 ) {
-}
+    public HttpRequest(String method, URI uri, Map<String, List<String>> headers, byte[] body) {
+        this(method, uri, headers, body, null, null);
+    }
+
+    public HttpRequest(String method, URI uri, Map<String, List<String>> headers, byte[] body, Flow.Publisher<ByteBuffer> bodyStream) {
+        this(method, uri, headers, body, bodyStream, null);
+    }
 
+    public HttpRequest withDeadline(Deadline deadline) {
+        return new HttpRequest(method, uri, headers, body, bodyStream, deadline);
+    }
+
+    /** Same request with other headers, keeping body and deadline. */
+    public HttpRequest withHeaders(Map<String, List<String>> headers) {
+        return new HttpRequest(method, uri, headers, body, bodyStream, deadline);
+    }
+}
@@ -3,10 +3,21 @@ package com.omniflow.ofkit.adapter.http.domain.model;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Buffered upstream response. The body is a read-only {@link BodyBuffer} handed through from the
+ * client to the socket without copying; {@link #body()} is the array view for consumers that need one.
+ */
 public record HttpResponse(
         int statusCode,
         Map<String, List<String>> headers,
-        byte[] body
+        BodyBuffer payload
 ) {
-}
+    public HttpResponse(int statusCode, Map<String, List<String>> headers, byte[] body) {
+        this(statusCode, headers, BodyBuffer.of(body));
+    }
 
+    /** Body as an array, or null when there is none; see {@link BodyBuffer#bytes()}. */
+    public byte[] body() {
+        return payload == null ? null : payload.bytes();
+    }
+}
@@ -0,0 +1,34 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+import java.util.List;
+
+/**
+ * Client-side rate limit of a profile: token buckets refilled at {@code ratePerSecond} holding up
+ * to {@code burst} tokens, one per upstream attempt. The profile bucket (when its rate is above 0)
+ * covers every call; a call whose path starts with a route's {@code pathPrefix} also takes a token
+ * from the longest such route. A call without a token waits for one up to {@code maxWaitMs}
+ * ({@code 0}: fails at once) and otherwise fails with {@code problem}.
+ */
+public record RateLimitSpec(
+        boolean enabled,
+        double ratePerSecond,
+        int burst,
+        long maxWaitMs,
+        List<Route> routes,
+        ProblemDetails problem
+) {
+    /** A bucket of its own for the upstream paths under {@code pathPrefix}. */
+    public record Route(String pathPrefix, double ratePerSecond, int burst) {}
+
+    public static final ProblemDetails DEFAULT_PROBLEM =
+            ProblemDetails.of("about:blank", "Quota d'appels atteint", 429, "Rate limit reached for upstream");
+
+    public RateLimitSpec {
+        routes = routes == null ? List.of() : List.copyOf(routes);
+        if (problem == null) problem = DEFAULT_PROBLEM;
+    }
+
+    public static RateLimitSpec disabled() {
+        return new RateLimitSpec(false, 0, 1, 0, List.of(), DEFAULT_PROBLEM);
+    }
+}
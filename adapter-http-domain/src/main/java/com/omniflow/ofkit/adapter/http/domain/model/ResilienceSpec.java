@@ -0,0 +1,32 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+/** Upstream protection settings of a profile that sit in front of retries. */
+public record ResilienceSpec(
+        CircuitBreakerSpec circuitBreaker,
+        ConcurrencyLimitSpec concurrencyLimit,
+        RateLimitSpec rateLimit,
+        DeadlineSpec deadline
+) {
+    public ResilienceSpec {
+        if (circuitBreaker == null) circuitBreaker = CircuitBreakerSpec.disabled();
+        if (concurrencyLimit == null) concurrencyLimit = ConcurrencyLimitSpec.disabled();
+        if (rateLimit == null) rateLimit = RateLimitSpec.disabled();
+        if (deadline == null) deadline = DeadlineSpec.disabled();
+    }
+
+    public ResilienceSpec(CircuitBreakerSpec circuitBreaker) {
+        this(circuitBreaker, null, null, null);
+    }
+
+    public ResilienceSpec(CircuitBreakerSpec circuitBreaker, ConcurrencyLimitSpec concurrencyLimit) {
+        this(circuitBreaker, concurrencyLimit, null, null);
+    }
+
+    public ResilienceSpec(CircuitBreakerSpec circuitBreaker, ConcurrencyLimitSpec concurrencyLimit, RateLimitSpec rateLimit) {
+        this(circuitBreaker, concurrencyLimit, rateLimit, null);
+    }
+
+    public static ResilienceSpec none() {
+        return new ResilienceSpec(CircuitBreakerSpec.disabled(), ConcurrencyLimitSpec.disabled(), RateLimitSpec.disabled(), DeadlineSpec.disabled());
+    }
+}
@@ -6,6 +6,9 @@ public interface Result {
     /** Successful outcome, typically a passthrough of the upstream response. */
     record Success(HttpResponse response, String ruleId) implements Result { }
 
+    /** Successful outcome whose upstream body is forwarded as a stream (profiles with {@code streaming}). */
+    record Streamed(StreamingResponse response, String ruleId) implements Result { }
+
     /** Failure outcome normalized as RFC-7807. */
     record Failure(ProblemDetails problem, String ruleId) implements Result { }
 }
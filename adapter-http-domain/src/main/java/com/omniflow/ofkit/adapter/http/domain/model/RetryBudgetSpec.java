@@ -0,0 +1,17 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+/**
+ * Caps retries so a degraded upstream is not hit with {@code maxRetries + 1} times its load:
+ * over the last {@code windowSeconds}, retries may not exceed {@code ratio} of first attempts
+ * plus {@code minRetriesPerSecond} for each second of the window.
+ */
+public record RetryBudgetSpec(
+        boolean enabled,
+        double ratio,
+        int minRetriesPerSecond,
+        int windowSeconds
+) {
+    public static RetryBudgetSpec disabled() {
+        return new RetryBudgetSpec(false, 0, 0, 10);
+    }
+}
@@ -1,5 +1,13 @@
 package com.omniflow.ofkit.adapter.http.domain.model;
 
+import com.omniflow.ofkit.adapter.http.domain.retry.RetryClassifier;
+import com.omniflow.ofkit.adapter.http.domain.retry.RuleRetryClassifier;
+
+/**
+ * Retry behaviour of a profile; {@code hedge} applies whether or not retries are enabled, and
+ * {@code budget} limits how many of the retries may actually be sent. {@code classifier} decides
+ * which outcomes are retried (the profile's {@code retriable_rules}; 429/5xx without them).
+ */
 public record RetrySpec(
         boolean enabled,
         int maxRetries,
@@ -7,10 +15,33 @@ public record RetrySpec(
         long maxDelayMs,
         boolean jitter,
         boolean respectRetryAfter,
-        boolean idempotentOnly
+        boolean idempotentOnly,
+        HedgeSpec hedge,
+        RetryBudgetSpec budget,
+        RetryClassifier classifier
 ) {
+    public RetrySpec {
+        if (hedge == null) hedge = HedgeSpec.disabled();
+        if (budget == null) budget = RetryBudgetSpec.disabled();
+        if (classifier == null) classifier = RuleRetryClassifier.DEFAULT;
+    }
+
+    public RetrySpec(boolean enabled, int maxRetries, long initialDelayMs, long maxDelayMs, boolean jitter,
+                     boolean respectRetryAfter, boolean idempotentOnly, HedgeSpec hedge, RetryBudgetSpec budget) {
+        this(enabled, maxRetries, initialDelayMs, maxDelayMs, jitter, respectRetryAfter, idempotentOnly, hedge, budget, null);
+    }
+
+    public RetrySpec(boolean enabled, int maxRetries, long initialDelayMs, long maxDelayMs, boolean jitter,
+                     boolean respectRetryAfter, boolean idempotentOnly, HedgeSpec hedge) {
+        this(enabled, maxRetries, initialDelayMs, maxDelayMs, jitter, respectRetryAfter, idempotentOnly, hedge, RetryBudgetSpec.disabled());
+    }
+
+    public RetrySpec(boolean enabled, int maxRetries, long initialDelayMs, long maxDelayMs, boolean jitter,
+                     boolean respectRetryAfter, boolean idempotentOnly) {
+        this(enabled, maxRetries, initialDelayMs, maxDelayMs, jitter, respectRetryAfter, idempotentOnly, HedgeSpec.disabled(), RetryBudgetSpec.disabled());
+    }
+
     public static RetrySpec disabled() {
         return new RetrySpec(false, 0, 0, 0, false, false, true);
     }
 }
-
@@ -0,0 +1,47 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Upstream response whose body arrives as a stream of chunks instead of a byte array. The
+ * publisher honours subscriber demand, so a slow client slows the upstream read instead of
+ * filling the heap; it accepts a single subscriber. A caller that does not forward the body
+ * must {@link #discard()} it so the connection is released.
+ */
+public record StreamingResponse(int statusCode, Map<String, List<String>> headers, Flow.Publisher<ByteBuffer> body) {
+
+    /** Status and headers only, for rule evaluation. */
+    public HttpResponse head() {
+        return new HttpResponse(statusCode, headers, (BodyBuffer) null);
+    }
+
+    /** Reads the remaining body and drops each chunk as it arrives. */
+    public void discard() {
+        body.subscribe(new Flow.Subscriber<>() {
+            @Override public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+            @Override public void onNext(ByteBuffer item) { }
+            @Override public void onError(Throwable t) { }
+            @Override public void onComplete() { }
+        });
+    }
+
+    /** Wraps an already buffered response; the body is published as one read-only chunk. */
+    public static StreamingResponse of(HttpResponse response) {
+        BodyBuffer body = response.payload();
+        return new StreamingResponse(response.statusCode(), response.headers(), subscriber -> {
+            AtomicBoolean done = new AtomicBoolean();
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override public void request(long n) {
+                    if (n <= 0 || !done.compareAndSet(false, true)) return;
+                    if (body != null && body.size() > 0) subscriber.onNext(body.asByteBuffer());
+                    subscriber.onComplete();
+                }
+                @Override public void cancel() { done.set(true); }
+            });
+        });
+    }
+}
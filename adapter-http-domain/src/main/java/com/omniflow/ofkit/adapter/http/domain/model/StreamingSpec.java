@@ -0,0 +1,12 @@
+package com.omniflow.ofkit.adapter.http.domain.model;
+
+/**
+ * Body pass-through for a profile. {@code responseBody} pipes the upstream body to the client;
+ * {@code requestBody} pipes the inbound body upstream, capped at {@code maxRequestBodyKb} (0: no cap).
+ * A streamed upload is retried only if it fit in {@code replayBufferKb} (0: never retried).
+ */
+public record StreamingSpec(boolean responseBody, boolean requestBody, int maxRequestBodyKb, int replayBufferKb) {
+    public static StreamingSpec disabled() {
+        return new StreamingSpec(false, false, 0, 0);
+    }
+}
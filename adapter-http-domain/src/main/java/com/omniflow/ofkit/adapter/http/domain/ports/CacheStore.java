@@ -2,12 +2,30 @@ package com.omniflow.ofkit.adapter.http.domain.ports;
 
 import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
 import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
+import com.omniflow.ofkit.adapter.http.domain.model.CachePolicy;
 
 import java.util.Optional;
 
 public interface CacheStore {
     Optional<CachedEntry> get(CacheKey key);
     void put(CacheKey key, CachedEntry entry);
+
+    /**
+     * Stores an entry while keeping the key's profile within {@code profileQuotaBytes} of cached
+     * body bytes ({@code <= 0}: no quota). Stores without quota support ignore it.
+     */
+    default void put(CacheKey key, CachedEntry entry, long profileQuotaBytes) {
+        put(key, entry);
+    }
+
+    /**
+     * Stores an entry on behalf of a profile's cache policy. Stores that drop entries once they
+     * expire use it to keep them through the policy's SWR/SIE windows; the default applies only
+     * the policy's quota.
+     */
+    default void put(CacheKey key, CachedEntry entry, CachePolicy policy) {
+        put(key, entry, policy != null ? policy.quotaBytes() : 0);
+    }
     void invalidate(CacheKey key);
 }
 
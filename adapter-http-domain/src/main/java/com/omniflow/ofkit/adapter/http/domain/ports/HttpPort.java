@@ -1,9 +1,43 @@
 package com.omniflow.ofkit.adapter.http.domain.ports;
 
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.StreamingResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 public interface HttpPort {
     HttpResponse execute(HttpRequest request) throws Exception;
-}
 
+    /**
+     * Non-blocking variant used by the async pipeline. The default runs {@link #execute} on the
+     * calling thread, so blocking ports keep working; non-blocking ports should override it.
+     */
+    default CompletionStage<HttpResponse> executeAsync(HttpRequest request) {
+        try {
+            return CompletableFuture.completedFuture(execute(request));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Returns a port whose calls use a client built for {@code spec} (pool, keep-alive, timeouts,
+     * TLS). Called once per profile when it is first used, so per-call work carries no client
+     * options. The default ignores the spec; adapters with configurable clients override it.
+     */
+    default HttpPort bind(HttpClientSpec spec) {
+        return this;
+    }
+
+    /**
+     * Like {@link #executeAsync} but completes once status and headers arrive, with the body left
+     * to stream on demand. The default buffers through {@link #executeAsync}; streaming ports
+     * override it so large bodies never sit in memory.
+     */
+    default CompletionStage<StreamingResponse> stream(HttpRequest request) {
+        return executeAsync(request).thenApply(StreamingResponse::of);
+    }
+}
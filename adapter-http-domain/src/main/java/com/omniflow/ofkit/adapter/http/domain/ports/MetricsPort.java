@@ -8,4 +8,58 @@ public interface MetricsPort {
     void incrementCacheRevalidate(String profileId);
     void incrementCacheNegative(String profileId);
     void incrementCacheEviction(String profileId);
+
+    /** A request served by joining an upstream call or revalidation already in flight for the same key. */
+    default void incrementCacheCoalesced(String profileId) { }
+
+    /** A stale-while-revalidate refresh dropped because the profile limit or the queue was full. */
+    default void incrementRevalidationRejected(String profileId) { }
+
+    /** Duration of a stale-while-revalidate refresh from scheduling to completion. */
+    default void recordRevalidation(String profileId, long nanos, boolean success) { }
+
+    /** Registers a gauge reporting how many refreshes wait for a revalidation worker. */
+    default void gaugeRevalidationQueueDepth(java.util.function.LongSupplier depth) { }
+
+    /** Registers a gauge reporting the bytes of cached bodies held for a profile. */
+    default void gaugeCacheBytes(String profileId, java.util.function.LongSupplier bytesUsed) { }
+
+    /** Registers gauges for an upstream client pool: open connections and requests in flight on them. */
+    default void gaugeHttpPool(String pool, java.util.function.LongSupplier connections, java.util.function.LongSupplier inFlight) { }
+
+    /** Concurrent streams per open connection of a pool, sampled when a request is dispatched. */
+    default void recordStreamsPerConnection(String pool, double streams) { }
+
+    /** A hedged second attempt sent because the first had not answered within the hedge delay. */
+    default void incrementHedgeSent(String profileId) { }
+
+    /** A hedged attempt whose response was used, the first attempt being cancelled. */
+    default void incrementHedgeWon(String profileId) { }
+
+    /** A retry the profile's retry budget let through. */
+    default void incrementRetryPermitted(String profileId) { }
+
+    /** A retry withheld because the profile's retry budget was spent; the last outcome is returned instead. */
+    default void incrementRetryDenied(String profileId) { }
+
+    /** A call refused because the profile's circuit was open. */
+    default void incrementCircuitRejected(String profileId) { }
+
+    /** Registers a gauge reporting the state of a profile's circuit: 0 closed, 1 open, 2 half-open. */
+    default void gaugeCircuitState(String profileId, java.util.function.LongSupplier state) { }
+
+    /** Registers a gauge counting the hosts of a {@code per_host} profile whose circuit is not closed. */
+    default void gaugeCircuitOpenHosts(String profileId, java.util.function.LongSupplier hosts) { }
+
+    /** A call refused because the profile's concurrency limit was reached. */
+    default void incrementLimitRejected(String profileId) { }
+
+    /** Registers gauges reporting a profile's current adaptive concurrency limit and its calls in flight. */
+    default void gaugeConcurrencyLimit(String profileId, java.util.function.LongSupplier limit, java.util.function.LongSupplier inFlight) { }
+
+    /** An attempt refused by a rate limit; {@code route} is the matched path prefix, empty for the profile bucket. */
+    default void incrementRateLimitRejected(String profileId, String route) { }
+
+    /** Time an attempt waited for a rate-limit token (only recorded when it had to wait). */
+    default void recordRateLimitWait(String profileId, long nanos) { }
 }
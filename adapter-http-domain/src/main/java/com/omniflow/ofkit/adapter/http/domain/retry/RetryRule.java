@@ -0,0 +1,6 @@
+package com.omniflow.ofkit.adapter.http.domain.retry;
+
+import com.omniflow.ofkit.adapter.http.domain.rules.ResponsePredicate;
+
+/** A profile's {@code retriable_rules} entry: when {@code when} matches, {@code retry} decides. */
+public record RetryRule(String id, ResponsePredicate when, boolean retry) { }
@@ -0,0 +1,39 @@
+package com.omniflow.ofkit.adapter.http.domain.retry;
+
+import com.omniflow.ofkit.adapter.http.domain.rules.ResponseContext;
+
+import java.util.List;
+
+/**
+ * {@link RetryClassifier} compiled from a profile's {@code retriable_rules}. The first rule whose
+ * predicate matches decides; without a match, 429 and 5xx are retriable. Transport errors are
+ * always retriable. Immutable and thread-safe.
+ */
+public final class RuleRetryClassifier implements RetryClassifier {
+    /** No rules: 429/5xx and errors. */
+    public static final RuleRetryClassifier DEFAULT = new RuleRetryClassifier(List.of());
+
+    private final List<RetryRule> rules;
+
+    private RuleRetryClassifier(List<RetryRule> rules) {
+        this.rules = rules;
+    }
+
+    public static RuleRetryClassifier compile(List<RetryRule> rules) {
+        return rules == null || rules.isEmpty() ? DEFAULT : new RuleRetryClassifier(List.copyOf(rules));
+    }
+
+    public List<RetryRule> rules() {
+        return rules;
+    }
+
+    @Override
+    public boolean isRetriable(ResponseContext ctx, Throwable error) {
+        if (error != null || ctx == null) return true;
+        for (RetryRule r : rules) {
+            if (r.when().test(ctx)) return r.retry();
+        }
+        int s = ctx.status();
+        return s == 429 || (s >= 500 && s <= 599);
+    }
+}
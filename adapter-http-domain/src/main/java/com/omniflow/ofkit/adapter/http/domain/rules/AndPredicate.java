@@ -9,6 +9,8 @@ public final class AndPredicate implements ResponsePredicate {
         this.predicates = List.copyOf(predicates);
     }
 
+    public List<ResponsePredicate> predicates() { return predicates; }
+
     @Override
     public boolean test(ResponseContext ctx) {
         for (ResponsePredicate p : predicates) {
@@ -1,6 +1,5 @@
 package com.omniflow.ofkit.adapter.http.domain.rules;
 
-import java.nio.charset.StandardCharsets;
 import java.util.regex.Pattern;
 
 public final class BodyRegexPredicate implements ResponsePredicate {
@@ -12,10 +11,9 @@ public final class BodyRegexPredicate implements ResponsePredicate {
 
     @Override
     public boolean test(ResponseContext ctx) {
-        byte[] body = ctx.body();
-        if (body == null) return false;
-        String s = new String(body, StandardCharsets.UTF_8);
-        return pattern.matcher(s).find();
+        CharSequence text = ctx.bodyText();
+        if (text == null) return false;
+        return pattern.matcher(text).find();
     }
 }
 
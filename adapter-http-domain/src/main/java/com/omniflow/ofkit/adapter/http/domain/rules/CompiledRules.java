@@ -0,0 +1,169 @@
+package com.omniflow.ofkit.adapter.http.domain.rules;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Success and error rules compiled into a status dispatch table. Each rule's predicate is
+ * split into the statuses it can match ({@link StatusPredicate} ranges, intersected through
+ * {@link AndPredicate} trees) and the remaining checks, which are ordered cheapest first
+ * (header → JSON → body regex → custom). For every status in 100–599 the table lists, in
+ * original order, only the rules that can match it, and stops after the first rule without
+ * remaining checks. Evaluation therefore gives the same first match as the linear walk of
+ * success rules then error rules; statuses outside the table fall back to that walk.
+ *
+ * <p>Compile once at profile load (see {@code AdapterProfile}); instances are immutable and
+ * thread-safe.
+ */
+public final class CompiledRules {
+    static final int MIN_STATUS = 100;
+    static final int MAX_STATUS = 599;
+    private static final int SPAN = MAX_STATUS - MIN_STATUS + 1;
+
+    private final List<SuccessRule> successRules;
+    private final List<ErrorRule> errorRules;
+    private final Candidate[][] byStatus;
+    private final boolean needsBody;
+
+    private CompiledRules(List<SuccessRule> successRules, List<ErrorRule> errorRules, Candidate[][] byStatus, boolean needsBody) {
+        this.successRules = successRules;
+        this.errorRules = errorRules;
+        this.byStatus = byStatus;
+        this.needsBody = needsBody;
+    }
+
+    public static CompiledRules compile(List<SuccessRule> successRules, List<ErrorRule> errorRules) {
+        List<SuccessRule> success = successRules == null ? List.of() : List.copyOf(successRules);
+        List<ErrorRule> errors = errorRules == null ? List.of() : List.copyOf(errorRules);
+
+        List<Candidate> all = new ArrayList<>(success.size() + errors.size());
+        List<BitSet> statuses = new ArrayList<>(success.size() + errors.size());
+        boolean needsBody = false;
+        for (SuccessRule r : success) {
+            Shape shape = analyse(r.when());
+            all.add(new Candidate(r, null, shape.checks()));
+            statuses.add(shape.statuses);
+            needsBody |= r.pick() != null || shape.readsBody();
+        }
+        for (ErrorRule r : errors) {
+            Shape shape = analyse(r.when());
+            all.add(new Candidate(null, r, shape.checks()));
+            statuses.add(shape.statuses);
+            needsBody |= shape.readsBody();
+        }
+
+        // Statuses with the same candidate list share one array (e.g. the whole 2xx block)
+        Map<List<Candidate>, Candidate[]> interned = new HashMap<>();
+        Candidate[][] table = new Candidate[SPAN][];
+        for (int s = 0; s < SPAN; s++) {
+            List<Candidate> list = new ArrayList<>();
+            for (int i = 0; i < all.size(); i++) {
+                if (!statuses.get(i).get(s)) continue;
+                Candidate c = all.get(i);
+                list.add(c);
+                if (c.checks.length == 0) break; // unconditional: nothing after it can win
+            }
+            table[s] = interned.computeIfAbsent(list, l -> l.toArray(new Candidate[0]));
+        }
+        return new CompiledRules(success, errors, table, needsBody);
+    }
+
+    public List<SuccessRule> successRules() { return successRules; }
+    public List<ErrorRule> errorRules() { return errorRules; }
+
+    /**
+     * Whether any rule may read the body: a body or JSON predicate, a {@code pick_pointer}, or a
+     * custom predicate (which could read anything). When false, status and headers decide the
+     * outcome and the body can be streamed through untouched.
+     */
+    public boolean needsBody() { return needsBody; }
+
+    /** Candidate rules for {@code status} in match order, or null when the status is outside the table. */
+    Candidate[] candidates(int status) {
+        if (status < MIN_STATUS || status > MAX_STATUS) return null;
+        return byStatus[status - MIN_STATUS];
+    }
+
+    /** Equality follows the source rules, so compiled profiles compare as before. */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompiledRules other
+                && successRules.equals(other.successRules)
+                && errorRules.equals(other.errorRules);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(successRules, errorRules);
+    }
+
+    /** A success or error rule reduced to the checks left once its status range is known. */
+    static final class Candidate {
+        final SuccessRule success;
+        final ErrorRule error;
+        private final ResponsePredicate[] checks;
+
+        Candidate(SuccessRule success, ErrorRule error, ResponsePredicate[] checks) {
+            this.success = success;
+            this.error = error;
+            this.checks = checks;
+        }
+
+        boolean test(ResponseContext ctx) {
+            for (ResponsePredicate p : checks) {
+                if (!p.test(ctx)) return false;
+            }
+            return true;
+        }
+    }
+
+    private record Shape(BitSet statuses, List<ResponsePredicate> residual) {
+        boolean readsBody() {
+            return residual.stream().anyMatch(p -> !(p instanceof HeaderRegexPredicate));
+        }
+
+        ResponsePredicate[] checks() {
+            return residual.stream()
+                    .sorted(Comparator.comparingInt(CompiledRules::cost))
+                    .toArray(ResponsePredicate[]::new);
+        }
+    }
+
+    private static Shape analyse(ResponsePredicate p) {
+        BitSet statuses = new BitSet(SPAN);
+        if (p instanceof StatusPredicate sp) {
+            int from = Math.max(sp.minInclusive(), MIN_STATUS);
+            int to = Math.min(sp.maxInclusive(), MAX_STATUS);
+            if (from <= to) statuses.set(from - MIN_STATUS, to - MIN_STATUS + 1);
+            return new Shape(statuses, List.of());
+        }
+        statuses.set(0, SPAN);
+        List<ResponsePredicate> residual = new ArrayList<>();
+        if (p instanceof AndPredicate and) {
+            for (ResponsePredicate child : and.predicates()) {
+                Shape c = analyse(child);
+                statuses.and(c.statuses);
+                residual.addAll(c.residual);
+            }
+        } else {
+            residual.add(p);
+        }
+        return new Shape(statuses, residual);
+    }
+
+    /**
+     * Relative evaluation cost. Only built-in predicates, which are side-effect free, move
+     * ahead of others; custom predicates keep their relative order and run last.
+     */
+    private static int cost(ResponsePredicate p) {
+        if (p instanceof HeaderRegexPredicate) return 1;
+        if (p instanceof JsonPointerPredicate) return 2;
+        if (p instanceof BodyRegexPredicate) return 3;
+        return 4;
+    }
+}
@@ -0,0 +1,170 @@
+package com.omniflow.ofkit.adapter.http.domain.rules;
+
+import com.omniflow.ofkit.adapter.http.domain.model.BodyBuffer;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * HTTP content codings (RFC 9110 §8.4). Upstream bodies keep their encoded form through the cache
+ * and on to clients that accept it; they are decoded only when a body rule or {@code pick_pointer}
+ * reads them, or for a client that does not accept the coding. gzip and deflate are built in;
+ * other codings (br) are registered by the infrastructure when a decoder is available.
+ */
+public final class ContentCoding {
+
+    /** Wraps an encoded stream into a decoded one. */
+    @FunctionalInterface
+    public interface Decoder {
+        InputStream decode(InputStream encoded) throws IOException;
+    }
+
+    private static final Map<String, Decoder> DECODERS = new ConcurrentHashMap<>();
+    private static volatile String acceptEncoding = "";
+
+    static {
+        register("gzip", GZIPInputStream::new);
+        register("deflate", ContentCoding::inflate);
+    }
+
+    private ContentCoding() {}
+
+    /** Adds a decoder and advertises {@code coding} in {@link #acceptEncoding()}. */
+    public static synchronized void register(String coding, Decoder decoder) {
+        String name = coding.toLowerCase(Locale.ROOT);
+        if (DECODERS.put(name, decoder) == null) acceptEncoding = acceptEncoding.isEmpty() ? name : acceptEncoding + ", " + name;
+    }
+
+    /** Accept-Encoding value listing every coding that can be decoded here. */
+    public static String acceptEncoding() {
+        return acceptEncoding;
+    }
+
+    /** Codings named by Content-Encoding, in the order they were applied; empty for identity. */
+    public static List<String> codings(Map<String, List<String>> headers) {
+        List<String> values = header(headers, "Content-Encoding");
+        if (values == null) return List.of();
+        List<String> out = new ArrayList<>(1);
+        for (String v : values) {
+            for (String c : v.split(",")) {
+                String name = c.trim().toLowerCase(Locale.ROOT);
+                if (!name.isEmpty() && !name.equals("identity")) out.add(name);
+            }
+        }
+        return out;
+    }
+
+    /** {@link #decode(Map, BodyBuffer, int)} capped at {@link HttpClientSpec#DEFAULT_MAX_DECODED_KB}. */
+    public static BodyBuffer decode(Map<String, List<String>> headers, BodyBuffer body) throws IOException {
+        return decode(headers, body, HttpClientSpec.DEFAULT_MAX_DECODED_KB * 1024);
+    }
+
+    /**
+     * {@code body} with its codings undone, or {@code body} itself when it has none. Fails on a
+     * coding without a decoder, on corrupt data, and with {@link DecodedBodyTooLargeException}
+     * as soon as the output passes {@code maxBytes}: a few KB of gzip can inflate to gigabytes.
+     */
+    public static BodyBuffer decode(Map<String, List<String>> headers, BodyBuffer body, int maxBytes) throws IOException {
+        List<String> codings = codings(headers);
+        if (body == null || codings.isEmpty()) return body;
+        InputStream in = body.inputStream();
+        for (int i = codings.size() - 1; i >= 0; i--) {
+            Decoder d = DECODERS.get(codings.get(i));
+            if (d == null) throw new IOException("Unsupported content coding: " + codings.get(i));
+            in = d.decode(in);
+        }
+        try (InputStream decoded = in) {
+            byte[] out = decoded.readNBytes(maxBytes);
+            if (decoded.read() != -1) throw new DecodedBodyTooLargeException(maxBytes);
+            return BodyBuffer.of(out);
+        }
+    }
+
+    /**
+     * Whether a request with these headers accepts every coding of a response with
+     * {@code responseHeaders}. No Accept-Encoding means identity only; {@code q=0} refuses.
+     */
+    public static boolean accepted(Map<String, List<String>> requestHeaders, Map<String, List<String>> responseHeaders) {
+        List<String> codings = codings(responseHeaders);
+        if (codings.isEmpty()) return true;
+        List<String> accept = header(requestHeaders, "Accept-Encoding");
+        if (accept == null) return false;
+        Map<String, Boolean> listed = new HashMap<>();
+        for (String v : accept) {
+            for (String entry : v.split(",")) {
+                String[] parts = entry.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                boolean refused = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String p = parts[i].trim();
+                    if (p.startsWith("q=") || p.startsWith("Q=")) refused = isZero(p.substring(2));
+                }
+                if (!name.isEmpty()) listed.put(name, !refused);
+            }
+        }
+        for (String c : codings) {
+            Boolean ok = listed.containsKey(c) ? listed.get(c) : listed.get("*");
+            if (ok == null || !ok) return false;
+        }
+        return true;
+    }
+
+    /** Headers for the decoded form of a body: Content-Encoding and Content-Length dropped. */
+    public static Map<String, List<String>> withoutEncoding(Map<String, List<String>> headers) {
+        Map<String, List<String>> out = new HashMap<>();
+        headers.forEach((k, v) -> {
+            if (k != null && !k.equalsIgnoreCase("Content-Encoding") && !k.equalsIgnoreCase("Content-Length")) out.put(k, v);
+        });
+        return out;
+    }
+
+    /** "deflate" is zlib-wrapped by the spec, but raw deflate streams are common enough to accept too. */
+    private static InputStream inflate(InputStream encoded) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(encoded);
+        in.mark(2);
+        int cmf = in.read();
+        int flg = in.read();
+        in.reset();
+        boolean zlib = cmf >= 0 && flg >= 0 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+        Inflater inflater = new Inflater(!zlib);
+        return new InflaterInputStream(in, inflater) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private static boolean isZero(String q) {
+        try {
+            return Double.parseDouble(q.trim()) <= 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static List<String> header(Map<String, List<String>> headers, String name) {
+        if (headers == null) return null;
+        List<String> values = headers.get(name);
+        if (values != null) return values;
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            if (e.getKey() != null && e.getKey().equalsIgnoreCase(name)) return e.getValue();
+        }
+        return null;
+    }
+}
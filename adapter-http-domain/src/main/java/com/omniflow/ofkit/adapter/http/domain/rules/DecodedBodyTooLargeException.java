@@ -0,0 +1,10 @@
+package com.omniflow.ofkit.adapter.http.domain.rules;
+
+import java.io.IOException;
+
+/** A compressed body that decodes to more than the profile allows; decoding stopped at the cap. */
+public class DecodedBodyTooLargeException extends IOException {
+    public DecodedBodyTooLargeException(int maxBytes) {
+        super("Decoded body exceeds " + maxBytes + " bytes");
+    }
+}
@@ -1,7 +1,6 @@
 package com.omniflow.ofkit.adapter.http.domain.rules;
 
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 public final class HeaderRegexPredicate implements ResponsePredicate {
@@ -15,17 +14,7 @@ public final class HeaderRegexPredicate implements ResponsePredicate {
 
     @Override
     public boolean test(ResponseContext ctx) {
-        Map<String, List<String>> headers = ctx.headers();
-        if (headers == null) return false;
-        List<String> values = headers.get(headerName);
-        if (values == null) {
-            for (Map.Entry<String, List<String>> e : headers.entrySet()) {
-                if (e.getKey() != null && e.getKey().equalsIgnoreCase(headerName)) {
-                    values = e.getValue();
-                    break;
-                }
-            }
-        }
+        List<String> values = ctx.header(headerName);
         if (values == null) return false;
         return values.stream().anyMatch(v -> v != null && pattern.matcher(v).find());
     }
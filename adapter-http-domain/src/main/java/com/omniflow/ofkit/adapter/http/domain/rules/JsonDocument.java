@@ -0,0 +1,137 @@
+package com.omniflow.ofkit.adapter.http.domain.rules;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lazily built JSON tree over a response body. The first lookup checks the whole document
+ * once; a malformed one answers every lookup with {@code null}, like a failed parse. Containers
+ * are then indexed as lookups reach them: an object all at once, since the last of duplicate
+ * keys wins, an array only as far as the requested element. Everything indexed is remembered,
+ * so later pointers into the same region are answered without re-scanning. Lookups give
+ * exactly the results of {@link JsonPointerEvaluator#resolve}.
+ *
+ * <p>Not thread-safe; owned by a single {@link ResponseContext}.
+ */
+final class JsonDocument {
+    private final JsonScanner s;
+    private Node root;
+    private boolean rootLocated;
+
+    JsonDocument(byte[] body) {
+        this.s = new JsonScanner(body);
+    }
+
+    JsonSlice resolve(JsonPointer p) {
+        if (p == null || !p.isValid()) return null;
+        try {
+            Node n = root();
+            for (int i = 0; n != null && i < p.depth(); i++) {
+                n = n.child(p, i);
+            }
+            return n == null ? null : n.slice();
+        } catch (RuntimeException malformed) {
+            return null;
+        }
+    }
+
+    private Node root() {
+        if (!rootLocated) {
+            rootLocated = true;
+            int start = s.peek() >= 0 ? s.pos : -1;
+            try {
+                s.scanDocument(null);
+                root = new Node(start);
+            } catch (RuntimeException malformed) {
+                root = null;
+            }
+        }
+        return root;
+    }
+
+    private final class Node {
+        final int start;
+        int end = -1;
+        JsonSlice slice;
+        Map<String, Node> members;
+        List<Node> elements;
+        /** Most recently discovered child; scanning resumes after its value. */
+        Node last;
+        boolean complete;
+
+        Node(int start) {
+            this.start = start;
+        }
+
+        Node child(JsonPointer p, int i) {
+            if (start >= s.b.length) return null;
+            byte c = s.b[start];
+            if (c == '{') return member(p.token(i));
+            if (c == '[') return p.index(i) < 0 ? null : element(p.index(i));
+            return null;
+        }
+
+        private Node member(String name) {
+            if (members == null) {
+                members = new HashMap<>();
+                while (openNext('}')) {
+                    String key = s.readKey();
+                    s.expect(':');
+                    s.peek();
+                    Node n = new Node(s.pos);
+                    last = n;
+                    members.put(key, n);
+                }
+            }
+            return members.get(name);
+        }
+
+        private Node element(int index) {
+            if (elements == null) elements = new ArrayList<>();
+            if (index < elements.size()) return elements.get(index);
+            if (complete) return null;
+            while (openNext(']')) {
+                s.peek();
+                Node n = new Node(s.pos);
+                last = n;
+                elements.add(n);
+                if (elements.size() > index) return n;
+            }
+            return null;
+        }
+
+        /** Positions the scanner on the next child, or marks the container complete and returns false. */
+        private boolean openNext(char close) {
+            if (last == null) {
+                s.pos = start + 1;
+                if (s.peek() == close) { complete = true; return false; }
+                return true;
+            }
+            s.pos = last.end();
+            if (s.peek() != ',') { complete = true; return false; }
+            s.pos++;
+            return true;
+        }
+
+        int end() {
+            if (end < 0) {
+                s.pos = start;
+                s.skipValue();
+                end = s.pos;
+            }
+            return end;
+        }
+
+        JsonSlice slice() {
+            if (slice == null) {
+                s.pos = start;
+                JsonSlice.Kind kind = s.kind();
+                if (kind == null) return null;
+                slice = new JsonSlice(s.b, start, end(), kind);
+            }
+            return slice;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.omniflow.ofkit.adapter.http.domain.rules;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC-6901 JSON Pointer pre-parsed into reference tokens, so evaluation never re-splits or
+ * re-unescapes the expression. Compile once at profile load and reuse for every response.
+ */
+public final class JsonPointer {
+    private static final JsonPointer INVALID = new JsonPointer(null, new String[0], new byte[0][], new int[0], false);
+
+    private final String expression;
+    private final String[] tokens;
+    private final byte[][] tokenBytes;
+    private final int[] indexes;
+    private final boolean valid;
+
+    private JsonPointer(String expression, String[] tokens, byte[][] tokenBytes, int[] indexes, boolean valid) {
+        this.expression = expression;
+        this.tokens = tokens;
+        this.tokenBytes = tokenBytes;
+        this.indexes = indexes;
+        this.valid = valid;
+    }
+
+    /**
+     * Compiles a pointer expression. Expressions that are not valid pointers (e.g. missing the
+     * leading '/') compile to a pointer that never resolves, mirroring the lenient evaluation of
+     * malformed pointers at request time.
+     */
+    public static JsonPointer compile(String expression) {
+        if (expression == null) return INVALID;
+        if (expression.isEmpty()) return new JsonPointer(expression, new String[0], new byte[0][], new int[0], true);
+        if (expression.charAt(0) != '/') return new JsonPointer(expression, new String[0], new byte[0][], new int[0], false);
+        List<String> parts = new ArrayList<>();
+        int start = 1;
+        while (true) {
+            int slash = expression.indexOf('/', start);
+            String raw = slash < 0 ? expression.substring(start) : expression.substring(start, slash);
+            parts.add(raw.replace("~1", "/").replace("~0", "~"));
+            if (slash < 0) break;
+            start = slash + 1;
+        }
+        String[] tokens = parts.toArray(new String[0]);
+        byte[][] bytes = new byte[tokens.length][];
+        int[] indexes = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            bytes[i] = tokens[i].getBytes(StandardCharsets.UTF_8);
+            indexes[i] = parseIndex(tokens[i]);
+        }
+        return new JsonPointer(expression, tokens, bytes, indexes, true);
+    }
+
+    public String expression() { return expression; }
+    public boolean isValid() { return valid; }
+    public int depth() { return tokens.length; }
+    public String token(int i) { return tokens[i]; }
+
+    byte[] tokenBytes(int i) { return tokenBytes[i]; }
+
+    /** Array index for token {@code i}, or -1 when the token cannot address an array element. */
+    int index(int i) { return indexes[i]; }
+
+    private static int parseIndex(String token) {
+        int len = token.length();
+        if (len == 0 || len > 10) return -1;
+        if (len > 1 && token.charAt(0) == '0') return -1;
+        long v = 0;
+        for (int i = 0; i < len; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v > Integer.MAX_VALUE ? -1 : (int) v;
+    }
+
+    @Override
+    public String toString() { return expression; }
+}
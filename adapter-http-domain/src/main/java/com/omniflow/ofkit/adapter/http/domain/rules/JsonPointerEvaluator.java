@@ -0,0 +1,24 @@
+package com.omniflow.ofkit.adapter.http.domain.rules;
+
+/**
+ * Streaming JSON Pointer evaluator over a UTF-8 body. One pass checks the document and notes
+ * where the pointer's target lies; nothing is decoded except keys with escapes on the pointer's
+ * path, and no tree is built. Pure Java, no reflection.
+ *
+ * <p>Results are those of Jackson's {@code readTree(body).at(pointer)}: with duplicate keys the
+ * last occurrence wins, and a malformed document (a fault anywhere, not only on the path)
+ * resolves to {@code null}, as does a missing path. For several pointers against the same body
+ * prefer {@link ResponseContext#json(JsonPointer)}, which memoizes what it has already scanned.
+ */
+public final class JsonPointerEvaluator {
+    private JsonPointerEvaluator() {}
+
+    public static JsonSlice resolve(byte[] body, JsonPointer pointer) {
+        if (body == null || pointer == null || !pointer.isValid()) return null;
+        try {
+            return new JsonScanner(body).scanDocument(pointer);
+        } catch (RuntimeException malformed) {
+            return null;
+        }
+    }
+}
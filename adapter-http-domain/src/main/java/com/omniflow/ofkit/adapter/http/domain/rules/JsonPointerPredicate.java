@@ -1,16 +1,17 @@
 package com.omniflow.ofkit.adapter.http.domain.rules;
 
-import java.lang.reflect.Method;
-import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
 
 /**
- * JSON Pointer predicate that uses Jackson via reflection if available on the classpath.
- * If Jackson is not present, this predicate returns false.
+ * JSON Pointer predicate (equals / regex / exists). The pointer and regex are compiled once at
+ * construction; evaluation goes through {@link ResponseContext#json(JsonPointer)}, which shares one
+ * lazily built JSON tree across all predicates of an evaluation.
+ * Non-JSON bodies and missing paths evaluate to false.
  */
 public final class JsonPointerPredicate implements ResponsePredicate {
-    private final String pointer;
+    private final JsonPointer pointer;
     private final String equals;
-    private final String regex;
+    private final Pattern regex;
     private final boolean exists;
 
     public static JsonPointerPredicate equalsAt(String pointer, String value) {
@@ -26,48 +27,28 @@ public final class JsonPointerPredicate implements ResponsePredicate {
     }
 
     private JsonPointerPredicate(String pointer, String equals, String regex, boolean exists) {
-        this.pointer = pointer;
+        this.pointer = JsonPointer.compile(pointer);
         this.equals = equals;
-        this.regex = regex;
+        this.regex = regex == null ? null : Pattern.compile(regex);
         this.exists = exists;
     }
 
+    public JsonPointer pointer() { return pointer; }
+
     @Override
     public boolean test(ResponseContext ctx) {
-        try {
-            Class<?> omClass = Class.forName("com.fasterxml.jackson.databind.ObjectMapper");
-            Object om = omClass.getConstructor().newInstance();
-            Method readTree = omClass.getMethod("readTree", byte[].class);
-            Object root = readTree.invoke(om, ctx.body() == null ? new byte[0] : ctx.body());
-            if (root == null) return false;
-            Method at = root.getClass().getMethod("at", String.class);
-            Object node = at.invoke(root, pointer);
-            if (node == null) return false;
-
-            // node.isMissingNode()
-            Method isMissingNode = node.getClass().getMethod("isMissingNode");
-            boolean missing = (boolean) isMissingNode.invoke(node);
-            if (exists) {
-                return !missing;
-            }
-
-            // node.asText()
-            Method asText = node.getClass().getMethod("asText");
-            String text = (String) asText.invoke(node);
-
-            if (equals != null) {
-                return equals.equals(text);
-            }
-            if (regex != null) {
-                return text != null && text.matches(regex);
-            }
-            return false;
-        } catch (ClassNotFoundException e) {
-            // Jackson not available → predicate cannot evaluate
-            return false;
-        } catch (Exception e) {
-            // Parsing/evaluation failure → safe default false
-            return false;
+        JsonSlice node = ctx.json(pointer);
+        if (node == null) return false;
+        if (exists) {
+            return true;
+        }
+        String text = node.asText();
+        if (equals != null) {
+            return equals.equals(text);
+        }
+        if (regex != null) {
+            return regex.matcher(text).matches();
         }
+        return false;
     }
 }
@@ -0,0 +1,244 @@
+package com.omniflow.ofkit.adapter.http.domain.rules;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte-level JSON cursor shared by {@link JsonPointerEvaluator} and {@link JsonDocument}.
+ * Values are skipped without decoding; malformed input surfaces as {@link IllegalStateException}
+ * (or an index error on truncated input), which callers treat as "not found".
+ *
+ * <p>{@link #scanDocument(JsonPointer)} checks the whole document the way Jackson's
+ * {@code readTree} parses it (strict RFC 8259 grammar, valid UTF-8 in strings, nesting up to
+ * {@value #MAX_DEPTH}, anything after the first value ignored); the skip methods trust input
+ * that has been through it.
+ */
+final class JsonScanner {
+    /** Jackson's default nesting limit. */
+    static final int MAX_DEPTH = 1000;
+
+    final byte[] b;
+    int pos;
+    private JsonPointer target;
+    private JsonSlice found;
+
+    JsonScanner(byte[] b) {
+        this.b = b;
+        // UTF-8 BOM
+        if (b.length >= 3 && (b[0] & 0xFF) == 0xEF && (b[1] & 0xFF) == 0xBB && (b[2] & 0xFF) == 0xBF) pos = 3;
+    }
+
+    /** Kind of the value starting at the current position (after whitespace), or null at end of input. */
+    JsonSlice.Kind kind() {
+        int c = peek();
+        if (c < 0) return null;
+        return switch (c) {
+            case '{' -> JsonSlice.Kind.OBJECT;
+            case '[' -> JsonSlice.Kind.ARRAY;
+            case '"' -> JsonSlice.Kind.STRING;
+            case 't', 'f' -> JsonSlice.Kind.BOOLEAN;
+            case 'n' -> JsonSlice.Kind.NULL;
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) yield JsonSlice.Kind.NUMBER;
+                throw new IllegalStateException("unexpected byte at " + pos);
+            }
+        };
+    }
+
+    /**
+     * Checks the document in one pass and returns the value at {@code pointer} (null: just check),
+     * or null when it has none. Of duplicate keys the last one wins, as in Jackson's tree. Throws
+     * when the document is malformed, wherever the fault lies.
+     */
+    JsonSlice scanDocument(JsonPointer pointer) {
+        target = pointer;
+        found = null;
+        if (peek() < 0) throw new IllegalStateException("empty document");
+        int start = pos;
+        value(0, pointer == null ? -1 : 0);
+        // a root scalar must end its token, e.g. "12ab" is not a number nor "truex" a literal
+        if (pos < b.length) {
+            boolean runOn = switch (b[start]) {
+                case '{', '[', '"' -> false;
+                case 't', 'f', 'n' -> Character.isLetterOrDigit(b[pos]) || b[pos] == '_' || b[pos] == '$';
+                default -> !isSpace(b[pos]);
+            };
+            if (runOn) throw new IllegalStateException("unexpected byte at " + pos);
+        }
+        return found;
+    }
+
+    /** {@code level}: pointer tokens matched on the way to this value, or -1 when off its path. */
+    private void value(int depth, int level) {
+        if (depth > MAX_DEPTH) throw new IllegalStateException("nesting deeper than " + MAX_DEPTH);
+        int c = peek();
+        int start = pos;
+        JsonSlice.Kind kind;
+        switch (c) {
+            case '{' -> { object(depth, level); kind = JsonSlice.Kind.OBJECT; }
+            case '[' -> { array(depth, level); kind = JsonSlice.Kind.ARRAY; }
+            case '"' -> { string(); kind = JsonSlice.Kind.STRING; }
+            case 't' -> { literal("true"); kind = JsonSlice.Kind.BOOLEAN; }
+            case 'f' -> { literal("false"); kind = JsonSlice.Kind.BOOLEAN; }
+            case 'n' -> { literal("null"); kind = JsonSlice.Kind.NULL; }
+            default -> { number(); kind = JsonSlice.Kind.NUMBER; }
+        }
+        if (level >= 0 && level == target.depth()) found = new JsonSlice(b, start, pos, kind);
+    }
+
+    private void object(int depth, int level) {
+        pos++; // '{'
+        if (peek() == '}') { pos++; return; }
+        while (true) {
+            if (peek() != '"') throw new IllegalStateException("expected key at " + pos);
+            int quote = pos;
+            string();
+            int child = -1;
+            if (level >= 0 && level < target.depth() && keyEquals(quote, pos - 1, target.tokenBytes(level))) {
+                child = level + 1;
+                found = null; // a later duplicate replaces what an earlier one held
+            }
+            expect(':');
+            value(depth + 1, child);
+            int d = peek();
+            pos++;
+            if (d == '}') return;
+            if (d != ',') throw new IllegalStateException("expected , or } at " + (pos - 1));
+        }
+    }
+
+    private void array(int depth, int level) {
+        pos++; // '['
+        if (peek() == ']') { pos++; return; }
+        int wanted = level >= 0 && level < target.depth() ? target.index(level) : -1;
+        for (int i = 0; ; i++) {
+            value(depth + 1, i == wanted ? level + 1 : -1);
+            int d = peek();
+            pos++;
+            if (d == ']') return;
+            if (d != ',') throw new IllegalStateException("expected , or ] at " + (pos - 1));
+        }
+    }
+
+    /** Whether the key string between {@code quote} and {@code close} is {@code name}, decoding only when escaped. */
+    private boolean keyEquals(int quote, int close, byte[] name) {
+        for (int i = quote + 1; i < close; i++) {
+            if (b[i] == '\\') return Arrays.equals(JsonSlice.decodeString(b, quote).getBytes(StandardCharsets.UTF_8), name);
+        }
+        return Arrays.equals(b, quote + 1, close, name, 0, name.length);
+    }
+
+    /** Consumes a string, rejecting raw control characters, unknown escapes and invalid UTF-8. */
+    private void string() {
+        pos++; // opening quote
+        while (true) {
+            int x = b[pos++] & 0xFF;
+            if (x == '"') return;
+            if (x < 0x20) throw new IllegalStateException("control character at " + (pos - 1));
+            if (x == '\\') {
+                int e = b[pos++];
+                if (e == 'u') {
+                    for (int k = 0; k < 4; k++) {
+                        if (Character.digit(b[pos++], 16) < 0) throw new IllegalStateException("bad \\u escape at " + (pos - 1));
+                    }
+                } else if ("\"\\/bfnrt".indexOf(e) < 0) {
+                    throw new IllegalStateException("bad escape at " + (pos - 1));
+                }
+            } else if (x >= 0x80) {
+                int more = x >= 0xC2 && x <= 0xDF ? 1 : x >= 0xE0 && x <= 0xEF ? 2 : x >= 0xF0 && x <= 0xF4 ? 3 : -1;
+                if (more < 0) throw new IllegalStateException("invalid UTF-8 at " + (pos - 1));
+                for (int k = 0; k < more; k++) {
+                    if ((b[pos++] & 0xC0) != 0x80) throw new IllegalStateException("invalid UTF-8 at " + (pos - 1));
+                }
+            }
+        }
+    }
+
+    /** {@code -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?} */
+    private void number() {
+        if (pos < b.length && b[pos] == '-') pos++;
+        if (pos < b.length && b[pos] == '0') pos++;
+        else if (digits() == 0) throw new IllegalStateException("bad number at " + pos);
+        if (pos < b.length && b[pos] == '.') {
+            pos++;
+            if (digits() == 0) throw new IllegalStateException("bad fraction at " + pos);
+        }
+        if (pos < b.length && (b[pos] == 'e' || b[pos] == 'E')) {
+            pos++;
+            if (pos < b.length && (b[pos] == '+' || b[pos] == '-')) pos++;
+            if (digits() == 0) throw new IllegalStateException("bad exponent at " + pos);
+        }
+    }
+
+    private int digits() {
+        int s = pos;
+        while (pos < b.length && b[pos] >= '0' && b[pos] <= '9') pos++;
+        return pos - s;
+    }
+
+    private void literal(String word) {
+        for (int k = 0; k < word.length(); k++) {
+            if (b[pos++] != word.charAt(k)) throw new IllegalStateException("bad literal at " + (pos - 1));
+        }
+    }
+
+    private static boolean isSpace(byte x) {
+        return x == ' ' || x == '\t' || x == '\n' || x == '\r';
+    }
+
+    /** Consumes a key string and returns it decoded. */
+    String readKey() {
+        if (peek() != '"') throw new IllegalStateException("expected key at " + pos);
+        int quote = pos;
+        skipString();
+        return JsonSlice.decodeString(b, quote);
+    }
+
+    void skipValue() {
+        int c = peek();
+        if (c == '"') { skipString(); return; }
+        if (c == '{' || c == '[') { skipContainer(); return; }
+        if (c < 0) throw new IllegalStateException("unexpected end");
+        int s = pos;
+        while (pos < b.length) {
+            byte x = b[pos];
+            if (x == ',' || x == '}' || x == ']' || x == ' ' || x == '\t' || x == '\n' || x == '\r') break;
+            pos++;
+        }
+        if (pos == s) throw new IllegalStateException("empty value at " + pos);
+    }
+
+    private void skipContainer() {
+        int depth = 0;
+        while (true) {
+            byte x = b[pos];
+            if (x == '"') { skipString(); continue; }
+            pos++;
+            if (x == '{' || x == '[') depth++;
+            else if ((x == '}' || x == ']') && --depth == 0) return;
+        }
+    }
+
+    void skipString() {
+        pos++; // opening quote
+        while (true) {
+            byte x = b[pos++];
+            if (x == '"') return;
+            if (x == '\\') pos++;
+        }
+    }
+
+    void expect(char ch) {
+        if (peek() != ch) throw new IllegalStateException("expected " + ch + " at " + pos);
+        pos++;
+    }
+
+    int peek() {
+        while (pos < b.length) {
+            byte x = b[pos];
+            if (x == ' ' || x == '\t' || x == '\n' || x == '\r') pos++;
+            else return x & 0xFF;
+        }
+        return -1;
+    }
+}
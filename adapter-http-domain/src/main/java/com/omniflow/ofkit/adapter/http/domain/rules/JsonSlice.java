@@ -0,0 +1,150 @@
+package com.omniflow.ofkit.adapter.http.domain.rules;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * View over one JSON value inside a response body, as located by {@link JsonPointerEvaluator}.
+ * Nothing is copied until {@link #asText()} or {@link #toJson()} is called.
+ */
+public final class JsonSlice {
+    public enum Kind { OBJECT, ARRAY, STRING, NUMBER, BOOLEAN, NULL }
+
+    private final byte[] src;
+    private final int start;
+    private final int end;
+    private final Kind kind;
+
+    JsonSlice(byte[] src, int start, int end, Kind kind) {
+        this.src = src;
+        this.start = start;
+        this.end = end;
+        this.kind = kind;
+    }
+
+    public Kind kind() { return kind; }
+
+    /**
+     * Scalar text of the value with Jackson {@code JsonNode.asText()} semantics: unescaped
+     * strings, normalised numbers, {@code "true"/"false"/"null"}, and "" for containers.
+     */
+    public String asText() {
+        return switch (kind) {
+            case STRING -> decodeString(src, start);
+            case NUMBER -> normaliseNumber(new String(src, start, end - start, StandardCharsets.US_ASCII));
+            case BOOLEAN, NULL -> new String(src, start, end - start, StandardCharsets.US_ASCII);
+            case OBJECT, ARRAY -> "";
+        };
+    }
+
+    /** Compact JSON serialisation of the value (whitespace dropped, strings and numbers normalised). */
+    public byte[] toJson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(end - start);
+        int i = start;
+        while (i < end) {
+            int c = src[i] & 0xFF;
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                i++;
+            } else if (c == '"') {
+                int close = i + 1;
+                boolean escaped = false;
+                while (src[close] != '"') {
+                    if (src[close] == '\\') { escaped = true; close++; }
+                    close++;
+                }
+                if (escaped) writeString(out, decodeString(src, i));
+                else out.write(src, i, close + 1 - i);
+                i = close + 1;
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                int j = i;
+                while (j < end && isNumberChar(src[j])) j++;
+                byte[] n = normaliseNumber(new String(src, i, j - i, StandardCharsets.US_ASCII)).getBytes(StandardCharsets.US_ASCII);
+                out.write(n, 0, n.length);
+                i = j;
+            } else {
+                out.write(c);
+                i++;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isNumberChar(byte b) {
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+
+    static String normaliseNumber(String literal) {
+        boolean integral = literal.indexOf('.') < 0 && literal.indexOf('e') < 0 && literal.indexOf('E') < 0;
+        try {
+            if (integral) {
+                if (literal.length() < 19) return Long.toString(Long.parseLong(literal));
+                return new BigInteger(literal).toString();
+            }
+            return Double.toString(Double.parseDouble(literal));
+        } catch (NumberFormatException e) {
+            return literal;
+        }
+    }
+
+    /** Decodes the JSON string literal whose opening quote is at {@code quote}. */
+    static String decodeString(byte[] b, int quote) {
+        int i = quote + 1;
+        int j = i;
+        while (b[j] != '"' && b[j] != '\\') j++;
+        if (b[j] == '"') return new String(b, i, j - i, StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(b, i, j - i);
+        i = j;
+        while (b[i] != '"') {
+            byte c = b[i++];
+            if (c != '\\') { out.write(c); continue; }
+            byte e = b[i++];
+            switch (e) {
+                case 'n' -> out.write('\n');
+                case 't' -> out.write('\t');
+                case 'r' -> out.write('\r');
+                case 'b' -> out.write('\b');
+                case 'f' -> out.write('\f');
+                case 'u' -> {
+                    int cp = Integer.parseInt(new String(b, i, 4, StandardCharsets.US_ASCII), 16);
+                    i += 4;
+                    if (Character.isHighSurrogate((char) cp) && i + 6 <= b.length && b[i] == '\\' && b[i + 1] == 'u') {
+                        int low = Integer.parseInt(new String(b, i + 2, 4, StandardCharsets.US_ASCII), 16);
+                        if (Character.isLowSurrogate((char) low)) {
+                            cp = Character.toCodePoint((char) cp, (char) low);
+                            i += 6;
+                        }
+                    }
+                    byte[] enc = new String(Character.toChars(cp)).getBytes(StandardCharsets.UTF_8);
+                    out.write(enc, 0, enc.length);
+                }
+                default -> out.write(e); // \" \\ \/
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int k = 0; k < s.length(); k++) {
+            char ch = s.charAt(k);
+            switch (ch) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\t' -> sb.append("\\t");
+                case '\r' -> sb.append("\\r");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                default -> {
+                    if (ch < 0x20) sb.append(String.format("\\u%04X", (int) ch));
+                    else sb.append(ch);
+                }
+            }
+        }
+        byte[] enc = sb.append('"').toString().getBytes(StandardCharsets.UTF_8);
+        out.write(enc, 0, enc.length);
+    }
+}
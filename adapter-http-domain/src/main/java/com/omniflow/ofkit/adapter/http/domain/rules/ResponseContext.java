@@ -1,25 +1,104 @@
 package com.omniflow.ofkit.adapter.http.domain.rules;
 
+import com.omniflow.ofkit.adapter.http.domain.model.BodyBuffer;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
-/** Snapshot of the upstream HTTP response for predicate evaluation. */
+/**
+ * Snapshot of the upstream HTTP response for predicate evaluation.
+ *
+ * <p>Derived views (decoded body text, JSON tree, case-insensitive header index) are computed
+ * on first use and memoized, so a response is decoded and parsed at most once however many
+ * rules run against it. A body with a Content-Encoding is decompressed only when one of these
+ * views is first used; {@link #body()} and {@link #payload()} stay in the encoded form. Text is
+ * decoded straight from the body buffer; the JSON views work on its array form, which is copied
+ * only for buffers without a backing array. One context per evaluation; not thread-safe.
+ */
 public final class ResponseContext {
     private final int status;
     private final Map<String, List<String>> headers;
-    private final byte[] body;
+    private final BodyBuffer body;
+    private final int maxDecodedBytes;
+
+    private BodyBuffer decoded;
+    private boolean decodeFailed;
+    private String bodyText;
+    private JsonDocument json;
+    private Map<String, List<String>> headerIndex;
 
     public ResponseContext(HttpResponse response) {
+        this(response, HttpClientSpec.DEFAULT_MAX_DECODED_KB * 1024);
+    }
+
+    /** Decoding stops at {@code maxDecodedBytes}; a larger body counts as undecodable. */
+    public ResponseContext(HttpResponse response, int maxDecodedBytes) {
         this.status = response.statusCode();
         this.headers = response.headers();
-        this.body = response.body();
+        this.body = response.payload();
+        this.maxDecodedBytes = maxDecodedBytes;
     }
 
     public int status() { return status; }
     public Map<String, List<String>> headers() { return headers; }
-    public byte[] body() { return body; }
-    public String bodyAsString() { return body == null ? null : new String(body, StandardCharsets.UTF_8); }
+    public byte[] body() { return body == null ? null : body.bytes(); }
+    public BodyBuffer payload() { return body; }
+    public String bodyAsString() { return (String) bodyText(); }
+
+    /**
+     * Body with its content codings undone, or null when there is none or it cannot be decoded
+     * (unknown coding, corrupt data, over the size cap), in which case body rules simply do not match.
+     */
+    public BodyBuffer decodedPayload() {
+        if (decoded == null && body != null && !decodeFailed) {
+            try {
+                decoded = ContentCoding.decode(headers, body, maxDecodedBytes);
+            } catch (IOException | RuntimeException e) {
+                decodeFailed = true;
+            }
+        }
+        return decoded;
+    }
+
+    /** Whether the body travels with a Content-Encoding, i.e. {@link #decodedPayload()} differs from it. */
+    public boolean encoded() {
+        return body != null && !ContentCoding.codings(headers).isEmpty();
+    }
+
+    /** Body decoded as UTF-8, or null when there is no body. */
+    public CharSequence bodyText() {
+        if (bodyText == null && decodedPayload() != null) bodyText = decoded.toString(StandardCharsets.UTF_8);
+        return bodyText;
+    }
+
+    /**
+     * Values of header {@code name}: an exact match first, otherwise the first header whose name
+     * matches ignoring case. Returns null when absent.
+     */
+    public List<String> header(String name) {
+        if (headers == null || name == null) return null;
+        List<String> exact = headers.get(name);
+        if (exact != null) return exact;
+        if (headerIndex == null) {
+            Map<String, List<String>> idx = new HashMap<>(headers.size() * 2);
+            for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+                if (e.getKey() != null) idx.putIfAbsent(e.getKey().toLowerCase(Locale.ROOT), e.getValue());
+            }
+            headerIndex = idx;
+        }
+        return headerIndex.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /** Value at {@code pointer} in the JSON body, or null when missing or not JSON. */
+    public JsonSlice json(JsonPointer pointer) {
+        if (decodedPayload() == null) return null;
+        if (json == null) json = new JsonDocument(decoded.bytes());
+        return json.resolve(pointer);
+    }
 }
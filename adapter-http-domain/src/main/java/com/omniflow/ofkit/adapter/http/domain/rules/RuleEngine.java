@@ -19,14 +19,7 @@ public final class RuleEngine {
         // 1) Success rules
         for (SuccessRule r : success) {
             if (r.when().test(ctx)) {
-                HttpResponse upstream = new HttpResponse(ctx.status(), ctx.headers(), ctx.body());
-                if (r.pickPointer() != null) {
-                    byte[] extracted = tryPickJsonPointer(ctx.body(), r.pickPointer());
-                    if (extracted != null) {
-                        upstream = new HttpResponse(ctx.status(), ctx.headers(), extracted);
-                    }
-                }
-                return new Result.Success(upstream, r.id());
+                return success(ctx, r);
             }
         }
         // 2) Specific errors
@@ -36,6 +29,40 @@ public final class RuleEngine {
             }
         }
         // 3) Generic RFC-7807
+        return generic(ctx, genericProblem);
+    }
+
+    /**
+     * Same outcome as the list-based overload, but only the rules that can match the response
+     * status are tested, with their cheapest checks first.
+     */
+    public Result evaluate(ResponseContext ctx, CompiledRules rules, ProblemDetails genericProblem) {
+        CompiledRules.Candidate[] candidates = rules.candidates(ctx.status());
+        if (candidates == null) {
+            return evaluate(ctx, rules.successRules(), rules.errorRules(), genericProblem);
+        }
+        for (CompiledRules.Candidate c : candidates) {
+            if (c.test(ctx)) {
+                return c.success != null ? success(ctx, c.success) : new Result.Failure(c.error.problem(), c.error.id());
+            }
+        }
+        return generic(ctx, genericProblem);
+    }
+
+    private static Result success(ResponseContext ctx, SuccessRule r) {
+        HttpResponse upstream = new HttpResponse(ctx.status(), ctx.headers(), ctx.payload());
+        if (r.pick() != null) {
+            byte[] extracted = tryPickJsonPointer(ctx, r.pick());
+            if (extracted != null) {
+                // the picked JSON is plain text, whatever the upstream's coding
+                var headers = ctx.encoded() ? ContentCoding.withoutEncoding(ctx.headers()) : ctx.headers();
+                upstream = new HttpResponse(ctx.status(), headers, extracted);
+            }
+        }
+        return new Result.Success(upstream, r.id());
+    }
+
+    private static Result generic(ResponseContext ctx, ProblemDetails genericProblem) {
         ProblemDetails generic = new ProblemDetails(
                 genericProblem.type(),
                 genericProblem.title(),
@@ -48,25 +75,8 @@ public final class RuleEngine {
         return new Result.Failure(generic, "generic_problem");
     }
 
-    private static byte[] tryPickJsonPointer(byte[] body, String pointer) {
-        if (body == null) return null;
-        try {
-            Class<?> omClass = Class.forName("com.fasterxml.jackson.databind.ObjectMapper");
-            Object om = omClass.getConstructor().newInstance();
-            java.lang.reflect.Method readTree = omClass.getMethod("readTree", byte[].class);
-            Object root = readTree.invoke(om, body);
-            if (root == null) return null;
-            java.lang.reflect.Method at = root.getClass().getMethod("at", String.class);
-            Object node = at.invoke(root, pointer);
-            if (node == null) return null;
-            java.lang.reflect.Method isMissingNode = node.getClass().getMethod("isMissingNode");
-            boolean missing = (boolean) isMissingNode.invoke(node);
-            if (missing) return null;
-            java.lang.reflect.Method toString = node.getClass().getMethod("toString");
-            String json = (String) toString.invoke(node);
-            return json.getBytes(java.nio.charset.StandardCharsets.UTF_8);
-        } catch (Throwable ignore) {
-            return null;
-        }
+    private static byte[] tryPickJsonPointer(ResponseContext ctx, JsonPointer pointer) {
+        JsonSlice node = ctx.json(pointer);
+        return node == null ? null : node.toJson();
     }
 }
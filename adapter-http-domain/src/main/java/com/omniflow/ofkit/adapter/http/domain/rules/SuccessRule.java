@@ -1,5 +1,8 @@
 package com.omniflow.ofkit.adapter.http.domain.rules;
 
-/** Minimal success rule with an ID and predicate. */
-public record SuccessRule(String id, ResponsePredicate when, String pickPointer) { }
-
+/** Minimal success rule with an ID and predicate; {@code pickPointer} is compiled once into {@code pick}. */
+public record SuccessRule(String id, ResponsePredicate when, String pickPointer, JsonPointer pick) {
+    public SuccessRule(String id, ResponsePredicate when, String pickPointer) {
+        this(id, when, pickPointer, pickPointer == null ? null : JsonPointer.compile(pickPointer));
+    }
+}
@@ -3,17 +3,25 @@ package com.omniflow.ofkit.adapter.http.infra;
 import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
 import com.omniflow.ofkit.adapter.http.app.AuthGateway;
 import com.omniflow.ofkit.adapter.http.app.CacheGateway;
+import com.omniflow.ofkit.adapter.http.app.CircuitBreakerGateway;
+import com.omniflow.ofkit.adapter.http.app.ConcurrencyLimitGateway;
+import com.omniflow.ofkit.adapter.http.app.RateLimitGateway;
 import com.omniflow.ofkit.adapter.http.app.RetryGateway;
+import com.omniflow.ofkit.adapter.http.app.RevalidationScheduler;
 import com.omniflow.ofkit.adapter.http.app.ProfileRegistry;
 import com.omniflow.ofkit.adapter.http.domain.ports.CacheStore;
 import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
 import com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine;
-import com.omniflow.ofkit.adapter.http.infra.cache.InMemoryCacheStore;
+import com.omniflow.ofkit.adapter.http.infra.cache.TinyLfuCacheStore;
 import com.omniflow.ofkit.adapter.http.infra.config.YamlProfileRegistry;
 import com.omniflow.ofkit.adapter.http.infra.http.RestClientReactiveAdapter;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
 import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 @ApplicationScoped
@@ -29,17 +37,42 @@ public class Producers {
     @Inject
     ProfileRegistry profileRegistry;
 
+    @Inject
+    MetricsPort metrics;
+
+    @Inject
+    RevalidationScheduler revalidation;
+
     @Produces
     @ApplicationScoped
     public AdapterFacade adapterFacade() {
         var httpPort = (http != null) ? http : new RestClientReactiveAdapter();
-        var cacheStoreBean = (cacheStore != null) ? cacheStore : new InMemoryCacheStore();
+        var cacheStoreBean = (cacheStore != null) ? cacheStore : new TinyLfuCacheStore();
         var profiles = (profileRegistry != null) ? profileRegistry : new YamlProfileRegistry();
         var re = new RuleEngine();
-        var cache = new CacheGateway(cacheStoreBean);
-        var retry = new RetryGateway();
+        var cache = (revalidation != null) ? new CacheGateway(cacheStoreBean, metrics, revalidation) : new CacheGateway(cacheStoreBean, metrics);
+        var retry = new RetryGateway(metrics);
         var auth = new AuthGateway();
+        var breakers = new CircuitBreakerGateway(metrics);
+        var limits = new ConcurrencyLimitGateway(metrics);
+        var rateLimits = new RateLimitGateway(metrics);
         LOG.infof("AdapterFacade wiring: http=%s, cacheStore=%s", httpPort.getClass().getSimpleName(), cacheStoreBean.getClass().getSimpleName());
-        return new AdapterFacade(httpPort, re, profiles, cache, retry, auth);
+        return new AdapterFacade(httpPort, re, profiles, cache, retry, auth, breakers, limits, rateLimits);
+    }
+
+    /** Bounded executor for stale-while-revalidate refreshes, shared by all profiles. */
+    @Produces
+    @Singleton
+    public RevalidationScheduler revalidationScheduler(
+            MetricsPort metrics,
+            @ConfigProperty(name = "ofkit.http.cache.revalidation.threads", defaultValue = "4") int threads,
+            @ConfigProperty(name = "ofkit.http.cache.revalidation.queue-size", defaultValue = "256") int queueSize,
+            @ConfigProperty(name = "ofkit.http.cache.revalidation.per-profile-limit", defaultValue = "4") int perProfileLimit,
+            @ConfigProperty(name = "ofkit.http.cache.revalidation.virtual-threads", defaultValue = "false") boolean virtualThreads) {
+        return new RevalidationScheduler(metrics, threads, queueSize, perProfileLimit, virtualThreads);
+    }
+
+    void closeRevalidationScheduler(@Disposes RevalidationScheduler scheduler) {
+        scheduler.close();
     }
 }
@@ -0,0 +1,502 @@
+package com.omniflow.ofkit.adapter.http.infra.cache;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
+import com.omniflow.ofkit.adapter.http.domain.model.CachePolicy;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.ports.CacheStore;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent cache store on memory-mapped segment files. Every put or invalidation is appended
+ * to the active segment as a checksummed record; an in-memory index maps each key to its latest
+ * record (segment, offset, length, retention deadline). Sealed segments are never modified, so
+ * reads are lock-free; appends, compaction and segment eviction are serialised by one lock.
+ *
+ * <p>Entries are kept until their retention deadline: {@link CachedEntry#expiresAt()} extended by
+ * the larger of the profile's SWR and SIE windows when stored through
+ * {@link #put(CacheKey, CachedEntry, CachePolicy)}, so the gateway can still serve them stale.
+ * Past it they read as misses and are dropped by compaction, which rewrites the live records of
+ * mostly dead (or fully expired) segments into the active one. When the files exceed
+ * {@code maxBytes} the oldest segment is evicted wholesale.
+ *
+ * <p>On construction the segments found in the directory are replayed in order to rebuild the
+ * index (warm start); a torn tail record fails its checksum and ends the replay of that segment.
+ * Meant as the L2 of {@link TieredCacheStore}; profile quotas are not enforced here.
+ */
+public class DiskCacheStore implements CacheStore, AutoCloseable {
+    static final int DEFAULT_SEGMENT_BYTES = 64 << 20;
+    static final long DEFAULT_MAX_BYTES = 1L << 30;
+
+    private static final int MAGIC = 0x4F464331; // "OFC1"
+    private static final int RECORD_HEADER = 12; // magic, payload length, crc32(payload)
+    private static final byte PUT = 1;
+    private static final byte TOMBSTONE = 2;
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d+)\\.log");
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final MetricsPort metrics;
+    private final ConcurrentHashMap<CacheKey, Loc> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Guarded by writeLock
+    private Segment active;
+    private boolean reclaiming;
+
+    public DiskCacheStore(Path dir, MetricsPort metrics) {
+        this(dir, metrics, DEFAULT_SEGMENT_BYTES, DEFAULT_MAX_BYTES);
+    }
+
+    public DiskCacheStore(Path dir, MetricsPort metrics, int segmentBytes, long maxBytes) {
+        if (segmentBytes < 1024) throw new IllegalArgumentException("segment-bytes must be >= 1024: " + segmentBytes);
+        if (maxBytes < segmentBytes) throw new IllegalArgumentException("max-bytes must be >= segment-bytes: " + maxBytes);
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.metrics = metrics;
+        try {
+            Files.createDirectories(dir);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open disk cache in " + dir, e);
+        }
+    }
+
+    @Override
+    public Optional<CachedEntry> get(CacheKey key) {
+        Loc loc = index.get(key);
+        if (loc == null) return Optional.empty();
+        if (loc.retainUntil <= System.currentTimeMillis()) {
+            if (index.remove(key, loc)) loc.segment.live.addAndGet(-loc.length);
+            return Optional.empty();
+        }
+        Record r = decode(loc.segment.read(loc.offset, loc.length));
+        return Optional.of(r.entry);
+    }
+
+    /** Retained until {@code expiresAt} (indefinitely when it is null); no stale window. */
+    @Override
+    public void put(CacheKey key, CachedEntry entry) {
+        long retainUntil = entry.expiresAt() != null ? entry.expiresAt().toEpochMilli() : Long.MAX_VALUE;
+        append(key, entry, retainUntil);
+    }
+
+    @Override
+    public void put(CacheKey key, CachedEntry entry, long profileQuotaBytes) {
+        put(key, entry);
+    }
+
+    /** Retained through the policy's SWR and SIE windows past expiry, so stale serving still works after a restart. */
+    @Override
+    public void put(CacheKey key, CachedEntry entry, CachePolicy policy) {
+        if (policy == null) {
+            put(key, entry);
+            return;
+        }
+        Instant expires = entry.expiresAt() != null ? entry.expiresAt()
+                : entry.storedAt().plusSeconds(Math.max(0, policy.defaultTtlSeconds()));
+        long window = Math.max(0, Math.max(policy.swrTtlSeconds(), policy.sieTtlSeconds()));
+        append(key, entry, expires.plusSeconds(window).toEpochMilli());
+    }
+
+    @Override
+    public void invalidate(CacheKey key) {
+        writeLock.lock();
+        try {
+            Loc prev = index.remove(key);
+            if (prev == null) return;
+            prev.segment.live.addAndGet(-prev.length);
+            // the tombstone keeps older records of the key from coming back on warm start
+            write(encode(TOMBSTONE, key, null, 0));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Flushes the active segment; mapped files stay readable until collected. */
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            if (active != null) active.buffer.force();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Entries currently indexed (including expired ones not yet read or compacted). */
+    long size() {
+        return index.size();
+    }
+
+    /** Bytes of segment files on disk. */
+    long diskBytes() {
+        long total = 0;
+        for (Segment s : segments.values()) total += s.capacity;
+        return total;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    private void append(CacheKey key, CachedEntry entry, long retainUntil) {
+        byte[] record = encode(PUT, key, entry, retainUntil);
+        if (record.length > segmentBytes) {
+            invalidate(key); // larger than a segment: not cacheable on disk
+            return;
+        }
+        writeLock.lock();
+        try {
+            Loc loc = write(record);
+            loc.segment.live.addAndGet(record.length);
+            Loc indexed = new Loc(loc.segment, loc.offset, loc.length, retainUntil);
+            loc.segment.noteRetention(retainUntil);
+            Loc prev = index.put(key, indexed);
+            if (prev != null) prev.segment.live.addAndGet(-prev.length);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Appends a record to the active segment, rolling to a new one when full. Caller holds writeLock. */
+    private Loc write(byte[] record) {
+        if (active == null || active.end + record.length > active.capacity) roll();
+        Segment s = active;
+        int offset = s.end;
+        s.buffer.put(offset, record);
+        // terminate the log so a longer torn record left behind on recovery is never replayed
+        if (offset + record.length + 4 <= s.capacity) s.buffer.putInt(offset + record.length, 0);
+        s.end = offset + record.length;
+        return new Loc(s, offset, record.length, 0);
+    }
+
+    /** Seals the active segment, opens the next one and reclaims space. Caller holds writeLock. */
+    private void roll() {
+        if (active != null) active.buffer.force();
+        int id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        try {
+            active = Segment.open(dir.resolve(String.format("segment-%08d.log", id)), id, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.put(id, active);
+        if (!reclaiming) {
+            reclaiming = true;
+            try {
+                reclaim();
+            } finally {
+                reclaiming = false;
+            }
+        }
+    }
+
+    /** Compacts sealed segments that are mostly dead or fully expired, then evicts the oldest while over budget. */
+    private void reclaim() {
+        long now = System.currentTimeMillis();
+        for (Segment s : new ArrayList<>(segments.values())) {
+            if (s == active) continue;
+            if (s.maxRetainUntil.get() <= now || s.live.get() * 2 < s.end) compact(s, now);
+        }
+        while (diskBytes() > maxBytes && segments.size() > 1) {
+            Segment oldest = segments.firstEntry().getValue();
+            if (oldest == active) break;
+            evict(oldest);
+        }
+    }
+
+    private void compact(Segment s, long now) {
+        boolean olderExists = segments.firstKey() < s.id;
+        scan(s, (offset, length, r) -> {
+            if (r.type == PUT) {
+                Loc cur = index.get(r.key);
+                if (cur == null || cur.segment != s || cur.offset != offset) return;
+                if (r.retainUntil <= now) {
+                    if (index.remove(r.key, cur)) s.live.addAndGet(-length);
+                    return;
+                }
+                Loc moved = write(s.read(offset, length));
+                moved.segment.live.addAndGet(length);
+                moved.segment.noteRetention(r.retainUntil);
+                if (index.replace(r.key, cur, new Loc(moved.segment, moved.offset, moved.length, r.retainUntil))) {
+                    s.live.addAndGet(-length);
+                } else {
+                    moved.segment.live.addAndGet(-length);
+                }
+            } else if (olderExists && !index.containsKey(r.key)) {
+                write(s.read(offset, length)); // still shadows a record in an older segment
+            }
+        });
+        drop(s);
+    }
+
+    private void evict(Segment s) {
+        scan(s, (offset, length, r) -> {
+            if (r.type != PUT) return;
+            Loc cur = index.get(r.key);
+            if (cur != null && cur.segment == s && cur.offset == offset && index.remove(r.key, cur)) {
+                if (metrics != null) metrics.incrementCacheEviction(r.key.profile());
+            }
+        });
+        drop(s);
+    }
+
+    private void drop(Segment s) {
+        segments.remove(s.id);
+        try {
+            // readers still holding the mapping keep reading it; the file is gone for warm start
+            Files.deleteIfExists(s.file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** Replays existing segments in order to rebuild the index. */
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(dir)) {
+            list.filter(p -> SEGMENT_FILE.matcher(p.getFileName().toString()).matches()).forEach(files::add);
+        }
+        files.sort((a, b) -> Integer.compare(segmentId(a), segmentId(b)));
+        long now = System.currentTimeMillis();
+        for (Path file : files) {
+            int capacity = (int) Math.min(Integer.MAX_VALUE, Files.size(file));
+            if (capacity < RECORD_HEADER) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            Segment s = Segment.open(file, segmentId(file), capacity);
+            segments.put(s.id, s);
+            s.end = scan(s, (offset, length, r) -> {
+                if (r.type == PUT) {
+                    s.noteRetention(r.retainUntil);
+                    Loc prev;
+                    if (r.retainUntil > now) {
+                        s.live.addAndGet(length);
+                        prev = index.put(r.key, new Loc(s, offset, length, r.retainUntil));
+                    } else {
+                        prev = index.remove(r.key);
+                    }
+                    if (prev != null) prev.segment.live.addAndGet(-prev.length);
+                } else {
+                    Loc prev = index.remove(r.key);
+                    if (prev != null) prev.segment.live.addAndGet(-prev.length);
+                }
+            });
+        }
+        if (!segments.isEmpty()) {
+            Segment last = segments.lastEntry().getValue();
+            if (last.capacity == segmentBytes) active = last;
+        }
+    }
+
+    private interface RecordVisitor {
+        void visit(int offset, int length, Record record);
+    }
+
+    /** Visits the valid records of a segment in order; returns the offset after the last one. */
+    private static int scan(Segment s, RecordVisitor visitor) {
+        int offset = 0;
+        ByteBuffer buf = s.buffer;
+        CRC32 crc = new CRC32();
+        while (offset + RECORD_HEADER <= s.capacity) {
+            if (buf.getInt(offset) != MAGIC) break;
+            int payload = buf.getInt(offset + 4);
+            if (payload <= 0 || payload > s.capacity - offset - RECORD_HEADER) break;
+            byte[] record = s.read(offset, RECORD_HEADER + payload);
+            crc.reset();
+            crc.update(record, RECORD_HEADER, payload);
+            if ((int) crc.getValue() != buf.getInt(offset + 8)) break;
+            visitor.visit(offset, record.length, decode(record));
+            offset += record.length;
+        }
+        return offset;
+    }
+
+    private static int segmentId(Path file) {
+        Matcher m = SEGMENT_FILE.matcher(file.getFileName().toString());
+        return m.matches() ? Integer.parseInt(m.group(1)) : 0;
+    }
+
+    static byte[] encode(byte type, CacheKey key, CachedEntry entry, long retainUntil) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(0); // payload length, patched below
+            out.writeInt(0); // crc, patched below
+            out.writeByte(type);
+            out.writeLong(retainUntil);
+            writeString(out, key.profile());
+            writeString(out, key.method());
+            writeString(out, key.path());
+            writeString(out, key.bodyHash());
+            Map<String, String> vary = key.varyHeaders();
+            out.writeInt(vary == null ? -1 : vary.size());
+            if (vary != null) {
+                for (Map.Entry<String, String> v : vary.entrySet()) {
+                    writeString(out, v.getKey());
+                    writeString(out, v.getValue());
+                }
+            }
+            if (type == PUT) {
+                HttpResponse resp = entry.response();
+                out.writeInt(resp.statusCode());
+                writeInstant(out, entry.storedAt());
+                writeInstant(out, entry.expiresAt());
+                writeString(out, entry.etag());
+                writeString(out, entry.lastModified());
+                byte[] headers = OffHeapCacheStore.encodeHeaders(resp.headers());
+                out.writeInt(headers.length);
+                out.write(headers);
+                byte[] body = resp.body();
+                out.writeInt(body == null ? -1 : body.length);
+                if (body != null) out.write(body);
+            }
+            out.flush();
+            byte[] record = bytes.toByteArray();
+            int payload = record.length - RECORD_HEADER;
+            CRC32 crc = new CRC32();
+            crc.update(record, RECORD_HEADER, payload);
+            ByteBuffer.wrap(record).putInt(4, payload).putInt(8, (int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // not thrown by in-memory streams
+        }
+    }
+
+    static Record decode(byte[] record) {
+        ByteBuffer in = ByteBuffer.wrap(record);
+        in.position(RECORD_HEADER);
+        byte type = in.get();
+        long retainUntil = in.getLong();
+        String profile = readString(in);
+        String method = readString(in);
+        String path = readString(in);
+        String bodyHash = readString(in);
+        int varyCount = in.getInt();
+        Map<String, String> vary = null;
+        if (varyCount >= 0) {
+            vary = new LinkedHashMap<>(Math.max(4, varyCount * 2));
+            for (int i = 0; i < varyCount; i++) vary.put(readString(in), readString(in));
+        }
+        CacheKey key = new CacheKey(profile, method, path, vary, bodyHash);
+        if (type != PUT) return new Record(type, key, retainUntil, null);
+        int status = in.getInt();
+        Instant storedAt = readInstant(in);
+        Instant expiresAt = readInstant(in);
+        String etag = readString(in);
+        String lastModified = readString(in);
+        byte[] headers = new byte[in.getInt()];
+        in.get(headers);
+        int bodyLength = in.getInt();
+        byte[] body = null;
+        if (bodyLength >= 0) {
+            body = new byte[bodyLength];
+            in.get(body);
+        }
+        HttpResponse response = new HttpResponse(status, OffHeapCacheStore.decodeHeaders(headers), body);
+        return new Record(type, key, retainUntil, new CachedEntry(response, storedAt, expiresAt, etag, lastModified));
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int len = in.getInt();
+        if (len < 0) return null;
+        String s = new String(in.array(), in.position(), len, StandardCharsets.UTF_8);
+        in.position(in.position() + len);
+        return s;
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant t) throws IOException {
+        out.writeBoolean(t != null);
+        if (t != null) {
+            out.writeLong(t.getEpochSecond());
+            out.writeInt(t.getNano());
+        }
+    }
+
+    private static Instant readInstant(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        return Instant.ofEpochSecond(in.getLong(), in.getInt());
+    }
+
+    record Record(byte type, CacheKey key, long retainUntil, CachedEntry entry) {}
+
+    /** Index entry: where the latest record of a key lives and until when it may be served. */
+    private record Loc(Segment segment, int offset, int length, long retainUntil) {}
+
+    private static final class Segment {
+        final int id;
+        final Path file;
+        final int capacity;
+        final MappedByteBuffer buffer;
+        /** Bytes of records the index still points to. */
+        final AtomicLong live = new AtomicLong();
+        /** Latest retention deadline of any record written here. */
+        final AtomicLong maxRetainUntil = new AtomicLong(Long.MIN_VALUE);
+        // Guarded by writeLock once the store is open
+        int end;
+
+        private Segment(int id, Path file, int capacity, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.capacity = capacity;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path file, int id, int capacity) throws IOException {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // the mapping outlives the channel
+                return new Segment(id, file, capacity, ch.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            }
+        }
+
+        byte[] read(int offset, int length) {
+            byte[] b = new byte[length];
+            buffer.get(offset, b);
+            return b;
+        }
+
+        void noteRetention(long retainUntil) {
+            maxRetainUntil.accumulateAndGet(retainUntil, Math::max);
+        }
+    }
+}
@@ -10,10 +10,16 @@ import jakarta.inject.Inject;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Small LRU store. Access order mutates the map on every read, so all operations take one lock: a
+ * {@link ReentrantLock} rather than a monitor, which would pin a virtual thread to its carrier.
+ */
 @ApplicationScoped
 public final class InMemoryCacheStore implements CacheStore {
     private final LruMap map;
+    private final ReentrantLock lock = new ReentrantLock();
 
     public InMemoryCacheStore() {
         this.map = new LruMap(1000, null);
@@ -26,22 +32,31 @@ public final class InMemoryCacheStore implements CacheStore {
 
     @Override
     public Optional<CachedEntry> get(CacheKey key) {
-        synchronized (map) {
+        lock.lock();
+        try {
             return Optional.ofNullable(map.get(key));
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public void put(CacheKey key, CachedEntry entry) {
-        synchronized (map) {
+        lock.lock();
+        try {
             map.put(key, entry);
+        } finally {
+            lock.unlock();
         }
     }
 
     @Override
     public void invalidate(CacheKey key) {
-        synchronized (map) {
+        lock.lock();
+        try {
             map.remove(key);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -0,0 +1,295 @@
+package com.omniflow.ofkit.adapter.http.infra.cache;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.ports.CacheStore;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache store keeping response bodies and a compact header encoding in off-heap slabs
+ * ({@link SlabAllocator}); only keys and small metadata (status, timestamps, validators,
+ * chunk handle) stay on the Java heap, so multi-GB caches do not grow the heap or old-gen.
+ *
+ * <p>Reads are lock-free: the chunk is read through a read-only view and its generation is
+ * re-checked afterwards, so a chunk recycled concurrently turns the read into a miss instead of
+ * returning mixed data. Each size class evicts with a CLOCK sweep (a read only sets a flag).
+ * Bodies are copied out before the generation check: the view cannot be handed out, since its
+ * chunk may be recycled for another entry as soon as the read returns.
+ *
+ * <p>Opt-in: select with {@code quarkus.arc.selected-alternatives}. Sized by
+ * {@code ofkit.http.cache.offheap.max-bytes} (default 1 GiB; keep
+ * {@code -XX:MaxDirectMemorySize} above it) and {@code ofkit.http.cache.offheap.slab-bytes}
+ * (default 4 MiB, also the largest cacheable entry). Slabs stay with the size class that
+ * first claimed them. The profile quota argument of {@link #put(CacheKey, CachedEntry, long)}
+ * is not enforced here; per-profile bytes are still reported.
+ */
+@Alternative
+@ApplicationScoped
+public class OffHeapCacheStore implements CacheStore {
+    static final long DEFAULT_MAX_BYTES = 1L << 30;
+    static final int DEFAULT_SLAB_BYTES = 4 << 20;
+
+    private final ConcurrentHashMap<CacheKey, Entry> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> bytesByProfile = new ConcurrentHashMap<>();
+    private final SlabAllocator allocator;
+    private final MetricsPort metrics;
+    // Per size class, guarded by allocator.lock(sizeClass)
+    private final List<ArrayDeque<Entry>> clocks;
+    private final int[] live;
+
+    public OffHeapCacheStore() {
+        this(null, DEFAULT_MAX_BYTES, DEFAULT_SLAB_BYTES);
+    }
+
+    @Inject
+    public OffHeapCacheStore(MetricsPort metrics,
+                             @ConfigProperty(name = "ofkit.http.cache.offheap.max-bytes", defaultValue = "1073741824") long maxBytes,
+                             @ConfigProperty(name = "ofkit.http.cache.offheap.slab-bytes", defaultValue = "4194304") int slabBytes) {
+        this.metrics = metrics;
+        this.allocator = new SlabAllocator(maxBytes, slabBytes);
+        this.clocks = new ArrayList<>(allocator.sizeClasses());
+        for (int i = 0; i < allocator.sizeClasses(); i++) clocks.add(new ArrayDeque<>());
+        this.live = new int[clocks.size()];
+    }
+
+    @Override
+    public Optional<CachedEntry> get(CacheKey key) {
+        Entry e = data.get(key);
+        if (e == null) return Optional.empty();
+        e.referenced = true;
+        byte[] headerBytes = new byte[e.headerLength];
+        e.chunk.view(0, e.headerLength).get(headerBytes);
+        byte[] body = null;
+        if (e.bodyLength >= 0) {
+            body = new byte[e.bodyLength];
+            e.chunk.view(e.headerLength, e.bodyLength).get(body);
+        }
+        // Order the chunk reads before the generation check (optimistic read)
+        VarHandle.acquireFence();
+        if (!e.chunk.isCurrent()) return Optional.empty();
+        HttpResponse response = new HttpResponse(e.status, decodeHeaders(headerBytes), body);
+        return Optional.of(new CachedEntry(response, e.storedAt, e.expiresAt, e.etag, e.lastModified));
+    }
+
+    @Override
+    public void put(CacheKey key, CachedEntry entry) {
+        HttpResponse resp = entry.response();
+        byte[] headerBytes = encodeHeaders(resp.headers());
+        byte[] body = resp.body();
+        int length = headerBytes.length + (body == null ? 0 : body.length);
+        int sizeClass = allocator.sizeClass(length);
+        if (sizeClass < 0) {
+            invalidate(key); // larger than a slab: not cacheable off-heap
+            return;
+        }
+        Entry stored = null;
+        Entry previous = null;
+        ReentrantLock lock = allocator.lock(sizeClass);
+        lock.lock();
+        try {
+            SlabAllocator.Chunk chunk;
+            while ((chunk = allocator.tryAllocate(sizeClass)) == null) {
+                if (!evictOne(sizeClass)) break;
+            }
+            if (chunk != null) {
+                chunk.write(0, headerBytes);
+                if (body != null) chunk.write(headerBytes.length, body);
+                stored = new Entry(key, entry, chunk, headerBytes.length, body == null ? -1 : body.length);
+                clocks.get(sizeClass).addLast(stored);
+                live[sizeClass]++;
+                profileBytes(key.profile()).addAndGet(stored.bytes());
+                previous = data.put(key, stored);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (stored == null) {
+            invalidate(key); // class full and nothing evictable: drop the stale copy rather than serve it
+        } else if (previous != null) {
+            release(previous);
+        }
+    }
+
+    @Override
+    public void invalidate(CacheKey key) {
+        Entry e = data.remove(key);
+        if (e != null) release(e);
+    }
+
+    /** Entries currently held. */
+    long size() {
+        return data.size();
+    }
+
+    /** Body bytes currently held for {@code profile}. */
+    long bytesUsed(String profile) {
+        AtomicLong b = bytesByProfile.get(profile);
+        return b == null ? 0 : b.get();
+    }
+
+    /** Direct memory reserved for slabs. */
+    long reservedBytes() {
+        return allocator.reservedBytes();
+    }
+
+    /** CLOCK sweep over one size class; returns false when nothing can be evicted. Caller holds the class lock. */
+    private boolean evictOne(int sizeClass) {
+        ArrayDeque<Entry> clock = clocks.get(sizeClass);
+        for (int budget = clock.size() * 2; budget > 0; budget--) {
+            Entry e = clock.pollFirst();
+            if (e == null) return false;
+            if (!e.live.get()) continue;
+            if (e.referenced) {
+                e.referenced = false;
+                clock.addLast(e);
+                continue;
+            }
+            if (data.remove(e.key, e)) {
+                freeLocked(e);
+                if (metrics != null) metrics.incrementCacheEviction(e.key.profile());
+                return true;
+            }
+            // Replaced or invalidated concurrently; its releaser frees the chunk
+        }
+        return false;
+    }
+
+    private void release(Entry e) {
+        ReentrantLock lock = allocator.lock(e.chunk.sizeClass());
+        lock.lock();
+        try {
+            freeLocked(e);
+            // Drop dead entries once they dominate the clock
+            ArrayDeque<Entry> clock = clocks.get(e.chunk.sizeClass());
+            if (clock.size() > 2 * live[e.chunk.sizeClass()] + 16) clock.removeIf(x -> !x.live.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void freeLocked(Entry e) {
+        if (!e.live.compareAndSet(true, false)) return;
+        allocator.free(e.chunk);
+        live[e.chunk.sizeClass()]--;
+        profileBytes(e.key.profile()).addAndGet(-e.bytes());
+    }
+
+    private AtomicLong profileBytes(String profile) {
+        return bytesByProfile.computeIfAbsent(profile, p -> {
+            AtomicLong b = new AtomicLong();
+            if (metrics != null) metrics.gaugeCacheBytes(p, b::get);
+            return b;
+        });
+    }
+
+    /** Header block: count, then per header a name and its values, all length-prefixed UTF-8. */
+    static byte[] encodeHeaders(Map<String, List<String>> headers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        int count = headers == null ? 0 : headers.size();
+        writeInt(out, count);
+        if (count == 0) return out.toByteArray();
+        for (Map.Entry<String, List<String>> h : headers.entrySet()) {
+            writeString(out, h.getKey());
+            List<String> values = h.getValue();
+            writeInt(out, values == null ? -1 : values.size());
+            if (values != null) for (String v : values) writeString(out, v);
+        }
+        return out.toByteArray();
+    }
+
+    static Map<String, List<String>> decodeHeaders(byte[] b) {
+        ByteBuffer in = ByteBuffer.wrap(b);
+        int count = in.getInt();
+        Map<String, List<String>> headers = new LinkedHashMap<>(Math.max(4, count * 2));
+        for (int i = 0; i < count; i++) {
+            String name = readString(in);
+            int n = in.getInt();
+            List<String> values = null;
+            if (n >= 0) {
+                values = new ArrayList<>(n);
+                for (int j = 0; j < n; j++) values.add(readString(in));
+                values = java.util.Collections.unmodifiableList(values);
+            }
+            headers.put(name, values);
+        }
+        return headers;
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int v) {
+        out.write(v >>> 24);
+        out.write(v >>> 16);
+        out.write(v >>> 8);
+        out.write(v);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        if (s == null) {
+            writeInt(out, -1);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        writeInt(out, b.length);
+        out.write(b, 0, b.length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int len = in.getInt();
+        if (len < 0) return null;
+        String s = new String(in.array(), in.position(), len, StandardCharsets.UTF_8);
+        in.position(in.position() + len);
+        return s;
+    }
+
+    /** On-heap metadata; the response itself lives in {@link #chunk}. */
+    private static final class Entry {
+        final CacheKey key;
+        final int status;
+        final Instant storedAt;
+        final Instant expiresAt;
+        final String etag;
+        final String lastModified;
+        final SlabAllocator.Chunk chunk;
+        final int headerLength;
+        /** -1 for a null body. */
+        final int bodyLength;
+        final AtomicBoolean live = new AtomicBoolean(true);
+        volatile boolean referenced;
+
+        Entry(CacheKey key, CachedEntry entry, SlabAllocator.Chunk chunk, int headerLength, int bodyLength) {
+            this.key = key;
+            this.status = entry.response().statusCode();
+            this.storedAt = entry.storedAt();
+            this.expiresAt = entry.expiresAt();
+            this.etag = entry.etag();
+            this.lastModified = entry.lastModified();
+            this.chunk = chunk;
+            this.headerLength = headerLength;
+            this.bodyLength = bodyLength;
+        }
+
+        long bytes() {
+            return Math.max(0, bodyLength);
+        }
+    }
+}
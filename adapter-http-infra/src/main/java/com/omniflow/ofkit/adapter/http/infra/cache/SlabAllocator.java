@@ -0,0 +1,151 @@
+package com.omniflow.ofkit.adapter.http.infra.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Slab allocator over direct (off-heap) memory. Memory is reserved in fixed-size slabs, each
+ * dedicated to one size class and carved into equal chunks; size classes grow by ~25% from
+ * 256 bytes up to the slab size. Every chunk carries a generation that is bumped when the
+ * chunk is freed, so lock-free readers can detect that a chunk was recycled under them.
+ *
+ * <p>Allocation and release for a size class happen under that class's lock
+ * ({@link #lock(int)}); reading chunk contents needs no lock.
+ */
+final class SlabAllocator {
+    static final int MIN_CHUNK = 256;
+
+    private final long maxBytes;
+    private final int slabBytes;
+    private final int[] classSizes;
+    private final SizeClass[] classes;
+    private final AtomicLong reserved = new AtomicLong();
+
+    SlabAllocator(long maxBytes, int slabBytes) {
+        if (slabBytes < MIN_CHUNK) throw new IllegalArgumentException("slab-bytes must be >= " + MIN_CHUNK);
+        this.maxBytes = maxBytes;
+        this.slabBytes = slabBytes;
+        List<Integer> sizes = new ArrayList<>();
+        for (long size = MIN_CHUNK; size < slabBytes; size = ((size * 5 / 4) + 63) & ~63L) {
+            sizes.add((int) size);
+        }
+        sizes.add(slabBytes);
+        this.classSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+        this.classes = new SizeClass[classSizes.length];
+        for (int i = 0; i < classes.length; i++) classes[i] = new SizeClass(classSizes[i]);
+    }
+
+    /** Size class able to hold {@code length} bytes, or -1 when larger than a slab. */
+    int sizeClass(int length) {
+        if (length > slabBytes) return -1;
+        int i = Arrays.binarySearch(classSizes, Math.max(length, 1));
+        return i >= 0 ? i : -i - 1;
+    }
+
+    int sizeClasses() { return classSizes.length; }
+
+    ReentrantLock lock(int sizeClass) { return classes[sizeClass].lock; }
+
+    /** Bytes of direct memory reserved for slabs so far. */
+    long reservedBytes() { return reserved.get(); }
+
+    /**
+     * Takes a free chunk of the class, reserving a new slab if the budget allows; null when the
+     * class is full. Caller holds {@link #lock(int)}.
+     */
+    Chunk tryAllocate(int sizeClass) {
+        SizeClass sc = classes[sizeClass];
+        if (sc.freeCount == 0 && !grow(sc)) return null;
+        long handle = sc.free[--sc.freeCount];
+        Slab slab = sc.slabs.get((int) (handle >>> 32));
+        int index = (int) handle;
+        return new Chunk(slab, index, slab.generations.get(index));
+    }
+
+    /** Returns a chunk to its class and invalidates readers holding its old generation. Caller holds the lock. */
+    void free(Chunk chunk) {
+        SizeClass sc = classes[chunk.slab.sizeClass];
+        chunk.slab.generations.incrementAndGet(chunk.index);
+        if (sc.freeCount == sc.free.length) sc.free = Arrays.copyOf(sc.free, sc.free.length * 2);
+        sc.free[sc.freeCount++] = ((long) chunk.slab.id << 32) | chunk.index;
+    }
+
+    private boolean grow(SizeClass sc) {
+        long r;
+        do {
+            r = reserved.get();
+            if (r + slabBytes > maxBytes) return false;
+        } while (!reserved.compareAndSet(r, r + slabBytes));
+        int sizeClass = Arrays.binarySearch(classSizes, sc.chunkSize);
+        Slab slab = new Slab(sc.slabs.size(), sizeClass, ByteBuffer.allocateDirect(slabBytes), sc.chunkSize, slabBytes / sc.chunkSize);
+        sc.slabs.add(slab);
+        int chunks = slab.generations.length();
+        if (sc.free.length < sc.freeCount + chunks) sc.free = Arrays.copyOf(sc.free, sc.freeCount + chunks);
+        for (int i = chunks - 1; i >= 0; i--) sc.free[sc.freeCount++] = ((long) slab.id << 32) | i;
+        return true;
+    }
+
+    private static final class SizeClass {
+        final int chunkSize;
+        final ReentrantLock lock = new ReentrantLock();
+        final List<Slab> slabs = new ArrayList<>();
+        long[] free = new long[16];
+        int freeCount;
+
+        SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    static final class Slab {
+        final int id;
+        final int sizeClass;
+        final ByteBuffer buffer;
+        final int chunkSize;
+        final AtomicIntegerArray generations;
+
+        Slab(int id, int sizeClass, ByteBuffer buffer, int chunkSize, int chunks) {
+            this.id = id;
+            this.sizeClass = sizeClass;
+            this.buffer = buffer;
+            this.chunkSize = chunkSize;
+            this.generations = new AtomicIntegerArray(chunks);
+        }
+    }
+
+    /** One allocated chunk; {@code generation} identifies this particular use of it. */
+    static final class Chunk {
+        final Slab slab;
+        final int index;
+        final int generation;
+
+        Chunk(Slab slab, int index, int generation) {
+            this.slab = slab;
+            this.index = index;
+            this.generation = generation;
+        }
+
+        int offset() { return index * slab.chunkSize; }
+
+        int sizeClass() { return slab.sizeClass; }
+
+        /** Read-only view of {@code length} bytes starting {@code from} bytes into the chunk. */
+        ByteBuffer view(int from, int length) {
+            return slab.buffer.slice(offset() + from, length).asReadOnlyBuffer();
+        }
+
+        void write(int from, byte[] src) {
+            slab.buffer.put(offset() + from, src, 0, src.length);
+        }
+
+        /** True while the chunk has not been freed since this handle was taken. */
+        boolean isCurrent() {
+            return slab.generations.get(index) == generation;
+        }
+    }
+}
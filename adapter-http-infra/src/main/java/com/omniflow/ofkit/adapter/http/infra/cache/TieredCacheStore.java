@@ -0,0 +1,88 @@
+package com.omniflow.ofkit.adapter.http.infra.cache;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
+import com.omniflow.ofkit.adapter.http.domain.model.CachePolicy;
+import com.omniflow.ofkit.adapter.http.domain.ports.CacheStore;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Two-level cache: an in-memory L1 ({@link TinyLfuCacheStore}) in front of a persistent L2
+ * ({@link DiskCacheStore}). Writes go to both tiers; an L1 miss that hits L2 is promoted into
+ * L1 (without the profile quota, which is only known at write time). Because L2 survives
+ * restarts, a new instance starts warm instead of stampeding the upstreams.
+ *
+ * <p>Opt-in: select with {@code quarkus.arc.selected-alternatives}. L1 is sized like the default
+ * store ({@code ofkit.http.cache.max-bytes}, {@code ofkit.http.cache.max-entries}); L2 by
+ * {@code ofkit.http.cache.disk.dir}, {@code ofkit.http.cache.disk.max-bytes} (default 1 GiB)
+ * and {@code ofkit.http.cache.disk.segment-bytes} (default 64 MiB, also the largest cacheable
+ * entry).
+ */
+@Alternative
+@ApplicationScoped
+public class TieredCacheStore implements CacheStore {
+    private final CacheStore l1;
+    private final CacheStore l2;
+
+    public TieredCacheStore(CacheStore l1, CacheStore l2) {
+        this.l1 = l1;
+        this.l2 = l2;
+    }
+
+    @Inject
+    public TieredCacheStore(MetricsPort metrics,
+                            @ConfigProperty(name = "ofkit.http.cache.max-entries", defaultValue = "100000") int maxEntries,
+                            @ConfigProperty(name = "ofkit.http.cache.max-bytes", defaultValue = "67108864") long maxBytes,
+                            @ConfigProperty(name = "ofkit.http.cache.disk.dir", defaultValue = "${java.io.tmpdir}/ofkit-http-cache") String diskDir,
+                            @ConfigProperty(name = "ofkit.http.cache.disk.max-bytes", defaultValue = "1073741824") long diskMaxBytes,
+                            @ConfigProperty(name = "ofkit.http.cache.disk.segment-bytes", defaultValue = "67108864") int segmentBytes) {
+        this(new TinyLfuCacheStore(metrics, maxEntries, maxBytes),
+                new DiskCacheStore(Path.of(diskDir), metrics, segmentBytes, diskMaxBytes));
+    }
+
+    @Override
+    public Optional<CachedEntry> get(CacheKey key) {
+        Optional<CachedEntry> hit = l1.get(key);
+        if (hit.isPresent()) return hit;
+        hit = l2.get(key);
+        hit.ifPresent(e -> l1.put(key, e));
+        return hit;
+    }
+
+    @Override
+    public void put(CacheKey key, CachedEntry entry) {
+        l1.put(key, entry);
+        l2.put(key, entry);
+    }
+
+    @Override
+    public void put(CacheKey key, CachedEntry entry, long profileQuotaBytes) {
+        l1.put(key, entry, profileQuotaBytes);
+        l2.put(key, entry, profileQuotaBytes);
+    }
+
+    @Override
+    public void put(CacheKey key, CachedEntry entry, CachePolicy policy) {
+        l1.put(key, entry, policy);
+        l2.put(key, entry, policy);
+    }
+
+    @Override
+    public void invalidate(CacheKey key) {
+        l1.invalidate(key);
+        l2.invalidate(key);
+    }
+
+    @PreDestroy
+    void close() throws Exception {
+        if (l2 instanceof AutoCloseable c) c.close();
+    }
+}
@@ -0,0 +1,417 @@
+package com.omniflow.ofkit.adapter.http.infra.cache;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
+import com.omniflow.ofkit.adapter.http.domain.ports.CacheStore;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent, size-bounded cache store with W-TinyLFU admission.
+ *
+ * <p>Reads never block: a hit is a {@link ConcurrentHashMap} lookup plus a lossy append to a
+ * striped read buffer. The eviction policy — a small LRU admission window in front of a
+ * segmented LRU main space (probation/protected), with a frequency sketch deciding whether a
+ * window victim may displace the main-space victim — is maintained under a lock that readers
+ * only ever try-acquire to replay buffered accesses. Writes take the lock.
+ *
+ * <p>Capacity is bounded by total cached body bytes ({@code ofkit.http.cache.max-bytes},
+ * default 64 MiB) and, as a safety net for tiny bodies, by entry count
+ * ({@code ofkit.http.cache.max-entries}, default 100000). A profile's own quota
+ * ({@code cache.quota_kb}) is enforced by evicting that profile's least recently used entries,
+ * so one noisy profile cannot flush the others. Evictions are reported through
+ * {@link MetricsPort#incrementCacheEviction(String)}, bytes used per profile through
+ * {@link MetricsPort#gaugeCacheBytes(String, java.util.function.LongSupplier)}.
+ */
+@Alternative
+@Priority(1)
+@ApplicationScoped
+public class TinyLfuCacheStore implements CacheStore {
+    static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+    static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    private static final byte RETIRED = 3;
+
+    private final ConcurrentHashMap<CacheKey, Node> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ProfileUsage> usage = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer readBuffer = new ReadBuffer();
+    private final MetricsPort metrics;
+    private final long maximumSize;
+    private final long maximumBytes;
+    /** Policy segments are sized in bytes when a byte bound applies, otherwise in entries. */
+    private final boolean weighted;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+
+    // Guarded by evictionLock
+    private final AccessDeque window = new AccessDeque();
+    private final AccessDeque probation = new AccessDeque();
+    private final AccessDeque protectedQueue = new AccessDeque();
+    private long size;
+    private long weight;
+    private long windowWeight;
+    private long protectedWeight;
+
+    public TinyLfuCacheStore() {
+        this(null, DEFAULT_MAXIMUM_SIZE, DEFAULT_MAXIMUM_BYTES);
+    }
+
+    /** Entry-bounded store without a byte bound. */
+    public TinyLfuCacheStore(MetricsPort metrics, int maximumSize) {
+        this(metrics, maximumSize, Long.MAX_VALUE);
+    }
+
+    @Inject
+    public TinyLfuCacheStore(MetricsPort metrics,
+                             @ConfigProperty(name = "ofkit.http.cache.max-entries", defaultValue = "100000") int maximumSize,
+                             @ConfigProperty(name = "ofkit.http.cache.max-bytes", defaultValue = "67108864") long maximumBytes) {
+        if (maximumSize < 1) throw new IllegalArgumentException("max-entries must be >= 1: " + maximumSize);
+        if (maximumBytes < 1) throw new IllegalArgumentException("max-bytes must be >= 1: " + maximumBytes);
+        this.metrics = metrics;
+        this.maximumSize = maximumSize;
+        this.maximumBytes = maximumBytes;
+        this.weighted = maximumBytes != Long.MAX_VALUE;
+        this.maximumWeight = weighted ? maximumBytes : maximumSize;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        long mainMaximum = maximumWeight - windowMaximum;
+        this.protectedMaximum = mainMaximum / 10 * 8;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public Optional<CachedEntry> get(CacheKey key) {
+        Node node = data.get(key);
+        if (node == null) return Optional.empty();
+        if (readBuffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return Optional.of(node.value);
+    }
+
+    @Override
+    public void put(CacheKey key, CachedEntry entry) {
+        put(key, entry, 0);
+    }
+
+    @Override
+    public void put(CacheKey key, CachedEntry entry, long profileQuotaBytes) {
+        long bytes = bytesOf(entry);
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            ProfileUsage profile = usage(key.profile());
+            profile.quota = Math.max(0, profileQuotaBytes);
+            Node node = data.get(key);
+            if (bytes > maximumBytes || (profile.quota > 0 && bytes > profile.quota)) {
+                // Would flush the cache (or the profile's share) just to hold one body
+                if (node != null) evictNode(node);
+                return;
+            }
+            if (node != null) {
+                reweigh(node, bytes);
+                node.value = entry;
+                onAccess(node);
+            } else {
+                node = new Node(key, entry, profile, bytes, weighted ? bytes : 1);
+                data.put(key, node);
+                sketch.increment(key);
+                node.queue = WINDOW;
+                window.addLast(node);
+                windowWeight += node.weight;
+                weight += node.weight;
+                size++;
+                profile.link(node);
+            }
+            enforceQuota(profile);
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(CacheKey key) {
+        evictionLock.lock();
+        try {
+            Node node = data.remove(key);
+            if (node != null) unlink(node);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /** Number of entries currently held. */
+    long size() {
+        return data.size();
+    }
+
+    /** Cached body bytes currently held for {@code profile}. */
+    long bytesUsed(String profile) {
+        ProfileUsage u = usage.get(profile);
+        return u == null ? 0 : u.bytes;
+    }
+
+    private static long bytesOf(CachedEntry entry) {
+        byte[] body = entry.response() == null ? null : entry.response().body();
+        return body == null ? 0 : body.length;
+    }
+
+    private ProfileUsage usage(String profile) {
+        return usage.computeIfAbsent(profile, p -> {
+            ProfileUsage u = new ProfileUsage();
+            if (metrics != null) metrics.gaugeCacheBytes(p, u::bytes);
+            return u;
+        });
+    }
+
+    private void drainReadBuffer() {
+        readBuffer.drainTo(this);
+    }
+
+    /** Replays one access: bumps its frequency and reorders it within the policy queues. */
+    private void onAccess(Node node) {
+        if (node.queue == RETIRED) return;
+        sketch.increment(node.key);
+        node.profile.touch(node);
+        switch (node.queue) {
+            case WINDOW -> window.moveToLast(node);
+            case PROBATION -> {
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                protectedWeight += node.weight;
+                while (protectedWeight > protectedMaximum && protectedQueue.peekFirst() != node) {
+                    Node demoted = protectedQueue.pollFirst();
+                    protectedWeight -= demoted.weight;
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+            case PROTECTED -> protectedQueue.moveToLast(node);
+            default -> { }
+        }
+    }
+
+    /** Applies a body size change of an updated entry to every counter that includes it. */
+    private void reweigh(Node node, long bytes) {
+        long newWeight = weighted ? bytes : 1;
+        long delta = newWeight - node.weight;
+        if (node.queue == WINDOW) windowWeight += delta;
+        else if (node.queue == PROTECTED) protectedWeight += delta;
+        weight += delta;
+        node.weight = newWeight;
+        node.profile.bytes += bytes - node.bytes;
+        node.bytes = bytes;
+    }
+
+    private void enforceQuota(ProfileUsage profile) {
+        while (profile.quota > 0 && profile.bytes > profile.quota) {
+            evictNode(profile.eldest());
+        }
+    }
+
+    private void evict() {
+        // Entries leaving the window become admission candidates at the tail of probation
+        while (windowWeight > windowMaximum && window.peekFirst() != null) {
+            Node candidate = window.pollFirst();
+            windowWeight -= candidate.weight;
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+        }
+        while (size > maximumSize || weight > maximumWeight) {
+            Node victim = probation.peekFirst();
+            Node candidate = probation.peekLast();
+            if (victim == null) {
+                victim = protectedQueue.peekFirst() != null ? protectedQueue.peekFirst() : window.peekFirst();
+                evictNode(victim);
+            } else if (victim == candidate) {
+                evictNode(victim);
+            } else {
+                // TinyLFU admission: the newcomer only displaces the victim if it is more popular
+                evictNode(sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate);
+            }
+        }
+    }
+
+    private void evictNode(Node node) {
+        data.remove(node.key, node);
+        unlink(node);
+        if (metrics != null) metrics.incrementCacheEviction(node.key.profile());
+    }
+
+    private void unlink(Node node) {
+        switch (node.queue) {
+            case WINDOW -> { window.remove(node); windowWeight -= node.weight; }
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> { protectedQueue.remove(node); protectedWeight -= node.weight; }
+            default -> { return; }
+        }
+        node.queue = RETIRED;
+        node.profile.unlink(node);
+        weight -= node.weight;
+        size--;
+    }
+
+    /** Per-profile byte accounting and recency order, used for quota eviction. */
+    private static final class ProfileUsage {
+        // Written under evictionLock, read by metric gauges
+        volatile long bytes;
+        long quota;
+        private final LinkedHashMap<Node, Boolean> lru = new LinkedHashMap<>(16, 0.75f, true);
+
+        long bytes() { return bytes; }
+
+        void link(Node n) {
+            lru.put(n, Boolean.TRUE);
+            bytes += n.bytes;
+        }
+
+        void touch(Node n) {
+            lru.get(n);
+        }
+
+        void unlink(Node n) {
+            if (lru.remove(n) != null) bytes -= n.bytes;
+        }
+
+        Node eldest() {
+            return lru.keySet().iterator().next();
+        }
+    }
+
+    static final class Node {
+        final CacheKey key;
+        final ProfileUsage profile;
+        volatile CachedEntry value;
+        // Guarded by evictionLock
+        long bytes;
+        long weight;
+        byte queue;
+        Node prev;
+        Node next;
+
+        Node(CacheKey key, CachedEntry value, ProfileUsage profile, long bytes, long weight) {
+            this.key = key;
+            this.value = value;
+            this.profile = profile;
+            this.bytes = bytes;
+            this.weight = weight;
+        }
+    }
+
+    /** Intrusive doubly-linked access-order queue; head is least recently used. */
+    private static final class AccessDeque {
+        private Node head;
+        private Node tail;
+
+        void addLast(Node n) {
+            n.prev = tail;
+            n.next = null;
+            if (tail == null) head = n; else tail.next = n;
+            tail = n;
+        }
+
+        void remove(Node n) {
+            if (n.prev == null) head = n.next; else n.prev.next = n.next;
+            if (n.next == null) tail = n.prev; else n.next.prev = n.prev;
+            n.prev = null;
+            n.next = null;
+        }
+
+        void moveToLast(Node n) {
+            if (tail == n) return;
+            remove(n);
+            addLast(n);
+        }
+
+        Node peekFirst() { return head; }
+        Node peekLast() { return tail; }
+
+        Node pollFirst() {
+            Node n = head;
+            if (n != null) remove(n);
+            return n;
+        }
+    }
+
+    /**
+     * Striped, lossy ring buffers recording reads. Producers claim a slot with a CAS and drop
+     * the record when the stripe is full or contended; the policy only needs a sample.
+     */
+    private static final class ReadBuffer {
+        private static final int RING_SIZE = 16;
+        private static final int RING_MASK = RING_SIZE - 1;
+
+        private final Ring[] rings;
+        private final int ringMask;
+
+        ReadBuffer() {
+            int stripes = Integer.highestOneBit(Math.max(1, Math.min(64, Runtime.getRuntime().availableProcessors())) * 2 - 1);
+            rings = new Ring[stripes];
+            for (int i = 0; i < stripes; i++) rings[i] = new Ring();
+            ringMask = stripes - 1;
+        }
+
+        /** Records a read; returns true when the stripe is full and should be drained. */
+        boolean offer(Node node) {
+            Ring ring = rings[probe() & ringMask];
+            long head = ring.head;
+            long tail = ring.tail.get();
+            long used = tail - head;
+            if (used >= RING_SIZE) return true;
+            if (ring.tail.compareAndSet(tail, tail + 1)) {
+                ring.slots.lazySet((int) (tail & RING_MASK), node);
+                return used + 1 >= RING_SIZE;
+            }
+            return false;
+        }
+
+        void drainTo(TinyLfuCacheStore store) {
+            for (Ring ring : rings) {
+                long head = ring.head;
+                long tail = ring.tail.get();
+                for (; head < tail; head++) {
+                    int i = (int) (head & RING_MASK);
+                    Node n = ring.slots.get(i);
+                    if (n == null) break; // claimed but not yet published
+                    ring.slots.lazySet(i, null);
+                    store.onAccess(n);
+                }
+                ring.head = head;
+            }
+        }
+
+        private static int probe() {
+            long id = Thread.currentThread().getId();
+            int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private static final class Ring {
+            final AtomicReferenceArray<Node> slots = new AtomicReferenceArray<>(RING_SIZE);
+            final AtomicLong tail = new AtomicLong();
+            volatile long head;
+        }
+    }
+}
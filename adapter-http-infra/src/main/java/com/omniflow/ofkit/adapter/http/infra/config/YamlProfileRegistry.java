@@ -11,10 +11,23 @@ import com.omniflow.ofkit.adapter.http.app.ProfileRegistry;
 import com.omniflow.ofkit.adapter.http.domain.model.AdapterProfile;
 import com.omniflow.ofkit.adapter.http.domain.model.AuthSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.CachePolicy;
+import com.omniflow.ofkit.adapter.http.domain.model.CircuitBreakerSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.ConcurrencyLimitSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.DeadlineSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HedgeSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.Http2Spec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpProtocol;
 import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+import com.omniflow.ofkit.adapter.http.domain.model.RateLimitSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.ResilienceSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.RetryBudgetSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.RetrySpec;
 import com.omniflow.ofkit.adapter.http.domain.model.SslSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.StreamingSpec;
+import com.omniflow.ofkit.adapter.http.domain.retry.RetryClassifier;
+import com.omniflow.ofkit.adapter.http.domain.retry.RetryRule;
+import com.omniflow.ofkit.adapter.http.domain.retry.RuleRetryClassifier;
 import com.omniflow.ofkit.adapter.http.domain.rules.AndPredicate;
 import com.omniflow.ofkit.adapter.http.domain.rules.BodyRegexPredicate;
 import com.omniflow.ofkit.adapter.http.domain.rules.ErrorRule;
@@ -81,6 +94,11 @@ public class YamlProfileRegistry implements ProfileRegistry {
         return Optional.ofNullable(profiles.get(id));
     }
 
+    @Override
+    public java.util.Collection<AdapterProfile> all() {
+        return java.util.Collections.unmodifiableCollection(profiles.values());
+    }
+
     private void loadAll() throws IOException {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
         List<String> resources = discoverProfileResources(cl);
@@ -189,9 +207,14 @@ public class YamlProfileRegistry implements ProfileRegistry {
         );
         CachePolicy cache = parseCache(p.path("cache"));
         RetrySpec retry = parseRetry(p.path("retry"));
-        HttpClientSpec httpSpec = parseHttp(p.path("timeouts"), p.path("ssl"), p.path("pool"));
+        HttpClientSpec httpSpec = parseHttp(p.path("timeouts"), p.path("ssl"), p.path("pool"), p.path("http"));
         AuthSpec auth = parseAuth(p.path("auth"));
-        return new AdapterProfile(id, baseUrl, success, errors, generic, cache, retry, httpSpec, auth);
+        StreamingSpec streaming = parseStreaming(p.path("streaming"));
+        ResilienceSpec resilience = new ResilienceSpec(parseCircuitBreaker(p.path("circuit_breaker")),
+                parseConcurrencyLimit(p.path("concurrency_limit")),
+                parseRateLimit(p.path("rate_limit")),
+                parseDeadline(p.path("deadline")));
+        return new AdapterProfile(id, baseUrl, success, errors, generic, cache, retry, httpSpec, auth, null, streaming, resilience);
     }
 
     private static CachePolicy parseCache(JsonNode c) {
@@ -205,16 +228,27 @@ public class YamlProfileRegistry implements ProfileRegistry {
         boolean useLm = c.path("validators").path("use_last_modified").asBoolean(true);
         int maxBodyKb = c.path("max_body_kb").asInt(0);
         int negativeTtl = c.path("negative_ttl_s").asInt(0);
+        int quotaKb = c.path("quota_kb").asInt(0);
         List<String> vary = new ArrayList<>();
         if (c.has("vary_headers") && c.path("vary_headers").isArray()) {
             c.path("vary_headers").forEach(n -> vary.add(n.asText()));
         }
-        return new CachePolicy(true, ttl, swr, sie, useEtag, useLm, vary, maxBodyKb, negativeTtl);
+        return new CachePolicy(true, ttl, swr, sie, useEtag, useLm, vary, maxBodyKb, negativeTtl, quotaKb);
+    }
+
+    private static StreamingSpec parseStreaming(JsonNode s) {
+        if (s == null || s.isMissingNode() || s.isNull()) return StreamingSpec.disabled();
+        return new StreamingSpec(
+                s.path("enabled").asBoolean(false),
+                s.path("request_body").asBoolean(false),
+                Math.max(0, s.path("max_request_body_kb").asInt(0)),
+                Math.max(0, s.path("replay_buffer_kb").asInt(0)));
     }
 
     private static RetrySpec parseRetry(JsonNode r) {
+        HedgeSpec hedge = parseHedge(r == null ? null : r.path("hedging"));
         if (r == null || r.isMissingNode() || r.isNull() || !r.path("enabled").asBoolean(false)) {
-            return RetrySpec.disabled();
+            return hedge.enabled() ? new RetrySpec(false, 0, 0, 0, false, false, true, hedge) : RetrySpec.disabled();
         }
         boolean enabled = true;
         int max = Math.max(0, r.path("max_retries").asInt(0));
@@ -223,7 +257,97 @@ public class YamlProfileRegistry implements ProfileRegistry {
         boolean jitter = r.path("jitter").asBoolean(true);
         boolean respect = r.path("respect_retry_after").asBoolean(true);
         boolean idempotent = r.path("idempotent_only").asBoolean(true);
-        return new RetrySpec(enabled, max, initial, maxDelay, jitter, respect, idempotent);
+        return new RetrySpec(enabled, max, initial, maxDelay, jitter, respect, idempotent, hedge,
+                parseRetryBudget(r.path("budget")), parseRetriableRules(r.path("retriable_rules")));
+    }
+
+    /** {@code retriable_rules}: first match decides, with the predicate language of {@code rules}. */
+    private static RetryClassifier parseRetriableRules(JsonNode rules) {
+        List<RetryRule> out = new ArrayList<>();
+        if (rules != null && rules.isArray()) {
+            for (JsonNode r : rules) {
+                out.add(new RetryRule(r.path("id").asText(), parseWhen(r.path("when")), r.path("retry").asBoolean(true)));
+            }
+        }
+        return RuleRetryClassifier.compile(out);
+    }
+
+    private static RetryBudgetSpec parseRetryBudget(JsonNode b) {
+        if (b == null || b.isMissingNode() || b.isNull() || !b.path("enabled").asBoolean(false)) return RetryBudgetSpec.disabled();
+        return new RetryBudgetSpec(true,
+                Math.max(0, b.path("ratio").asDouble(0.2)),
+                Math.max(0, b.path("min_retries_per_s").asInt(10)),
+                Math.max(1, b.path("window_s").asInt(10)));
+    }
+
+    private static CircuitBreakerSpec parseCircuitBreaker(JsonNode c) {
+        if (c == null || c.isMissingNode() || c.isNull() || !c.path("enabled").asBoolean(false)) return CircuitBreakerSpec.disabled();
+        return new CircuitBreakerSpec(true,
+                Math.max(1, c.path("window").asInt(20)),
+                Math.max(1, c.path("min_calls").asInt(10)),
+                Math.max(1, Math.min(100, c.path("failure_rate_percent").asInt(50))),
+                Math.max(0, c.path("open_ms").asLong(30_000)),
+                Math.max(1, c.path("half_open_calls").asInt(3)),
+                c.path("per_host").asBoolean(false),
+                parseProblem(c.path("problem"), CircuitBreakerSpec.DEFAULT_PROBLEM));
+    }
+
+    private static ConcurrencyLimitSpec parseConcurrencyLimit(JsonNode c) {
+        if (c == null || c.isMissingNode() || c.isNull() || !c.path("enabled").asBoolean(false)) return ConcurrencyLimitSpec.disabled();
+        int min = Math.max(1, c.path("min_limit").asInt(1));
+        int max = Math.max(min, c.path("max_limit").asInt(200));
+        return new ConcurrencyLimitSpec(true,
+                "aimd".equalsIgnoreCase(c.path("algorithm").asText("gradient")) ? ConcurrencyLimitSpec.Algorithm.AIMD : ConcurrencyLimitSpec.Algorithm.GRADIENT,
+                Math.max(min, Math.min(max, c.path("initial_limit").asInt(20))),
+                min,
+                max,
+                Math.max(0.1, Math.min(1.0, c.path("backoff_ratio").asDouble(0.9))),
+                Math.max(1.0, c.path("rtt_tolerance").asDouble(2.0)),
+                parseProblem(c.path("problem"), ConcurrencyLimitSpec.DEFAULT_PROBLEM));
+    }
+
+    private static RateLimitSpec parseRateLimit(JsonNode r) {
+        if (r == null || r.isMissingNode() || r.isNull() || !r.path("enabled").asBoolean(false)) return RateLimitSpec.disabled();
+        double rate = Math.max(0, r.path("rate_per_s").asDouble(0));
+        List<RateLimitSpec.Route> routes = new ArrayList<>();
+        for (JsonNode route : r.path("routes")) {
+            String prefix = route.path("path_prefix").asText("");
+            double routeRate = Math.max(0, route.path("rate_per_s").asDouble(0));
+            if (prefix.isEmpty() || routeRate <= 0) continue;
+            routes.add(new RateLimitSpec.Route(prefix, routeRate, Math.max(1, route.path("burst").asInt((int) Math.ceil(routeRate)))));
+        }
+        return new RateLimitSpec(true,
+                rate,
+                Math.max(1, r.path("burst").asInt((int) Math.ceil(rate))),
+                Math.max(0, r.path("max_wait_ms").asLong(0)),
+                routes,
+                parseProblem(r.path("problem"), RateLimitSpec.DEFAULT_PROBLEM));
+    }
+
+    private static DeadlineSpec parseDeadline(JsonNode d) {
+        if (d == null || d.isMissingNode() || d.isNull() || !d.path("enabled").asBoolean(false)) return DeadlineSpec.disabled();
+        return new DeadlineSpec(true,
+                Math.max(0, d.path("total_ms").asLong(0)),
+                d.path("header").asText(DeadlineSpec.DEFAULT_HEADER),
+                parseProblem(d.path("problem"), DeadlineSpec.DEFAULT_PROBLEM));
+    }
+
+    /** A fast-fail problem ({@code type}, {@code title}, {@code status}, {@code detail_template}), field by field over {@code dflt}. */
+    private static ProblemDetails parseProblem(JsonNode prob, ProblemDetails dflt) {
+        if (prob == null || prob.isMissingNode() || prob.isNull()) return dflt;
+        return ProblemDetails.of(
+                prob.path("type").asText(dflt.type()),
+                prob.path("title").asText(dflt.title()),
+                prob.path("status").asInt(dflt.status()),
+                prob.path("detail_template").asText(dflt.detail()));
+    }
+
+    private static HedgeSpec parseHedge(JsonNode h) {
+        if (h == null || h.isMissingNode() || h.isNull() || !h.path("enabled").asBoolean(false)) return HedgeSpec.disabled();
+        return new HedgeSpec(true,
+                Math.max(1, h.path("delay_ms").asLong(100)),
+                Math.max(0, Math.min(100, h.path("delay_percentile").asInt(0))),
+                Math.max(0, Math.min(100, h.path("budget_percent").asDouble(10))));
     }
 
     private static HttpClientSpec parseHttp(JsonNode t, JsonNode s, JsonNode pool) {
@@ -237,6 +361,18 @@ public class YamlProfileRegistry implements ProfileRegistry {
         return new HttpClientSpec(connect, read, new SslSpec(insecure), maxPool, maxWait, keepAlive, keepAliveS);
     }
 
+    private static HttpClientSpec parseHttp(JsonNode t, JsonNode s, JsonNode pool, JsonNode http) {
+        HttpClientSpec base = parseHttp(t, s, pool);
+        HttpProtocol version = HttpProtocol.parse(http.path("version").asText(null));
+        Http2Spec h2 = new Http2Spec(
+                http.path("multiplexing_limit").asInt(-1),
+                http.path("connection_window_kb").asInt(-1),
+                http.path("stream_window_kb").asInt(-1));
+        return new HttpClientSpec(base.connectTimeoutMs(), base.readTimeoutMs(), base.ssl(), base.maxPoolSize(),
+                base.maxWaitQueueSize(), base.keepAlive(), base.keepAliveTimeoutSeconds(), version, h2,
+                http.path("compression").asBoolean(false), http.path("max_decoded_kb").asInt(HttpClientSpec.DEFAULT_MAX_DECODED_KB));
+    }
+
     private static AuthSpec parseAuth(JsonNode a) {
         String kind = a.path("kind").asText("none");
         return switch (kind) {
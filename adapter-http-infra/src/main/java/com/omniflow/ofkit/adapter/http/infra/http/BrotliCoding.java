@@ -0,0 +1,32 @@
+package com.omniflow.ofkit.adapter.http.infra.http;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.BrotliInputStream;
+import com.omniflow.ofkit.adapter.http.domain.rules.ContentCoding;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.jboss.logging.Logger;
+
+/**
+ * Adds the {@code br} content coding, using the brotli4j decoder.
+ * It is native code, so {@code br} is only requested from upstreams on platforms where it loads.
+ */
+@ApplicationScoped
+public class BrotliCoding {
+    private static final Logger LOG = Logger.getLogger(BrotliCoding.class);
+
+    void onStart(@Observes StartupEvent event) {
+        install();
+    }
+
+    /** Registers {@code br} with {@link ContentCoding}; false when the native decoder is unavailable. */
+    public static boolean install() {
+        if (!Brotli4jLoader.isAvailable()) {
+            LOG.debugf("brotli decoding unavailable: %s", Brotli4jLoader.getUnavailabilityCause());
+            return false;
+        }
+        ContentCoding.register("br", BrotliInputStream::new);
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+package com.omniflow.ofkit.adapter.http.infra.http;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-publishes the JDK client's {@code List<ByteBuffer>} body publisher one buffer at a time.
+ * Demand is counted in buffers: a list is requested from upstream only once the previous one has
+ * been handed out, so at most one list is held while the subscriber catches up.
+ */
+final class FlatteningPublisher implements Flow.Publisher<ByteBuffer> {
+    private final Flow.Publisher<List<ByteBuffer>> source;
+
+    FlatteningPublisher(Flow.Publisher<List<ByteBuffer>> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        source.subscribe(new Bridge(subscriber));
+    }
+
+    private static final class Bridge implements Flow.Subscriber<List<ByteBuffer>>, Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> downstream;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+        private volatile Flow.Subscription upstream;
+        // guarded by this
+        private long demand;
+        private boolean requested;
+        private boolean done;
+        private Throwable error;
+        private boolean cancelled;
+        private boolean terminated;
+
+        Bridge(Flow.Subscriber<? super ByteBuffer> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            upstream = s;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            synchronized (this) {
+                pending.addAll(items);
+                requested = false;
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                error = t;
+                done = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                done = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled) return;
+                cancelled = true;
+                pending.clear();
+            }
+            upstream.cancel();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            do {
+                while (true) {
+                    ByteBuffer next = null;
+                    boolean fetch = false;
+                    Throwable failure = null;
+                    boolean finish = false;
+                    synchronized (this) {
+                        if (cancelled || terminated) break;
+                        if (demand > 0 && !pending.isEmpty()) {
+                            next = pending.poll();
+                            demand--;
+                        } else if (pending.isEmpty() && done) {
+                            terminated = true;
+                            finish = true;
+                            failure = error;
+                        } else if (demand > 0 && !requested && !done) {
+                            requested = true;
+                            fetch = true;
+                        }
+                    }
+                    if (next != null) {
+                        downstream.onNext(next);
+                        continue;
+                    }
+                    if (finish) {
+                        if (failure != null) downstream.onError(failure);
+                        else downstream.onComplete();
+                    }
+                    if (fetch) upstream.request(1);
+                    break;
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.omniflow.ofkit.adapter.http.infra.http;
 
+import com.omniflow.ofkit.adapter.http.app.ExecutionMode;
+import com.omniflow.ofkit.adapter.http.app.VirtualThreads;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.StreamingResponse;
 import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest.BodyPublisher;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.time.Duration;
@@ -14,6 +20,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * JDK HttpClient-based implementation as an immediate, working HTTP port.
@@ -29,38 +37,133 @@ public class JdkHttpClientAdapter implements HttpPort {
     private final HttpClient client;
     private final Duration connectTimeout;
     private final Duration readTimeout;
+    private final Executor executor;
 
     public JdkHttpClientAdapter() {
         this(Duration.ofSeconds(5), Duration.ofSeconds(10));
     }
 
+    /**
+     * In {@code virtual-threads} mode the client's async work and completions run on virtual
+     * threads instead of its default cached pool of platform threads.
+     */
+    @Inject
+    public JdkHttpClientAdapter(@ConfigProperty(name = "ofkit.http.execution-mode", defaultValue = "async") String executionMode) {
+        this(Duration.ofSeconds(5), Duration.ofSeconds(10), HttpClient.Version.HTTP_1_1,
+                ExecutionMode.parse(executionMode).effective() == ExecutionMode.VIRTUAL_THREADS
+                        ? VirtualThreads.perTaskExecutor("ofkit-jdk-http") : null);
+    }
+
     public JdkHttpClientAdapter(Duration connectTimeout, Duration readTimeout) {
-        this.client = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+        this(connectTimeout, readTimeout, HttpClient.Version.HTTP_1_1);
+    }
+
+    public JdkHttpClientAdapter(Duration connectTimeout, Duration readTimeout, HttpClient.Version version) {
+        this(connectTimeout, readTimeout, version, null);
+    }
+
+    /** {@code executor} runs the client's async tasks; null keeps the client's default pool. */
+    public JdkHttpClientAdapter(Duration connectTimeout, Duration readTimeout, HttpClient.Version version, Executor executor) {
+        HttpClient.Builder builder = HttpClient.newBuilder().connectTimeout(connectTimeout).version(version);
+        if (executor != null) builder.executor(executor);
+        this.client = builder.build();
         this.connectTimeout = connectTimeout;
         this.readTimeout = readTimeout;
+        this.executor = executor;
+    }
+
+    /**
+     * A client with the profile's connect timeout, read timeout and protocol. The JDK client has no pool
+     * or TLS-trust knobs to map; it negotiates HTTP/2 with ALPN over TLS and with an upgrade request over
+     * plain text (so {@code h2c} also upgrades), and its stream limit and window sizes are JVM-wide
+     * ({@code jdk.httpclient.maxstreams}, {@code jdk.httpclient.connectionWindowSize}).
+     */
+    @Override
+    public HttpPort bind(com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec spec) {
+        Duration connect = spec.connectTimeoutMs() > 0 ? Duration.ofMillis(spec.connectTimeoutMs()) : connectTimeout;
+        Duration read = spec.readTimeoutMs() > 0 ? Duration.ofMillis(spec.readTimeoutMs()) : readTimeout;
+        HttpClient.Version version = spec.version().isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+        return new JdkHttpClientAdapter(connect, read, version, executor);
     }
 
     @Override
     public HttpResponse execute(com.omniflow.ofkit.adapter.http.domain.model.HttpRequest request) throws Exception {
         long start = System.nanoTime();
+        var httpResp = client.send(toJdkRequest(request), BodyHandlers.ofByteArray());
+        return toResponse(request, httpResp, start);
+    }
+
+    @Override
+    public CompletionStage<HttpResponse> executeAsync(com.omniflow.ofkit.adapter.http.domain.model.HttpRequest request) {
+        long start = System.nanoTime();
+        var sent = client.sendAsync(toJdkRequest(request), BodyHandlers.ofByteArray());
+        var response = sent.thenApply(httpResp -> toResponse(request, httpResp, start));
+        // Cancelling the returned stage (a lost hedge) aborts the exchange too
+        response.whenComplete((r, e) -> {
+            if (response.isCancelled()) sent.cancel(true);
+        });
+        return response;
+    }
+
+    /** Completes on the response head; the body is pulled from the connection as the subscriber requests it. */
+    @Override
+    public CompletionStage<StreamingResponse> stream(com.omniflow.ofkit.adapter.http.domain.model.HttpRequest request) {
+        long start = System.nanoTime();
+        return client.sendAsync(toJdkRequest(request), BodyHandlers.ofPublisher())
+                .thenApply(httpResp -> {
+                    Map<String, List<String>> headers = new HashMap<>();
+                    httpResp.headers().map().forEach((k, v) -> headers.put(k, List.copyOf(v)));
+                    long durMs = (System.nanoTime() - start) / 1_000_000L;
+                    headers.computeIfAbsent("X-OF-Upstream-Latency-Ms", k -> new ArrayList<>()).add(Long.toString(durMs));
+                    return new StreamingResponse(httpResp.statusCode(), headers, new FlatteningPublisher(httpResp.body()));
+                });
+    }
+
+    private java.net.http.HttpRequest toJdkRequest(com.omniflow.ofkit.adapter.http.domain.model.HttpRequest request) {
         java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder()
                 .uri(request.uri())
-                .timeout(readTimeout);
+                .timeout(attemptTimeout(request));
 
         switch (request.method().toUpperCase()) {
             case "GET" -> builder.GET();
             case "DELETE" -> builder.DELETE();
-            case "POST" -> builder.POST(BodyPublishers.ofByteArray(request.body() == null ? new byte[0] : request.body()));
-            case "PUT" -> builder.PUT(BodyPublishers.ofByteArray(request.body() == null ? new byte[0] : request.body()));
-            case "PATCH" -> builder.method("PATCH", BodyPublishers.ofByteArray(request.body() == null ? new byte[0] : request.body()));
-            default -> builder.method(request.method(), BodyPublishers.ofByteArray(request.body() == null ? new byte[0] : request.body()));
+            case "POST" -> builder.POST(bodyPublisher(request));
+            case "PUT" -> builder.PUT(bodyPublisher(request));
+            case "PATCH" -> builder.method("PATCH", bodyPublisher(request));
+            default -> builder.method(request.method(), bodyPublisher(request));
         }
 
         if (request.headers() != null) {
-            request.headers().forEach((k, vs) -> vs.forEach(v -> builder.header(k, v)));
+            // the client derives Content-Length from the body publisher and rejects it as a header
+            request.headers().forEach((k, vs) -> {
+                if (!k.equalsIgnoreCase("Content-Length")) vs.forEach(v -> builder.header(k, v));
+            });
         }
+        return builder.build();
+    }
+
+    /** The read timeout, cut to what is left of the request's deadline. */
+    private Duration attemptTimeout(com.omniflow.ofkit.adapter.http.domain.model.HttpRequest request) {
+        var deadline = request.deadline();
+        if (deadline == null || !deadline.bounded()) return readTimeout;
+        return Duration.ofMillis(deadline.attemptTimeoutMs(readTimeout.toMillis()));
+    }
+
+    /**
+     * A streamed body is pulled by the client as it writes to the connection, with the inbound
+     * Content-Length when known (chunked otherwise). Note that the JDK request timeout runs from
+     * the start of the exchange, so {@code read_ms} must also cover the upload.
+     */
+    private static BodyPublisher bodyPublisher(com.omniflow.ofkit.adapter.http.domain.model.HttpRequest request) {
+        if (request.bodyStream() != null) {
+            long length = HttpHeaderUtils.parseLongHeader(request.headers(), "Content-Length", -1);
+            return length > 0 ? BodyPublishers.fromPublisher(request.bodyStream(), length) : BodyPublishers.fromPublisher(request.bodyStream());
+        }
+        return BodyPublishers.ofByteArray(request.body() == null ? new byte[0] : request.body());
+    }
 
-        var httpResp = client.send(builder.build(), BodyHandlers.ofByteArray());
+    private static HttpResponse toResponse(com.omniflow.ofkit.adapter.http.domain.model.HttpRequest request,
+                                           java.net.http.HttpResponse<byte[]> httpResp, long start) {
         long durMs = (System.nanoTime() - start) / 1_000_000L;
 
         Map<String, List<String>> headers = new HashMap<>();
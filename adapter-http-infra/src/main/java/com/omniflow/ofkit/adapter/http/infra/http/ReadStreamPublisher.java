@@ -0,0 +1,104 @@
+package com.omniflow.ofkit.adapter.http.infra.http;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exposes a paused Vert.x {@link ReadStream} as a {@link Flow.Publisher}: subscriber demand
+ * becomes {@code fetch(n)}, so chunks are read from the socket only as fast as they are consumed.
+ * Single subscriber. Stream calls run on the stream's context; {@code onTerminate} runs once when
+ * the stream ends, fails or is cancelled, and {@code onCancel} aborts the underlying exchange.
+ * With a positive {@code maxBytes}, a stream that grows past it fails with an {@link IOException}
+ * and {@link #overflowed()} turns true.
+ */
+public final class ReadStreamPublisher implements Flow.Publisher<ByteBuffer> {
+    private final ReadStream<Buffer> stream;
+    private final Context context;
+    private final long maxBytes;
+    private final Runnable onTerminate;
+    private final Runnable onCancel;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private long received; // on the context
+    private volatile boolean overflowed;
+
+    ReadStreamPublisher(ReadStream<Buffer> stream, Context context, Runnable onTerminate, Runnable onCancel) {
+        this(stream, context, 0, onTerminate, onCancel);
+    }
+
+    public ReadStreamPublisher(ReadStream<Buffer> stream, Context context, long maxBytes, Runnable onTerminate, Runnable onCancel) {
+        this.stream = stream;
+        this.context = context;
+        this.maxBytes = maxBytes;
+        this.onTerminate = onTerminate;
+        this.onCancel = onCancel;
+    }
+
+    /** True once the stream failed for exceeding {@code maxBytes}. */
+    public boolean overflowed() {
+        return overflowed;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override public void request(long n) { }
+                @Override public void cancel() { }
+            });
+            subscriber.onError(new IllegalStateException("Body already subscribed"));
+            return;
+        }
+        context.runOnContext(v -> {
+            stream.handler(buf -> {
+                if (terminated.get()) return;
+                received += buf.length();
+                if (maxBytes > 0 && received > maxBytes) {
+                    overflowed = true;
+                    stream.handler(null);
+                    if (terminate()) subscriber.onError(new IOException("Body exceeds " + maxBytes + " bytes"));
+                    return;
+                }
+                subscriber.onNext(VertxBuffers.view(buf));
+            });
+            stream.endHandler(x -> {
+                if (terminate()) subscriber.onComplete();
+            });
+            stream.exceptionHandler(err -> {
+                if (terminate()) subscriber.onError(err);
+            });
+        });
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    cancel();
+                    subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                    return;
+                }
+                context.runOnContext(v -> stream.fetch(n));
+            }
+
+            @Override
+            public void cancel() {
+                if (!terminate()) return;
+                context.runOnContext(v -> {
+                    stream.handler(null);
+                    onCancel.run();
+                });
+            }
+        });
+    }
+
+    private boolean terminate() {
+        if (!terminated.compareAndSet(false, true)) return false;
+        onTerminate.run();
+        return true;
+    }
+}
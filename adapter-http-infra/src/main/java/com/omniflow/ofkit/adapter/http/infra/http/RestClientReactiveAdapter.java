@@ -1,78 +1,308 @@
 package com.omniflow.ofkit.adapter.http.infra.http;
 
+import com.omniflow.ofkit.adapter.http.domain.model.Http2Spec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpProtocol;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.SslSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.StreamingResponse;
 import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
-import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.Http2Settings;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
-import io.vertx.ext.web.client.WebClient;
-import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.http.RequestOptions;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Vert.x HTTP client adapter. Each profile is bound once ({@link #bind(HttpClientSpec)}) to a
+ * client carrying its protocol, pool, keep-alive, timeout and TLS settings; profiles with identical
+ * settings share one client. Unbound calls use the default client and {@link HttpClientSpec#defaults()}.
+ *
+ * <p>HTTP/2 clients ({@code h2} via ALPN, {@code h2c} with prior knowledge) multiplex up to the
+ * profile's {@code multiplexing_limit} streams on each connection, so {@code max_pool_size} caps
+ * connections rather than concurrent requests. Every pool reports its open connections, requests
+ * in flight and the streams per connection seen at dispatch.
+ */
 @ApplicationScoped
 public class RestClientReactiveAdapter implements HttpPort {
     private final Vertx vertx;
-    private final ConcurrentMap<PoolKey, WebClient> clients = new ConcurrentHashMap<>();
+    private final MetricsPort metrics;
+    private final ConcurrentMap<PoolKey, Pool> clients = new ConcurrentHashMap<>();
+    private final Set<String> labels = ConcurrentHashMap.newKeySet();
+    private final Bound defaultPort;
 
     public RestClientReactiveAdapter() {
+        this(null);
+    }
+
+    @Inject
+    public RestClientReactiveAdapter(MetricsPort metrics) {
         this.vertx = Vertx.vertx();
+        this.metrics = metrics;
+        HttpClientSpec d = HttpClientSpec.defaults();
         // Default client
-        clients.put(new PoolKey(false, 5000, 50, -1, true, 60), WebClient.create(vertx, new WebClientOptions()));
+        this.defaultPort = (Bound) bind(d);
         // Default insecure client
-        WebClientOptions insecure = new WebClientOptions().setTrustAll(true).setVerifyHost(false).setSsl(true);
-        clients.put(new PoolKey(true, 5000, 50, -1, true, 60), WebClient.create(vertx, insecure));
+        bind(new HttpClientSpec(d.connectTimeoutMs(), d.readTimeoutMs(), new SslSpec(true),
+                d.maxPoolSize(), d.maxWaitQueueSize(), d.keepAlive(), d.keepAliveTimeoutSeconds()));
     }
 
     @Override
     public HttpResponse execute(HttpRequest request) throws Exception {
-        HttpMethod method = HttpMethod.valueOf(request.method().toUpperCase());
-        CompletableFuture<HttpResponse> fut = new CompletableFuture<>();
-        boolean insecure = HttpHeaderUtils.hasHeaderTrue(request.headers(), "X-OF-SSL-Insecure");
-        long readTimeout = HttpHeaderUtils.parseLongHeader(request.headers(), "X-OF-Read-Timeout-Ms", 10000);
-        int connectMs = (int) HttpHeaderUtils.parseLongHeader(request.headers(), "X-OF-Connect-Timeout-Ms", 5000);
-        int maxPool = (int) HttpHeaderUtils.parseLongHeader(request.headers(), "X-OF-HTTP-Max-Pool-Size", 50);
-        int waitQ = (int) HttpHeaderUtils.parseLongHeader(request.headers(), "X-OF-HTTP-Max-Wait-Queue", -1);
-        boolean keepAlive = HttpHeaderUtils.hasHeaderTrue(request.headers(), "X-OF-HTTP-Keep-Alive");
-        int keepAliveS = (int) HttpHeaderUtils.parseLongHeader(request.headers(), "X-OF-HTTP-Keep-Alive-Timeout-S", 60);
-        WebClient client = clients.computeIfAbsent(new PoolKey(insecure, connectMs, maxPool, waitQ, keepAlive, keepAliveS), k -> {
-            WebClientOptions opts = new WebClientOptions()
-                    .setConnectTimeout(connectMs)
-                    .setKeepAlive(keepAlive)
-                    .setKeepAliveTimeout(keepAliveS)
-                    .setMaxPoolSize(maxPool)
-                    .setMaxWaitQueueSize(waitQ);
-            if (insecure) opts.setSsl(true).setTrustAll(true).setVerifyHost(false);
-            return WebClient.create(vertx, opts);
-        });
-        long start = System.nanoTime();
-        var req = client.requestAbs(method, request.uri().toString());
-        req.timeout(readTimeout);
-        if (request.headers() != null) request.headers().forEach((k, vs) -> vs.forEach(v -> req.putHeader(k, v)));
-        var future = (request.body() == null) ? req.send() : req.sendBuffer(Buffer.buffer(request.body()));
-        future.onSuccess(resp -> {
-                    Map<String, List<String>> headers = new HashMap<>();
-                    resp.headers().forEach(entry -> headers.computeIfAbsent(entry.getKey(), kk -> new ArrayList<>()).add(entry.getValue()));
-                    long durMs = (System.nanoTime() - start) / 1_000_000L;
-                    headers.computeIfAbsent("X-OF-Upstream-Latency-Ms", k -> new ArrayList<>()).add(Long.toString(durMs));
-                    io.vertx.core.buffer.Buffer body = resp.bodyAsBuffer();
-                    fut.complete(new HttpResponse(resp.statusCode(), headers, body == null ? new byte[0] : body.getBytes()));
+        return defaultPort.execute(request);
+    }
+
+    @Override
+    public CompletionStage<HttpResponse> executeAsync(HttpRequest request) {
+        return defaultPort.executeAsync(request);
+    }
+
+    @Override
+    public HttpPort bind(HttpClientSpec spec) {
+        boolean insecure = spec.ssl() != null && spec.ssl().insecure();
+        Http2Spec h2 = spec.version().isHttp2() ? spec.h2() : Http2Spec.defaults();
+        PoolKey key = new PoolKey(insecure, spec.connectTimeoutMs(), spec.maxPoolSize(), spec.maxWaitQueueSize(),
+                spec.keepAlive(), spec.keepAliveTimeoutSeconds(), spec.version(), h2);
+        return new Bound(clients.computeIfAbsent(key, this::newPool), spec.readTimeoutMs(), metrics);
+    }
+
+    private Pool newPool(PoolKey k) {
+        HttpClientOptions opts = new HttpClientOptions()
+                .setConnectTimeout(k.connectMs())
+                .setKeepAlive(k.keepAlive())
+                .setKeepAliveTimeout(k.keepAliveS());
+        if (k.insecure()) opts.setSsl(true).setTrustAll(true).setVerifyHost(false);
+        if (k.version().isHttp2()) {
+            opts.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setUseAlpn(true)
+                    .setHttp2ClearTextUpgrade(k.version() == HttpProtocol.H2)
+                    .setHttp2MultiplexingLimit(k.h2().multiplexingLimit())
+                    .setHttp2KeepAliveTimeout(k.keepAliveS());
+            if (k.h2().connectionWindowKb() > 0) opts.setHttp2ConnectionWindowSize(k.h2().connectionWindowKb() * 1024);
+            if (k.h2().streamWindowKb() > 0) {
+                opts.setInitialSettings(new Http2Settings().setInitialWindowSize(k.h2().streamWindowKb() * 1024));
+            }
+        }
+        PoolOptions pool = new PoolOptions()
+                .setHttp1MaxSize(k.maxPool())
+                .setHttp2MaxSize(k.maxPool())
+                .setMaxWaitQueueSize(k.waitQueue());
+        String label = k.label();
+        for (int n = 2; !labels.add(label); n++) label = k.label() + "-" + n; // pools differing only in timeouts
+        Pool p = new Pool(label);
+        HttpClient http = vertx.httpClientBuilder()
+                .with(opts)
+                .with(pool)
+                .withConnectHandler(conn -> {
+                    p.connections.incrementAndGet();
+                    conn.closeHandler(v -> p.connections.decrementAndGet());
                 })
-              .onFailure(err -> fut.completeExceptionally(err));
+                .build();
+        p.http = http;
+        if (metrics != null) metrics.gaugeHttpPool(p.label, p.connections::get, p.inFlight::get);
+        return p;
+    }
+
+    /** One client and the live counters behind its pool metrics. */
+    private static final class Pool {
+        final String label;
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile HttpClient http;
 
-        return fut.get(15, TimeUnit.SECONDS);
+        Pool(String label) {
+            this.label = label;
+        }
     }
 
-    // header helpers moved to HttpHeaderUtils
+    /** Port bound to one client and read timeout. */
+    private static final class Bound implements HttpPort {
+        /** Slack over the read timeout for a blocking wait, covering connection setup. */
+        private static final long WAIT_MARGIN_MS = 1_000;
+
+        private final Pool pool;
+        private final long readTimeoutMs;
+        private final MetricsPort metrics;
 
-    private record PoolKey(boolean insecure, int connectMs, int maxPool, int waitQueue, boolean keepAlive, int keepAliveS) { }
+        Bound(Pool pool, long readTimeoutMs, MetricsPort metrics) {
+            this.pool = pool;
+            this.readTimeoutMs = readTimeoutMs;
+            this.metrics = metrics;
+        }
+
+        /**
+         * Waits until the request's deadline or, without one, a little past the read timeout:
+         * the exchange's own idle timeout normally ends it first.
+         */
+        @Override
+        public HttpResponse execute(HttpRequest request) throws Exception {
+            var deadline = request.deadline();
+            long waitMs = deadline != null && deadline.bounded() ? Math.max(1, deadline.remainingMs())
+                    : attemptTimeoutMs(request) + WAIT_MARGIN_MS;
+            var fut = executeAsync(request).toCompletableFuture();
+            try {
+                return fut.get(waitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                fut.cancel(true);
+                throw e;
+            }
+        }
+
+        /**
+         * Sends on the raw client so a cancelled call can reset its request: an HTTP/1.1
+         * connection is closed rather than left waiting on a response nobody reads, and an
+         * HTTP/2 stream is reset without touching the rest of the connection.
+         */
+        @Override
+        public CompletionStage<HttpResponse> executeAsync(HttpRequest request) {
+            if (request.bodyStream() != null) return upload(request);
+            CompletableFuture<HttpResponse> fut = new CompletableFuture<>();
+            long start = System.nanoTime();
+            Runnable release = acquire();
+            pool.http.request(options(request).setIdleTimeout(attemptTimeoutMs(request)))
+                    .onSuccess(req -> resetOnCancel(req, fut, release))
+                    .compose(req -> request.body() == null ? req.send() : req.send(VertxBuffers.buffer(request.body())))
+                    .compose(resp -> resp.body().map(body -> new HttpResponse(resp.statusCode(), headers(resp, start), VertxBuffers.payload(body))))
+                    .onComplete(ar -> release.run())
+                    .onSuccess(fut::complete)
+                    .onFailure(fut::completeExceptionally);
+            return fut;
+        }
+
+        /** The read timeout, cut to what is left of the request's deadline. */
+        private long attemptTimeoutMs(HttpRequest request) {
+            var deadline = request.deadline();
+            return deadline == null || !deadline.bounded() ? readTimeoutMs : deadline.attemptTimeoutMs(readTimeoutMs);
+        }
+
+        /**
+         * Sends on the raw client and completes on the response head with the body paused; the
+         * body is fetched as the subscriber requests it. The read timeout (cut to the deadline)
+         * becomes an idle timeout, so long transfers are fine as long as data keeps moving.
+         */
+        @Override
+        public CompletionStage<StreamingResponse> stream(HttpRequest request) {
+            CompletableFuture<StreamingResponse> fut = new CompletableFuture<>();
+            long start = System.nanoTime();
+            Runnable release = acquire();
+            exchange(request, fut, release)
+                    .onSuccess(resp -> {
+                        resp.pause();
+                        var body = new ReadStreamPublisher(resp, Vertx.currentContext(), release, () -> resp.request().reset());
+                        fut.complete(new StreamingResponse(resp.statusCode(), headers(resp, start), body));
+                    })
+                    .onFailure(err -> {
+                        release.run();
+                        fut.completeExceptionally(err);
+                    });
+            return fut;
+        }
+
+        /** Streamed request body with a buffered response. */
+        private CompletionStage<HttpResponse> upload(HttpRequest request) {
+            CompletableFuture<HttpResponse> fut = new CompletableFuture<>();
+            long start = System.nanoTime();
+            Runnable release = acquire();
+            exchange(request, fut, release)
+                    .compose(resp -> resp.body().map(body -> new HttpResponse(resp.statusCode(), headers(resp, start), VertxBuffers.payload(body))))
+                    .onComplete(ar -> release.run())
+                    .onSuccess(fut::complete)
+                    .onFailure(fut::completeExceptionally);
+            return fut;
+        }
+
+        private Runnable acquire() {
+            int streams = pool.inFlight.incrementAndGet();
+            if (metrics != null) metrics.recordStreamsPerConnection(pool.label, (double) streams / Math.max(1, pool.connections.get()));
+            AtomicBoolean released = new AtomicBoolean();
+            return () -> { if (released.compareAndSet(false, true)) pool.inFlight.decrementAndGet(); };
+        }
+
+        /** Resets the request and frees its slot when {@code fut} is cancelled before completing. */
+        private static void resetOnCancel(HttpClientRequest req, CompletableFuture<?> fut, Runnable release) {
+            fut.whenComplete((r, err) -> {
+                if (fut.isCancelled()) {
+                    req.reset();
+                    release.run();
+                }
+            });
+        }
+
+        /**
+         * Sends the request and completes on the response head. A streamed body is written as the
+         * connection accepts it (chunked unless a Content-Length is given); the idle timeout only
+         * starts once it is fully sent, so a long upload is not mistaken for a silent upstream.
+         * A failed exchange stops pulling the body; cancelling {@code fut} before the head resets it.
+         */
+        private Future<HttpClientResponse> exchange(HttpRequest request, CompletableFuture<?> fut, Runnable release) {
+            RequestOptions options = options(request);
+            if (request.bodyStream() == null) {
+                options.setIdleTimeout(attemptTimeoutMs(request));
+                return pool.http.request(options)
+                        .onSuccess(req -> resetOnCancel(req, fut, release))
+                        .compose(req -> request.body() == null ? req.send() : req.send(VertxBuffers.buffer(request.body())));
+            }
+            return pool.http.request(options).compose(req -> {
+                resetOnCancel(req, fut, release);
+                if (!req.headers().contains(HttpHeaders.CONTENT_LENGTH)) req.setChunked(true);
+                WriteStreamSubscriber upload = new WriteStreamSubscriber(req, err -> req.reset(0, err));
+                upload.ended().onSuccess(v -> req.idleTimeout(attemptTimeoutMs(request)));
+                request.bodyStream().subscribe(upload);
+                return req.response().onFailure(err -> upload.cancel());
+            });
+        }
+
+        private static RequestOptions options(HttpRequest request) {
+            RequestOptions options = new RequestOptions()
+                    .setMethod(HttpMethod.valueOf(request.method().toUpperCase(Locale.ROOT)))
+                    .setAbsoluteURI(request.uri().toString());
+            if (request.headers() != null) request.headers().forEach((k, vs) -> vs.forEach(v -> options.addHeader(k, v)));
+            return options;
+        }
+
+        private static Map<String, List<String>> headers(HttpClientResponse resp, long start) {
+            Map<String, List<String>> headers = new HashMap<>();
+            resp.headers().forEach(entry -> headers.computeIfAbsent(entry.getKey(), kk -> new ArrayList<>()).add(entry.getValue()));
+            long durMs = (System.nanoTime() - start) / 1_000_000L;
+            headers.computeIfAbsent("X-OF-Upstream-Latency-Ms", k -> new ArrayList<>()).add(Long.toString(durMs));
+            return headers;
+        }
+    }
+
+    private record PoolKey(boolean insecure, int connectMs, int maxPool, int waitQueue, boolean keepAlive, int keepAliveS,
+                           HttpProtocol version, Http2Spec h2) {
+        /** Stable, low-cardinality metric tag for the pool. */
+        String label() {
+            StringBuilder sb = new StringBuilder(version.name().toLowerCase(Locale.ROOT)).append("-pool").append(maxPool);
+            if (version.isHttp2() && h2.multiplexingLimit() > 0) sb.append("-streams").append(h2.multiplexingLimit());
+            if (insecure) sb.append("-insecure");
+            return sb.toString();
+        }
+    }
 }
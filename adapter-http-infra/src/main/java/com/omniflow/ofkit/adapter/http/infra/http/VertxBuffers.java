@@ -0,0 +1,45 @@
+package com.omniflow.ofkit.adapter.http.infra.http;
+
+import com.omniflow.ofkit.adapter.http.domain.model.BodyBuffer;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Conversions between Vert.x buffers and {@link BodyBuffer} that share the underlying memory
+ * instead of copying it ({@code Buffer.buffer(byte[])} and {@code getBytes()} both copy).
+ *
+ * <p>Vert.x 4 only shares memory through its Netty {@code ByteBuf} accessors, which are
+ * deprecated ahead of Vert.x 5. {@link #view(Buffer)} and {@link #wrap(ByteBuffer)} are the only
+ * callers of them in the adapter, so moving off them later touches nothing else.
+ */
+public final class VertxBuffers {
+    private VertxBuffers() {}
+
+    /** Read-only view over a received body; an absent body becomes {@link BodyBuffer#EMPTY}. */
+    public static BodyBuffer payload(Buffer body) {
+        return body == null ? BodyBuffer.EMPTY : BodyBuffer.of(view(body));
+    }
+
+    /** Buffer to write; an absent body becomes an empty one. */
+    public static Buffer buffer(BodyBuffer body) {
+        return body == null ? Buffer.buffer() : wrap(body.asByteBuffer());
+    }
+
+    public static Buffer buffer(byte[] body) {
+        return wrap(ByteBuffer.wrap(body));
+    }
+
+    /** The buffer's readable bytes, without copying. */
+    @SuppressWarnings("deprecation")
+    public static ByteBuffer view(Buffer buf) {
+        return buf.getByteBuf().nioBuffer();
+    }
+
+    /** A Vert.x buffer over {@code bytes}' remaining content, without copying. */
+    @SuppressWarnings("deprecation")
+    public static Buffer wrap(ByteBuffer bytes) {
+        return Buffer.buffer(Unpooled.wrappedBuffer(bytes));
+    }
+}
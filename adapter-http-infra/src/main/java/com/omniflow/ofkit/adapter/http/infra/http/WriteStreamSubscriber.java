@@ -0,0 +1,72 @@
+package com.omniflow.ofkit.adapter.http.infra.http;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Writes a body publisher to a Vert.x {@link WriteStream} one chunk at a time: the next chunk is
+ * requested while the stream's write queue has room, otherwise once the pending write completes.
+ * Completion ends the stream; a publisher error is handed to {@code abort}, which should reset
+ * the exchange so the peer does not take a truncated body for a complete one.
+ */
+public final class WriteStreamSubscriber implements Flow.Subscriber<ByteBuffer> {
+    private final WriteStream<Buffer> out;
+    private final Consumer<Throwable> abort;
+    private final Promise<Void> ended = Promise.promise();
+    private volatile Flow.Subscription subscription;
+    private volatile boolean cancelled;
+
+    public WriteStreamSubscriber(WriteStream<Buffer> out, Consumer<Throwable> abort) {
+        this.out = out;
+        this.abort = abort;
+    }
+
+    /** Completes once the whole body was written and the stream ended; fails if the body failed. */
+    public Future<Void> ended() {
+        return ended.future();
+    }
+
+    /** Stops pulling from the publisher, e.g. because the reader of {@code out} went away. */
+    public void cancel() {
+        cancelled = true;
+        Flow.Subscription s = subscription;
+        if (s != null) s.cancel();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription s) {
+        subscription = s;
+        if (cancelled) s.cancel();
+        else s.request(1);
+    }
+
+    @Override
+    public void onNext(ByteBuffer chunk) {
+        Future<Void> written = out.write(VertxBuffers.wrap(chunk));
+        if (!out.writeQueueFull()) {
+            subscription.request(1);
+        } else {
+            written.onComplete(ar -> {
+                if (ar.succeeded()) subscription.request(1);
+                else cancel();
+            });
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        ended.tryFail(t);
+        abort.accept(t);
+    }
+
+    @Override
+    public void onComplete() {
+        out.end().onComplete(ended);
+    }
+}
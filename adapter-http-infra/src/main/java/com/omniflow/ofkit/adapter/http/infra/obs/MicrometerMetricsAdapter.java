@@ -1,11 +1,17 @@
 package com.omniflow.ofkit.adapter.http.infra.obs;
 
 import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
 @ApplicationScoped
 public class MicrometerMetricsAdapter implements MetricsPort {
     private static final Logger LOG = Logger.getLogger(MicrometerMetricsAdapter.class);
@@ -32,4 +38,95 @@ public class MicrometerMetricsAdapter implements MetricsPort {
     public void incrementCacheNegative(String profileId) { inc("omniflow_adapter_cache_negative_total", profileId); }
     @Override
     public void incrementCacheEviction(String profileId) { inc("omniflow_adapter_cache_evictions_total", profileId); }
+    @Override
+    public void incrementCacheCoalesced(String profileId) { inc("omniflow_adapter_cache_coalesced_total", profileId); }
+    @Override
+    public void incrementRevalidationRejected(String profileId) { inc("omniflow_adapter_cache_revalidation_rejected_total", profileId); }
+    @Override
+    public void incrementHedgeSent(String profileId) { inc("omniflow_adapter_hedge_sent_total", profileId); }
+    @Override
+    public void incrementHedgeWon(String profileId) { inc("omniflow_adapter_hedge_won_total", profileId); }
+    @Override
+    public void incrementRetryPermitted(String profileId) { inc("omniflow_adapter_retry_budget_permitted_total", profileId); }
+    @Override
+    public void incrementRetryDenied(String profileId) { inc("omniflow_adapter_retry_budget_denied_total", profileId); }
+    @Override
+    public void incrementCircuitRejected(String profileId) { inc("omniflow_adapter_circuit_rejected_total", profileId); }
+    @Override
+    public void incrementLimitRejected(String profileId) { inc("omniflow_adapter_concurrency_rejected_total", profileId); }
+    @Override
+    public void incrementRateLimitRejected(String profileId, String route) {
+        registry.counter("omniflow_adapter_ratelimit_rejected_total", "profile", profileId, "route", route).increment();
+    }
+    @Override
+    public void recordRateLimitWait(String profileId, long nanos) {
+        Timer.builder("omniflow_adapter_ratelimit_wait_seconds")
+                .tag("profile", profileId)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+    @Override
+    public void recordRevalidation(String profileId, long nanos, boolean success) {
+        Timer.builder("omniflow_adapter_cache_revalidation_seconds")
+                .tag("profile", profileId)
+                .tag("outcome", success ? "success" : "error")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+    @Override
+    public void gaugeRevalidationQueueDepth(LongSupplier depth) {
+        Gauge.builder("omniflow_adapter_cache_revalidation_queue_depth", depth, LongSupplier::getAsLong)
+                .strongReference(true)
+                .register(registry);
+    }
+    @Override
+    public void gaugeCacheBytes(String profileId, LongSupplier bytesUsed) {
+        Gauge.builder("omniflow_adapter_cache_bytes", bytesUsed, LongSupplier::getAsLong)
+                .tag("profile", profileId)
+                .strongReference(true)
+                .register(registry);
+    }
+    @Override
+    public void gaugeCircuitState(String profileId, LongSupplier state) {
+        Gauge.builder("omniflow_adapter_circuit_state", state, LongSupplier::getAsLong)
+                .tag("profile", profileId)
+                .strongReference(true)
+                .register(registry);
+    }
+    @Override
+    public void gaugeCircuitOpenHosts(String profileId, LongSupplier hosts) {
+        Gauge.builder("omniflow_adapter_circuit_open_hosts", hosts, LongSupplier::getAsLong)
+                .tag("profile", profileId)
+                .strongReference(true)
+                .register(registry);
+    }
+    @Override
+    public void gaugeConcurrencyLimit(String profileId, LongSupplier limit, LongSupplier inFlight) {
+        Gauge.builder("omniflow_adapter_concurrency_limit", limit, LongSupplier::getAsLong)
+                .tag("profile", profileId)
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("omniflow_adapter_concurrency_in_flight", inFlight, LongSupplier::getAsLong)
+                .tag("profile", profileId)
+                .strongReference(true)
+                .register(registry);
+    }
+    @Override
+    public void gaugeHttpPool(String pool, LongSupplier connections, LongSupplier inFlight) {
+        Gauge.builder("omniflow_adapter_http_connections", connections, LongSupplier::getAsLong)
+                .tag("pool", pool)
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("omniflow_adapter_http_streams_in_flight", inFlight, LongSupplier::getAsLong)
+                .tag("pool", pool)
+                .strongReference(true)
+                .register(registry);
+    }
+    @Override
+    public void recordStreamsPerConnection(String pool, double streams) {
+        DistributionSummary.builder("omniflow_adapter_http_streams_per_connection")
+                .tag("pool", pool)
+                .register(registry)
+                .record(streams);
+    }
 }
@@ -1,10 +1,17 @@
 package com.omniflow.ofkit.adapter.http.infra.rest;
 
 import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.ExecutionMode;
 import com.omniflow.ofkit.adapter.http.app.ProfileRegistry;
+import com.omniflow.ofkit.adapter.http.app.VirtualThreads;
+import com.omniflow.ofkit.adapter.http.domain.model.BodyBuffer;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
 import com.omniflow.ofkit.adapter.http.domain.model.Result;
+import io.smallrye.mutiny.Uni;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
@@ -12,10 +19,16 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Path("/adapter")
 @ApplicationScoped
@@ -24,10 +37,28 @@ public class AdapterResource {
 
     @Inject AdapterFacade facade;
     @Inject ProfileRegistry profiles;
+    @ConfigProperty(name = "ofkit.http.execution-mode", defaultValue = "async") String executionMode;
+
+    // one virtual thread per request in VIRTUAL_THREADS mode, null otherwise
+    private ExecutorService virtualThreads;
+
+    @PostConstruct
+    void init() {
+        ExecutionMode mode = ExecutionMode.parse(executionMode);
+        if (mode.effective() != mode) {
+            LOG.warnf("execution mode %s needs JDK 21+, running %s", mode, mode.effective());
+        }
+        if (mode.effective() == ExecutionMode.VIRTUAL_THREADS) virtualThreads = VirtualThreads.perTaskExecutor("ofkit-request");
+    }
+
+    @PreDestroy
+    void close() {
+        if (virtualThreads != null) virtualThreads.shutdown();
+    }
 
     @GET
     @Path("/{profile}/{path:.*}")
-    public Response get(@PathParam("profile") String profile,
+    public Uni<Response> get(@PathParam("profile") String profile,
                         @PathParam("path") String path,
                         @Context UriInfo uriInfo,
                         @Context HttpHeaders headers) throws Exception {
@@ -36,7 +67,7 @@ public class AdapterResource {
 
     @DELETE
     @Path("/{profile}/{path:.*}")
-    public Response delete(@PathParam("profile") String profile,
+    public Uni<Response> delete(@PathParam("profile") String profile,
                            @PathParam("path") String path,
                            @Context UriInfo uriInfo,
                            @Context HttpHeaders headers) throws Exception {
@@ -45,7 +76,7 @@ public class AdapterResource {
 
     @POST
     @Path("/{profile}/{path:.*}")
-    public Response post(@PathParam("profile") String profile,
+    public Uni<Response> post(@PathParam("profile") String profile,
                          @PathParam("path") String path,
                          @Context UriInfo uriInfo,
                          @Context HttpHeaders headers,
@@ -55,7 +86,7 @@ public class AdapterResource {
 
     @PUT
     @Path("/{profile}/{path:.*}")
-    public Response put(@PathParam("profile") String profile,
+    public Uni<Response> put(@PathParam("profile") String profile,
                         @PathParam("path") String path,
                         @Context UriInfo uriInfo,
                         @Context HttpHeaders headers,
@@ -65,7 +96,7 @@ public class AdapterResource {
 
     @PATCH
     @Path("/{profile}/{path:.*}")
-    public Response patch(@PathParam("profile") String profile,
+    public Uni<Response> patch(@PathParam("profile") String profile,
                           @PathParam("path") String path,
                           @Context UriInfo uriInfo,
                           @Context HttpHeaders headers,
@@ -73,19 +104,16 @@ public class AdapterResource {
         return handle(profile, "PATCH", path, uriInfo, headers, body);
     }
 
-    private Response handle(String profileId, String method, String path,
-                            UriInfo uriInfo, HttpHeaders headers, byte[] body) throws Exception {
+    private Uni<Response> handle(String profileId, String method, String path,
+                                 UriInfo uriInfo, HttpHeaders headers, byte[] body) throws Exception {
         var profile = profiles.findById(profileId).orElseThrow(() -> new NotFoundException("Unknown profile"));
         // Allow header override of base URL for testing and flexible routing
         String base = headers.getHeaderString("X-OF-Target-Base");
         if (base == null || base.isBlank()) base = profile.baseUrl();
         if (base == null || base.isBlank()) {
-            return Response.status(400).entity("Missing base_url for profile or X-OF-Target-Base header").type("text/plain").build();
+            return Uni.createFrom().item(Response.status(400).entity("Missing base_url for profile or X-OF-Target-Base header").type("text/plain").build());
         }
-        String query = uriInfo.getRequestUri().getRawQuery();
-        String target = base.endsWith("/") ? base.substring(0, base.length()-1) : base;
-        target += "/" + path;
-        if (query != null && !query.isEmpty()) target += "?" + query;
+        String target = target(base, path, uriInfo.getRequestUri().getRawQuery());
 
         Map<String, List<String>> hdrs = new HashMap<>();
         headers.getRequestHeaders().forEach((k, v) -> hdrs.put(k, List.copyOf(v)));
@@ -95,26 +123,56 @@ public class AdapterResource {
         HttpRequest req = new HttpRequest(method, URI.create(target), hdrs, body);
         long t0 = System.nanoTime();
         LOG.debugf("profile=%s method=%s uri=%s", profileId, method, target);
-        Result res = facade.handle(profileId, req);
-        long totalMs = (System.nanoTime() - t0) / 1_000_000L;
+        AtomicReference<CompletionStage<Result>> running = new AtomicReference<>();
+        return Uni.createFrom().completionStage(() -> {
+                    CompletionStage<Result> stage = virtualThreads != null ? onVirtualThread(profileId, req) : facade.handleAsync(profileId, req);
+                    running.set(stage);
+                    return stage;
+                })
+                // the client went away: cancel the upstream work still running for it
+                .onCancellation().invoke(() -> {
+                    CompletionStage<Result> stage = running.get();
+                    if (stage != null) stage.toCompletableFuture().cancel(true);
+                })
+                .map(res -> toResponse(res, (System.nanoTime() - t0) / 1_000_000L));
+    }
+
+    /**
+     * Runs the blocking pipeline on a fresh virtual thread; the event loop only writes the result.
+     * Cancelling the returned stage interrupts that thread.
+     */
+    private CompletionStage<Result> onVirtualThread(String profileId, HttpRequest req) {
+        CompletableFuture<Result> result = new CompletableFuture<>();
+        Future<?> task = virtualThreads.submit(() -> {
+            try {
+                result.complete(facade.handle(profileId, req));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.whenComplete((r, t) -> {
+            if (result.isCancelled()) task.cancel(true);
+        });
+        return result;
+    }
+
+    private static Response toResponse(Result res, long totalMs) {
         if (res instanceof Result.Success s) {
             var upstream = s.response();
             Response.ResponseBuilder rb = Response.status(upstream.statusCode());
             upstream.headers().forEach((k, vs) -> vs.forEach(v -> rb.header(k, v)));
-            byte[] b = upstream.body() == null ? new byte[0] : upstream.body();
             rb.header("X-OF-Total-Latency-Ms", Long.toString(totalMs));
             rb.header("X-OF-Rule-Id", s.ruleId());
             LOG.debugf("success rule=%s status=%d total_ms=%d", s.ruleId(), upstream.statusCode(), totalMs);
-            return rb.entity(b).build();
+            // written straight from the upstream buffer by BodyBufferWriter
+            return rb.entity(upstream.payload() == null ? BodyBuffer.EMPTY : upstream.payload()).build();
+        } else if (res instanceof Result.Streamed s) {
+            // streaming profiles are answered by StreamingRoute; never buffer their bodies here
+            s.response().discard();
+            return Response.serverError().entity("Streaming profile " + s.ruleId() + " requires the streaming route").type("text/plain").build();
         } else if (res instanceof Result.Failure f) {
             var p = f.problem();
-            Map<String, Object> payload = new LinkedHashMap<>();
-            payload.put("type", p.type());
-            payload.put("title", p.title());
-            payload.put("status", p.status());
-            if (p.detail() != null) payload.put("detail", p.detail());
-            if (p.instance() != null) payload.put("instance", p.instance());
-            if (p.extensions() != null && !p.extensions().isEmpty()) payload.putAll(p.extensions());
+            Map<String, Object> payload = problemPayload(p);
             LOG.debugf("failure rule=%s status=%d total_ms=%d", f.ruleId(), p.status(), totalMs);
             return Response.status(p.status())
                     .header("X-OF-Total-Latency-Ms", Long.toString(totalMs))
@@ -123,4 +181,24 @@ public class AdapterResource {
         }
         return Response.serverError().entity("Unknown result").build();
     }
+
+    /** Upstream URL: base without trailing slash, the remaining path, and the raw query if any. */
+    static String target(String base, String path, String rawQuery) {
+        String target = base.endsWith("/") ? base.substring(0, base.length()-1) : base;
+        target += "/" + path;
+        if (rawQuery != null && !rawQuery.isEmpty()) target += "?" + rawQuery;
+        return target;
+    }
+
+    /** RFC-7807 body: the standard members followed by the extensions. */
+    static Map<String, Object> problemPayload(ProblemDetails p) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", p.type());
+        payload.put("title", p.title());
+        payload.put("status", p.status());
+        if (p.detail() != null) payload.put("detail", p.detail());
+        if (p.instance() != null) payload.put("instance", p.instance());
+        if (p.extensions() != null && !p.extensions().isEmpty()) payload.putAll(p.extensions());
+        return payload;
+    }
 }
@@ -0,0 +1,53 @@
+package com.omniflow.ofkit.adapter.http.infra.rest;
+
+import com.omniflow.ofkit.adapter.http.domain.model.BodyBuffer;
+import com.omniflow.ofkit.adapter.http.infra.http.VertxBuffers;
+import io.vertx.core.http.HttpServerResponse;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import org.jboss.resteasy.reactive.server.core.ResteasyReactiveRequestContext;
+import org.jboss.resteasy.reactive.server.spi.ResteasyReactiveResourceInfo;
+import org.jboss.resteasy.reactive.server.spi.ServerMessageBodyWriter;
+import org.jboss.resteasy.reactive.server.spi.ServerRequestContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+
+/**
+ * Writes a {@link BodyBuffer} entity by handing its memory to the Vert.x response. The built-in
+ * byte[] and Buffer writers both copy the body on the way out; this one does not. The
+ * OutputStream variant only runs when a writer interceptor is registered.
+ */
+@Provider
+@Produces(MediaType.WILDCARD)
+public class BodyBufferWriter implements ServerMessageBodyWriter<BodyBuffer> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, ResteasyReactiveResourceInfo target, MediaType mediaType) {
+        return BodyBuffer.class.equals(type);
+    }
+
+    @Override
+    public void writeResponse(BodyBuffer body, Type genericType, ServerRequestContext context) {
+        HttpServerResponse out = context instanceof ResteasyReactiveRequestContext rc
+                ? rc.serverRequest().unwrap(HttpServerResponse.class) : null;
+        if (out != null) out.end(VertxBuffers.buffer(body));
+        else context.serverResponse().end(body.bytes());
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return BodyBuffer.class.equals(type);
+    }
+
+    @Override
+    public void writeTo(BodyBuffer body, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        Channels.newChannel(entityStream).write(body.asByteBuffer());
+    }
+}
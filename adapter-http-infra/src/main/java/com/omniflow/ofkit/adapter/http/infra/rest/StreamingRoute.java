@@ -0,0 +1,204 @@
+package com.omniflow.ofkit.adapter.http.infra.rest;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.ProfileRegistry;
+import com.omniflow.ofkit.adapter.http.domain.model.AdapterProfile;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+import com.omniflow.ofkit.adapter.http.domain.model.Result;
+import com.omniflow.ofkit.adapter.http.domain.model.StreamingSpec;
+import com.omniflow.ofkit.adapter.http.infra.http.ReadStreamPublisher;
+import com.omniflow.ofkit.adapter.http.infra.http.VertxBuffers;
+import com.omniflow.ofkit.adapter.http.infra.http.WriteStreamSubscriber;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Serves profiles with {@code streaming} enabled on the {@code /adapter} paths, ahead of
+ * {@link AdapterResource}; other profiles fall through to it. The rule is decided on status and
+ * headers, then the upstream body is piped to the client chunk by chunk: the next chunk is
+ * requested only while the client's write queue has room, so a slow client slows the upstream
+ * read instead of growing the heap. A client that disconnects cancels the upstream exchange,
+ * whether it is still waiting for the response head or already piping the body.
+ * <p>
+ * With {@code streaming.request_body}, requests that carry a body are piped the other way: the
+ * inbound request stays paused and is read as the upstream connection accepts data, so an upload
+ * is never held in memory. {@code max_request_body_kb} is checked against Content-Length up
+ * front and enforced on the bytes actually read; past it the upstream exchange is aborted and
+ * the client gets a 413 problem.
+ */
+@ApplicationScoped
+public class StreamingRoute {
+    private static final Logger LOG = Logger.getLogger(StreamingRoute.class);
+    private static final String PREFIX = "/adapter/";
+    // Connection-level headers describe the upstream hop, not the one to the client
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade");
+    // ...plus request headers the upstream client sets itself
+    private static final Set<String> NOT_FORWARDED = Set.of("host", "expect", "connection", "keep-alive", "transfer-encoding", "te", "trailer", "upgrade");
+    // how long a refused upload is drained before its connection is closed
+    private static final long LINGER_MS = 2000;
+
+    @Inject AdapterFacade facade;
+    @Inject ProfileRegistry profiles;
+
+    void register(@Observes Router router) {
+        router.route(PREFIX + "*").order(RouteConstants.ROUTE_ORDER_BEFORE_DEFAULT).handler(this::handle);
+    }
+
+    void handle(RoutingContext rc) {
+        HttpServerRequest in = rc.request();
+        String rest = in.path().substring(PREFIX.length());
+        int slash = rest.indexOf('/');
+        String profileId = slash < 0 ? rest : rest.substring(0, slash);
+        AdapterProfile profile = profiles.findById(profileId).orElse(null);
+        StreamingSpec streaming = profile == null ? StreamingSpec.disabled() : profile.streaming();
+        boolean upload = streaming.requestBody() && hasBody(in);
+        if (!streaming.responseBody() && !upload) {
+            rc.next();
+            return;
+        }
+        String base = in.getHeader("X-OF-Target-Base");
+        if (base == null || base.isBlank()) base = profile.baseUrl();
+        if (base == null || base.isBlank()) {
+            in.response().setStatusCode(400).putHeader("Content-Type", "text/plain")
+                    .end("Missing base_url for profile or X-OF-Target-Base header");
+            return;
+        }
+        String target = AdapterResource.target(base, slash < 0 ? "" : rest.substring(slash + 1), in.query());
+        Map<String, List<String>> hdrs = new HashMap<>();
+        in.headers().forEach(e -> {
+            if (!NOT_FORWARDED.contains(e.getKey().toLowerCase(Locale.ROOT))) hdrs.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(e.getValue());
+        });
+        long t0 = System.nanoTime();
+        long maxBytes = streaming.maxRequestBodyKb() * 1024L;
+        Buffer parsed = rc.body() == null ? null : rc.body().buffer();
+        if (upload && parsed == null) {
+            if (maxBytes > 0 && contentLength(in) > maxBytes) {
+                tooLarge(rc, streaming);
+                return;
+            }
+            // hold the body until the upstream connection asks for it
+            in.pause();
+            if ("100-continue".equalsIgnoreCase(in.getHeader("Expect"))) in.response().writeContinue();
+            ReadStreamPublisher body = new ReadStreamPublisher(in, Vertx.currentContext(), maxBytes, () -> { }, () -> { });
+            HttpRequest req = new HttpRequest(in.method().name(), URI.create(target), hdrs, null, body);
+            LOG.debugf("profile=%s method=%s uri=%s streaming upload", profileId, req.method(), target);
+            call(in.response(), profileId, req).whenComplete((res, err) -> {
+                if (body.overflowed()) tooLarge(rc, streaming);
+                else if (err instanceof CancellationException) return; // the client left
+                else if (err != null) rc.fail(err);
+                else respond(in.response(), res, (System.nanoTime() - t0) / 1_000_000L);
+            });
+            return;
+        }
+        Future<Buffer> body = parsed != null ? Future.succeededFuture(parsed) : in.body();
+        body.onFailure(rc::fail).onSuccess(b -> {
+            HttpRequest req = new HttpRequest(in.method().name(), URI.create(target), hdrs, b == null || b.length() == 0 ? null : b.getBytes());
+            LOG.debugf("profile=%s method=%s uri=%s streaming", profileId, req.method(), target);
+            call(in.response(), profileId, req).whenComplete((res, err) -> {
+                if (err instanceof CancellationException) return; // the client left
+                if (err != null) rc.fail(err);
+                else respond(in.response(), res, (System.nanoTime() - t0) / 1_000_000L);
+            });
+        });
+    }
+
+    /** Runs the request, cancelling it if the client goes away before the result is written. */
+    private CompletableFuture<Result> call(HttpServerResponse out, String profileId, HttpRequest req) {
+        CompletableFuture<Result> call = facade.handleAsync(profileId, req).toCompletableFuture();
+        out.closeHandler(v -> call.cancel(true));
+        return call;
+    }
+
+    private static boolean hasBody(HttpServerRequest in) {
+        return contentLength(in) > 0 || in.headers().contains("Transfer-Encoding", "chunked", true);
+    }
+
+    private static long contentLength(HttpServerRequest in) {
+        String v = in.getHeader("Content-Length");
+        try {
+            return v == null ? -1 : Long.parseLong(v.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void tooLarge(RoutingContext rc, StreamingSpec streaming) {
+        HttpServerRequest in = rc.request();
+        HttpServerResponse out = in.response();
+        if (out.ended() || out.headWritten()) {
+            out.reset();
+            return;
+        }
+        ProblemDetails p = ProblemDetails.of("about:blank", "Payload Too Large", 413,
+                "Request body exceeds " + streaming.maxRequestBodyKb() + " KiB");
+        // the rest of the upload is not forwarded, so the connection cannot be reused. Closing it
+        // with unread bytes would reset it and could destroy the 413 on its way, so discard what
+        // the client still sends for a moment first.
+        out.setStatusCode(413)
+                .putHeader("Connection", "close")
+                .putHeader("Content-Type", "application/problem+json")
+                .end(Json.encode(AdapterResource.problemPayload(p)))
+                .onComplete(v -> {
+                    in.handler(b -> { }).endHandler(x -> in.connection().close()).resume();
+                    rc.vertx().setTimer(LINGER_MS, t -> in.connection().close());
+                });
+    }
+
+    private static void respond(HttpServerResponse out, Result res, long totalMs) {
+        out.putHeader("X-OF-Total-Latency-Ms", Long.toString(totalMs));
+        if (res instanceof Result.Streamed s) {
+            var upstream = s.response();
+            out.setStatusCode(upstream.statusCode()).putHeader("X-OF-Rule-Id", s.ruleId());
+            upstream.headers().forEach((k, vs) -> {
+                if (!HOP_BY_HOP.contains(k.toLowerCase(Locale.ROOT))) out.putHeader(k, vs);
+            });
+            if (out.headers().get("Content-Length") == null) out.setChunked(true);
+            WriteStreamSubscriber pipe = new WriteStreamSubscriber(out, err -> {
+                LOG.debugf("upstream body failed: %s", err.toString());
+                // headers are already out: abort so the client sees a truncated transfer, not a complete one
+                out.reset();
+            });
+            out.closeHandler(v -> pipe.cancel());
+            upstream.body().subscribe(pipe);
+            if (out.closed()) pipe.cancel(); // the client left as the head arrived
+        } else if (res instanceof Result.Failure f) {
+            var p = f.problem();
+            out.setStatusCode(p.status())
+                    .putHeader("X-OF-Rule-Id", f.ruleId())
+                    .putHeader("Content-Type", "application/problem+json")
+                    .end(Json.encode(AdapterResource.problemPayload(p)));
+        } else if (res instanceof Result.Success s) {
+            var upstream = s.response();
+            out.setStatusCode(upstream.statusCode()).putHeader("X-OF-Rule-Id", s.ruleId());
+            upstream.headers().forEach((k, vs) -> {
+                // the length is set from the buffered body
+                if (!HOP_BY_HOP.contains(k.toLowerCase(Locale.ROOT)) && !k.equalsIgnoreCase("Content-Length")) out.putHeader(k, vs);
+            });
+            out.end(VertxBuffers.buffer(upstream.payload()));
+        } else {
+            out.setStatusCode(500).end("Unknown result");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.CacheStore;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheGatewayCoalescingTest {
+    static class MemStore implements CacheStore {
+        Map<CacheKey, CachedEntry> m = new ConcurrentHashMap<>();
+        @Override public Optional<CachedEntry> get(CacheKey key) { return Optional.ofNullable(m.get(key)); }
+        @Override public void put(CacheKey key, CachedEntry entry) { m.put(key, entry); }
+        @Override public void invalidate(CacheKey key) { m.remove(key); }
+    }
+    static class MemMetrics implements MetricsPort {
+        final AtomicInteger misses = new AtomicInteger(), coalesced = new AtomicInteger();
+        public void incrementCacheHit(String p){}
+        public void incrementCacheMiss(String p){misses.incrementAndGet();}
+        public void incrementCacheSwr(String p){}
+        public void incrementCacheSie(String p){}
+        public void incrementCacheRevalidate(String p){}
+        public void incrementCacheNegative(String p){}
+        public void incrementCacheEviction(String p){}
+        @Override public void incrementCacheCoalesced(String p){coalesced.incrementAndGet();}
+    }
+    /** Port whose calls stay pending until the test completes them. */
+    static class PendingPort implements HttpPort {
+        final List<CompletableFuture<HttpResponse>> calls = new CopyOnWriteArrayList<>();
+        @Override public HttpResponse execute(HttpRequest request) { throw new UnsupportedOperationException(); }
+        @Override public CompletionStage<HttpResponse> executeAsync(HttpRequest request) {
+            CompletableFuture<HttpResponse> f = new CompletableFuture<>();
+            calls.add(f);
+            return f;
+        }
+    }
+
+    private static AdapterProfile profile(CachePolicy pol, int readTimeoutMs) {
+        HttpClientSpec d = HttpClientSpec.defaults();
+        HttpClientSpec http = new HttpClientSpec(d.connectTimeoutMs(), readTimeoutMs, d.ssl(), d.maxPoolSize(), d.maxWaitQueueSize(), d.keepAlive(), d.keepAliveTimeoutSeconds());
+        return new AdapterProfile("p", null, List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""), pol, RetrySpec.disabled(), http, new AuthSpec.None());
+    }
+
+    private static final HttpRequest GET = new HttpRequest("GET", URI.create("http://x/r"), Map.of(), null);
+
+    @Test
+    void concurrent_misses_share_one_upstream_call() throws Exception {
+        CachePolicy pol = new CachePolicy(true, 60, 0, 0, true, true, List.of(), 1024, 0);
+        MemMetrics metrics = new MemMetrics();
+        CacheGateway gw = new CacheGateway(new MemStore(), metrics);
+        PendingPort http = new PendingPort();
+
+        List<CompletableFuture<HttpResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) results.add(gw.executeAsync(profile(pol, 10_000), GET, http).toCompletableFuture());
+        assertEquals(1, http.calls.size());
+        assertEquals(9, metrics.coalesced.get());
+        results.forEach(r -> assertFalse(r.isDone()));
+
+        http.calls.get(0).complete(new HttpResponse(200, Map.of(), "ok".getBytes()));
+        for (CompletableFuture<HttpResponse> r : results) assertEquals(200, r.get(1, TimeUnit.SECONDS).statusCode());
+        assertEquals(1, metrics.misses.get());
+
+        // the flight is over: the next request is a plain cache hit
+        HttpResponse hit = gw.execute(profile(pol, 10_000), GET, http);
+        assertEquals(List.of("hit"), hit.headers().get("X-OF-Cache"));
+        assertEquals(1, http.calls.size());
+    }
+
+    @Test
+    void leader_failure_is_shared_and_the_key_is_released() throws Exception {
+        CachePolicy pol = new CachePolicy(true, 60, 0, 0, true, true, List.of(), 1024, 0);
+        CacheGateway gw = new CacheGateway(new MemStore(), new MemMetrics());
+        PendingPort http = new PendingPort();
+
+        CompletableFuture<HttpResponse> a = gw.executeAsync(profile(pol, 10_000), GET, http).toCompletableFuture();
+        CompletableFuture<HttpResponse> b = gw.executeAsync(profile(pol, 10_000), GET, http).toCompletableFuture();
+        http.calls.get(0).completeExceptionally(new IOException("boom"));
+        assertThrows(IOException.class, () -> Futures.await(a));
+        assertThrows(IOException.class, () -> Futures.await(b));
+
+        gw.executeAsync(profile(pol, 10_000), GET, http);
+        assertEquals(2, http.calls.size());
+    }
+
+    @Test
+    void follower_calls_upstream_itself_after_the_read_timeout() throws Exception {
+        CachePolicy pol = new CachePolicy(true, 60, 0, 0, true, true, List.of(), 1024, 0);
+        CacheGateway gw = new CacheGateway(new MemStore(), new MemMetrics());
+        PendingPort http = new PendingPort();
+
+        gw.executeAsync(profile(pol, 50), GET, http);
+        CompletableFuture<HttpResponse> follower = gw.executeAsync(profile(pol, 50), GET, http).toCompletableFuture();
+        assertEquals(1, http.calls.size());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (http.calls.size() < 2 && System.nanoTime() < deadline) Thread.sleep(10);
+        assertEquals(2, http.calls.size());
+        http.calls.get(1).complete(new HttpResponse(200, Map.of(), new byte[0]));
+        assertEquals(200, follower.get(1, TimeUnit.SECONDS).statusCode());
+    }
+
+    @Test
+    void stale_hits_trigger_one_revalidation_per_key() throws Exception {
+        CachePolicy pol = new CachePolicy(true, 0, 60, 0, true, true, List.of(), 1024, 0);
+        MemStore store = new MemStore();
+        MemMetrics metrics = new MemMetrics();
+        CacheGateway gw = new CacheGateway(store, metrics);
+        PendingPort http = new PendingPort();
+        CacheKey key = new CacheKey("p", "GET", "/r", Map.of(), null);
+        Instant past = Instant.now().minusSeconds(1);
+        store.put(key, new CachedEntry(new HttpResponse(200, Map.of(), new byte[0]), past, past, "\"v\"", null));
+
+        for (int i = 0; i < 5; i++) {
+            HttpResponse stale = gw.execute(profile(pol, 10_000), GET, http);
+            assertEquals(List.of("swr"), stale.headers().get("X-OF-Cache"));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (http.calls.isEmpty() && System.nanoTime() < deadline) Thread.sleep(10);
+        assertEquals(1, http.calls.size());
+        assertEquals(4, metrics.coalesced.get());
+
+        // once the revalidation completes, the next stale hit may start another
+        store.put(key, new CachedEntry(new HttpResponse(200, Map.of(), new byte[0]), past, past, "\"v\"", null));
+        http.calls.get(0).completeExceptionally(new IOException("down"));
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (http.calls.size() < 2 && System.nanoTime() < deadline) {
+            gw.execute(profile(pol, 10_000), GET, http); // the key is released asynchronously
+            Thread.sleep(10);
+        }
+        assertEquals(2, http.calls.size());
+    }
+}
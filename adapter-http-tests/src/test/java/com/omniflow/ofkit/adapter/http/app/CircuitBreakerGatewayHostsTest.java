@@ -0,0 +1,63 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerGatewayHostsTest {
+
+    static class GaugeMetrics implements MetricsPort {
+        final List<String> gauges = new ArrayList<>();
+        LongSupplier openHosts;
+        public void incrementCacheHit(String p){}
+        public void incrementCacheMiss(String p){}
+        public void incrementCacheSwr(String p){}
+        public void incrementCacheSie(String p){}
+        public void incrementCacheRevalidate(String p){}
+        public void incrementCacheNegative(String p){}
+        public void incrementCacheEviction(String p){}
+        @Override public void gaugeCircuitState(String p, LongSupplier s) { gauges.add("state:" + p); }
+        @Override public void gaugeCircuitOpenHosts(String p, LongSupplier h) { gauges.add("hosts:" + p); openHosts = h; }
+    }
+
+    private static AdapterProfile perHost() {
+        // opens on the first failure
+        CircuitBreakerSpec cb = new CircuitBreakerSpec(true, 1, 1, 100, 60_000, 1, true, null);
+        return new AdapterProfile("p", "http://a", List.of(), List.of(), ProblemDetails.of("about:blank", "t", 502, ""),
+                CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None(), null,
+                StreamingSpec.disabled(), new ResilienceSpec(cb, null, null, null));
+    }
+
+    private static HttpRequest to(String host) {
+        return new HttpRequest("GET", URI.create("http://" + host + "/x"), Map.of(), null);
+    }
+
+    @Test
+    void per_host_breakers_are_capped_and_reported_by_one_gauge() throws Exception {
+        GaugeMetrics metrics = new GaugeMetrics();
+        CircuitBreakerGateway gateway = new CircuitBreakerGateway(metrics);
+        AdapterProfile p = perHost();
+        HttpPort down = request -> new HttpResponse(503, Map.of(), new byte[0]);
+
+        for (int i = 0; i < CircuitBreakerGateway.MAX_HOSTS + 50; i++) gateway.execute(p, to("h" + i + ".example"), down);
+
+        assertEquals(CircuitBreakerGateway.MAX_HOSTS, gateway.trackedHosts("p"));
+        assertEquals(List.of("hosts:p"), metrics.gauges, "one gauge per profile, not per host");
+        assertEquals(CircuitBreakerGateway.MAX_HOSTS, metrics.openHosts.getAsLong());
+
+        // the most recent hosts are still open; the evicted first host starts over closed
+        int last = CircuitBreakerGateway.MAX_HOSTS + 49;
+        assertThrows(CircuitOpenException.class, () -> gateway.execute(p, to("h" + last + ".example"), down));
+        HttpPort up = request -> new HttpResponse(200, Map.of(), new byte[0]);
+        assertEquals(200, gateway.execute(p, to("h0.example"), up).statusCode());
+    }
+}
@@ -0,0 +1,66 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.CircuitBreakerSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static CircuitBreakerSpec spec() {
+        // 4-call window, open at 50% failures once 4 calls are known, 1 s open, 2 trial calls
+        return new CircuitBreakerSpec(true, 4, 4, 50, 1000, 2, false, null);
+    }
+
+    @Test
+    void opens_once_the_failure_rate_is_reached_over_min_calls() {
+        CircuitBreaker cb = new CircuitBreaker(spec(), () -> 0);
+        cb.onResult(false);
+        cb.onResult(false);
+        cb.onResult(false);
+        assertEquals(CircuitBreaker.CLOSED, cb.state(), "below min_calls");
+        cb.onResult(true);
+        assertEquals(CircuitBreaker.OPEN, cb.state());
+        assertFalse(cb.tryAcquire());
+    }
+
+    @Test
+    void ring_forgets_old_outcomes() {
+        CircuitBreaker cb = new CircuitBreaker(spec(), () -> 0);
+        cb.onResult(false);
+        for (int i = 0; i < 4; i++) cb.onResult(true);
+        cb.onResult(false);
+        assertEquals(CircuitBreaker.CLOSED, cb.state(), "1 failure in the last 4 calls");
+        cb.onResult(false);
+        assertEquals(CircuitBreaker.OPEN, cb.state(), "2 failures in the last 4 calls");
+    }
+
+    @Test
+    void half_open_trials_close_or_reopen_the_circuit() {
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker cb = new CircuitBreaker(spec(), clock::get);
+        for (int i = 0; i < 4; i++) cb.onResult(false);
+        assertFalse(cb.tryAcquire());
+
+        clock.set(1000);
+        assertTrue(cb.tryAcquire());
+        assertTrue(cb.tryAcquire());
+        assertFalse(cb.tryAcquire(), "only half_open_calls trials");
+        assertEquals(CircuitBreaker.HALF_OPEN, cb.state());
+        cb.onResult(false);
+        assertEquals(CircuitBreaker.OPEN, cb.state(), "a failed trial reopens");
+        assertFalse(cb.tryAcquire());
+
+        clock.set(2000);
+        assertTrue(cb.tryAcquire());
+        assertTrue(cb.tryAcquire());
+        cb.onResult(true);
+        cb.onResult(true);
+        assertEquals(CircuitBreaker.CLOSED, cb.state());
+        cb.onResult(false);
+        cb.onResult(false);
+        assertEquals(CircuitBreaker.CLOSED, cb.state(), "closing starts a fresh window");
+    }
+}
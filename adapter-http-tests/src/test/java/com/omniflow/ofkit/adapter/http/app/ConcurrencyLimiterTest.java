@@ -0,0 +1,75 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.ConcurrencyLimitSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.ConcurrencyLimitSpec.Algorithm;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    private static ConcurrencyLimiter limiter(Algorithm algorithm, int initial) {
+        return new ConcurrencyLimiter(new ConcurrencyLimitSpec(true, algorithm, initial, 2, 40, 0.5, 2.0, null));
+    }
+
+    /** Fills the limit, then finishes every call with the same outcome. */
+    private static void round(ConcurrencyLimiter l, long rttNanos, boolean dropped) {
+        int n = 0;
+        while (l.tryAcquire()) n++;
+        for (int i = 0; i < n; i++) l.onSample(rttNanos, dropped);
+    }
+
+    @Test
+    void refuses_over_the_limit_without_queueing() {
+        ConcurrencyLimiter l = limiter(Algorithm.AIMD, 3);
+        assertTrue(l.tryAcquire());
+        assertTrue(l.tryAcquire());
+        assertTrue(l.tryAcquire());
+        assertFalse(l.tryAcquire());
+        assertEquals(3, l.inFlight());
+        l.release();
+        assertTrue(l.tryAcquire());
+        assertEquals(3, l.limit(), "a release without a sample leaves the limit alone");
+    }
+
+    @Test
+    void aimd_grows_only_near_the_limit_and_halves_on_drops() {
+        ConcurrencyLimiter l = limiter(Algorithm.AIMD, 10);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(l.tryAcquire());
+            l.onSample(10 * MS, false);
+        }
+        assertEquals(10, l.limit(), "one call at a time is no reason to grow");
+
+        round(l, 10 * MS, false);
+        assertTrue(l.limit() > 10);
+        int grown = l.limit();
+        assertTrue(l.tryAcquire());
+        l.onSample(10 * MS, true);
+        assertEquals(grown / 2, l.limit(), 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(l.tryAcquire());
+            l.onSample(10 * MS, true);
+        }
+        assertEquals(2, l.limit(), "never below min_limit");
+        for (int i = 0; i < 20; i++) round(l, 10 * MS, false);
+        assertEquals(40, l.limit(), "never above max_limit");
+    }
+
+    @Test
+    void gradient_grows_at_no_load_rtt_and_shrinks_when_rtt_climbs() {
+        ConcurrencyLimiter l = limiter(Algorithm.GRADIENT, 10);
+        for (int i = 0; i < 5; i++) round(l, 10 * MS, false);
+        int grown = l.limit();
+        assertTrue(grown > 10, "RTT at the baseline leaves room to grow: " + grown);
+
+        round(l, 15 * MS, false);
+        assertTrue(l.limit() >= grown, "within the tolerance: still no queueing");
+        int before = l.limit();
+        for (int i = 0; i < 5; i++) round(l, 80 * MS, false);
+        assertTrue(l.limit() < before, "8x the no-load RTT means requests are queueing: " + l.limit());
+    }
+}
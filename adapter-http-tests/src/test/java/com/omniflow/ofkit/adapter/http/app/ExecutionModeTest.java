@@ -0,0 +1,37 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionModeTest {
+
+    @Test
+    void parses_modes_and_falls_back_without_virtual_threads() {
+        assertEquals(ExecutionMode.ASYNC, ExecutionMode.parse(null));
+        assertEquals(ExecutionMode.ASYNC, ExecutionMode.parse(" async "));
+        assertEquals(ExecutionMode.VIRTUAL_THREADS, ExecutionMode.parse("virtual-threads"));
+        assertEquals(ExecutionMode.VIRTUAL_THREADS, ExecutionMode.parse("VIRTUAL_THREADS"));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionMode.parse("threads"));
+
+        ExecutionMode effective = ExecutionMode.VIRTUAL_THREADS.effective();
+        assertEquals(VirtualThreads.available() ? ExecutionMode.VIRTUAL_THREADS : ExecutionMode.ASYNC, effective);
+        assertEquals(ExecutionMode.ASYNC, ExecutionMode.ASYNC.effective());
+    }
+
+    @Test
+    void per_task_executor_only_with_virtual_threads() throws Exception {
+        ExecutorService executor = VirtualThreads.perTaskExecutor("vt-test");
+        if (!VirtualThreads.available()) {
+            assertNull(executor);
+            return;
+        }
+        try {
+            assertEquals("vt-test-1", executor.submit(() -> Thread.currentThread().getName()).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.RateLimitSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void bucket_serves_the_burst_then_refills_at_the_rate() {
+        AtomicLong clock = new AtomicLong(5_000 * MS);
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get); // one token every 100 ms
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(-1, bucket.reserve(0), "burst spent");
+
+        clock.addAndGet(100 * MS);
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(-1, bucket.reserve(0));
+        clock.addAndGet(10_000 * MS);
+        for (int i = 0; i < 3; i++) assertEquals(0, bucket.reserve(0));
+        assertEquals(-1, bucket.reserve(0), "an idle bucket holds no more than the burst");
+    }
+
+    @Test
+    void waiting_callers_reserve_future_tokens_in_turn() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+        assertEquals(0, bucket.reserve(250 * MS));
+        assertEquals(100 * MS, bucket.reserve(250 * MS));
+        assertEquals(200 * MS, bucket.reserve(250 * MS));
+        assertEquals(-1, bucket.reserve(250 * MS), "next token is 300 ms away");
+        bucket.refund();
+        assertEquals(200 * MS, bucket.reserve(250 * MS), "a refunded token is handed out again");
+    }
+
+    @Test
+    void route_buckets_add_to_the_profile_bucket_longest_prefix_first() {
+        RateLimitSpec spec = new RateLimitSpec(true, 1000, 3, 0, List.of(
+                new RateLimitSpec.Route("/v1", 1000, 100),
+                new RateLimitSpec.Route("/v1/search", 0.001, 1)), null);
+        RateLimiter limiter = new RateLimiter(spec);
+        RateLimiter.RouteBucket search = limiter.routeFor("/v1/search/q");
+        assertEquals("/v1/search", search.prefix());
+        assertEquals("/v1", limiter.routeFor("/v1/items").prefix());
+        assertNull(limiter.routeFor("/v2"));
+
+        assertEquals(0, limiter.reserve(search, 0));
+        assertEquals(RateLimiter.ROUTE_EMPTY, limiter.reserve(search, 0), "route quota spent");
+        assertEquals(0, limiter.reserve(limiter.routeFor("/v1/items"), 0));
+        assertEquals(0, limiter.reserve(null, 0));
+        assertEquals(RateLimiter.PROFILE_EMPTY, limiter.reserve(limiter.routeFor("/v1/items"), 0));
+        assertEquals(RateLimiter.PROFILE_EMPTY, limiter.reserve(limiter.routeFor("/v1/items"), 0), "route tokens given back each time");
+    }
+}
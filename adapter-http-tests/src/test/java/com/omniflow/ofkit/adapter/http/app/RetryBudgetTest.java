@@ -0,0 +1,85 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void retries_stay_under_the_ratio_of_first_attempts() {
+        AtomicLong clock = new AtomicLong();
+        RetryBudget budget = new RetryBudget(new RetryBudgetSpec(true, 0.2, 0, 10), clock::get);
+        for (int i = 0; i < 10; i++) budget.onAttempt();
+
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry(), "20% of 10 attempts is 2 retries");
+        for (int i = 0; i < 5; i++) budget.onAttempt();
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+    }
+
+    @Test
+    void floor_allows_retries_without_traffic_and_the_window_slides() {
+        AtomicLong clock = new AtomicLong();
+        RetryBudget budget = new RetryBudget(new RetryBudgetSpec(true, 0, 1, 3), clock::get);
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry(), "1 retry/s over a 3 s window");
+
+        clock.addAndGet(SECOND);
+        assertFalse(budget.tryRetry(), "the spent second is still inside the window");
+        clock.addAndGet(2 * SECOND);
+        assertTrue(budget.tryRetry(), "the spent second slid out");
+    }
+
+    @Test
+    void gateway_returns_the_last_response_once_the_budget_is_spent() throws Exception {
+        AtomicInteger permitted = new AtomicInteger();
+        AtomicInteger denied = new AtomicInteger();
+        MetricsPort metrics = new MetricsPort() {
+            @Override public void incrementCacheHit(String profileId) { }
+            @Override public void incrementCacheMiss(String profileId) { }
+            @Override public void incrementCacheSwr(String profileId) { }
+            @Override public void incrementCacheSie(String profileId) { }
+            @Override public void incrementCacheRevalidate(String profileId) { }
+            @Override public void incrementCacheNegative(String profileId) { }
+            @Override public void incrementCacheEviction(String profileId) { }
+            @Override public void incrementRetryPermitted(String profileId) { permitted.incrementAndGet(); }
+            @Override public void incrementRetryDenied(String profileId) { denied.incrementAndGet(); }
+        };
+        AtomicInteger calls = new AtomicInteger();
+        HttpPort down = request -> {
+            calls.incrementAndGet();
+            return new HttpResponse(503, Map.of(), new byte[0]);
+        };
+        // half a retry per first attempt and no floor: the second request earns the only retry
+        RetrySpec spec = new RetrySpec(true, 3, 0, 0, false, false, true, null, new RetryBudgetSpec(true, 0.5, 0, 60));
+        AdapterProfile profile = new AdapterProfile("p", null, List.of(), List.of(),
+                ProblemDetails.of("about:blank", "t", 502, ""), CachePolicy.disabled(), spec,
+                HttpClientSpec.defaults(), new AuthSpec.None());
+        RetryGateway gw = new RetryGateway(metrics);
+        HttpRequest get = new HttpRequest("GET", URI.create("http://x"), Map.of(), null);
+
+        assertEquals(503, gw.execute(profile, get, down).statusCode());
+        assertEquals(503, gw.executeAsync(profile, get, down).toCompletableFuture().get(5, TimeUnit.SECONDS).statusCode());
+
+        assertEquals(3, calls.get(), "one budgeted retry for two requests instead of 3 each");
+        assertEquals(1, permitted.get());
+        assertEquals(2, denied.get());
+    }
+}
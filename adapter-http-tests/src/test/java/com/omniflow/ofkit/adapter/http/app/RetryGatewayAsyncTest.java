@@ -0,0 +1,69 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryGatewayAsyncTest {
+
+    private static AdapterProfile profile(RetrySpec spec) {
+        return new AdapterProfile("p", null, List.of(), List.of(),
+                ProblemDetails.of("about:blank", "t", 502, ""), CachePolicy.disabled(), spec,
+                HttpClientSpec.defaults(), new AuthSpec.None());
+    }
+
+    /** Port that only answers through the async path, like the Vert.x adapter. */
+    private static HttpPort asyncOnly(java.util.function.IntFunction<CompletionStage<HttpResponse>> byAttempt) {
+        AtomicInteger calls = new AtomicInteger();
+        return new HttpPort() {
+            @Override public HttpResponse execute(HttpRequest request) { throw new AssertionError("blocking path used"); }
+            @Override public CompletionStage<HttpResponse> executeAsync(HttpRequest request) { return byAttempt.apply(calls.incrementAndGet()); }
+        };
+    }
+
+    @Test
+    void retries_5xx_with_scheduled_backoff_without_blocking_caller() throws Exception {
+        RetryGateway gw = new RetryGateway();
+        AtomicInteger attempts = new AtomicInteger();
+        HttpPort http = asyncOnly(n -> {
+            attempts.set(n);
+            return CompletableFuture.completedFuture(new HttpResponse(n < 3 ? 503 : 200, Map.of(), new byte[0]));
+        });
+        HttpRequest r = new HttpRequest("GET", URI.create("http://x"), Map.of(), null);
+        // warm up so class loading on the first call is not measured
+        gw.executeAsync(profile(new RetrySpec(true, 1, 1, 1, false, false, true)), r,
+                asyncOnly(n -> CompletableFuture.completedFuture(new HttpResponse(n < 2 ? 503 : 200, Map.of(), new byte[0]))))
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        long t0 = System.nanoTime();
+        CompletionStage<HttpResponse> stage = gw.executeAsync(profile(new RetrySpec(true, 3, 50, 50, false, false, true)), r, http);
+        long returnedMs = (System.nanoTime() - t0) / 1_000_000L;
+
+        assertTrue(returnedMs < 50, "executeAsync must return before the first backoff elapses");
+        assertEquals(200, stage.toCompletableFuture().get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void propagates_original_exception_after_max_retries() {
+        RetryGateway gw = new RetryGateway();
+        HttpPort http = asyncOnly(n -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+        HttpRequest r = new HttpRequest("GET", URI.create("http://x"), Map.of(), null);
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> gw.executeAsync(profile(new RetrySpec(true, 1, 0, 0, false, false, true)), r, http)
+                        .toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+}
@@ -13,7 +13,7 @@ class RetryGatewayBackoffTest {
 
     @Test
     void compute_delay_exponential_and_jitter_bounds() throws Exception {
-        Method m = RetryGateway.class.getDeclaredMethod("computeDelayMs", com.omniflow.ofkit.adapter.http.domain.model.RetrySpec.class, int.class, com.omniflow.ofkit.adapter.http.domain.model.HttpResponse.class);
+        Method m = RetryGateway.class.getDeclaredMethod("computeDelayMs", com.omniflow.ofkit.adapter.http.domain.model.RetrySpec.class, int.class, Map.class);
         m.setAccessible(true);
         var specNoJitter = new com.omniflow.ofkit.adapter.http.domain.model.RetrySpec(true, 3, 100, 1000, false, false, true);
         long d1 = (Long) m.invoke(null, specNoJitter, 1, null);
@@ -33,21 +33,21 @@ class RetryGatewayBackoffTest {
 
     @Test
     void compute_delay_respects_retry_after_min() throws Exception {
-        Method m = RetryGateway.class.getDeclaredMethod("computeDelayMs", com.omniflow.ofkit.adapter.http.domain.model.RetrySpec.class, int.class, com.omniflow.ofkit.adapter.http.domain.model.HttpResponse.class);
+        Method m = RetryGateway.class.getDeclaredMethod("computeDelayMs", com.omniflow.ofkit.adapter.http.domain.model.RetrySpec.class, int.class, Map.class);
         m.setAccessible(true);
         var spec = new com.omniflow.ofkit.adapter.http.domain.model.RetrySpec(true, 1, 1000, 5000, false, true, true);
         var resp = new HttpResponse(503, Map.of("Retry-After", List.of("1")), new byte[0]);
-        long d = (Long) m.invoke(null, spec, 1, resp);
+        long d = (Long) m.invoke(null, spec, 1, resp.headers());
         assertTrue(d <= 5000 && d >= 1000, "uses retry-after but bounded by maxDelay");
     }
 
     @Test
     void compute_delay_ignores_retry_after_when_disabled() throws Exception {
-        Method m = RetryGateway.class.getDeclaredMethod("computeDelayMs", com.omniflow.ofkit.adapter.http.domain.model.RetrySpec.class, int.class, com.omniflow.ofkit.adapter.http.domain.model.HttpResponse.class);
+        Method m = RetryGateway.class.getDeclaredMethod("computeDelayMs", com.omniflow.ofkit.adapter.http.domain.model.RetrySpec.class, int.class, Map.class);
         m.setAccessible(true);
         var spec = new com.omniflow.ofkit.adapter.http.domain.model.RetrySpec(true, 1, 100, 1000, false, false, true);
         var resp = new HttpResponse(503, Map.of("Retry-After", List.of("5")), new byte[0]);
-        long d = (Long) m.invoke(null, spec, 1, resp);
+        long d = (Long) m.invoke(null, spec, 1, resp.headers());
         assertEquals(100, d, "should use base backoff when respect_retry_after=false");
     }
 }
@@ -0,0 +1,151 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryGatewayHedgingTest {
+
+    private static AdapterProfile profile(HedgeSpec hedge) {
+        return new AdapterProfile("p", null, List.of(), List.of(),
+                ProblemDetails.of("about:blank", "t", 502, ""), CachePolicy.disabled(),
+                new RetrySpec(false, 0, 0, 0, false, false, true, hedge),
+                HttpClientSpec.defaults(), new AuthSpec.None());
+    }
+
+    private static HttpRequest get() {
+        return new HttpRequest("GET", URI.create("http://x"), Map.of(), null);
+    }
+
+    private static HttpResponse ok(int marker) {
+        return new HttpResponse(200, Map.of("X-Attempt", List.of(Integer.toString(marker))), new byte[0]);
+    }
+
+    /** Async port recording every attempt's future; {@code byAttempt} decides how each one ends. */
+    private static final class Port implements HttpPort {
+        final List<CompletableFuture<HttpResponse>> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final IntFunction<CompletableFuture<HttpResponse>> byAttempt;
+
+        Port(IntFunction<CompletableFuture<HttpResponse>> byAttempt) {
+            this.byAttempt = byAttempt;
+        }
+
+        @Override public HttpResponse execute(HttpRequest request) { throw new AssertionError("blocking path used"); }
+
+        @Override
+        public CompletionStage<HttpResponse> executeAsync(HttpRequest request) {
+            CompletableFuture<HttpResponse> f = byAttempt.apply(calls.incrementAndGet());
+            attempts.add(f);
+            return f;
+        }
+    }
+
+    private static final class Counts implements MetricsPort {
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicInteger won = new AtomicInteger();
+        @Override public void incrementCacheHit(String profileId) { }
+        @Override public void incrementCacheMiss(String profileId) { }
+        @Override public void incrementCacheSwr(String profileId) { }
+        @Override public void incrementCacheSie(String profileId) { }
+        @Override public void incrementCacheRevalidate(String profileId) { }
+        @Override public void incrementCacheNegative(String profileId) { }
+        @Override public void incrementCacheEviction(String profileId) { }
+        @Override public void incrementHedgeSent(String profileId) { sent.incrementAndGet(); }
+        @Override public void incrementHedgeWon(String profileId) { won.incrementAndGet(); }
+    }
+
+    @Test
+    void slow_primary_is_hedged_and_the_first_response_wins() throws Exception {
+        Counts metrics = new Counts();
+        Port port = new Port(n -> n == 1 ? new CompletableFuture<>() : CompletableFuture.completedFuture(ok(n)));
+
+        HttpResponse resp = new RetryGateway(metrics).executeAsync(profile(new HedgeSpec(true, 20, 0, 100)), get(), port)
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("2"), resp.headers().get("X-Attempt"));
+        assertEquals(2, port.attempts.size());
+        assertTrue(port.attempts.get(0).isCancelled(), "losing attempt is cancelled");
+        assertEquals(1, metrics.sent.get());
+        assertEquals(1, metrics.won.get());
+    }
+
+    @Test
+    void fast_primary_and_non_idempotent_requests_are_not_hedged() throws Exception {
+        Counts metrics = new Counts();
+        RetryGateway gw = new RetryGateway(metrics);
+        AdapterProfile p = profile(new HedgeSpec(true, 20, 0, 100));
+
+        Port fast = new Port(n -> CompletableFuture.completedFuture(ok(n)));
+        gw.executeAsync(p, get(), fast).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Port slowPost = new Port(n -> CompletableFuture.supplyAsync(() -> ok(n),
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS)));
+        gw.executeAsync(p, new HttpRequest("POST", URI.create("http://x"), Map.of(), new byte[]{1}), slowPost)
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, fast.attempts.size());
+        assertEquals(1, slowPost.attempts.size());
+        assertEquals(0, metrics.sent.get());
+    }
+
+    @Test
+    void budget_limits_hedges_to_a_share_of_requests() throws Exception {
+        Counts metrics = new Counts();
+        RetryGateway gw = new RetryGateway(metrics);
+        AdapterProfile p = profile(new HedgeSpec(true, 10, 0, 50));
+        for (int i = 0; i < 4; i++) {
+            Port slow = new Port(n -> CompletableFuture.supplyAsync(() -> ok(n),
+                    CompletableFuture.delayedExecutor(60, TimeUnit.MILLISECONDS)));
+            gw.executeAsync(p, get(), slow).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(2, metrics.sent.get(), "50% budget allows one hedge every second request");
+    }
+
+    @Test
+    void failed_attempt_waits_for_the_other_one() throws Exception {
+        CompletableFuture<HttpResponse> primary = new CompletableFuture<>();
+        CompletableFuture<HttpResponse> hedge = new CompletableFuture<>();
+        Port port = new Port(n -> n == 1 ? primary : hedge);
+
+        CompletableFuture<HttpResponse> result = new RetryGateway().executeAsync(profile(new HedgeSpec(true, 10, 0, 100)), get(), port)
+                .toCompletableFuture();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (port.attempts.size() < 2 && System.nanoTime() < deadline) Thread.sleep(5);
+        primary.completeExceptionally(new IllegalStateException("reset"));
+        assertFalse(result.isDone(), "hedge still running");
+        hedge.complete(ok(2));
+
+        assertEquals(List.of("2"), result.get(5, TimeUnit.SECONDS).headers().get("X-Attempt"));
+    }
+
+    @Test
+    void percentile_delay_follows_observed_latency() throws Exception {
+        Counts metrics = new Counts();
+        RetryGateway gw = new RetryGateway(metrics);
+        // the fixed delay is far beyond the test timeout; only the learned p95 can trigger the hedge
+        AdapterProfile p = profile(new HedgeSpec(true, 60_000, 95, 100));
+        for (int i = 0; i < 32; i++) {
+            gw.executeAsync(p, get(), new Port(n -> CompletableFuture.completedFuture(ok(n))))
+                    .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+        Port port = new Port(n -> n == 1 ? new CompletableFuture<>() : CompletableFuture.completedFuture(ok(n)));
+
+        HttpResponse resp = gw.executeAsync(p, get(), port).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("2"), resp.headers().get("X-Attempt"));
+        assertEquals(1, metrics.sent.get());
+    }
+}
@@ -0,0 +1,78 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.retry.RetryRule;
+import com.omniflow.ofkit.adapter.http.domain.retry.RuleRetryClassifier;
+import com.omniflow.ofkit.adapter.http.domain.rules.AndPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.BodyRegexPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.JsonPointerPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.ResponseContext;
+import com.omniflow.ofkit.adapter.http.domain.rules.StatusPredicate;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryGatewayRetriableRulesTest {
+
+    private static final RuleRetryClassifier CLASSIFIER = RuleRetryClassifier.compile(List.of(
+            new RetryRule("maintenance", new AndPredicate(List.of(new StatusPredicate(503, 503), new BodyRegexPredicate("maintenance"))), false),
+            new RetryRule("transient-code", JsonPointerPredicate.equalsAt("/error/code", "TEMPORARY"), true)));
+
+    private static HttpResponse resp(int status, String body) {
+        return new HttpResponse(status, Map.of(), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static AdapterProfile profile() {
+        RetrySpec spec = new RetrySpec(true, 2, 0, 0, false, false, true, null, null, CLASSIFIER);
+        return new AdapterProfile("p", null, List.of(), List.of(),
+                ProblemDetails.of("about:blank", "t", 502, ""), CachePolicy.disabled(), spec,
+                HttpClientSpec.defaults(), new AuthSpec.None());
+    }
+
+    @Test
+    void first_matching_rule_decides_and_defaults_apply_otherwise() {
+        assertFalse(CLASSIFIER.isRetriable(new ResponseContext(resp(503, "down for maintenance")), null));
+        assertTrue(CLASSIFIER.isRetriable(new ResponseContext(resp(200, "{\"error\":{\"code\":\"TEMPORARY\"}}")), null));
+        assertTrue(CLASSIFIER.isRetriable(new ResponseContext(resp(503, "overloaded")), null));
+        assertTrue(CLASSIFIER.isRetriable(new ResponseContext(resp(429, "")), null));
+        assertFalse(CLASSIFIER.isRetriable(new ResponseContext(resp(404, "")), null));
+        assertTrue(CLASSIFIER.isRetriable(null, new java.io.IOException("reset")));
+        assertSame(RuleRetryClassifier.DEFAULT, RuleRetryClassifier.compile(List.of()));
+    }
+
+    @Test
+    void permanent_503_is_not_retried() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HttpPort http = request -> {
+            calls.incrementAndGet();
+            return resp(503, "down for maintenance");
+        };
+        HttpRequest get = new HttpRequest("GET", URI.create("http://x"), Map.of(), null);
+
+        assertEquals(503, new RetryGateway().execute(profile(), get, http).statusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void transient_error_in_a_200_is_retried_on_both_paths() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HttpPort http = request -> calls.incrementAndGet() % 2 == 1
+                ? resp(200, "{\"error\":{\"code\":\"TEMPORARY\"}}")
+                : resp(200, "{\"ok\":true}");
+        HttpRequest get = new HttpRequest("GET", URI.create("http://x"), Map.of(), null);
+        RetryGateway gw = new RetryGateway();
+
+        assertEquals("{\"ok\":true}", new String(gw.execute(profile(), get, http).body(), StandardCharsets.UTF_8));
+        HttpResponse async = gw.executeAsync(profile(), get, http).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals("{\"ok\":true}", new String(async.body(), StandardCharsets.UTF_8));
+        assertEquals(4, calls.get());
+    }
+}
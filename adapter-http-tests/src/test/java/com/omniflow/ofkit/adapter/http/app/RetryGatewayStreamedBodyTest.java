@@ -0,0 +1,136 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryGatewayStreamedBodyTest {
+
+    /** Single-use source, like an inbound request body. */
+    static class OneShotBody implements Flow.Publisher<ByteBuffer> {
+        final List<byte[]> chunks;
+        final AtomicInteger subscriptions = new AtomicInteger();
+        OneShotBody(List<byte[]> chunks) { this.chunks = chunks; }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> s) {
+            if (subscriptions.incrementAndGet() > 1) throw new AssertionError("source read twice");
+            s.onSubscribe(new Flow.Subscription() {
+                int next;
+                @Override public void request(long n) {
+                    for (long i = 0; i < n && next < chunks.size(); i++) s.onNext(ByteBuffer.wrap(chunks.get(next++)));
+                    if (next == chunks.size()) { next++; s.onComplete(); }
+                }
+                @Override public void cancel() { }
+            });
+        }
+    }
+
+    /** Reads each attempt's body, then answers with the next status. */
+    static class ReadingPort implements HttpPort {
+        final List<byte[]> received = new ArrayList<>();
+        final int[] statuses;
+        boolean failFirstWithoutReading;
+        ReadingPort(int... statuses) { this.statuses = statuses; }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws Exception {
+            if (failFirstWithoutReading && received.isEmpty()) {
+                received.add(null);
+                throw new IOException("connect refused");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Throwable[] error = new Throwable[1];
+            request.bodyStream().subscribe(new Flow.Subscriber<>() {
+                @Override public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+                @Override public void onNext(ByteBuffer item) { byte[] b = new byte[item.remaining()]; item.get(b); out.write(b, 0, b.length); }
+                @Override public void onError(Throwable t) { error[0] = t; }
+                @Override public void onComplete() { }
+            });
+            if (error[0] != null) throw new IOException(error[0]);
+            received.add(out.toByteArray());
+            return new HttpResponse(statuses[Math.min(received.size(), statuses.length) - 1], Map.of(), new byte[0]);
+        }
+    }
+
+    private static AdapterProfile profile(int replayKb) {
+        return new AdapterProfile("p", null, List.of(), List.of(), ProblemDetails.of("about:blank", "t", 502, ""),
+                CachePolicy.disabled(), new RetrySpec(true, 2, 0, 0, false, false, true), HttpClientSpec.defaults(), new AuthSpec.None(),
+                new StreamingSpec(false, true, 0, replayKb));
+    }
+
+    private static HttpRequest put(OneShotBody body) {
+        return new HttpRequest("PUT", URI.create("http://x/upload"), Map.of(), null, body);
+    }
+
+    private static List<byte[]> chunks(int count, int size) {
+        List<byte[]> out = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte[] c = new byte[size];
+            Arrays.fill(c, (byte) i);
+            out.add(c);
+        }
+        return out;
+    }
+
+    @Test
+    void replays_a_body_that_fit_the_buffer() throws Exception {
+        OneShotBody body = new OneShotBody(chunks(3, 100));
+        ReadingPort port = new ReadingPort(503, 200);
+
+        HttpResponse resp = new RetryGateway().executeAsync(profile(1), put(body), port).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(200, resp.statusCode());
+        assertEquals(2, port.received.size());
+        assertEquals(300, port.received.get(0).length);
+        assertArrayEquals(port.received.get(0), port.received.get(1));
+        assertEquals(1, body.subscriptions.get());
+    }
+
+    @Test
+    void single_attempt_without_a_replay_buffer() throws Exception {
+        ReadingPort port = new ReadingPort(503, 200);
+
+        HttpResponse resp = new RetryGateway().execute(profile(0), put(new OneShotBody(chunks(3, 100))), port);
+
+        assertEquals(503, resp.statusCode());
+        assertEquals(1, port.received.size());
+    }
+
+    @Test
+    void no_retry_once_the_body_outgrew_the_buffer() throws Exception {
+        ReadingPort port = new ReadingPort(503, 200);
+
+        HttpResponse resp = new RetryGateway().execute(profile(1), put(new OneShotBody(chunks(4, 512))), port);
+
+        assertEquals(503, resp.statusCode());
+        assertEquals(1, port.received.size());
+        assertEquals(2048, port.received.get(0).length, "the first attempt still gets the whole body");
+    }
+
+    @Test
+    void retries_when_the_failed_attempt_never_read_the_body() throws Exception {
+        OneShotBody body = new OneShotBody(chunks(20, 1024));
+        ReadingPort port = new ReadingPort(200);
+        port.failFirstWithoutReading = true;
+
+        HttpResponse resp = new RetryGateway().execute(profile(1), put(body), port);
+
+        assertEquals(200, resp.statusCode());
+        assertEquals(20 * 1024, port.received.get(1).length);
+    }
+}
@@ -0,0 +1,73 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryTimerTest {
+
+    @Test
+    void fires_in_deadline_order_no_earlier_than_the_delay() throws Exception {
+        RetryTimer timer = new RetryTimer(5, 8, Runnable::run);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long t0 = System.nanoTime();
+        long[] firedAt = new long[3];
+        // 120ms spans several turns of an 8-bucket, 5ms wheel
+        int[] delays = {120, 15, 60};
+        for (int i = 0; i < 3; i++) {
+            int id = i;
+            timer.schedule(() -> {
+                firedAt[id] = System.nanoTime();
+                order.add(id);
+                done.countDown();
+            }, delays[i]);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 0), order);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(firedAt[i] - t0) >= delays[i], "fired early: " + i);
+        }
+    }
+
+    @Test
+    void cancelled_timeouts_never_run_and_zero_delay_runs_inline() throws Exception {
+        RetryTimer timer = new RetryTimer(5, 8, Runnable::run);
+        AtomicInteger runs = new AtomicInteger();
+        RetryTimer.Timeout t = timer.schedule(runs::incrementAndGet, 20);
+        assertTrue(t.cancel());
+        CompletableFuture<Void> delayed = timer.delay(20);
+        delayed.cancel(true);
+        Thread caller = Thread.currentThread();
+        timer.schedule(() -> assertSame(caller, Thread.currentThread()), 0);
+
+        timer.delay(60).get(5, TimeUnit.SECONDS);
+        assertEquals(0, runs.get());
+        assertFalse(t.cancel(), "cancel is reported once");
+    }
+
+    @Test
+    void many_timeouts_share_one_wheel_thread() throws Exception {
+        RetryTimer timer = new RetryTimer(5, 64, Runnable::run);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(1000);
+        for (int i = 0; i < 1000; i++) {
+            timer.schedule(() -> {
+                threads.add(Thread.currentThread());
+                done.countDown();
+            }, 10 + i % 50);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, threads.size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.omniflow.ofkit.adapter.http.app;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevalidationSchedulerTest {
+    static class MemMetrics implements MetricsPort {
+        final AtomicInteger coalesced = new AtomicInteger(), rejected = new AtomicInteger();
+        final List<Boolean> outcomes = new CopyOnWriteArrayList<>();
+        volatile LongSupplier queueDepth;
+        public void incrementCacheHit(String p){}
+        public void incrementCacheMiss(String p){}
+        public void incrementCacheSwr(String p){}
+        public void incrementCacheSie(String p){}
+        public void incrementCacheRevalidate(String p){}
+        public void incrementCacheNegative(String p){}
+        public void incrementCacheEviction(String p){}
+        @Override public void incrementCacheCoalesced(String p){coalesced.incrementAndGet();}
+        @Override public void incrementRevalidationRejected(String p){rejected.incrementAndGet();}
+        @Override public void recordRevalidation(String p, long nanos, boolean success){assertTrue(nanos >= 0); outcomes.add(success);}
+        @Override public void gaugeRevalidationQueueDepth(LongSupplier depth){queueDepth = depth;}
+    }
+
+    private static CacheKey key(String path) {
+        return new CacheKey("p", "GET", path, Map.of(), null);
+    }
+
+    @Test
+    void deduplicates_keys_and_enforces_the_per_profile_limit() throws Exception {
+        MemMetrics m = new MemMetrics();
+        try (RevalidationScheduler s = new RevalidationScheduler(m, 2, 16, 2, false)) {
+            CompletableFuture<Void> gate = new CompletableFuture<>();
+            assertTrue(s.submit("p", key("/a"), () -> gate));
+            assertFalse(s.submit("p", key("/a"), () -> gate));
+            assertEquals(1, m.coalesced.get());
+            assertTrue(s.submit("p", key("/b"), () -> gate));
+            assertFalse(s.submit("p", key("/c"), () -> gate), "profile at its limit");
+            assertEquals(1, m.rejected.get());
+            assertTrue(s.submit("other", key("/c"), () -> gate), "limit is per profile");
+
+            gate.complete(null);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (m.outcomes.size() < 3 && System.nanoTime() < deadline) Thread.sleep(10);
+            assertEquals(List.of(true, true, true), m.outcomes);
+            assertTrue(s.submit("p", key("/a"), () -> CompletableFuture.completedFuture(null)), "slots are released");
+        }
+    }
+
+    @Test
+    void rejects_when_the_queue_is_full_and_reports_depth() throws Exception {
+        MemMetrics m = new MemMetrics();
+        try (RevalidationScheduler s = new RevalidationScheduler(m, 1, 1, 100, false)) {
+            CountDownLatch block = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            assertTrue(s.submit("p", key("/1"), () -> {
+                started.countDown();
+                try { block.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                return CompletableFuture.completedFuture(null);
+            }));
+            assertTrue(started.await(2, TimeUnit.SECONDS));
+            assertTrue(s.submit("p", key("/2"), () -> CompletableFuture.completedFuture(null)));
+            assertEquals(1, m.queueDepth.getAsLong());
+            assertFalse(s.submit("p", key("/3"), () -> CompletableFuture.completedFuture(null)));
+            assertEquals(1, m.rejected.get());
+            block.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (m.outcomes.size() < 2 && System.nanoTime() < deadline) Thread.sleep(10);
+            assertEquals(0, m.queueDepth.getAsLong());
+        }
+    }
+
+    @Test
+    void runs_on_dedicated_threads_and_records_failures() throws Exception {
+        MemMetrics m = new MemMetrics();
+        try (RevalidationScheduler s = new RevalidationScheduler(m, 1, 4, 4, true)) {
+            CompletableFuture<Thread> ran = new CompletableFuture<>();
+            s.submit("p", key("/x"), () -> {
+                ran.complete(Thread.currentThread());
+                return CompletableFuture.failedFuture(new IllegalStateException("upstream down"));
+            });
+            Thread t = ran.get(2, TimeUnit.SECONDS);
+            assertTrue(t.getName().startsWith("ofkit-revalidate-"), t.getName());
+            assertFalse(t instanceof ForkJoinWorkerThread);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (m.outcomes.isEmpty() && System.nanoTime() < deadline) Thread.sleep(10);
+            assertEquals(List.of(false), m.outcomes);
+        }
+    }
+
+    @Test
+    void virtual_thread_factory_falls_back_to_daemon_threads() {
+        Thread t = VirtualThreads.factory("vt", true).newThread(() -> {});
+        assertEquals("vt-1", t.getName());
+        if (!VirtualThreads.available()) assertTrue(t.isDaemon());
+        assertTrue(VirtualThreads.factory("pt", false).newThread(() -> {}).isDaemon());
+    }
+}
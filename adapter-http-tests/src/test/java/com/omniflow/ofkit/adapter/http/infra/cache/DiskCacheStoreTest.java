@@ -0,0 +1,161 @@
+package com.omniflow.ofkit.adapter.http.infra.cache;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
+import com.omniflow.ofkit.adapter.http.domain.model.CachePolicy;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskCacheStoreTest {
+    @TempDir
+    Path dir;
+
+    private static CacheKey key(String path) {
+        return new CacheKey("p", "GET", path, Map.of("accept", "application/json"), null);
+    }
+
+    private static CachedEntry entry(String body, Instant expiresAt) {
+        return new CachedEntry(new HttpResponse(200, Map.of("ETag", List.of("\"" + body + "\"")), body.getBytes(StandardCharsets.UTF_8)),
+                Instant.now(), expiresAt, "\"" + body + "\"", null);
+    }
+
+    private static String body(CachedEntry e) {
+        return new String(e.response().body(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void survives_restart_with_index_rebuild() {
+        Instant stored = Instant.parse("2024-01-01T00:00:00.123456789Z");
+        Instant expires = Instant.now().plusSeconds(300);
+        CachedEntry a = new CachedEntry(new HttpResponse(404, Map.of("Set-Cookie", List.of("a=1", "b=2")), (byte[]) null),
+                stored, expires, "\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT");
+        DiskCacheStore store = new DiskCacheStore(dir, null, 4096, 1 << 20);
+        store.put(key("/a"), a);
+        store.put(key("/b"), entry("old", expires));
+        store.put(key("/b"), entry("new", expires));
+        store.put(key("/gone"), entry("x", expires));
+        store.invalidate(key("/gone"));
+        store.close();
+
+        DiskCacheStore reopened = new DiskCacheStore(dir, null, 4096, 1 << 20);
+        CachedEntry out = reopened.get(key("/a")).orElseThrow();
+        assertEquals(404, out.response().statusCode());
+        assertEquals(a.response().headers(), out.response().headers());
+        assertNull(out.response().body());
+        assertEquals(stored, out.storedAt());
+        assertEquals(expires, out.expiresAt());
+        assertEquals("\"v1\"", out.etag());
+        assertEquals(a.lastModified(), out.lastModified());
+        assertEquals("new", body(reopened.get(key("/b")).orElseThrow()));
+        assertTrue(reopened.get(key("/gone")).isEmpty(), "tombstone replayed");
+        assertEquals(2, reopened.size());
+    }
+
+    @Test
+    void keeps_expired_entries_through_the_swr_and_sie_windows() {
+        DiskCacheStore store = new DiskCacheStore(dir, null, 4096, 1 << 20);
+        Instant expired = Instant.now().minusSeconds(5);
+        CachePolicy swr = new CachePolicy(true, 60, 30, 0, true, true, List.of(), 0, 0);
+        CachePolicy sie = new CachePolicy(true, 60, 0, 30, true, true, List.of(), 0, 0);
+        CachePolicy none = new CachePolicy(true, 60, 0, 0, true, true, List.of(), 0, 0);
+
+        store.put(key("/swr"), entry("s", expired), swr);
+        store.put(key("/sie"), entry("e", expired), sie);
+        store.put(key("/none"), entry("n", expired), none);
+        store.put(key("/plain"), entry("p", expired));
+
+        assertTrue(store.get(key("/swr")).isPresent());
+        assertTrue(store.get(key("/sie")).isPresent());
+        assertTrue(store.get(key("/none")).isEmpty());
+        assertTrue(store.get(key("/plain")).isEmpty());
+
+        // entries past their window are not resurrected on warm start either
+        store.put(key("/past"), entry("q", Instant.now().minusSeconds(60)), swr);
+        store.close();
+        DiskCacheStore reopened = new DiskCacheStore(dir, null, 4096, 1 << 20);
+        assertTrue(reopened.get(key("/swr")).isPresent());
+        assertTrue(reopened.get(key("/past")).isEmpty());
+    }
+
+    @Test
+    void compaction_and_eviction_keep_files_within_budget() {
+        InMemoryCacheStoreTest.CountingMetrics m = new InMemoryCacheStoreTest.CountingMetrics();
+        DiskCacheStore store = new DiskCacheStore(dir, m, 4096, 16 * 1024);
+        Instant expires = Instant.now().plusSeconds(300);
+        // overwrites leave mostly dead segments behind: compaction keeps only the latest values
+        for (int round = 0; round < 50; round++) {
+            for (int k = 0; k < 5; k++) store.put(key("/k" + k), entry("v" + round + "-" + k, expires));
+        }
+        assertTrue(store.diskBytes() <= 16 * 1024, "disk bytes " + store.diskBytes());
+        for (int k = 0; k < 5; k++) assertEquals("v49-" + k, body(store.get(key("/k" + k)).orElseThrow()));
+        assertEquals(0, m.evictions);
+
+        // distinct live entries beyond the budget evict the oldest segments
+        for (int i = 0; i < 200; i++) store.put(key("/distinct/" + i), entry("d" + i, expires));
+        assertTrue(store.diskBytes() <= 16 * 1024, "disk bytes " + store.diskBytes());
+        assertTrue(m.evictions > 0);
+        assertEquals("d199", body(store.get(key("/distinct/199")).orElseThrow()));
+        store.close();
+
+        DiskCacheStore reopened = new DiskCacheStore(dir, null, 4096, 16 * 1024);
+        assertEquals(store.size(), reopened.size());
+        assertEquals("d199", body(reopened.get(key("/distinct/199")).orElseThrow()));
+    }
+
+    @Test
+    void torn_tail_record_is_ignored_on_recovery() throws Exception {
+        DiskCacheStore store = new DiskCacheStore(dir, null, 4096, 1 << 20);
+        Instant expires = Instant.now().plusSeconds(300);
+        store.put(key("/a"), entry("first", expires));
+        store.put(key("/b"), entry("second", expires));
+        store.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.getFileName().toString().startsWith("segment-")).findFirst().orElseThrow();
+        }
+        byte[] content = Files.readAllBytes(segment);
+        int secondBody = new String(content, StandardCharsets.ISO_8859_1).lastIndexOf("second");
+        try (RandomAccessFile raf = new RandomAccessFile(segment.toFile(), "rw")) {
+            raf.seek(secondBody);
+            raf.write(new byte[]{'X'}); // simulate a write cut short
+        }
+
+        DiskCacheStore reopened = new DiskCacheStore(dir, null, 4096, 1 << 20);
+        assertEquals("first", body(reopened.get(key("/a")).orElseThrow()));
+        assertTrue(reopened.get(key("/b")).isEmpty());
+        reopened.put(key("/c"), entry("third", expires));
+        reopened.close();
+        assertEquals("third", body(new DiskCacheStore(dir, null, 4096, 1 << 20).get(key("/c")).orElseThrow()));
+    }
+
+    @Test
+    void tiered_store_promotes_l2_hits_into_l1() {
+        TinyLfuCacheStore l1 = new TinyLfuCacheStore(null, 100);
+        DiskCacheStore l2 = new DiskCacheStore(dir, null, 4096, 1 << 20);
+        Instant expires = Instant.now().plusSeconds(300);
+        l2.put(key("/warm"), entry("from-disk", expires));
+
+        TieredCacheStore tiered = new TieredCacheStore(l1, l2);
+        assertEquals("from-disk", body(tiered.get(key("/warm")).orElseThrow()));
+        assertTrue(l1.get(key("/warm")).isPresent());
+
+        tiered.put(key("/both"), entry("x", expires), new CachePolicy(true, 60, 0, 0, true, true, List.of(), 0, 0));
+        assertTrue(l1.get(key("/both")).isPresent());
+        assertTrue(l2.get(key("/both")).isPresent());
+        tiered.invalidate(key("/both"));
+        assertTrue(l1.get(key("/both")).isEmpty());
+        assertTrue(l2.get(key("/both")).isEmpty());
+    }
+}
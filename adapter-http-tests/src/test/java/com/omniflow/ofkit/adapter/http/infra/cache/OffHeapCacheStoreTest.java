@@ -0,0 +1,115 @@
+package com.omniflow.ofkit.adapter.http.infra.cache;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCacheStoreTest {
+    private static CacheKey key(String path) {
+        return new CacheKey("p", "GET", path, Map.of(), null);
+    }
+
+    private static CachedEntry entry(byte[] body) {
+        return new CachedEntry(new HttpResponse(200, Map.of("Content-Type", List.of("application/json")), body),
+                Instant.now(), Instant.now().plusSeconds(60), null, null);
+    }
+
+    @Test
+    void round_trips_status_headers_body_and_metadata() {
+        OffHeapCacheStore store = new OffHeapCacheStore();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        headers.put("ETag", List.of("\"v1\""));
+        headers.put("Set-Cookie", List.of("a=1", "b=2"));
+        headers.put("X-Ünïcode", List.of("välue"));
+        Instant stored = Instant.parse("2024-01-01T00:00:00Z");
+        CachedEntry in = new CachedEntry(new HttpResponse(404, headers, "{\"e\":1}".getBytes(StandardCharsets.UTF_8)),
+                stored, stored.plusSeconds(30), "\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT");
+        store.put(key("/a"), in);
+
+        CachedEntry out = store.get(key("/a")).orElseThrow();
+        assertEquals(404, out.response().statusCode());
+        assertEquals(headers, out.response().headers());
+        assertEquals(List.copyOf(headers.keySet()), List.copyOf(out.response().headers().keySet()));
+        assertArrayEquals(in.response().body(), out.response().body());
+        assertEquals(in.storedAt(), out.storedAt());
+        assertEquals(in.expiresAt(), out.expiresAt());
+        assertEquals(in.etag(), out.etag());
+        assertEquals(in.lastModified(), out.lastModified());
+
+        store.put(key("/null"), new CachedEntry(new HttpResponse(204, Map.of(), (byte[]) null), stored, null, null, null));
+        assertNull(store.get(key("/null")).orElseThrow().response().body());
+
+        store.invalidate(key("/a"));
+        assertTrue(store.get(key("/a")).isEmpty());
+    }
+
+    @Test
+    void replacing_entries_recycles_chunks_and_eviction_is_counted() {
+        InMemoryCacheStoreTest.CountingMetrics m = new InMemoryCacheStoreTest.CountingMetrics();
+        OffHeapCacheStore store = new OffHeapCacheStore(m, 8192, 4096);
+        for (int i = 0; i < 100; i++) store.put(key("/same"), entry(new byte[1000]));
+        assertEquals(4096, store.reservedBytes());
+        assertEquals(1000, store.bytesUsed("p"));
+        assertEquals(0, m.evictions);
+
+        for (int i = 0; i < 20; i++) store.put(key("/" + i), entry(new byte[1000]));
+        assertTrue(store.reservedBytes() <= 8192);
+        assertTrue(m.evictions > 0);
+        assertTrue(store.get(key("/19")).isPresent(), "most recent entry is resident");
+        assertEquals(store.size() * 1000, store.bytesUsed("p"));
+    }
+
+    @Test
+    void entries_larger_than_a_slab_are_not_cached() {
+        OffHeapCacheStore store = new OffHeapCacheStore(null, 1 << 20, 4096);
+        store.put(key("/big"), entry(new byte[10_000]));
+        assertTrue(store.get(key("/big")).isEmpty());
+        assertEquals(0, store.reservedBytes());
+    }
+
+    @Test
+    void concurrent_readers_never_observe_recycled_chunks() throws Exception {
+        OffHeapCacheStore store = new OffHeapCacheStore(null, 64 * 1024, 16 * 1024);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        int k = rnd.nextInt(200);
+                        if (rnd.nextInt(4) == 0) {
+                            byte[] body = new byte[300 + rnd.nextInt(2000)];
+                            Arrays.fill(body, (byte) k);
+                            store.put(key("/" + k), entry(body));
+                        } else {
+                            store.get(key("/" + k)).ifPresent(e -> {
+                                for (byte b : e.response().body()) assertEquals((byte) k, b);
+                                assertEquals(List.of("application/json"), e.response().headers().get("Content-Type"));
+                            });
+                        }
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(store.reservedBytes() <= 64 * 1024);
+    }
+}
@@ -0,0 +1,128 @@
+package com.omniflow.ofkit.adapter.http.infra.cache;
+
+import com.omniflow.ofkit.adapter.http.domain.cache.CacheKey;
+import com.omniflow.ofkit.adapter.http.domain.cache.CachedEntry;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TinyLfuCacheStoreTest {
+    private static CacheKey key(String path) {
+        return new CacheKey("p", "GET", path, Map.of(), null);
+    }
+
+    private static CachedEntry entry(int status) {
+        return entry(status, 0);
+    }
+
+    private static CachedEntry entry(int status, int bodyBytes) {
+        return new CachedEntry(new HttpResponse(status, Map.of(), new byte[bodyBytes]), Instant.now(), Instant.now().plusSeconds(60), null, null);
+    }
+
+    @Test
+    void bounded_by_capacity_and_counts_evictions() {
+        InMemoryCacheStoreTest.CountingMetrics m = new InMemoryCacheStoreTest.CountingMetrics();
+        TinyLfuCacheStore store = new TinyLfuCacheStore(m, 10);
+        for (int i = 0; i < 25; i++) store.put(key("/" + i), entry(200));
+        assertEquals(10, store.size());
+        assertEquals(15, m.evictions);
+    }
+
+    @Test
+    void get_put_update_invalidate() {
+        TinyLfuCacheStore store = new TinyLfuCacheStore();
+        assertTrue(store.get(key("/a")).isEmpty());
+        store.put(key("/a"), entry(200));
+        store.put(key("/a"), entry(304));
+        assertEquals(304, store.get(key("/a")).orElseThrow().response().statusCode());
+        store.invalidate(key("/a"));
+        assertTrue(store.get(key("/a")).isEmpty());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void frequently_read_entries_survive_a_scan_of_one_hit_wonders() {
+        TinyLfuCacheStore store = new TinyLfuCacheStore(null, 100);
+        for (int i = 0; i < 50; i++) store.put(key("/hot/" + i), entry(200));
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) store.get(key("/hot/" + i));
+        }
+        for (int i = 0; i < 1000; i++) store.put(key("/cold/" + i), entry(200));
+        int survivors = 0;
+        for (int i = 0; i < 50; i++) if (store.get(key("/hot/" + i)).isPresent()) survivors++;
+        assertTrue(survivors >= 45, "hot entries retained: " + survivors);
+        assertEquals(100, store.size());
+    }
+
+    @Test
+    void concurrent_reads_and_writes_stay_bounded() throws Exception {
+        TinyLfuCacheStore store = new TinyLfuCacheStore(null, 64);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        CacheKey k = key("/" + rnd.nextInt(256));
+                        int op = rnd.nextInt(10);
+                        if (op < 7) store.get(k).ifPresent(e -> assertEquals(200, e.response().statusCode()));
+                        else if (op < 9) store.put(k, entry(200));
+                        else store.invalidate(k);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(store.size() <= 64, "size " + store.size());
+    }
+
+    @Test
+    void bounded_by_total_body_bytes_and_reports_usage_per_profile() {
+        Map<String, java.util.function.LongSupplier> gauges = new java.util.HashMap<>();
+        InMemoryCacheStoreTest.CountingMetrics m = new InMemoryCacheStoreTest.CountingMetrics() {
+            @Override public void gaugeCacheBytes(String profileId, java.util.function.LongSupplier bytesUsed) { gauges.put(profileId, bytesUsed); }
+        };
+        TinyLfuCacheStore store = new TinyLfuCacheStore(m, 1000, 10_000);
+        for (int i = 0; i < 30; i++) store.put(key("/" + i), entry(200, 1000));
+        assertTrue(store.bytesUsed("p") <= 10_000, "bytes " + store.bytesUsed("p"));
+        assertEquals(store.bytesUsed("p"), gauges.get("p").getAsLong());
+        assertEquals(30 - store.size(), m.evictions);
+
+        // a body larger than the whole cache is not admitted and does not flush others
+        long before = store.size();
+        store.put(key("/huge"), entry(200, 20_000));
+        assertTrue(store.get(key("/huge")).isEmpty());
+        assertEquals(before, store.size());
+    }
+
+    @Test
+    void profile_quota_evicts_only_that_profiles_entries() {
+        TinyLfuCacheStore store = new TinyLfuCacheStore(null, 1000, 1_000_000);
+        for (int i = 0; i < 5; i++) store.put(new CacheKey("quiet", "GET", "/" + i, Map.of(), null), entry(200, 1000), 0);
+        for (int i = 0; i < 50; i++) store.put(new CacheKey("noisy", "GET", "/" + i, Map.of(), null), entry(200, 1000), 4096);
+        assertEquals(5000, store.bytesUsed("quiet"));
+        assertEquals(4000, store.bytesUsed("noisy"));
+        // most recent noisy entries are kept
+        assertTrue(store.get(new CacheKey("noisy", "GET", "/49", Map.of(), null)).isPresent());
+        assertTrue(store.get(new CacheKey("noisy", "GET", "/0", Map.of(), null)).isEmpty());
+
+        // updating an entry re-weighs it
+        store.put(new CacheKey("quiet", "GET", "/0", Map.of(), null), entry(200, 10), 0);
+        assertEquals(4010, store.bytesUsed("quiet"));
+        store.invalidate(new CacheKey("quiet", "GET", "/0", Map.of(), null));
+        assertEquals(4000, store.bytesUsed("quiet"));
+    }
+}
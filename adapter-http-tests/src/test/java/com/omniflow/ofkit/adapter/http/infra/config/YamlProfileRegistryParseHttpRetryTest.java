@@ -2,11 +2,28 @@ package com.omniflow.ofkit.adapter.http.infra.config;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omniflow.ofkit.adapter.http.domain.model.CachePolicy;
+import com.omniflow.ofkit.adapter.http.domain.model.CircuitBreakerSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.ConcurrencyLimitSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.DeadlineSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HedgeSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.Http2Spec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpProtocol;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+import com.omniflow.ofkit.adapter.http.domain.model.RateLimitSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.RetryBudgetSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.RetrySpec;
+import com.omniflow.ofkit.adapter.http.domain.model.StreamingSpec;
+import com.omniflow.ofkit.adapter.http.domain.retry.RetryRule;
+import com.omniflow.ofkit.adapter.http.domain.retry.RuleRetryClassifier;
+import com.omniflow.ofkit.adapter.http.domain.rules.ResponseContext;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,5 +58,166 @@ class YamlProfileRegistryParseHttpRetryTest {
         assertTrue(rs.respectRetryAfter());
         assertFalse(rs.idempotentOnly());
     }
-}
 
+    @Test
+    void parse_retry_hedging() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        Method parseRetry = YamlProfileRegistry.class.getDeclaredMethod("parseRetry", JsonNode.class);
+        parseRetry.setAccessible(true);
+        RetrySpec hedgeOnly = (RetrySpec) parseRetry.invoke(null,
+                om.readTree("{\"hedging\":{\"enabled\":true,\"delay_ms\":40,\"delay_percentile\":95,\"budget_percent\":2.5}}"));
+        assertFalse(hedgeOnly.enabled());
+        assertEquals(new HedgeSpec(true, 40, 95, 2.5), hedgeOnly.hedge());
+        RetrySpec none = (RetrySpec) parseRetry.invoke(null, om.readTree("{\"enabled\":true,\"max_retries\":1}"));
+        assertFalse(none.hedge().enabled());
+        HedgeSpec defaults = new ProfileMapper() {}.parseRetry(om.readTree("{\"hedging\":{\"enabled\":true}}")).hedge();
+        assertEquals(new HedgeSpec(true, 100, 0, 10), defaults);
+    }
+
+    @Test
+    void parse_retriable_rules() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        String json = "{\"enabled\":true,\"retriable_rules\":[{\"id\":\"maintenance\",\"when\":{\"all\":[{\"status\":\"503\"},{\"body_regex\":\"maintenance\"}]},\"retry\":false},"
+                + "{\"id\":\"busy\",\"when\":{\"header\":{\"name\":\"X-Busy\",\"regex\":\"1\"}}}]}";
+        Method parseRetry = YamlProfileRegistry.class.getDeclaredMethod("parseRetry", JsonNode.class);
+        parseRetry.setAccessible(true);
+        for (RetrySpec rs : List.of((RetrySpec) parseRetry.invoke(null, om.readTree(json)), new ProfileMapper() {}.parseRetry(om.readTree(json)))) {
+            RuleRetryClassifier c = (RuleRetryClassifier) rs.classifier();
+            assertEquals(List.of("maintenance", "busy"), c.rules().stream().map(RetryRule::id).toList());
+            assertFalse(c.rules().get(0).retry());
+            assertTrue(c.rules().get(1).retry());
+            assertFalse(c.isRetriable(new ResponseContext(new HttpResponse(503, Map.of(), "maintenance".getBytes())), null));
+            assertTrue(c.isRetriable(new ResponseContext(new HttpResponse(200, Map.of("X-Busy", List.of("1")), new byte[0])), null));
+        }
+        assertSame(RuleRetryClassifier.DEFAULT, ((RetrySpec) parseRetry.invoke(null, om.readTree("{\"enabled\":true}"))).classifier());
+    }
+
+    @Test
+    void parse_retry_budget() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        Method parseRetry = YamlProfileRegistry.class.getDeclaredMethod("parseRetry", JsonNode.class);
+        parseRetry.setAccessible(true);
+        RetrySpec rs = (RetrySpec) parseRetry.invoke(null, om.readTree(
+                "{\"enabled\":true,\"max_retries\":3,\"budget\":{\"enabled\":true,\"ratio\":0.1,\"min_retries_per_s\":2,\"window_s\":30}}"));
+        assertEquals(new RetryBudgetSpec(true, 0.1, 2, 30), rs.budget());
+        assertFalse(((RetrySpec) parseRetry.invoke(null, om.readTree("{\"enabled\":true}"))).budget().enabled());
+        assertEquals(new RetryBudgetSpec(true, 0.2, 10, 10),
+                new ProfileMapper() {}.parseRetry(om.readTree("{\"enabled\":true,\"budget\":{\"enabled\":true}}")).budget());
+    }
+
+    @Test
+    void parse_circuit_breaker() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        String json = "{\"enabled\":true,\"window\":50,\"min_calls\":20,\"failure_rate_percent\":40,\"open_ms\":5000,"
+                + "\"half_open_calls\":2,\"per_host\":true,\"problem\":{\"type\":\"urn:x\",\"title\":\"Down\",\"status\":503,\"detail_template\":\"later\"}}";
+        Method parse = YamlProfileRegistry.class.getDeclaredMethod("parseCircuitBreaker", JsonNode.class);
+        parse.setAccessible(true);
+        CircuitBreakerSpec expected = new CircuitBreakerSpec(true, 50, 20, 40, 5000, 2, true, ProblemDetails.of("urn:x", "Down", 503, "later"));
+        assertEquals(expected, parse.invoke(null, om.readTree(json)));
+        assertEquals(expected, new ProfileMapper() {}.parseCircuitBreaker(om.readTree(json)));
+        CircuitBreakerSpec defaults = new ProfileMapper() {}.parseCircuitBreaker(om.readTree("{\"enabled\":true}"));
+        assertEquals(new CircuitBreakerSpec(true, 20, 10, 50, 30_000, 3, false, CircuitBreakerSpec.DEFAULT_PROBLEM), defaults);
+        assertFalse(((CircuitBreakerSpec) parse.invoke(null, om.missingNode())).enabled());
+    }
+
+    @Test
+    void parse_concurrency_limit() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        String json = "{\"enabled\":true,\"algorithm\":\"aimd\",\"initial_limit\":50,\"min_limit\":5,\"max_limit\":30,"
+                + "\"backoff_ratio\":0.7,\"rtt_tolerance\":1.5,\"problem\":{\"status\":429}}";
+        Method parse = YamlProfileRegistry.class.getDeclaredMethod("parseConcurrencyLimit", JsonNode.class);
+        parse.setAccessible(true);
+        ProblemDetails dflt = ConcurrencyLimitSpec.DEFAULT_PROBLEM;
+        ConcurrencyLimitSpec expected = new ConcurrencyLimitSpec(true, ConcurrencyLimitSpec.Algorithm.AIMD, 30, 5, 30, 0.7, 1.5,
+                ProblemDetails.of(dflt.type(), dflt.title(), 429, dflt.detail()));
+        assertEquals(expected, parse.invoke(null, om.readTree(json)), "initial_limit clamped to max_limit");
+        assertEquals(expected, new ProfileMapper() {}.parseConcurrencyLimit(om.readTree(json)));
+        assertEquals(new ConcurrencyLimitSpec(true, ConcurrencyLimitSpec.Algorithm.GRADIENT, 20, 1, 200, 0.9, 2.0, dflt),
+                new ProfileMapper() {}.parseConcurrencyLimit(om.readTree("{\"enabled\":true}")));
+        assertFalse(((ConcurrencyLimitSpec) parse.invoke(null, om.missingNode())).enabled());
+    }
+
+    @Test
+    void parse_rate_limit() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        String json = "{\"enabled\":true,\"rate_per_s\":2.5,\"max_wait_ms\":200,\"routes\":["
+                + "{\"path_prefix\":\"/search\",\"rate_per_s\":1,\"burst\":5},{\"path_prefix\":\"/bad\"}]}";
+        Method parse = YamlProfileRegistry.class.getDeclaredMethod("parseRateLimit", JsonNode.class);
+        parse.setAccessible(true);
+        RateLimitSpec expected = new RateLimitSpec(true, 2.5, 3, 200,
+                List.of(new RateLimitSpec.Route("/search", 1, 5)), RateLimitSpec.DEFAULT_PROBLEM);
+        assertEquals(expected, parse.invoke(null, om.readTree(json)), "burst defaults to one second of tokens; routes without a rate dropped");
+        assertEquals(expected, new ProfileMapper() {}.parseRateLimit(om.readTree(json)));
+        assertFalse(((RateLimitSpec) parse.invoke(null, om.missingNode())).enabled());
+    }
+
+    @Test
+    void parse_deadline() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        String json = "{\"enabled\":true,\"total_ms\":1500,\"header\":\"X-Budget-Ms\",\"problem\":{\"title\":\"Trop tard\"}}";
+        Method parse = YamlProfileRegistry.class.getDeclaredMethod("parseDeadline", JsonNode.class);
+        parse.setAccessible(true);
+        ProblemDetails dflt = DeadlineSpec.DEFAULT_PROBLEM;
+        DeadlineSpec expected = new DeadlineSpec(true, 1500, "X-Budget-Ms", ProblemDetails.of(dflt.type(), "Trop tard", dflt.status(), dflt.detail()));
+        assertEquals(expected, parse.invoke(null, om.readTree(json)));
+        assertEquals(expected, new ProfileMapper() {}.parseDeadline(om.readTree(json)));
+        assertEquals(new DeadlineSpec(true, 0, DeadlineSpec.DEFAULT_HEADER, dflt),
+                new ProfileMapper() {}.parseDeadline(om.readTree("{\"enabled\":true}")), "header only, no total");
+        assertFalse(((DeadlineSpec) parse.invoke(null, om.missingNode())).enabled());
+    }
+
+    @Test
+    void parse_cache_quota() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        Method parseCache = YamlProfileRegistry.class.getDeclaredMethod("parseCache", JsonNode.class);
+        parseCache.setAccessible(true);
+        CachePolicy withQuota = (CachePolicy) parseCache.invoke(null, om.readTree("{\"enabled\":true,\"max_body_kb\":64,\"quota_kb\":2048}"));
+        assertEquals(2048, withQuota.quotaKb());
+        assertEquals(2048L * 1024, withQuota.quotaBytes());
+        CachePolicy noQuota = (CachePolicy) parseCache.invoke(null, om.readTree("{\"enabled\":true}"));
+        assertEquals(0L, noQuota.quotaBytes());
+        assertEquals(2048, new ProfileMapper() {}.parseCache(om.readTree("{\"enabled\":true,\"quota_kb\":2048}")).quotaKb());
+    }
+
+    @Test
+    void parse_http_version_and_h2_settings() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        JsonNode empty = om.readTree("{}");
+        Method parseHttp = YamlProfileRegistry.class.getDeclaredMethod("parseHttp", JsonNode.class, JsonNode.class, JsonNode.class, JsonNode.class);
+        parseHttp.setAccessible(true);
+
+        HttpClientSpec h2c = (HttpClientSpec) parseHttp.invoke(null, empty, empty, om.readTree("{\"max_pool_size\":4}"),
+                om.readTree("{\"version\":\"h2c\",\"multiplexing_limit\":100,\"connection_window_kb\":1024,\"stream_window_kb\":256}"));
+        assertEquals(HttpProtocol.H2C, h2c.version());
+        assertEquals(new Http2Spec(100, 1024, 256), h2c.h2());
+        assertEquals(4, h2c.maxPoolSize());
+
+        HttpClientSpec plain = (HttpClientSpec) parseHttp.invoke(null, empty, empty, empty, empty);
+        assertEquals(HttpProtocol.HTTP1, plain.version());
+        assertEquals(Http2Spec.defaults(), plain.h2());
+        assertEquals(HttpClientSpec.defaults(), plain);
+        assertEquals(HttpProtocol.H2, new ProfileMapper() {}.parseHttp(empty, empty, empty, om.readTree("{\"version\":\"h2\"}")).version());
+        assertFalse(plain.compression());
+        JsonNode compressed = om.readTree("{\"compression\":true}");
+        assertTrue(((HttpClientSpec) parseHttp.invoke(null, empty, empty, empty, compressed)).compression());
+        assertTrue(new ProfileMapper() {}.parseHttp(empty, empty, empty, compressed).compression());
+        assertEquals(HttpClientSpec.DEFAULT_MAX_DECODED_KB, plain.maxDecodedKb());
+        JsonNode capped = om.readTree("{\"max_decoded_kb\":512}");
+        assertEquals(512, ((HttpClientSpec) parseHttp.invoke(null, empty, empty, empty, capped)).maxDecodedKb());
+        assertEquals(512 * 1024, new ProfileMapper() {}.parseHttp(empty, empty, empty, capped).maxDecodedBytes());
+        assertThrows(IllegalArgumentException.class, () -> HttpProtocol.parse("spdy"));
+    }
+
+    @Test
+    void parse_streaming_settings() throws Exception {
+        ObjectMapper om = new ObjectMapper();
+        Method parseStreaming = YamlProfileRegistry.class.getDeclaredMethod("parseStreaming", JsonNode.class);
+        parseStreaming.setAccessible(true);
+
+        JsonNode node = om.readTree("{\"request_body\":true,\"max_request_body_kb\":10240,\"replay_buffer_kb\":64}");
+        StreamingSpec upload = (StreamingSpec) parseStreaming.invoke(null, node);
+        assertEquals(new StreamingSpec(false, true, 10240, 64), upload);
+        assertEquals(upload, new ProfileMapper() {}.parseStreaming(node));
+        assertEquals(StreamingSpec.disabled(), parseStreaming.invoke(null, om.readTree("{}").path("streaming")));
+    }
+}
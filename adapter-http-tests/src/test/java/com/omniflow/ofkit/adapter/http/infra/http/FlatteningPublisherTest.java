@@ -0,0 +1,84 @@
+package com.omniflow.ofkit.adapter.http.infra.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatteningPublisherTest {
+
+    /** Hands out the given lists synchronously, one per unit of demand. */
+    static class ListSource implements Flow.Publisher<List<ByteBuffer>> {
+        final List<List<ByteBuffer>> lists;
+        final AtomicLong requested = new AtomicLong();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        ListSource(List<List<ByteBuffer>> lists) { this.lists = lists; }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super List<ByteBuffer>> s) {
+            s.onSubscribe(new Flow.Subscription() {
+                int next;
+                @Override public void request(long n) {
+                    requested.addAndGet(n);
+                    for (long i = 0; i < n && next < lists.size(); i++) s.onNext(lists.get(next++));
+                    if (next == lists.size()) s.onComplete();
+                }
+                @Override public void cancel() { cancelled.set(true); }
+            });
+        }
+    }
+
+    static class Collector implements Flow.Subscriber<ByteBuffer> {
+        final List<ByteBuffer> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        boolean completed;
+        @Override public void onSubscribe(Flow.Subscription s) { subscription = s; }
+        @Override public void onNext(ByteBuffer item) { items.add(item); }
+        @Override public void onError(Throwable t) { fail(t); }
+        @Override public void onComplete() { completed = true; }
+    }
+
+    private static ByteBuffer buf(int b) { return ByteBuffer.wrap(new byte[] { (byte) b }); }
+
+    @Test
+    void emits_one_buffer_per_unit_of_demand() {
+        ListSource source = new ListSource(List.of(List.of(buf(1), buf(2), buf(3)), List.of(buf(4))));
+        Collector c = new Collector();
+        new FlatteningPublisher(source).subscribe(c);
+
+        c.subscription.request(2);
+        assertEquals(2, c.items.size());
+        assertEquals(1, source.requested.get(), "second list not fetched while the first has buffers left");
+
+        c.subscription.request(1);
+        assertEquals(3, c.items.size());
+        assertEquals(1, source.requested.get());
+        assertFalse(c.completed);
+
+        c.subscription.request(5);
+        assertEquals(4, c.items.size());
+        assertEquals(4, c.items.get(3).get(0));
+        assertTrue(c.completed);
+    }
+
+    @Test
+    void cancel_reaches_the_source() {
+        ListSource source = new ListSource(List.of(List.of(buf(1), buf(2))));
+        Collector c = new Collector();
+        new FlatteningPublisher(source).subscribe(c);
+
+        c.subscription.request(1);
+        c.subscription.cancel();
+        c.subscription.request(1);
+
+        assertEquals(1, c.items.size());
+        assertTrue(source.cancelled.get());
+        assertFalse(c.completed);
+    }
+}
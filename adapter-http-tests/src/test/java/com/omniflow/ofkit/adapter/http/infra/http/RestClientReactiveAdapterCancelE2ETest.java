@@ -0,0 +1,178 @@
+package com.omniflow.ofkit.adapter.http.infra.http;
+
+import com.omniflow.ofkit.adapter.http.domain.model.Deadline;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.SslSpec;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("e2e")
+class RestClientReactiveAdapterCancelE2ETest {
+    static Vertx vertx;
+    static HttpServer server;
+    static int port;
+    static final AtomicInteger open = new AtomicInteger();
+    static volatile CountDownLatch received = new CountDownLatch(1);
+
+    static class PoolMetrics implements MetricsPort {
+        volatile LongSupplier connections;
+        volatile LongSupplier inFlight;
+        public void incrementCacheHit(String p){}
+        public void incrementCacheMiss(String p){}
+        public void incrementCacheSwr(String p){}
+        public void incrementCacheSie(String p){}
+        public void incrementCacheRevalidate(String p){}
+        public void incrementCacheNegative(String p){}
+        public void incrementCacheEviction(String p){}
+        @Override public void gaugeHttpPool(String pool, LongSupplier conns, LongSupplier inFlight){
+            if (pool.equals("http1-pool7")) { this.connections = conns; this.inFlight = inFlight; }
+        }
+    }
+
+    @BeforeAll
+    static void start() throws Exception {
+        vertx = Vertx.vertx();
+        // never answers: only a reset from the client ends the exchange
+        server = vertx.createHttpServer()
+                .connectionHandler(c -> {
+                    open.incrementAndGet();
+                    c.closeHandler(v -> open.decrementAndGet());
+                })
+                .requestHandler(req -> received.countDown());
+        port = server.listen(0).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS).actualPort();
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        server.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        vertx.close();
+    }
+
+    @Test
+    void cancelling_a_buffered_call_resets_the_request_and_releases_the_connection() throws Exception {
+        received = new CountDownLatch(1);
+        PoolMetrics metrics = new PoolMetrics();
+        HttpPort client = new RestClientReactiveAdapter(metrics)
+                .bind(new HttpClientSpec(1000, 30_000, new SslSpec(false), 7, 0, true, 60));
+        var call = client.executeAsync(new HttpRequest("GET", URI.create("http://127.0.0.1:" + port + "/hang"), Map.of(), null))
+                .toCompletableFuture();
+        assertTrue(received.await(5, TimeUnit.SECONDS), "request reached the upstream");
+        assertEquals(1, metrics.connections.getAsLong());
+        assertEquals(1, metrics.inFlight.getAsLong());
+
+        assertTrue(call.cancel(true));
+
+        awaitTrue(() -> metrics.inFlight.getAsLong() == 0, "request no longer in flight");
+        awaitTrue(() -> metrics.connections.getAsLong() == 0, "client closed its connection");
+        awaitTrue(() -> open.get() == 0, "upstream saw the connection close");
+    }
+
+    @Test
+    void cancelling_a_streamed_upload_resets_it_and_stops_pulling_the_body() throws Exception {
+        received = new CountDownLatch(1);
+        PoolMetrics metrics = new PoolMetrics();
+        HttpPort client = new RestClientReactiveAdapter(metrics)
+                .bind(new HttpClientSpec(1000, 30_000, new SslSpec(false), 7, 0, true, 60));
+        HangingBody body = new HangingBody(false);
+        var call = client.executeAsync(new HttpRequest("POST", URI.create("http://127.0.0.1:" + port + "/upload"), Map.of(), null, body))
+                .toCompletableFuture();
+        assertTrue(received.await(5, TimeUnit.SECONDS), "upload reached the upstream");
+        assertEquals(1, metrics.inFlight.getAsLong());
+
+        assertTrue(call.cancel(true));
+
+        awaitTrue(() -> metrics.inFlight.getAsLong() == 0, "upload no longer in flight");
+        awaitTrue(() -> metrics.connections.getAsLong() == 0, "client closed its connection");
+        awaitTrue(() -> open.get() == 0, "upstream saw the connection close");
+        awaitTrue(body.cancelled::get, "body no longer pulled");
+    }
+
+    @Test
+    void cancelling_a_stream_before_its_head_resets_the_request() throws Exception {
+        received = new CountDownLatch(1);
+        PoolMetrics metrics = new PoolMetrics();
+        HttpPort client = new RestClientReactiveAdapter(metrics)
+                .bind(new HttpClientSpec(1000, 30_000, new SslSpec(false), 7, 0, true, 60));
+        var call = client.stream(new HttpRequest("GET", URI.create("http://127.0.0.1:" + port + "/stream"), Map.of(), null))
+                .toCompletableFuture();
+        assertTrue(received.await(5, TimeUnit.SECONDS), "request reached the upstream");
+
+        assertTrue(call.cancel(true));
+
+        awaitTrue(() -> metrics.inFlight.getAsLong() == 0, "stream no longer in flight");
+        awaitTrue(() -> metrics.connections.getAsLong() == 0, "client closed its connection");
+        awaitTrue(() -> open.get() == 0, "upstream saw the connection close");
+    }
+
+    @Test
+    void streams_and_uploads_wait_for_their_head_no_longer_than_the_deadline() {
+        HttpPort client = new RestClientReactiveAdapter()
+                .bind(new HttpClientSpec(1000, 30_000, new SslSpec(false), 7, 0, true, 60));
+        URI uri = URI.create("http://127.0.0.1:" + port + "/late");
+
+        var stream = client.stream(new HttpRequest("GET", uri, Map.of(), null).withDeadline(Deadline.after(300)))
+                .toCompletableFuture();
+        ExecutionException streamErr = assertThrows(ExecutionException.class, () -> stream.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, streamErr.getCause());
+
+        var upload = client.executeAsync(new HttpRequest("POST", uri, Map.of(), null, new HangingBody(true))
+                .withDeadline(Deadline.after(300))).toCompletableFuture();
+        ExecutionException uploadErr = assertThrows(ExecutionException.class, () -> upload.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, uploadErr.getCause());
+    }
+
+    /** Sends one chunk, then completes ({@code complete}) or holds the upload open. */
+    static final class HangingBody implements Flow.Publisher<ByteBuffer> {
+        final boolean complete;
+        final AtomicBoolean cancelled = new AtomicBoolean();
+
+        HangingBody(boolean complete) {
+            this.complete = complete;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> s) {
+            AtomicBoolean sent = new AtomicBoolean();
+            s.onSubscribe(new Flow.Subscription() {
+                @Override public void request(long n) {
+                    if (sent.compareAndSet(false, true)) {
+                        s.onNext(ByteBuffer.wrap("chunk".getBytes(StandardCharsets.UTF_8)));
+                        if (complete) s.onComplete();
+                    }
+                }
+                @Override public void cancel() { cancelled.set(true); }
+            });
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String what) throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > until) fail("timed out waiting: " + what);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.omniflow.ofkit.adapter.http.infra.http;
 
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.SslSpec;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
 import org.junit.jupiter.api.Test;
 
 import java.net.URI;
@@ -14,13 +17,8 @@ class RestClientReactiveAdapterExecTest {
     @Test
     void execute_handles_connection_failure_quickly() {
         RestClientReactiveAdapter ad = new RestClientReactiveAdapter();
+        HttpPort client = ad.bind(new HttpClientSpec(50, 50, new SslSpec(false), 1, 0, false, 1));
         Map<String, List<String>> headers = new java.util.HashMap<>();
-        headers.put("X-OF-Connect-Timeout-Ms", List.of("50"));
-        headers.put("X-OF-Read-Timeout-Ms", List.of("50"));
-        headers.put("X-OF-HTTP-Max-Pool-Size", List.of("1"));
-        headers.put("X-OF-HTTP-Max-Wait-Queue", List.of("0"));
-        headers.put("X-OF-HTTP-Keep-Alive", List.of("false"));
-        headers.put("X-OF-HTTP-Keep-Alive-Timeout-S", List.of("1"));
         HttpRequest req = new com.omniflow.ofkit.adapter.http.domain.model.HttpRequest(
                 "GET",
                 URI.create("http://127.0.0.1:9/"), // closed port to force fast failure
@@ -29,7 +27,7 @@ class RestClientReactiveAdapterExecTest {
         );
         Exception caught = null;
         try {
-            ad.execute(req);
+            client.execute(req);
         } catch (Exception e) {
             caught = e;
         }
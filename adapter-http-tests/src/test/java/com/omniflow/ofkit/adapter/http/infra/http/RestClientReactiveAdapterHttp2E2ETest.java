@@ -0,0 +1,138 @@
+package com.omniflow.ofkit.adapter.http.infra.http;
+
+import com.omniflow.ofkit.adapter.http.domain.model.Http2Spec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpProtocol;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.SslSpec;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.net.PemKeyCertOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("e2e")
+class RestClientReactiveAdapterHttp2E2ETest {
+    static Vertx vertx;
+    static HttpServer plain;
+    static HttpServer tls;
+    static int plainPort;
+    static int tlsPort;
+    static final AtomicInteger connections = new AtomicInteger();
+
+    static class PoolMetrics implements MetricsPort {
+        final DoubleAccumulator maxStreams = new DoubleAccumulator(Math::max, 0);
+        volatile LongSupplier connections;
+        public void incrementCacheHit(String p){}
+        public void incrementCacheMiss(String p){}
+        public void incrementCacheSwr(String p){}
+        public void incrementCacheSie(String p){}
+        public void incrementCacheRevalidate(String p){}
+        public void incrementCacheNegative(String p){}
+        public void incrementCacheEviction(String p){}
+        @Override public void gaugeHttpPool(String pool, LongSupplier conns, LongSupplier inFlight){ if (pool.startsWith("h2c")) connections = conns; }
+        @Override public void recordStreamsPerConnection(String pool, double streams){ maxStreams.accumulate(streams); }
+    }
+
+    @BeforeAll
+    static void start() throws Exception {
+        vertx = Vertx.vertx();
+        // answers after a short delay so concurrent requests overlap on the wire
+        plain = vertx.createHttpServer(new HttpServerOptions().setHttp2ClearTextEnabled(true))
+                .connectionHandler(c -> connections.incrementAndGet())
+                .requestHandler(req -> vertx.setTimer(100, t -> req.response().putHeader("X-Version", req.version().name()).end("ok")));
+        plainPort = plain.listen(0).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS).actualPort();
+
+        String keyPath = Paths.get(RestClientReactiveAdapterHttp2E2ETest.class.getResource("/tls/test-key.pem").toURI()).toString();
+        String certPath = Paths.get(RestClientReactiveAdapterHttp2E2ETest.class.getResource("/tls/test-cert.pem").toURI()).toString();
+        tls = vertx.createHttpServer(new HttpServerOptions().setSsl(true).setUseAlpn(true)
+                        .setKeyCertOptions(new PemKeyCertOptions().setKeyPath(keyPath).setCertPath(certPath)))
+                .requestHandler(req -> req.response().putHeader("X-Version", req.version().name()).end("ok"));
+        tlsPort = tls.listen(0).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS).actualPort();
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        plain.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        tls.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        vertx.close();
+    }
+
+    @BeforeEach
+    void reset() {
+        connections.set(0);
+    }
+
+    private static HttpClientSpec spec(HttpProtocol version, boolean insecure, int maxPool, int streams) {
+        return new HttpClientSpec(1000, 5000, new SslSpec(insecure), maxPool, -1, true, 60, version, new Http2Spec(streams, 1024, 256));
+    }
+
+    private static List<HttpResponse> fire(HttpPort port, URI uri, int n) throws Exception {
+        List<CompletableFuture<HttpResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < n; i++) calls.add(port.executeAsync(new HttpRequest("GET", uri, Map.of(), null)).toCompletableFuture());
+        List<HttpResponse> out = new ArrayList<>();
+        for (CompletableFuture<HttpResponse> c : calls) out.add(c.get(10, TimeUnit.SECONDS));
+        return out;
+    }
+
+    /** HTTP/2 header names arrive lower-cased. */
+    private static String version(HttpResponse r) {
+        return r.headers().entrySet().stream().filter(e -> e.getKey().equalsIgnoreCase("X-Version"))
+                .map(e -> e.getValue().get(0)).findFirst().orElse(null);
+    }
+
+    @Test
+    void h2c_prior_knowledge_multiplexes_on_one_connection() throws Exception {
+        PoolMetrics metrics = new PoolMetrics();
+        HttpPort port = new RestClientReactiveAdapter(metrics).bind(spec(HttpProtocol.H2C, false, 1, 50));
+
+        List<HttpResponse> out = fire(port, URI.create("http://127.0.0.1:" + plainPort + "/h2c"), 20);
+
+        for (HttpResponse r : out) {
+            assertEquals(200, r.statusCode());
+            assertEquals("HTTP_2", version(r));
+        }
+        assertEquals(1, connections.get(), "all streams share one connection");
+        assertEquals(1, metrics.connections.getAsLong());
+        assertTrue(metrics.maxStreams.get() > 1, "streams per connection " + metrics.maxStreams.get());
+    }
+
+    @Test
+    void http1_needs_a_connection_per_concurrent_request() throws Exception {
+        HttpPort port = new RestClientReactiveAdapter().bind(spec(HttpProtocol.HTTP1, false, 4, -1));
+
+        List<HttpResponse> out = fire(port, URI.create("http://127.0.0.1:" + plainPort + "/h1"), 8);
+
+        out.forEach(r -> assertEquals("HTTP_1_1", version(r)));
+        assertEquals(4, connections.get());
+    }
+
+    @Test
+    void h2_is_negotiated_with_alpn_over_tls() throws Exception {
+        HttpPort port = new RestClientReactiveAdapter().bind(spec(HttpProtocol.H2, true, 1, 10));
+
+        List<HttpResponse> out = fire(port, URI.create("https://127.0.0.1:" + tlsPort + "/h2"), 3);
+
+        out.forEach(r -> assertEquals("HTTP_2", version(r)));
+    }
+}
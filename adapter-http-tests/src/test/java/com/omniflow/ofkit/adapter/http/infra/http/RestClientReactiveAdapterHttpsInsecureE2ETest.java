@@ -10,8 +10,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.SslSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
 
 import java.net.URI;
 import java.util.List;
@@ -57,13 +60,11 @@ class RestClientReactiveAdapterHttpsInsecureE2ETest {
     @Test
     void https_with_insecure_trustall_succeeds() throws Exception {
         RestClientReactiveAdapter ad = new RestClientReactiveAdapter();
+        HttpPort client = ad.bind(new HttpClientSpec(500, 1000, new SslSpec(true), 50, -1, true, 60));
         Map<String, List<String>> headers = new java.util.HashMap<>();
-        headers.put("X-OF-SSL-Insecure", List.of("true"));
-        headers.put("X-OF-Connect-Timeout-Ms", List.of("500"));
-        headers.put("X-OF-Read-Timeout-Ms", List.of("1000"));
         URI uri = URI.create("https://127.0.0.1:" + port + "/t");
         HttpRequest req = new HttpRequest("GET", uri, headers, null);
-        HttpResponse resp = ad.execute(req);
+        HttpResponse resp = client.execute(req);
         assertEquals(200, resp.statusCode());
         assertEquals("GET", first(resp.headers(), "X-Echo"));
     }
@@ -7,8 +7,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.SslSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
 
 import java.net.URI;
 import java.util.List;
@@ -43,19 +46,14 @@ class RestClientReactiveAdapterPoolOptionsE2ETest {
     @Test
     void executes_with_pool_and_keepalive_options() throws Exception {
         RestClientReactiveAdapter ad = new RestClientReactiveAdapter();
+        HttpPort client = ad.bind(new HttpClientSpec(300, 500, new SslSpec(false), 1, 0, false, 1));
         Map<String, List<String>> headers = new java.util.HashMap<>();
-        headers.put("X-OF-Connect-Timeout-Ms", List.of("300"));
-        headers.put("X-OF-Read-Timeout-Ms", List.of("500"));
-        headers.put("X-OF-HTTP-Max-Pool-Size", List.of("1"));
-        headers.put("X-OF-HTTP-Max-Wait-Queue", List.of("0"));
-        headers.put("X-OF-HTTP-Keep-Alive", List.of("false"));
-        headers.put("X-OF-HTTP-Keep-Alive-Timeout-S", List.of("1"));
 
         URI uri = URI.create("http://127.0.0.1:" + port + "/t");
         HttpRequest req = new HttpRequest("GET", uri, headers, null);
-        HttpResponse r1 = ad.execute(req);
+        HttpResponse r1 = client.execute(req);
         assertEquals(200, r1.statusCode());
-        HttpResponse r2 = ad.execute(req);
+        HttpResponse r2 = client.execute(req);
         assertEquals(200, r2.statusCode());
         assertEquals("GET", first(r2.headers(), "X-Echo"));
     }
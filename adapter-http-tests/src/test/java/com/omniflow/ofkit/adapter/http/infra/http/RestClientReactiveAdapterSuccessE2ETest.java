@@ -1,7 +1,10 @@
 package com.omniflow.ofkit.adapter.http.infra.http;
 
+import com.omniflow.ofkit.adapter.http.domain.model.HttpClientSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpRequest;
+import com.omniflow.ofkit.adapter.http.domain.model.SslSpec;
 import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
@@ -38,6 +41,9 @@ class RestClientReactiveAdapterSuccessE2ETest {
                     if ("/slow".equals(req.path())) {
                         // delay response to trigger read timeout in tests
                         vertx.setTimer(200, t -> req.response().putHeader("X-Echo", req.method().name()).end(Buffer.buffer("slow")));
+                    } else if ("/late".equals(req.path())) {
+                        // answers after the blocking wait's former 15 s cap
+                        vertx.setTimer(16_000, t -> req.response().end(Buffer.buffer("late")));
                     } else if ("/echoh".equals(req.path())) {
                         req.response().putHeader("X-Echo", req.method().name()).end(Buffer.buffer("echo"));
                     } else {
@@ -62,11 +68,10 @@ class RestClientReactiveAdapterSuccessE2ETest {
     @Test
     void success_path_returns_200_and_latency_header() throws Exception {
         RestClientReactiveAdapter ad = new RestClientReactiveAdapter();
+        HttpPort client = ad.bind(new HttpClientSpec(500, 1000, new SslSpec(false), 50, -1, true, 60));
         Map<String, List<String>> headers = new java.util.HashMap<>();
-        headers.put("X-OF-Connect-Timeout-Ms", List.of("500"));
-        headers.put("X-OF-Read-Timeout-Ms", List.of("1000"));
         HttpRequest req = new HttpRequest("GET", URI.create("http://127.0.0.1:" + port + "/ping"), headers, null);
-        HttpResponse resp = ad.execute(req);
+        HttpResponse resp = client.execute(req);
         assertEquals(200, resp.statusCode());
         assertEquals("GET", first(resp.headers(), "X-Echo"));
         assertNotNull(first(resp.headers(), "X-OF-Upstream-Latency-Ms"));
@@ -76,12 +81,11 @@ class RestClientReactiveAdapterSuccessE2ETest {
     @Test
     void post_with_body_and_custom_header_is_echoed() throws Exception {
         RestClientReactiveAdapter ad = new RestClientReactiveAdapter();
+        HttpPort client = ad.bind(new HttpClientSpec(500, 1000, new SslSpec(false), 50, -1, true, 60));
         Map<String, List<String>> headers = new java.util.HashMap<>();
-        headers.put("X-OF-Connect-Timeout-Ms", List.of("500"));
-        headers.put("X-OF-Read-Timeout-Ms", List.of("1000"));
         headers.put("X-Custom", List.of("abc"));
         HttpRequest req = new HttpRequest("POST", URI.create("http://127.0.0.1:" + port + "/echoh"), headers, "ping".getBytes(StandardCharsets.UTF_8));
-        HttpResponse resp = ad.execute(req);
+        HttpResponse resp = client.execute(req);
         assertEquals(200, resp.statusCode());
         assertEquals("abc", first(resp.headers(), "X-Custom"));
     }
@@ -89,42 +93,50 @@ class RestClientReactiveAdapterSuccessE2ETest {
     @Test
     void put_and_patch_methods_echoed() throws Exception {
         RestClientReactiveAdapter ad = new RestClientReactiveAdapter();
+        HttpPort client = ad.bind(new HttpClientSpec(500, 1000, new SslSpec(false), 50, -1, true, 60));
         Map<String, List<String>> headers = new java.util.HashMap<>();
-        headers.put("X-OF-Connect-Timeout-Ms", List.of("500"));
-        headers.put("X-OF-Read-Timeout-Ms", List.of("1000"));
         HttpRequest putReq = new HttpRequest("PUT", URI.create("http://127.0.0.1:" + port + "/x"), headers, "p".getBytes(StandardCharsets.UTF_8));
-        var putResp = ad.execute(putReq);
+        var putResp = client.execute(putReq);
         assertEquals("PUT", first(putResp.headers(), "X-Echo"));
 
         HttpRequest patchReq = new HttpRequest("PATCH", URI.create("http://127.0.0.1:" + port + "/y"), headers, "p".getBytes(StandardCharsets.UTF_8));
-        var patchResp = ad.execute(patchReq);
+        var patchResp = client.execute(patchReq);
         assertEquals("PATCH", first(patchResp.headers(), "X-Echo"));
     }
 
     @Test
     void head_and_delete_methods_echoed() throws Exception {
         RestClientReactiveAdapter ad = new RestClientReactiveAdapter();
+        HttpPort client = ad.bind(new HttpClientSpec(500, 1000, new SslSpec(false), 50, -1, true, 60));
         Map<String, List<String>> headers = new java.util.HashMap<>();
-        headers.put("X-OF-Connect-Timeout-Ms", List.of("500"));
-        headers.put("X-OF-Read-Timeout-Ms", List.of("1000"));
-        var headResp = ad.execute(new HttpRequest("HEAD", URI.create("http://127.0.0.1:" + port + "/h"), headers, null));
+        var headResp = client.execute(new HttpRequest("HEAD", URI.create("http://127.0.0.1:" + port + "/h"), headers, null));
         assertEquals("HEAD", first(headResp.headers(), "X-Echo"));
-        var delResp = ad.execute(new HttpRequest("DELETE", URI.create("http://127.0.0.1:" + port + "/d"), headers, null));
+        var delResp = client.execute(new HttpRequest("DELETE", URI.create("http://127.0.0.1:" + port + "/d"), headers, null));
         assertEquals("DELETE", first(delResp.headers(), "X-Echo"));
     }
 
     @Test
     void read_timeout_triggers_exception_on_slow_response() {
         RestClientReactiveAdapter ad = new RestClientReactiveAdapter();
+        HttpPort client = ad.bind(new HttpClientSpec(500, 50, new SslSpec(false), 50, -1, true, 60));
         Map<String, List<String>> headers = new java.util.HashMap<>();
-        headers.put("X-OF-Connect-Timeout-Ms", List.of("500"));
-        headers.put("X-OF-Read-Timeout-Ms", List.of("50"));
         HttpRequest req = new HttpRequest("GET", URI.create("http://127.0.0.1:" + port + "/slow"), headers, null);
         Exception ex = null;
-        try { ad.execute(req); } catch (Exception e) { ex = e; }
+        try { client.execute(req); } catch (Exception e) { ex = e; }
         assertNotNull(ex, "expected read timeout exception");
     }
 
+    @Test
+    void blocking_call_without_a_deadline_waits_for_a_read_timeout_above_15_s() throws Exception {
+        RestClientReactiveAdapter ad = new RestClientReactiveAdapter();
+        HttpPort client = ad.bind(new HttpClientSpec(500, 20_000, new SslSpec(false), 50, -1, true, 60));
+        HttpRequest req = new HttpRequest("GET", URI.create("http://127.0.0.1:" + port + "/late"), Map.of(), null)
+                .withDeadline(com.omniflow.ofkit.adapter.http.domain.model.Deadline.unbounded());
+        HttpResponse resp = client.execute(req);
+        assertEquals(200, resp.statusCode());
+        assertEquals("late", new String(resp.body(), StandardCharsets.UTF_8));
+    }
+
     private static String first(Map<String, List<String>> headers, String name) {
         List<String> v = headers.get(name);
         if (v == null) for (var e : headers.entrySet()) if (e.getKey() != null && e.getKey().equalsIgnoreCase(name)) { v = e.getValue(); break; }
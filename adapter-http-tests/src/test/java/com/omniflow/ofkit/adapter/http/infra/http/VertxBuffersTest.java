@@ -0,0 +1,42 @@
+package com.omniflow.ofkit.adapter.http.infra.http;
+
+import com.omniflow.ofkit.adapter.http.domain.model.BodyBuffer;
+import com.omniflow.ofkit.adapter.http.infra.rest.BodyBufferWriter;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VertxBuffersTest {
+
+    @Test
+    void received_buffer_is_wrapped_not_copied() {
+        Buffer received = Buffer.buffer().appendString("hello");
+        BodyBuffer body = VertxBuffers.payload(received);
+        received.setByte(0, (byte) 'j');
+        assertEquals("jello", body.toString(StandardCharsets.UTF_8));
+        assertSame(BodyBuffer.EMPTY, VertxBuffers.payload(null));
+    }
+
+    @Test
+    void outgoing_buffer_shares_the_body_memory() {
+        byte[] bytes = "hello".getBytes(StandardCharsets.UTF_8);
+        Buffer out = VertxBuffers.buffer(BodyBuffer.of(bytes));
+        bytes[0] = 'j';
+        assertEquals("jello", out.toString());
+        assertEquals(0, VertxBuffers.buffer((BodyBuffer) null).length());
+    }
+
+    @Test
+    void writer_falls_back_to_the_entity_stream() throws Exception {
+        BodyBufferWriter writer = new BodyBufferWriter();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(writer.isWriteable(BodyBuffer.class, BodyBuffer.class, new java.lang.annotation.Annotation[0], null));
+        assertFalse(writer.isWriteable(byte[].class, byte[].class, new java.lang.annotation.Annotation[0], null));
+        writer.writeTo(BodyBuffer.of("payload".getBytes(StandardCharsets.UTF_8)), BodyBuffer.class, BodyBuffer.class, null, null, null, out);
+        assertEquals("payload", out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -24,6 +24,7 @@ class MicrometerMetricsAdapterTest {
         adapter.incrementCacheRevalidate("p1");
         adapter.incrementCacheNegative("p1");
         adapter.incrementCacheEviction("p1");
+        adapter.incrementCacheCoalesced("p1");
 
         assertTrue(reg.counter("omniflow_adapter_cache_hits_total", "profile", "p1").count() > 0.0);
         assertTrue(reg.counter("omniflow_adapter_cache_misses_total", "profile", "p1").count() > 0.0);
@@ -32,6 +33,56 @@ class MicrometerMetricsAdapterTest {
         assertTrue(reg.counter("omniflow_adapter_cache_revalidate_total", "profile", "p1").count() > 0.0);
         assertTrue(reg.counter("omniflow_adapter_cache_negative_total", "profile", "p1").count() > 0.0);
         assertTrue(reg.counter("omniflow_adapter_cache_evictions_total", "profile", "p1").count() > 0.0);
+        assertTrue(reg.counter("omniflow_adapter_cache_coalesced_total", "profile", "p1").count() > 0.0);
+    }
+
+    @Test
+    void registers_cache_bytes_gauge_per_profile() throws Exception {
+        MeterRegistry reg = new SimpleMeterRegistry();
+        MicrometerMetricsAdapter adapter = new MicrometerMetricsAdapter();
+        Field f = MicrometerMetricsAdapter.class.getDeclaredField("registry");
+        f.setAccessible(true);
+        f.set(adapter, reg);
+
+        java.util.concurrent.atomic.AtomicLong used = new java.util.concurrent.atomic.AtomicLong(2048);
+        adapter.gaugeCacheBytes("p1", used::get);
+        System.gc();
+        used.set(4096);
+        assertEquals(4096.0, reg.get("omniflow_adapter_cache_bytes").tag("profile", "p1").gauge().value());
+    }
+
+    @Test
+    void records_revalidation_metrics() throws Exception {
+        MeterRegistry reg = new SimpleMeterRegistry();
+        MicrometerMetricsAdapter adapter = new MicrometerMetricsAdapter();
+        Field f = MicrometerMetricsAdapter.class.getDeclaredField("registry");
+        f.setAccessible(true);
+        f.set(adapter, reg);
+
+        adapter.incrementRevalidationRejected("p1");
+        adapter.recordRevalidation("p1", 5_000_000, true);
+        adapter.recordRevalidation("p1", 7_000_000, false);
+        adapter.gaugeRevalidationQueueDepth(() -> 3);
+
+        assertEquals(1.0, reg.counter("omniflow_adapter_cache_revalidation_rejected_total", "profile", "p1").count());
+        assertEquals(1, reg.get("omniflow_adapter_cache_revalidation_seconds").tags("profile", "p1", "outcome", "success").timer().count());
+        assertEquals(1, reg.get("omniflow_adapter_cache_revalidation_seconds").tags("profile", "p1", "outcome", "error").timer().count());
+        assertEquals(3.0, reg.get("omniflow_adapter_cache_revalidation_queue_depth").gauge().value());
     }
-}
 
+    @Test
+    void records_http_pool_metrics() throws Exception {
+        MeterRegistry reg = new SimpleMeterRegistry();
+        MicrometerMetricsAdapter adapter = new MicrometerMetricsAdapter();
+        Field f = MicrometerMetricsAdapter.class.getDeclaredField("registry");
+        f.setAccessible(true);
+        f.set(adapter, reg);
+
+        adapter.gaugeHttpPool("h2c-pool4", () -> 2, () -> 30);
+        adapter.recordStreamsPerConnection("h2c-pool4", 15.0);
+
+        assertEquals(2.0, reg.get("omniflow_adapter_http_connections").tag("pool", "h2c-pool4").gauge().value());
+        assertEquals(30.0, reg.get("omniflow_adapter_http_streams_in_flight").tag("pool", "h2c-pool4").gauge().value());
+        assertEquals(15.0, reg.get("omniflow_adapter_http_streams_per_connection").tag("pool", "h2c-pool4").summary().max());
+    }
+}
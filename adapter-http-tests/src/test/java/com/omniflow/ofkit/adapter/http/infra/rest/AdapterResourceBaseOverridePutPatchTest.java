@@ -27,7 +27,7 @@ class AdapterResourceBaseOverridePutPatchTest {
         AdapterFacade facade = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.of(
                 new AdapterProfile(id, "https://ignored.example", List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""),
                         CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None()))) {
-            @Override public Result handle(String profileId, HttpRequest request) { seen.add(request); return new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok"); }
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, HttpRequest request) { seen.add(request); return java.util.concurrent.CompletableFuture.completedFuture(new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok")); }
         };
         set(res, "facade", facade);
         set(res, "profiles", (ProfileRegistry) id -> Optional.of(
@@ -70,8 +70,8 @@ class AdapterResourceBaseOverridePutPatchTest {
             @Override public Map<String, jakarta.ws.rs.core.Cookie> getCookies() { return Map.of(); }
         };
         byte[] body = "x".getBytes(StandardCharsets.UTF_8);
-        Response pr = res.put("p", "v1/items", uriInfo, headers, body);
-        Response pa = res.patch("p", "v1/items", uriInfo, headers, body);
+        Response pr = res.put("p", "v1/items", uriInfo, headers, body).await().indefinitely();
+        Response pa = res.patch("p", "v1/items", uriInfo, headers, body).await().indefinitely();
         assertEquals(200, pr.getStatus());
         assertEquals(200, pa.getStatus());
         assertEquals("https://api.example.com/v1/items?id=7", seen.get(0).uri().toString());
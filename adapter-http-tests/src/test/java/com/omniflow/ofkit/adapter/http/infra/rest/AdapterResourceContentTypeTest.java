@@ -25,8 +25,8 @@ class AdapterResourceContentTypeTest {
         AdapterFacade facade = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.of(
                 new AdapterProfile(id, "https://example.com", List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""),
                         CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None()))) {
-            @Override public Result handle(String profileId, HttpRequest request) {
-                return new Result.Success(new HttpResponse(200, Map.of("Content-Type", List.of("application/json")), "{}".getBytes()), "ok-2xx");
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, HttpRequest request) {
+                return java.util.concurrent.CompletableFuture.completedFuture(new Result.Success(new HttpResponse(200, Map.of("Content-Type", List.of("application/json")), "{}".getBytes()), "ok-2xx"));
             }
         };
         set(res, "facade", facade);
@@ -69,7 +69,7 @@ class AdapterResourceContentTypeTest {
             @Override public java.util.Map<String, jakarta.ws.rs.core.Cookie> getCookies() { return java.util.Map.of(); }
         };
 
-        Response r = res.get("p", "get", uriInfo, headers);
+        Response r = res.get("p", "get", uriInfo, headers).await().indefinitely();
         assertEquals(200, r.getStatus());
         assertEquals("application/json", r.getHeaderString("Content-Type"));
     }
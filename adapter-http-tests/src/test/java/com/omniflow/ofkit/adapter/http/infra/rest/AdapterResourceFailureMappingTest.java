@@ -26,9 +26,9 @@ class AdapterResourceFailureMappingTest {
         AdapterFacade facade = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.of(
                 new AdapterProfile(id, "https://example.com", List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""),
                         CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None()))) {
-            @Override public Result handle(String profileId, HttpRequest request) {
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, HttpRequest request) {
                 ProblemDetails p = new ProblemDetails("https://omniflow/test", "Bad Upstream", 422, "oops", null, Map.of("code", "X1"));
-                return new Result.Failure(p, "err-business");
+                return java.util.concurrent.CompletableFuture.completedFuture(new Result.Failure(p, "err-business"));
             }
         };
         set(res, "facade", facade);
@@ -38,7 +38,7 @@ class AdapterResourceFailureMappingTest {
 
         UriInfo uriInfo = simpleUri("/r");
         HttpHeaders headers = new HeadersSimple2();
-        Response r = res.get("p", "r", uriInfo, headers);
+        Response r = res.get("p", "r", uriInfo, headers).await().indefinitely();
         assertEquals(422, r.getStatus());
         assertEquals("err-business", r.getHeaderString("X-OF-Rule-Id"));
         assertNotNull(r.getHeaderString("X-OF-Total-Latency-Ms"));
@@ -24,9 +24,9 @@ class AdapterResourceHeaderOverrideTest {
         AdapterResource res = new AdapterResource();
         final HttpRequest[] seen = {null};
         AdapterFacade facade = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.empty()) {
-            @Override public Result handle(String profileId, HttpRequest request) {
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, HttpRequest request) {
                 seen[0] = request;
-                return new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok");
+                return java.util.concurrent.CompletableFuture.completedFuture(new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok"));
             }
         };
         set(res, "facade", facade);
@@ -37,7 +37,7 @@ class AdapterResourceHeaderOverrideTest {
         UriInfo uriInfo = uri("/get?a=1");
         HttpHeaders headers = new HeadersWith(Map.of("X-OF-Target-Base", List.of("https://httpbin.org")));
 
-        Response r = res.get("p", "get", uriInfo, headers);
+        Response r = res.get("p", "get", uriInfo, headers).await().indefinitely();
         assertEquals(200, r.getStatus());
         assertNotNull(seen[0]);
         assertEquals("https://httpbin.org/get?a=1", seen[0].uri().toString());
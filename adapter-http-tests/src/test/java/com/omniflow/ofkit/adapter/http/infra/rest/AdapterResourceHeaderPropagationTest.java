@@ -26,9 +26,9 @@ class AdapterResourceHeaderPropagationTest {
         AdapterFacade facade = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.of(
                 new AdapterProfile(id, "https://api.example.com", List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""),
                         CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None()))) {
-            @Override public Result handle(String profileId, HttpRequest request) {
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, HttpRequest request) {
                 seen[0] = request;
-                return new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok");
+                return java.util.concurrent.CompletableFuture.completedFuture(new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok"));
             }
         };
         set(res, "facade", facade);
@@ -72,7 +72,7 @@ class AdapterResourceHeaderPropagationTest {
             @Override public Map<String, jakarta.ws.rs.core.Cookie> getCookies() { return Map.of(); }
         };
 
-        Response r = res.get("p", "r", uriInfo, headers);
+        Response r = res.get("p", "r", uriInfo, headers).await().indefinitely();
         assertEquals(200, r.getStatus());
         assertNotNull(seen[0]);
         assertNull(first(seen[0].headers(), "Host"));
@@ -29,9 +29,9 @@ class AdapterResourceMethodsTest {
         AdapterFacade facade = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.of(
                 new AdapterProfile(id, "https://example.com", List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""),
                         CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None()))) {
-            @Override public Result handle(String profileId, HttpRequest request) {
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, HttpRequest request) {
                 seen[0] = request;
-                return new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok-2xx");
+                return java.util.concurrent.CompletableFuture.completedFuture(new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok-2xx"));
             }
         };
         set(res, "facade", facade);
@@ -63,7 +63,7 @@ class AdapterResourceMethodsTest {
         HttpHeaders headers = new HeadersWithHost("example.org");
         byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
 
-        Response r = res.post("p", "echo", uriInfo, headers, body);
+        Response r = res.post("p", "echo", uriInfo, headers, body).await().indefinitely();
         assertEquals(200, r.getStatus());
         assertNotNull(seen[0]);
         assertEquals("POST", seen[0].method());
@@ -28,9 +28,9 @@ class AdapterResourceMoreMethodsTest {
         AdapterFacade facade = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.of(
                 new AdapterProfile(id, "https://example.com", List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""),
                         CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None()))) {
-            @Override public Result handle(String profileId, com.omniflow.ofkit.adapter.http.domain.model.HttpRequest request) {
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, com.omniflow.ofkit.adapter.http.domain.model.HttpRequest request) {
                 seen.add(request);
-                return new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok-2xx");
+                return java.util.concurrent.CompletableFuture.completedFuture(new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok-2xx"));
             }
         };
         set(res, "facade", facade);
@@ -42,10 +42,10 @@ class AdapterResourceMoreMethodsTest {
         HttpHeaders headers = new HeadersSimple();
         byte[] body = "p".getBytes(StandardCharsets.UTF_8);
 
-        Response d = res.delete("p", "r", uriInfo, headers);
+        Response d = res.delete("p", "r", uriInfo, headers).await().indefinitely();
         assertEquals(200, d.getStatus());
 
-        Response p = res.patch("p", "r", uriInfo, headers, body);
+        Response p = res.patch("p", "r", uriInfo, headers, body).await().indefinitely();
         assertEquals(200, p.getStatus());
 
         assertEquals(2, seen.size());
@@ -27,9 +27,9 @@ class AdapterResourcePutQueryTest {
         AdapterFacade facade = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.of(
                 new AdapterProfile(id, "https://api.example.com", List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""),
                         CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None()))) {
-            @Override public Result handle(String profileId, HttpRequest request) {
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, HttpRequest request) {
                 seen[0] = request;
-                return new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok");
+                return java.util.concurrent.CompletableFuture.completedFuture(new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok"));
             }
         };
         set(res, "facade", facade);
@@ -74,7 +74,7 @@ class AdapterResourcePutQueryTest {
         };
 
         byte[] body = "data".getBytes(StandardCharsets.UTF_8);
-        Response r = res.put("p", "v1/items", uriInfo, headers, body);
+        Response r = res.put("p", "v1/items", uriInfo, headers, body).await().indefinitely();
         assertEquals(200, r.getStatus());
         assertNotNull(seen[0]);
         assertEquals("PUT", seen[0].method());
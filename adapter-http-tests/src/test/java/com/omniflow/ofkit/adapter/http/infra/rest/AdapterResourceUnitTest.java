@@ -26,8 +26,8 @@ class AdapterResourceUnitTest {
         AdapterFacade facade = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.of(
                 new AdapterProfile(id, "https://example.com", List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""),
                         CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None()))) {
-            @Override public Result handle(String profileId, HttpRequest request) {
-                return new Result.Success(new HttpResponse(200, Map.of("X-Up", List.of("v")), "{}".getBytes()), "ok-2xx");
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, HttpRequest request) {
+                return java.util.concurrent.CompletableFuture.completedFuture(new Result.Success(new HttpResponse(200, Map.of("X-Up", List.of("v")), "{}".getBytes()), "ok-2xx"));
             }
         };
         set(res, "facade", facade);
@@ -58,7 +58,7 @@ class AdapterResourceUnitTest {
         };
         HttpHeaders headers = new HeadersStub();
 
-        Response r = res.get("p", "get", uriInfo, headers);
+        Response r = res.get("p", "get", uriInfo, headers).await().indefinitely();
         assertEquals(200, r.getStatus());
         assertEquals("ok-2xx", r.getHeaderString("X-OF-Rule-Id"));
         assertNotNull(r.getHeaderString("X-OF-Total-Latency-Ms"));
@@ -70,8 +70,8 @@ class AdapterResourceUnitTest {
         AdapterFacade facade2 = new AdapterFacade(null, new com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine(), id -> Optional.of(
                 new AdapterProfile(id, null, List.of(), List.of(), ProblemDetails.of("about:blank","t",502, ""),
                         CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None()))) {
-            @Override public Result handle(String profileId, HttpRequest request) {
-                return new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok");
+            @Override public java.util.concurrent.CompletionStage<Result> handleAsync(String profileId, HttpRequest request) {
+                return java.util.concurrent.CompletableFuture.completedFuture(new Result.Success(new HttpResponse(200, Map.of(), new byte[0]), "ok"));
             }
         };
         set(res, "facade", facade2);
@@ -102,7 +102,7 @@ class AdapterResourceUnitTest {
         };
         HttpHeaders headers2 = new HeadersStub();
 
-        Response r = res.get("p", "get", uriInfo, headers2);
+        Response r = res.get("p", "get", uriInfo, headers2).await().indefinitely();
         assertEquals(400, r.getStatus());
     }
 
@@ -0,0 +1,216 @@
+package com.omniflow.ofkit.adapter.http.infra.rest;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.rules.*;
+import com.omniflow.ofkit.adapter.http.infra.http.JdkHttpClientAdapter;
+import com.omniflow.ofkit.adapter.http.infra.http.RestClientReactiveAdapter;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("e2e")
+class StreamingRouteE2ETest {
+    static final int CHUNK = 64 * 1024;
+    static Vertx vertx;
+    static HttpServer upstream;
+    static HttpServer adapter;
+    static HttpClient client;
+    static int adapterPort;
+    static int upstreamPort;
+    static final AtomicLong written = new AtomicLong();
+    static volatile CountDownLatch hanging = new CountDownLatch(1);
+    static volatile CountDownLatch hangClosed = new CountDownLatch(1);
+
+    /** Writes {@code size} bytes of a known pattern, honouring the connection's write queue. */
+    static void pump(HttpServerResponse out, long size, long[] offset) {
+        while (offset[0] < size && !out.writeQueueFull()) {
+            int n = (int) Math.min(CHUNK, size - offset[0]);
+            byte[] chunk = new byte[n];
+            for (int i = 0; i < n; i++) chunk[i] = (byte) ((offset[0] + i) % 251);
+            offset[0] += n;
+            written.addAndGet(n);
+            out.write(Buffer.buffer(chunk));
+        }
+        if (offset[0] >= size) out.end();
+        else out.drainHandler(v -> pump(out, size, offset));
+    }
+
+    private static AdapterProfile profile(String id, String base, boolean streaming) {
+        SuccessRule ok = new SuccessRule("export", new AndPredicate(List.of(new StatusPredicate(200, 299),
+                new HeaderRegexPredicate("Content-Type", "^application/octet-stream"))), null);
+        ErrorRule missing = new ErrorRule("missing", new StatusPredicate(404, 404), ProblemDetails.of("about:blank", "Introuvable", 404, ""));
+        return new AdapterProfile(id, base, List.of(ok), List.of(missing), ProblemDetails.of("about:blank", "Erreur", 502, ""),
+                CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None(), streaming);
+    }
+
+    @BeforeAll
+    static void start() throws Exception {
+        vertx = Vertx.vertx();
+        upstream = vertx.createHttpServer().requestHandler(req -> {
+            if (req.path().startsWith("/hang")) {
+                // never answers; only the adapter closing the exchange ends it
+                req.response().closeHandler(v -> hangClosed.countDown());
+                hanging.countDown();
+                return;
+            }
+            if (req.path().startsWith("/missing")) {
+                req.response().setStatusCode(404).end("{\"error\":\"gone\"}");
+                return;
+            }
+            long size = Long.parseLong(req.getParam("size"));
+            req.response().putHeader("Content-Type", "application/octet-stream").putHeader("Content-Length", Long.toString(size));
+            pump(req.response(), size, new long[1]);
+        });
+        upstreamPort = upstream.listen(0).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS).actualPort();
+        String base = "http://127.0.0.1:" + upstreamPort;
+
+        Map<String, AdapterProfile> profiles = Map.of("files", profile("files", base, true), "plain", profile("plain", base, false));
+        StreamingRoute route = new StreamingRoute();
+        route.profiles = id -> Optional.ofNullable(profiles.get(id));
+        route.facade = new AdapterFacade(new RestClientReactiveAdapter(), new RuleEngine(), route.profiles);
+        Router router = Router.router(vertx);
+        route.register(router);
+        // stands in for the RESTEasy handler, which Quarkus mounts at the default order
+        router.route().order(RouteConstants.ROUTE_ORDER_DEFAULT).handler(rc -> rc.response().end("fallback"));
+        adapter = vertx.createHttpServer().requestHandler(router);
+        adapterPort = adapter.listen(0).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS).actualPort();
+        client = vertx.createHttpClient();
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        client.close();
+        adapter.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        upstream.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        vertx.close();
+    }
+
+    /** Sends a GET and hands the response to {@code onResponse} on the event loop, before any body chunk is delivered. */
+    private static HttpClientResponse get(String uri, Consumer<HttpClientResponse> onResponse) throws Exception {
+        return client.request(HttpMethod.GET, adapterPort, "127.0.0.1", uri)
+                .compose(r -> r.send())
+                .onSuccess(onResponse::accept)
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    private static Buffer body(String uri, HttpClientResponse[] resp) throws Exception {
+        CompletableFuture<Buffer> body = new CompletableFuture<>();
+        resp[0] = get(uri, r -> r.body().onSuccess(body::complete).onFailure(body::completeExceptionally));
+        return body.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void pipes_the_whole_body_with_rule_headers() throws Exception {
+        long size = 8L * 1024 * 1024 + 17;
+        AtomicLong received = new AtomicLong();
+        CompletableFuture<Boolean> intact = new CompletableFuture<>();
+        boolean[] ok = { true };
+        HttpClientResponse resp = get("/adapter/files/export?size=" + size, r -> {
+            r.handler(b -> {
+                long base = received.getAndAdd(b.length());
+                for (int i = 0; i < b.length(); i++) if (b.getByte(i) != (byte) ((base + i) % 251)) ok[0] = false;
+            });
+            r.endHandler(v -> intact.complete(ok[0]));
+        });
+        assertEquals(200, resp.statusCode());
+        assertEquals("export", resp.getHeader("X-OF-Rule-Id"));
+        assertEquals(Long.toString(size), resp.getHeader("Content-Length"));
+        assertTrue(intact.get(20, TimeUnit.SECONDS));
+        assertEquals(size, received.get());
+    }
+
+    @Test
+    void paused_client_holds_back_the_upstream_read() throws Exception {
+        long size = 256L * 1024 * 1024;
+        written.set(0);
+        HttpClientResponse resp = get("/adapter/files/export?size=" + size, HttpClientResponse::pause);
+        Thread.sleep(1500);
+
+        long atPause = written.get();
+        assertTrue(atPause < size / 4, "upstream wrote " + atPause + " bytes for a paused client");
+
+        resp.request().connection().close();
+        Thread.sleep(500);
+        long afterClose = written.get();
+        Thread.sleep(500);
+        assertEquals(afterClose, written.get(), "upstream exchange stopped once the client left");
+    }
+
+    @Test
+    void client_leaving_before_the_head_cancels_the_upstream_exchange() throws Exception {
+        hanging = new CountDownLatch(1);
+        hangClosed = new CountDownLatch(1);
+        HttpClient own = vertx.createHttpClient();
+        own.request(HttpMethod.GET, adapterPort, "127.0.0.1", "/adapter/files/hang").compose(r -> r.send());
+        assertTrue(hanging.await(5, TimeUnit.SECONDS), "request reached the upstream");
+        assertFalse(hangClosed.await(200, TimeUnit.MILLISECONDS));
+
+        own.close();
+
+        assertTrue(hangClosed.await(5, TimeUnit.SECONDS), "upstream exchange closed once the client left");
+    }
+
+    @Test
+    void rule_failure_is_a_problem_document() throws Exception {
+        HttpClientResponse[] resp = new HttpClientResponse[1];
+        Buffer body = body("/adapter/files/missing", resp);
+        assertEquals(404, resp[0].statusCode());
+        assertEquals("missing", resp[0].getHeader("X-OF-Rule-Id"));
+        assertEquals("application/problem+json", resp[0].getHeader("Content-Type"));
+        assertEquals("Introuvable", body.toJsonObject().getString("title"));
+    }
+
+    @Test
+    void buffered_profiles_fall_through_to_the_resource() throws Exception {
+        Buffer body = body("/adapter/plain/export?size=10", new HttpClientResponse[1]);
+        assertEquals("fallback", body.toString());
+    }
+
+    @Test
+    void jdk_client_streams_the_body_chunk_by_chunk() throws Exception {
+        long size = 4L * 1024 * 1024;
+        StreamingResponse resp = new JdkHttpClientAdapter().stream(new HttpRequest("GET",
+                URI.create("http://127.0.0.1:" + upstreamPort + "/export?size=" + size), Map.of(), null))
+                .toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(200, resp.statusCode());
+
+        AtomicLong received = new AtomicLong();
+        AtomicLong chunks = new AtomicLong();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        resp.body().subscribe(new Flow.Subscriber<>() {
+            Flow.Subscription s;
+            @Override public void onSubscribe(Flow.Subscription s) { this.s = s; s.request(1); }
+            @Override public void onNext(ByteBuffer b) { received.addAndGet(b.remaining()); chunks.incrementAndGet(); s.request(1); }
+            @Override public void onError(Throwable t) { done.completeExceptionally(t); }
+            @Override public void onComplete() { done.complete(null); }
+        });
+        done.get(20, TimeUnit.SECONDS);
+        assertEquals(size, received.get());
+        assertTrue(chunks.get() > 1, "body arrived in " + chunks.get() + " chunk(s)");
+    }
+}
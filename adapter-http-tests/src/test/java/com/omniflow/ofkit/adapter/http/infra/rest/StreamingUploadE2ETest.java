@@ -0,0 +1,212 @@
+package com.omniflow.ofkit.adapter.http.infra.rest;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.ProfileRegistry;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.*;
+import com.omniflow.ofkit.adapter.http.infra.http.JdkHttpClientAdapter;
+import com.omniflow.ofkit.adapter.http.infra.http.RestClientReactiveAdapter;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("e2e")
+class StreamingUploadE2ETest {
+    static final int CHUNK = 64 * 1024;
+    static Vertx vertx;
+    static HttpServer upstream;
+    static HttpServer viaVertx;
+    static HttpServer viaJdk;
+    static HttpClient client;
+    static final AtomicInteger upstreamCalls = new AtomicInteger();
+    static final AtomicLong upstreamReceived = new AtomicLong();
+
+    private static AdapterProfile profile(String id, String base, int maxKb) {
+        SuccessRule ok = new SuccessRule("stored", new StatusPredicate(200, 299), null);
+        return new AdapterProfile(id, base, List.of(ok), List.of(), ProblemDetails.of("about:blank", "Erreur", 502, ""),
+                CachePolicy.disabled(), RetrySpec.disabled(), HttpClientSpec.defaults(), new AuthSpec.None(),
+                new StreamingSpec(false, true, maxKb, 0));
+    }
+
+    private static HttpServer adapter(HttpPort port, ProfileRegistry profiles) throws Exception {
+        StreamingRoute route = new StreamingRoute();
+        route.profiles = profiles;
+        route.facade = new AdapterFacade(port, new RuleEngine(), profiles);
+        Router router = Router.router(vertx);
+        route.register(router);
+        router.route().order(RouteConstants.ROUTE_ORDER_DEFAULT).handler(rc -> rc.response().end("fallback"));
+        HttpServer server = vertx.createHttpServer().requestHandler(router);
+        return server.listen(0).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @BeforeAll
+    static void start() throws Exception {
+        vertx = Vertx.vertx();
+        // checks the byte pattern as it arrives; /slow never reads the body
+        upstream = vertx.createHttpServer().requestHandler(req -> {
+            upstreamCalls.incrementAndGet();
+            if (req.path().startsWith("/slow")) {
+                req.pause();
+                return;
+            }
+            long[] count = new long[1];
+            boolean[] intact = { true };
+            req.handler(b -> {
+                for (int i = 0; i < b.length(); i++) if (b.getByte(i) != (byte) ((count[0] + i) % 251)) intact[0] = false;
+                count[0] += b.length();
+                upstreamReceived.addAndGet(b.length());
+            });
+            req.endHandler(v -> req.response().putHeader("Content-Type", "application/json")
+                    .end(new JsonObject().put("bytes", count[0]).put("intact", intact[0]).encode()));
+        });
+        int upstreamPort = upstream.listen(0).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS).actualPort();
+        String base = "http://127.0.0.1:" + upstreamPort;
+
+        Map<String, AdapterProfile> profiles = Map.of("upload", profile("upload", base, 0), "small", profile("small", base, 1024));
+        ProfileRegistry registry = id -> Optional.ofNullable(profiles.get(id));
+        viaVertx = adapter(new RestClientReactiveAdapter(), registry);
+        viaJdk = adapter(new JdkHttpClientAdapter(Duration.ofSeconds(2), Duration.ofSeconds(30)), registry);
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        viaVertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        viaJdk.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        upstream.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        vertx.close();
+    }
+
+    // a fresh client per test: refused uploads leave their connections closing
+    @BeforeEach
+    void reset() {
+        upstreamCalls.set(0);
+        upstreamReceived.set(0);
+        client = vertx.createHttpClient();
+    }
+
+    @AfterEach
+    void closeClient() {
+        client.close();
+    }
+
+    /** Result of one upload: the adapter's response and how many bytes the client got onto the wire. */
+    record Upload(HttpClientResponse response, Buffer body, AtomicLong written) {}
+
+    /**
+     * POSTs {@code size} pattern bytes, writing only while the connection accepts them, and
+     * completes with the response. Without a Content-Length the body is sent chunked.
+     */
+    private static Future<Upload> upload(int port, String uri, long size, boolean withLength) {
+        AtomicLong written = new AtomicLong();
+        return client.request(HttpMethod.POST, port, "127.0.0.1", uri).compose(req -> {
+            if (withLength) req.putHeader("Content-Length", Long.toString(size));
+            else req.setChunked(true);
+            pump(req, size, written);
+            return req.response().compose(resp -> resp.body().map(b -> new Upload(resp, b, written)));
+        });
+    }
+
+    private static void pump(HttpClientRequest req, long size, AtomicLong written) {
+        while (written.get() < size && !req.writeQueueFull()) {
+            long offset = written.get();
+            int n = (int) Math.min(CHUNK, size - offset);
+            byte[] chunk = new byte[n];
+            for (int i = 0; i < n; i++) chunk[i] = (byte) ((offset + i) % 251);
+            written.addAndGet(n);
+            req.write(Buffer.buffer(chunk));
+        }
+        if (written.get() >= size) req.end();
+        else req.drainHandler(v -> pump(req, size, written));
+    }
+
+    private static Upload await(Future<Upload> f) throws Exception {
+        return f.toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void large_upload_reaches_the_upstream_intact_through_either_client() throws Exception {
+        long size = 32L * 1024 * 1024 + 5;
+        for (HttpServer adapter : List.of(viaVertx, viaJdk)) {
+            for (boolean withLength : List.of(true, false)) {
+                Upload up = await(upload(adapter.actualPort(), "/adapter/upload/files", size, withLength));
+                assertEquals(200, up.response().statusCode(), up.body().toString());
+                assertEquals("stored", up.response().getHeader("X-OF-Rule-Id"));
+                JsonObject seen = up.body().toJsonObject();
+                assertEquals(size, seen.getLong("bytes"));
+                assertTrue(seen.getBoolean("intact"));
+            }
+        }
+    }
+
+    @Test
+    void upstream_that_stops_reading_holds_back_the_client() throws Exception {
+        long size = 256L * 1024 * 1024;
+        Promise<Upload> ignored = Promise.promise();
+        AtomicLong written = new AtomicLong();
+        client.request(HttpMethod.POST, viaVertx.actualPort(), "127.0.0.1", "/adapter/upload/slow").onSuccess(req -> {
+            req.putHeader("Content-Length", Long.toString(size));
+            pump(req, size, written);
+            req.response().onComplete(ar -> ignored.tryComplete());
+        });
+        Thread.sleep(1500);
+
+        long held = written.get();
+        assertTrue(held > 0);
+        assertTrue(held < size / 4, "client wrote " + held + " bytes to an upstream that reads nothing");
+    }
+
+    @Test
+    void declared_length_over_the_cap_is_refused_before_the_upstream_call() throws Exception {
+        Upload up = await(upload(viaVertx.actualPort(), "/adapter/small/files", 2L * 1024 * 1024, true)
+                .recover(err -> Future.failedFuture(new AssertionError("connection dropped before the 413", err))));
+
+        assertEquals(413, up.response().statusCode());
+        assertEquals("application/problem+json", up.response().getHeader("Content-Type"));
+        assertEquals(413, up.body().toJsonObject().getInteger("status"));
+        assertEquals(0, upstreamCalls.get());
+    }
+
+    @Test
+    void chunked_body_over_the_cap_is_cut_off_while_streaming() throws Exception {
+        long size = 8L * 1024 * 1024;
+        Upload up = await(upload(viaVertx.actualPort(), "/adapter/small/files", size, false));
+
+        assertEquals(413, up.response().statusCode());
+        assertTrue(upstreamReceived.get() <= 1024 * 1024, "upstream received " + upstreamReceived.get());
+        assertTrue(up.written().get() < size, "client was stopped before sending everything");
+    }
+
+    @Test
+    void requests_without_a_body_fall_through_to_the_resource() throws Exception {
+        Buffer body = client.request(HttpMethod.GET, viaVertx.actualPort(), "127.0.0.1", "/adapter/upload/files")
+                .compose(req -> req.send().compose(HttpClientResponse::body))
+                .toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals("fallback", body.toString());
+    }
+}
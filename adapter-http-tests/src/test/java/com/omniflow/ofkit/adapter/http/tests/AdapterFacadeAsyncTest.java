@@ -0,0 +1,69 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.CacheGateway;
+import com.omniflow.ofkit.adapter.http.app.RetryGateway;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine;
+import com.omniflow.ofkit.adapter.http.domain.rules.StatusPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.SuccessRule;
+import com.omniflow.ofkit.adapter.http.infra.cache.InMemoryCacheStore;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFacadeAsyncTest {
+
+    private static AdapterProfile profile() {
+        SuccessRule ok = new SuccessRule("ok-2xx", new StatusPredicate(200, 299), null);
+        CachePolicy cache = new CachePolicy(true, 60, 0, 0, true, true, List.of(), 0, 0);
+        return new AdapterProfile("p", "http://localhost", List.of(ok), List.of(),
+                ProblemDetails.of("about:blank", "Erreur", 502, ""), cache, RetrySpec.disabled(),
+                HttpClientSpec.defaults(), new AuthSpec.None());
+    }
+
+    @Test
+    void completes_when_upstream_completes_and_caches_result() throws Exception {
+        CompletableFuture<HttpResponse> pending = new CompletableFuture<>();
+        int[] calls = {0};
+        HttpPort port = new HttpPort() {
+            @Override public HttpResponse execute(HttpRequest request) { throw new AssertionError("blocking path used"); }
+            @Override public CompletionStage<HttpResponse> executeAsync(HttpRequest request) { calls[0]++; return pending; }
+        };
+        AdapterProfile p = profile();
+        AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), id -> Optional.of(p),
+                new CacheGateway(new InMemoryCacheStore()), new RetryGateway());
+        HttpRequest req = new HttpRequest("GET", URI.create("http://localhost/a"), Map.of(), null);
+
+        CompletionStage<Result> stage = facade.handleAsync("p", req);
+        assertFalse(stage.toCompletableFuture().isDone(), "result must wait for the upstream stage");
+
+        pending.complete(new HttpResponse(200, Map.of(), "v".getBytes()));
+        Result first = stage.toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals("ok-2xx", ((Result.Success) first).ruleId());
+
+        Result second = facade.handleAsync("p", req).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertInstanceOf(Result.Success.class, second);
+        assertEquals(1, calls[0], "second call served from cache");
+    }
+
+    @Test
+    void unknown_profile_fails_the_stage() {
+        AdapterFacade facade = new AdapterFacade(req -> null, new RuleEngine(), id -> Optional.empty());
+        HttpRequest req = new HttpRequest("GET", URI.create("http://localhost/a"), Map.of(), null);
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> facade.handleAsync("nope", req).toCompletableFuture().get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        assertThrows(IllegalArgumentException.class, () -> facade.handle("nope", req));
+    }
+}
@@ -0,0 +1,100 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.CacheGateway;
+import com.omniflow.ofkit.adapter.http.app.RetryGateway;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine;
+import com.omniflow.ofkit.adapter.http.domain.rules.StatusPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.SuccessRule;
+import com.omniflow.ofkit.adapter.http.infra.cache.InMemoryCacheStore;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFacadeBlockingModeTest {
+
+    /** Answers 503 then 200 with a blocking execute; the async path must not be taken. */
+    static class BlockingPort implements HttpPort {
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger calls = new AtomicInteger();
+        final int failures;
+        BlockingPort(int failures) { this.failures = failures; }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws Exception {
+            threads.add(Thread.currentThread());
+            Thread.sleep(20);
+            return new HttpResponse(calls.incrementAndGet() <= failures ? 503 : 200, Map.of(), new byte[0]);
+        }
+
+        @Override
+        public CompletionStage<HttpResponse> executeAsync(HttpRequest request) {
+            throw new AssertionError("async path used");
+        }
+    }
+
+    private static AdapterProfile profile(CachePolicy cache) {
+        SuccessRule ok = new SuccessRule("ok-2xx", new StatusPredicate(200, 299), null);
+        return new AdapterProfile("p", "http://localhost", List.of(ok), List.of(),
+                ProblemDetails.of("about:blank", "Erreur", 502, ""), cache, new RetrySpec(true, 2, 10, 10, false, false, true),
+                HttpClientSpec.defaults(), new AuthSpec.None());
+    }
+
+    @Test
+    void handle_runs_cache_retry_and_upstream_on_the_calling_thread() throws Exception {
+        BlockingPort port = new BlockingPort(1);
+        AdapterProfile p = profile(new CachePolicy(true, 60, 0, 0, true, true, List.of(), 0, 0));
+        AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), id -> Optional.of(p),
+                new CacheGateway(new InMemoryCacheStore()), new RetryGateway());
+        HttpRequest req = new HttpRequest("GET", URI.create("http://localhost/a"), Map.of(), null);
+
+        Result r = facade.handle("p", req);
+
+        assertInstanceOf(Result.Success.class, r);
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), port.threads, "503 retried on the caller");
+        assertInstanceOf(Result.Success.class, facade.handle("p", req));
+        assertEquals(2, port.calls.get(), "second call served from cache");
+    }
+
+    @Test
+    void concurrent_blocking_callers_each_keep_their_own_thread() throws Exception {
+        BlockingPort port = new BlockingPort(0);
+        AdapterProfile p = profile(CachePolicy.disabled());
+        AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), id -> Optional.of(p), null, new RetryGateway());
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Thread>> callers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                HttpRequest req = new HttpRequest("GET", URI.create("http://localhost/" + i), Map.of(), null);
+                callers.add(pool.submit(() -> {
+                    start.await();
+                    assertInstanceOf(Result.Success.class, facade.handle("p", req));
+                    return Thread.currentThread();
+                }));
+            }
+            start.countDown();
+            List<Thread> callerThreads = new ArrayList<>();
+            for (Future<Thread> f : callers) callerThreads.add(f.get(5, TimeUnit.SECONDS));
+            assertTrue(callerThreads.containsAll(port.threads) && port.threads.size() == 8);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.CircuitBreakerGateway;
+import com.omniflow.ofkit.adapter.http.app.CircuitOpenException;
+import com.omniflow.ofkit.adapter.http.app.RetryGateway;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine;
+import com.omniflow.ofkit.adapter.http.domain.rules.StatusPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.SuccessRule;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFacadeCircuitBreakerTest {
+
+    private static final ProblemDetails OPEN = ProblemDetails.of("urn:ofkit:circuit-open", "Upstream down", 503, "try later");
+
+    private static AdapterProfile profile(boolean perHost) {
+        SuccessRule ok = new SuccessRule("ok-2xx", new StatusPredicate(200, 299), null);
+        CircuitBreakerSpec cb = new CircuitBreakerSpec(true, 4, 4, 50, 60_000, 1, perHost, OPEN);
+        return new AdapterProfile("p", "http://a", List.of(ok), List.of(),
+                ProblemDetails.of("about:blank", "Erreur", 502, ""), CachePolicy.disabled(),
+                new RetrySpec(true, 1, 0, 0, false, false, true), HttpClientSpec.defaults(), new AuthSpec.None(),
+                null, StreamingSpec.disabled(), new ResilienceSpec(cb));
+    }
+
+    private static HttpRequest get(String url) {
+        return new HttpRequest("GET", URI.create(url), Map.of(), null);
+    }
+
+    @Test
+    void open_circuit_answers_with_the_configured_problem_without_calling_upstream() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HttpPort dead = request -> {
+            calls.incrementAndGet();
+            throw new ConnectException("refused");
+        };
+        AdapterProfile p = profile(false);
+        AdapterFacade facade = new AdapterFacade(dead, new RuleEngine(), id -> Optional.of(p), null, new RetryGateway(), null, new CircuitBreakerGateway());
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(Exception.class, () -> facade.handleAsync("p", get("http://a/x")).toCompletableFuture().get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(8, calls.get(), "one outcome per request, after its retry");
+
+        Result r = facade.handleAsync("p", get("http://a/x")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Result.Failure f = assertInstanceOf(Result.Failure.class, r);
+        assertEquals(OPEN, f.problem());
+        assertEquals(CircuitOpenException.RULE_ID, f.ruleId());
+        assertInstanceOf(Result.Failure.class, facade.handle("p", get("http://a/x")), "blocking path fails fast too");
+        assertEquals(8, calls.get());
+    }
+
+    @Test
+    void per_host_circuits_are_independent() throws Exception {
+        HttpPort port = request -> new HttpResponse("bad".equals(request.uri().getHost()) ? 503 : 200, Map.of(), new byte[0]);
+        AdapterProfile p = profile(true);
+        AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), id -> Optional.of(p), null, null, null, new CircuitBreakerGateway());
+
+        for (int i = 0; i < 4; i++) facade.handle("p", get("http://bad/x"));
+        Result.Failure f = assertInstanceOf(Result.Failure.class, facade.handle("p", get("http://bad/x")));
+        assertEquals(CircuitOpenException.RULE_ID, f.ruleId());
+        assertInstanceOf(Result.Success.class, facade.handle("p", get("http://good/x")));
+    }
+}
@@ -0,0 +1,128 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.CacheGateway;
+import com.omniflow.ofkit.adapter.http.app.ProfileRegistry;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.*;
+import com.omniflow.ofkit.adapter.http.infra.cache.InMemoryCacheStore;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFacadeCompressionTest {
+    static final String JSON = "{\"status\":\"OK\",\"items\":[1,2,3]}";
+
+    /** Gzips its answer when asked to, like a typical upstream, and records what it was asked. */
+    static class GzipUpstream implements HttpPort {
+        final List<String> acceptEncodings = new ArrayList<>();
+        final byte[] gzipped;
+        GzipUpstream() throws Exception { gzipped = ContentCodingTest.gzip(JSON.getBytes(StandardCharsets.UTF_8)); }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            List<String> ae = request.headers().get("Accept-Encoding");
+            acceptEncodings.add(ae == null ? null : String.join(",", ae));
+            if (ae == null || !ae.get(0).contains("gzip")) {
+                return new HttpResponse(200, Map.of("Content-Type", List.of("application/json")), JSON.getBytes(StandardCharsets.UTF_8));
+            }
+            return new HttpResponse(200, Map.of("Content-Type", List.of("application/json"), "Content-Encoding", List.of("gzip")), gzipped);
+        }
+    }
+
+    private static AdapterProfile profile(boolean compression, CachePolicy cache) {
+        SuccessRule ok = new SuccessRule("ok", JsonPointerPredicate.equalsAt("/status", "OK"), null);
+        HttpClientSpec d = HttpClientSpec.defaults();
+        HttpClientSpec http = new HttpClientSpec(d.connectTimeoutMs(), d.readTimeoutMs(), d.ssl(), d.maxPoolSize(), d.maxWaitQueueSize(),
+                d.keepAlive(), d.keepAliveTimeoutSeconds(), d.version(), d.h2(), compression);
+        return new AdapterProfile("p", "http://upstream", List.of(ok), List.of(), ProblemDetails.of("about:blank", "t", 502, ""),
+                cache, RetrySpec.disabled(), http, new AuthSpec.None());
+    }
+
+    private static HttpRequest get(Map<String, List<String>> headers) {
+        return new HttpRequest("GET", URI.create("http://upstream/items"), headers, null);
+    }
+
+    @Test
+    void compressed_body_passes_through_untouched_to_a_client_that_accepts_it() throws Exception {
+        GzipUpstream upstream = new GzipUpstream();
+        ProfileRegistry registry = id -> Optional.of(profile(true, CachePolicy.disabled()));
+        AdapterFacade facade = new AdapterFacade(upstream, new RuleEngine(), registry);
+
+        Result r = facade.handle("p", get(Map.of("Accept-Encoding", List.of("gzip"))));
+
+        HttpResponse out = assertInstanceOf(Result.Success.class, r).response();
+        assertSame(upstream.gzipped, out.body(), "rules read the body, but the client gets the upstream bytes");
+        assertEquals(List.of("gzip"), out.headers().get("Content-Encoding"));
+        assertEquals(ContentCoding.acceptEncoding(), upstream.acceptEncodings.get(0));
+    }
+
+    @Test
+    void client_without_the_coding_gets_the_decoded_body() throws Exception {
+        GzipUpstream upstream = new GzipUpstream();
+        ProfileRegistry registry = id -> Optional.of(profile(true, CachePolicy.disabled()));
+        AdapterFacade facade = new AdapterFacade(upstream, new RuleEngine(), registry);
+
+        HttpResponse out = ((Result.Success) facade.handle("p", get(Map.of()))).response();
+
+        assertEquals(JSON, new String(out.body(), StandardCharsets.UTF_8));
+        assertNull(out.headers().get("Content-Encoding"));
+        assertEquals(List.of("application/json"), out.headers().get("Content-Type"));
+    }
+
+    @Test
+    void without_the_profile_flag_the_clients_accept_encoding_is_forwarded() throws Exception {
+        GzipUpstream upstream = new GzipUpstream();
+        ProfileRegistry registry = id -> Optional.of(profile(false, CachePolicy.disabled()));
+        AdapterFacade facade = new AdapterFacade(upstream, new RuleEngine(), registry);
+
+        HttpResponse out = ((Result.Success) facade.handle("p", get(Map.of()))).response();
+
+        assertNull(upstream.acceptEncodings.get(0));
+        assertEquals(JSON, new String(out.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void cache_keeps_the_compressed_form_for_every_client() throws Exception {
+        GzipUpstream upstream = new GzipUpstream();
+        CachePolicy cache = new CachePolicy(true, 60, 0, 0, true, true, List.of(), 1024, 0);
+        ProfileRegistry registry = id -> Optional.of(profile(true, cache));
+        InMemoryCacheStore store = new InMemoryCacheStore();
+        AdapterFacade facade = new AdapterFacade(upstream, new RuleEngine(), registry, new CacheGateway(store));
+
+        HttpResponse plain = ((Result.Success) facade.handle("p", get(Map.of()))).response();
+        HttpResponse gz = ((Result.Success) facade.handle("p", get(Map.of("Accept-Encoding", List.of("gzip, br"))))).response();
+
+        assertEquals(1, upstream.acceptEncodings.size(), "second client served from cache");
+        assertEquals(JSON, new String(plain.body(), StandardCharsets.UTF_8));
+        assertArrayEquals(upstream.gzipped, gz.body());
+        assertEquals(List.of("gzip"), gz.headers().get("Content-Encoding"));
+    }
+
+    @Test
+    void body_decoding_past_the_cap_is_answered_with_a_problem() throws Exception {
+        byte[] bomb = ContentCodingTest.gzip(new byte[4 * 1024 * 1024]);
+        HttpPort upstream = request -> new HttpResponse(200, Map.of("Content-Encoding", List.of("gzip")), bomb);
+        HttpClientSpec d = HttpClientSpec.defaults();
+        HttpClientSpec http = new HttpClientSpec(d.connectTimeoutMs(), d.readTimeoutMs(), d.ssl(), d.maxPoolSize(), d.maxWaitQueueSize(),
+                d.keepAlive(), d.keepAliveTimeoutSeconds(), d.version(), d.h2(), true, 64);
+        AdapterProfile p = new AdapterProfile("p", "http://upstream", List.of(new SuccessRule("ok", new StatusPredicate(200, 299), null)), List.of(),
+                ProblemDetails.of("about:blank", "t", 502, ""), CachePolicy.disabled(), RetrySpec.disabled(), http, new AuthSpec.None());
+        AdapterFacade facade = new AdapterFacade(upstream, new RuleEngine(), id -> Optional.of(p));
+
+        Result.Failure f = assertInstanceOf(Result.Failure.class, facade.handle("p", get(Map.of())));
+        assertEquals("decoded-body-too-large", f.ruleId());
+        assertEquals(502, f.problem().status());
+
+        HttpResponse passed = assertInstanceOf(Result.Success.class, facade.handle("p", get(Map.of("Accept-Encoding", List.of("gzip"))))).response();
+        assertSame(bomb, passed.body(), "a client taking gzip gets the bytes without the adapter inflating them");
+    }
+}
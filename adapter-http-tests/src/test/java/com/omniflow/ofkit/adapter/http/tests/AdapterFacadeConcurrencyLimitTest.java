@@ -0,0 +1,158 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.CircuitBreakerGateway;
+import com.omniflow.ofkit.adapter.http.app.ConcurrencyLimitGateway;
+import com.omniflow.ofkit.adapter.http.app.LimitExceededException;
+import com.omniflow.ofkit.adapter.http.app.RetryGateway;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine;
+import com.omniflow.ofkit.adapter.http.domain.rules.StatusPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.SuccessRule;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFacadeConcurrencyLimitTest {
+
+    private static final ProblemDetails BUSY = ProblemDetails.of("urn:ofkit:busy", "Too busy", 503, "later");
+
+    private static AdapterProfile profile() {
+        return profile(RetrySpec.disabled());
+    }
+
+    private static AdapterProfile profile(RetrySpec retry) {
+        SuccessRule ok = new SuccessRule("ok-2xx", new StatusPredicate(200, 299), null);
+        ConcurrencyLimitSpec limit = new ConcurrencyLimitSpec(true, ConcurrencyLimitSpec.Algorithm.AIMD, 2, 2, 10, 0.9, 2.0, BUSY);
+        return new AdapterProfile("p", "http://a", List.of(ok), List.of(),
+                ProblemDetails.of("about:blank", "Erreur", 502, ""), CachePolicy.disabled(),
+                retry, HttpClientSpec.defaults(), new AuthSpec.None(),
+                null, StreamingSpec.disabled(), new ResilienceSpec(null, limit));
+    }
+
+    private static MetricsPort gauging(List<LongSupplier> gauges) {
+        return new MetricsPort() {
+            @Override public void incrementCacheHit(String profileId) { }
+            @Override public void incrementCacheMiss(String profileId) { }
+            @Override public void incrementCacheSwr(String profileId) { }
+            @Override public void incrementCacheSie(String profileId) { }
+            @Override public void incrementCacheRevalidate(String profileId) { }
+            @Override public void incrementCacheNegative(String profileId) { }
+            @Override public void incrementCacheEviction(String profileId) { }
+            @Override public void gaugeConcurrencyLimit(String profileId, LongSupplier limit, LongSupplier inFlight) {
+                gauges.add(limit);
+                gauges.add(inFlight);
+            }
+        };
+    }
+
+    @Test
+    void each_attempt_holds_its_own_permit_and_none_during_retry_backoff() throws Exception {
+        List<CompletableFuture<HttpResponse>> pending = new CopyOnWriteArrayList<>();
+        HttpPort port = new HttpPort() {
+            @Override
+            public HttpResponse execute(HttpRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletionStage<HttpResponse> executeAsync(HttpRequest request) {
+                CompletableFuture<HttpResponse> f = new CompletableFuture<>();
+                pending.add(f);
+                return f;
+            }
+        };
+        List<LongSupplier> gauges = new CopyOnWriteArrayList<>();
+        AdapterProfile p = profile(new RetrySpec(true, 1, 400, 400, false, false, true));
+        AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), id -> Optional.of(p), null, new RetryGateway(), null,
+                new CircuitBreakerGateway(), new ConcurrencyLimitGateway(gauging(gauges)));
+        HttpRequest get = new HttpRequest("GET", URI.create("http://a/x"), Map.of(), null);
+
+        CompletionStage<Result> call = facade.handleAsync("p", get);
+        assertEquals(1, gauges.get(1).getAsLong());
+        pending.get(0).complete(new HttpResponse(503, Map.of(), new byte[0]));
+        assertEquals(0, gauges.get(1).getAsLong(), "the failed attempt gave its permit back before the backoff");
+        facade.handleAsync("p", get);
+        facade.handleAsync("p", get);
+        assertEquals(2, gauges.get(1).getAsLong(), "the backoff leaves both permits to other calls");
+
+        pending.get(1).complete(new HttpResponse(200, Map.of(), new byte[0]));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (pending.size() < 4 && System.nanoTime() < deadline) Thread.sleep(10);
+        assertEquals(4, pending.size(), "the retry took a permit of its own after the backoff");
+        pending.get(3).complete(new HttpResponse(200, Map.of(), new byte[0]));
+        pending.get(2).complete(new HttpResponse(200, Map.of(), new byte[0]));
+        assertInstanceOf(Result.Success.class, call.toCompletableFuture().get(1, TimeUnit.SECONDS));
+        assertEquals(0, gauges.get(1).getAsLong());
+    }
+
+    @Test
+    void calls_over_the_limit_are_refused_at_once_with_the_configured_problem() throws Exception {
+        List<CompletableFuture<HttpResponse>> pending = new CopyOnWriteArrayList<>();
+        HttpPort slow = new HttpPort() {
+            @Override
+            public HttpResponse execute(HttpRequest request) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletionStage<HttpResponse> executeAsync(HttpRequest request) {
+                CompletableFuture<HttpResponse> f = new CompletableFuture<>();
+                pending.add(f);
+                return f;
+            }
+        };
+        AtomicInteger rejected = new AtomicInteger();
+        List<LongSupplier> gauges = new CopyOnWriteArrayList<>();
+        MetricsPort metrics = new MetricsPort() {
+            @Override public void incrementCacheHit(String profileId) { }
+            @Override public void incrementCacheMiss(String profileId) { }
+            @Override public void incrementCacheSwr(String profileId) { }
+            @Override public void incrementCacheSie(String profileId) { }
+            @Override public void incrementCacheRevalidate(String profileId) { }
+            @Override public void incrementCacheNegative(String profileId) { }
+            @Override public void incrementCacheEviction(String profileId) { }
+            @Override public void incrementLimitRejected(String profileId) { rejected.incrementAndGet(); }
+            @Override public void gaugeConcurrencyLimit(String profileId, LongSupplier limit, LongSupplier inFlight) {
+                gauges.add(limit);
+                gauges.add(inFlight);
+            }
+        };
+        AdapterProfile p = profile();
+        AdapterFacade facade = new AdapterFacade(slow, new RuleEngine(), id -> Optional.of(p), null, null, null,
+                new CircuitBreakerGateway(), new ConcurrencyLimitGateway(metrics));
+        HttpRequest get = new HttpRequest("GET", URI.create("http://a/x"), Map.of(), null);
+
+        CompletionStage<Result> first = facade.handleAsync("p", get);
+        CompletionStage<Result> second = facade.handleAsync("p", get);
+        Result third = facade.handleAsync("p", get).toCompletableFuture().get(1, TimeUnit.SECONDS);
+        Result.Failure f = assertInstanceOf(Result.Failure.class, third);
+        assertEquals(BUSY, f.problem());
+        assertEquals(LimitExceededException.RULE_ID, f.ruleId());
+        assertEquals(2, pending.size(), "the refused call never reached upstream");
+        assertEquals(1, rejected.get());
+        assertEquals(2, gauges.get(0).getAsLong());
+        assertEquals(2, gauges.get(1).getAsLong());
+
+        pending.forEach(r -> r.complete(new HttpResponse(200, Map.of(), new byte[0])));
+        assertInstanceOf(Result.Success.class, first.toCompletableFuture().get(1, TimeUnit.SECONDS));
+        assertInstanceOf(Result.Success.class, second.toCompletableFuture().get(1, TimeUnit.SECONDS));
+        assertEquals(0, gauges.get(1).getAsLong());
+        assertEquals(3, gauges.get(0).getAsLong(), "both calls ran at the limit: AIMD grew it");
+        facade.handleAsync("p", get);
+        assertEquals(3, pending.size(), "permits were given back");
+    }
+}
@@ -0,0 +1,142 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.CircuitBreakerGateway;
+import com.omniflow.ofkit.adapter.http.app.DeadlineExceededException;
+import com.omniflow.ofkit.adapter.http.app.RetryGateway;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine;
+import com.omniflow.ofkit.adapter.http.domain.rules.StatusPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.SuccessRule;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFacadeDeadlineTest {
+
+    private static final ProblemDetails LATE = ProblemDetails.of("urn:ofkit:late", "Too late", 504, "deadline");
+
+    private static AdapterProfile profile(long totalMs, RetrySpec retry) {
+        SuccessRule ok = new SuccessRule("ok-2xx", new StatusPredicate(200, 299), null);
+        // breaker opens on the first failure: a timed-out attempt is one, a cancelled request is not
+        CircuitBreakerSpec cb = new CircuitBreakerSpec(true, 1, 1, 100, 60_000, 1, false, null);
+        return new AdapterProfile("p", "http://a", List.of(ok), List.of(),
+                ProblemDetails.of("about:blank", "Erreur", 502, ""), CachePolicy.disabled(),
+                retry, new HttpClientSpec(1000, 5000, new SslSpec(false), 10, 10, true, 30), new AuthSpec.None(),
+                null, StreamingSpec.disabled(), new ResilienceSpec(cb, null, null, new DeadlineSpec(true, totalMs, null, LATE)));
+    }
+
+    /** Upstream that never answers on its own; every attempt and its request are kept. */
+    private static final class Hanging implements HttpPort {
+        final List<CompletableFuture<HttpResponse>> calls = new CopyOnWriteArrayList<>();
+        final List<HttpRequest> requests = new CopyOnWriteArrayList<>();
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<HttpResponse> executeAsync(HttpRequest request) {
+            CompletableFuture<HttpResponse> f = new CompletableFuture<>();
+            requests.add(request);
+            calls.add(f);
+            return f;
+        }
+    }
+
+    @Test
+    void header_tightens_the_deadline_and_the_late_request_gets_the_problem() throws Exception {
+        Hanging upstream = new Hanging();
+        AdapterProfile p = profile(10_000, RetrySpec.disabled());
+        AdapterFacade facade = new AdapterFacade(upstream, new RuleEngine(), id -> Optional.of(p), null, new RetryGateway(), null, new CircuitBreakerGateway());
+        HttpRequest get = new HttpRequest("GET", URI.create("http://a/x"), Map.of("x-of-deadline-ms", List.of("80")), null);
+
+        long t0 = System.nanoTime();
+        Result r = facade.handleAsync("p", get).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+        Result.Failure f = assertInstanceOf(Result.Failure.class, r);
+        assertEquals(LATE, f.problem());
+        assertEquals(DeadlineExceededException.RULE_ID, f.ruleId());
+        assertTrue(tookMs >= 70 && tookMs < 2000, "answered at the deadline: " + tookMs);
+        assertTrue(upstream.calls.get(0).isCancelled(), "the attempt still running is cancelled");
+
+        HttpRequest sent = upstream.requests.get(0);
+        assertFalse(sent.headers().containsKey("x-of-deadline-ms"), "deadline header is not forwarded");
+        assertTrue(sent.deadline().bounded());
+        assertTrue(sent.deadline().attemptTimeoutMs(5000) <= 80, "attempt timeout cut to the time left");
+
+        // the attempt the deadline cut off counts against the upstream: the breaker opened on it
+        Result next = facade.handleAsync("p", new HttpRequest("GET", URI.create("http://a/x"), Map.of(), null))
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(1, upstream.calls.size(), "circuit open");
+        assertEquals("circuit-open", assertInstanceOf(Result.Failure.class, next).ruleId());
+    }
+
+    @Test
+    void no_retry_is_started_that_cannot_finish_in_time() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HttpPort down = request -> {
+            calls.incrementAndGet();
+            return new HttpResponse(500, Map.of(), new byte[0]);
+        };
+        // 100 ms backoff, doubling: attempts at ~0, 100 and 300 ms; only the first two fit in 250 ms
+        AdapterProfile p = profile(250, new RetrySpec(true, 5, 100, 10_000, false, false, true));
+        AdapterFacade facade = new AdapterFacade(down, new RuleEngine(), id -> Optional.of(p), null, new RetryGateway(), null, null);
+        HttpRequest get = new HttpRequest("GET", URI.create("http://a/x"), Map.of(), null);
+
+        Result async = facade.handleAsync("p", get).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals("generic_problem", assertInstanceOf(Result.Failure.class, async).ruleId(), "the last upstream answer, not a timeout");
+        assertEquals(2, calls.get());
+
+        assertInstanceOf(Result.Failure.class, facade.handle("p", get));
+        assertEquals(4, calls.get(), "same budget on the blocking path");
+    }
+
+    @Test
+    void cancelling_the_request_cancels_the_upstream_call() throws Exception {
+        Hanging upstream = new Hanging();
+        AdapterProfile p = profile(10_000, RetrySpec.disabled());
+        AdapterFacade facade = new AdapterFacade(upstream, new RuleEngine(), id -> Optional.of(p), null, new RetryGateway(), null, new CircuitBreakerGateway());
+
+        CompletionStage<Result> r = facade.handleAsync("p", new HttpRequest("GET", URI.create("http://a/x"), Map.of(), null));
+        assertEquals(1, upstream.calls.size());
+        r.toCompletableFuture().cancel(true);
+        assertTrue(upstream.calls.get(0).isCancelled());
+        assertTrue(upstream.requests.get(0).deadline().isCancelled());
+
+        // the client leaving says nothing about the upstream: the circuit stays closed
+        CompletionStage<Result> next = facade.handleAsync("p", new HttpRequest("GET", URI.create("http://a/x"), Map.of(), null));
+        assertEquals(2, upstream.calls.size(), "circuit still closed");
+        upstream.calls.get(1).complete(new HttpResponse(200, Map.of(), new byte[0]));
+        assertInstanceOf(Result.Success.class, next.toCompletableFuture().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void a_call_refused_past_the_deadline_is_not_an_upstream_failure() throws Exception {
+        Hanging upstream = new Hanging();
+        AdapterProfile p = profile(10_000, RetrySpec.disabled());
+        AdapterFacade facade = new AdapterFacade(upstream, new RuleEngine(), id -> Optional.of(p), null, new RetryGateway(), null, new CircuitBreakerGateway());
+
+        Result late = facade.handleAsync("p", new HttpRequest("GET", URI.create("http://a/x"), Map.of(), null, null, Deadline.after(0)))
+                .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(DeadlineExceededException.RULE_ID, assertInstanceOf(Result.Failure.class, late).ruleId());
+        assertEquals(0, upstream.calls.size(), "never started");
+
+        CompletionStage<Result> next = facade.handleAsync("p", new HttpRequest("GET", URI.create("http://a/x"), Map.of(), null));
+        assertEquals(1, upstream.calls.size(), "circuit still closed");
+        upstream.calls.get(0).complete(new HttpResponse(200, Map.of(), new byte[0]));
+        assertInstanceOf(Result.Success.class, next.toCompletableFuture().get(5, TimeUnit.SECONDS));
+    }
+}
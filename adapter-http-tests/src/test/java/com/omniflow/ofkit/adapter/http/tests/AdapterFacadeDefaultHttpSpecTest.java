@@ -25,22 +25,15 @@ class AdapterFacadeDefaultHttpSpecTest {
                 CachePolicy.disabled(), RetrySpec.disabled(), null, new AuthSpec.None());
         ProfileRegistry registry = pid -> Optional.of(profile);
 
-        final HttpRequest[] seen = new HttpRequest[1];
-        HttpPort port = req -> { seen[0] = req; return new HttpResponse(200, Map.of(), new byte[0]); };
+        final HttpClientSpec[] bound = new HttpClientSpec[1];
+        HttpPort port = new HttpPort() {
+            @Override public HttpResponse execute(HttpRequest req) { return new HttpResponse(200, Map.of(), new byte[0]); }
+            @Override public HttpPort bind(HttpClientSpec spec) { bound[0] = spec; return this; }
+        };
         AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), registry);
         HttpRequest input = new HttpRequest("GET", URI.create("http://localhost/test"), Map.of(), null);
         var res = facade.handle("p", input);
         assertInstanceOf(Result.Success.class, res);
-        Map<String, List<String>> h = seen[0].headers();
-        assertEquals("10000", first(h, "X-OF-Read-Timeout-Ms"));
-        assertEquals("5000", first(h, "X-OF-Connect-Timeout-Ms"));
-        assertEquals("true", first(h, "X-OF-HTTP-Keep-Alive"));
-    }
-
-    private static String first(Map<String, List<String>> headers, String name) {
-        List<String> v = headers.get(name);
-        if (v == null) for (var e : headers.entrySet()) if (e.getKey() != null && e.getKey().equalsIgnoreCase(name)) { v = e.getValue(); break; }
-        return v == null || v.isEmpty() ? null : v.get(0);
+        assertEquals(HttpClientSpec.defaults(), bound[0]);
     }
 }
-
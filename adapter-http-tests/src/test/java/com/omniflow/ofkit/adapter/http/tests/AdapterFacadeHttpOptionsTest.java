@@ -19,7 +19,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class AdapterFacadeHttpOptionsTest {
 
     @Test
-    void adorns_http_headers_from_profile() throws Exception {
+    void binds_profile_http_options_without_control_headers() throws Exception {
         // Arrange a profile with specific HTTP options
         HttpClientSpec http = new HttpClientSpec(1234, 5678, new SslSpec(true), 77, 99, false, 33);
         SuccessRule ok = new SuccessRule("ok-2xx", new StatusPredicate(200, 299), null);
@@ -28,30 +28,34 @@ class AdapterFacadeHttpOptionsTest {
                 CachePolicy.disabled(), RetrySpec.disabled(), http, new AuthSpec.None());
         ProfileRegistry registry = pid -> Optional.of(profile);
 
-        // Capture the request that Facade passes to HttpPort
+        // Capture the spec the port is bound to and the request it receives
         final HttpRequest[] seen = new HttpRequest[1];
-        HttpPort port = req -> {
-            seen[0] = req;
-            return new HttpResponse(200, Map.of(), new byte[0]);
+        final List<HttpClientSpec> bound = new java.util.ArrayList<>();
+        HttpPort port = new HttpPort() {
+            @Override public HttpResponse execute(HttpRequest req) {
+                seen[0] = req;
+                return new HttpResponse(200, Map.of(), new byte[0]);
+            }
+            @Override public HttpPort bind(HttpClientSpec spec) {
+                bound.add(spec);
+                return this;
+            }
         };
 
         AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), registry);
-        HttpRequest input = new HttpRequest("GET", URI.create("http://localhost/test"), Map.of(), null);
+        HttpRequest input = new HttpRequest("GET", URI.create("http://localhost/test"), Map.of("Accept", List.of("application/json")), null);
 
         // Act
         var res = facade.handle("p", input);
+        facade.handle("p", input);
 
-        // Assert
+        // Assert: bound once with the profile's options, nothing encoded into upstream headers
         assertInstanceOf(Result.Success.class, res);
+        assertEquals(List.of(http), bound);
         assertNotNull(seen[0]);
         Map<String, List<String>> h = seen[0].headers();
-        assertEquals("5678", first(h, "X-OF-Read-Timeout-Ms"));
-        assertEquals("1234", first(h, "X-OF-Connect-Timeout-Ms"));
-        assertEquals("true", first(h, "X-OF-SSL-Insecure"));
-        assertEquals("77", first(h, "X-OF-HTTP-Max-Pool-Size"));
-        assertEquals("99", first(h, "X-OF-HTTP-Max-Wait-Queue"));
-        assertEquals("false", first(h, "X-OF-HTTP-Keep-Alive"));
-        assertEquals("33", first(h, "X-OF-HTTP-Keep-Alive-Timeout-S"));
+        assertEquals("application/json", first(h, "Accept"));
+        assertTrue(h.keySet().stream().noneMatch(k -> k.regionMatches(true, 0, "X-OF-", 0, 5)), "control headers leaked: " + h.keySet());
     }
 
     private static String first(Map<String, List<String>> headers, String name) {
@@ -0,0 +1,140 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.CircuitBreakerGateway;
+import com.omniflow.ofkit.adapter.http.app.RateLimitGateway;
+import com.omniflow.ofkit.adapter.http.app.RateLimitedException;
+import com.omniflow.ofkit.adapter.http.app.RetryGateway;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.ports.MetricsPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine;
+import com.omniflow.ofkit.adapter.http.domain.rules.StatusPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.SuccessRule;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFacadeRateLimitTest {
+
+    private static final ProblemDetails QUOTA = ProblemDetails.of("urn:ofkit:quota", "Quota", 429, "slow down");
+
+    private static AdapterProfile profile(RateLimitSpec rateLimit) {
+        SuccessRule ok = new SuccessRule("ok-2xx", new StatusPredicate(200, 299), null);
+        // Retries on 503 and breaker on, to check a refused attempt is neither retried nor counted
+        CircuitBreakerSpec cb = new CircuitBreakerSpec(true, 1, 1, 100, 60_000, 1, false, null);
+        return new AdapterProfile("p", "http://a", List.of(ok), List.of(),
+                ProblemDetails.of("about:blank", "Erreur", 502, ""), CachePolicy.disabled(),
+                new RetrySpec(true, 3, 0, 0, false, false, true), HttpClientSpec.defaults(), new AuthSpec.None(),
+                null, StreamingSpec.disabled(), new ResilienceSpec(cb, null, rateLimit));
+    }
+
+    private static HttpRequest get(String path) {
+        return new HttpRequest("GET", URI.create("http://a" + path), Map.of(), null);
+    }
+
+    private static MetricsPort metrics(List<String> rejectedRoutes, AtomicInteger waits) {
+        return new MetricsPort() {
+            @Override public void incrementCacheHit(String profileId) { }
+            @Override public void incrementCacheMiss(String profileId) { }
+            @Override public void incrementCacheSwr(String profileId) { }
+            @Override public void incrementCacheSie(String profileId) { }
+            @Override public void incrementCacheRevalidate(String profileId) { }
+            @Override public void incrementCacheNegative(String profileId) { }
+            @Override public void incrementCacheEviction(String profileId) { }
+            @Override public void incrementRateLimitRejected(String profileId, String route) { rejectedRoutes.add(route); }
+            @Override public void recordRateLimitWait(String profileId, long nanos) { waits.incrementAndGet(); }
+        };
+    }
+
+    @Test
+    void fail_fast_answers_with_the_problem_and_retries_do_not_spend_more_tokens() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HttpPort busy = request -> new HttpResponse(calls.incrementAndGet() == 1 ? 503 : 200, Map.of(), new byte[0]);
+        List<String> rejected = new CopyOnWriteArrayList<>();
+        RateLimitSpec spec = new RateLimitSpec(true, 0.001, 1, 0,
+                List.of(new RateLimitSpec.Route("/orders", 0.001, 1)), QUOTA);
+        AdapterProfile p = profile(spec);
+        AdapterFacade facade = new AdapterFacade(busy, new RuleEngine(), id -> Optional.of(p), null, new RetryGateway(), null,
+                new CircuitBreakerGateway(), null, new RateLimitGateway(metrics(rejected, new AtomicInteger())));
+
+        // First attempt takes the only token and gets a 503; its retry is refused and not retried again
+        Result r = facade.handleAsync("p", get("/items")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        Result.Failure f = assertInstanceOf(Result.Failure.class, r);
+        assertEquals(QUOTA, f.problem());
+        assertEquals(RateLimitedException.RULE_ID, f.ruleId());
+        assertEquals(1, calls.get());
+        assertEquals(List.of(""), rejected);
+
+        Result blocking = facade.handle("p", get("/orders/1"));
+        assertEquals(RateLimitedException.RULE_ID, assertInstanceOf(Result.Failure.class, blocking).ruleId());
+        assertEquals(List.of("", ""), rejected, "route token given back when the profile bucket is empty");
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void bounded_wait_delays_the_call_until_a_token_is_free() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HttpPort ok = request -> {
+            calls.incrementAndGet();
+            return new HttpResponse(200, Map.of(), new byte[0]);
+        };
+        AtomicInteger waits = new AtomicInteger();
+        List<String> rejected = new CopyOnWriteArrayList<>();
+        RateLimitSpec spec = new RateLimitSpec(true, 10, 1, 150, List.of(), QUOTA); // one token every 100 ms
+        AdapterProfile p = profile(spec);
+        AdapterFacade facade = new AdapterFacade(ok, new RuleEngine(), id -> Optional.of(p), null, null, null,
+                null, null, new RateLimitGateway(metrics(rejected, waits)));
+
+        long t0 = System.nanoTime();
+        var first = facade.handleAsync("p", get("/a"));
+        var second = facade.handleAsync("p", get("/a"));
+        Result third = facade.handleAsync("p", get("/a")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(RateLimitedException.RULE_ID, assertInstanceOf(Result.Failure.class, third).ruleId(), "200 ms is over max_wait_ms");
+
+        assertInstanceOf(Result.Success.class, first.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(Result.Success.class, second.toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0) >= 90, "second call waited for its token");
+        assertEquals(2, calls.get());
+        assertEquals(1, waits.get());
+        assertEquals(List.of(""), rejected);
+    }
+
+    @Test
+    void a_refused_route_names_the_profile_and_the_route() throws Exception {
+        HttpPort ok = request -> new HttpResponse(200, Map.of(), new byte[0]);
+        RateLimitSpec spec = new RateLimitSpec(true, 0, 1, 0,
+                List.of(new RateLimitSpec.Route("/orders", 0.001, 1)), QUOTA);
+        RateLimitGateway gateway = new RateLimitGateway(metrics(new CopyOnWriteArrayList<>(), new AtomicInteger()));
+        AdapterProfile p = profile(spec);
+
+        gateway.execute(p, get("/orders/1"), ok);
+        RateLimitedException e = assertThrows(RateLimitedException.class, () -> gateway.execute(p, get("/orders/2"), ok));
+        assertEquals("Rate limit reached: p:/orders", e.getMessage());
+    }
+
+    @Test
+    void an_attempt_cancelled_while_waiting_gives_its_token_back() throws Exception {
+        HttpPort ok = request -> new HttpResponse(200, Map.of(), new byte[0]);
+        RateLimitSpec spec = new RateLimitSpec(true, 10, 1, 150, List.of(), QUOTA); // one token every 100 ms
+        RateLimitGateway gateway = new RateLimitGateway(metrics(new CopyOnWriteArrayList<>(), new AtomicInteger()));
+        AdapterProfile p = profile(spec);
+
+        assertEquals(200, gateway.executeAsync(p, get("/a"), ok).toCompletableFuture().get(5, TimeUnit.SECONDS).statusCode());
+        var waiting = gateway.executeAsync(p, get("/a"), ok).toCompletableFuture(); // the token due in 100 ms
+        assertTrue(waiting.cancel(true));
+
+        // with the cancelled token back, the next one is again 100 ms away, within max_wait_ms;
+        // kept, it would be 200 ms away and refused
+        var next = gateway.executeAsync(p, get("/a"), ok).toCompletableFuture();
+        assertEquals(200, next.get(5, TimeUnit.SECONDS).statusCode());
+    }
+}
@@ -0,0 +1,108 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.CircuitBreakerGateway;
+import com.omniflow.ofkit.adapter.http.app.ConcurrencyLimitGateway;
+import com.omniflow.ofkit.adapter.http.app.RateLimitGateway;
+import com.omniflow.ofkit.adapter.http.app.RetryGateway;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine;
+import com.omniflow.ofkit.adapter.http.domain.rules.StatusPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.SuccessRule;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFacadeStreamingGuardsTest {
+    private static final HttpRequest GET = new HttpRequest("GET", URI.create("http://x/export"), Map.of(), null);
+    private static final Flow.Publisher<ByteBuffer> EMPTY = s -> s.onSubscribe(new Flow.Subscription() {
+        @Override public void request(long n) { s.onComplete(); }
+        @Override public void cancel() { }
+    });
+
+    /** Streams whose heads the test completes; the buffered path must not be used. */
+    static class PendingStreams implements HttpPort {
+        final List<CompletableFuture<StreamingResponse>> calls = new CopyOnWriteArrayList<>();
+        @Override public HttpResponse execute(HttpRequest request) { throw new AssertionError("buffered path used"); }
+        @Override public CompletionStage<HttpResponse> executeAsync(HttpRequest request) { throw new AssertionError("buffered path used"); }
+        @Override public CompletionStage<StreamingResponse> stream(HttpRequest request) {
+            CompletableFuture<StreamingResponse> f = new CompletableFuture<>();
+            calls.add(f);
+            return f;
+        }
+        void answer(int index, int status) {
+            calls.get(index).complete(new StreamingResponse(status, Map.of(), EMPTY));
+        }
+    }
+
+    private static AdapterFacade facade(HttpPort port, ResilienceSpec resilience) {
+        AdapterProfile p = new AdapterProfile("files", "http://x", List.of(new SuccessRule("ok", new StatusPredicate(200, 299), null)),
+                List.of(), ProblemDetails.of("about:blank", "Erreur", 502, ""), CachePolicy.disabled(), RetrySpec.disabled(),
+                HttpClientSpec.defaults(), new AuthSpec.None(), null, new StreamingSpec(true, false, 0, 0), resilience);
+        return new AdapterFacade(port, new RuleEngine(), id -> Optional.of(p), null, new RetryGateway(), null,
+                new CircuitBreakerGateway(), new ConcurrencyLimitGateway(), new RateLimitGateway());
+    }
+
+    private static Result result(CompletionStage<Result> r) throws Exception {
+        return r.toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void a_failed_stream_head_opens_the_circuit() throws Exception {
+        PendingStreams port = new PendingStreams();
+        CircuitBreakerSpec cb = new CircuitBreakerSpec(true, 1, 1, 100, 60_000, 1, false, null);
+        AdapterFacade facade = facade(port, new ResilienceSpec(cb, null, null, null));
+
+        CompletionStage<Result> first = facade.handleAsync("files", GET);
+        port.answer(0, 503);
+        assertInstanceOf(Result.Failure.class, result(first));
+
+        Result.Failure open = assertInstanceOf(Result.Failure.class, result(facade.handleAsync("files", GET)));
+        assertEquals("circuit-open", open.ruleId());
+        assertEquals(1, port.calls.size(), "fails fast without opening a stream");
+    }
+
+    @Test
+    void streams_waiting_for_their_head_count_against_the_concurrency_limit() throws Exception {
+        PendingStreams port = new PendingStreams();
+        ConcurrencyLimitSpec limit = new ConcurrencyLimitSpec(true, ConcurrencyLimitSpec.Algorithm.AIMD, 1, 1, 1, 0.9, 2.0, null);
+        AdapterFacade facade = facade(port, new ResilienceSpec(null, limit, null, null));
+
+        CompletionStage<Result> first = facade.handleAsync("files", GET);
+        Result.Failure over = assertInstanceOf(Result.Failure.class, result(facade.handleAsync("files", GET)));
+        assertEquals("concurrency-limit", over.ruleId());
+
+        port.answer(0, 200);
+        assertInstanceOf(Result.Streamed.class, result(first));
+        CompletionStage<Result> next = facade.handleAsync("files", GET);
+        assertEquals(2, port.calls.size(), "permit released once the head arrived");
+        port.answer(1, 200);
+        assertInstanceOf(Result.Streamed.class, result(next));
+    }
+
+    @Test
+    void each_stream_takes_a_rate_limit_token() throws Exception {
+        PendingStreams port = new PendingStreams();
+        RateLimitSpec rate = new RateLimitSpec(true, 0.001, 1, 0, List.of(), null);
+        AdapterFacade facade = facade(port, new ResilienceSpec(null, null, rate, null));
+
+        CompletionStage<Result> first = facade.handleAsync("files", GET);
+        Result.Failure limited = assertInstanceOf(Result.Failure.class, result(facade.handleAsync("files", GET)));
+        assertEquals("rate-limited", limited.ruleId());
+        assertEquals(1, port.calls.size());
+        port.answer(0, 200);
+        assertInstanceOf(Result.Streamed.class, result(first));
+    }
+}
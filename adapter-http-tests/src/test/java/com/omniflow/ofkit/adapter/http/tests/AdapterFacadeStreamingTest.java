@@ -0,0 +1,129 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.app.AdapterFacade;
+import com.omniflow.ofkit.adapter.http.app.CacheGateway;
+import com.omniflow.ofkit.adapter.http.app.RetryGateway;
+import com.omniflow.ofkit.adapter.http.domain.model.*;
+import com.omniflow.ofkit.adapter.http.domain.ports.HttpPort;
+import com.omniflow.ofkit.adapter.http.domain.rules.*;
+import com.omniflow.ofkit.adapter.http.infra.cache.InMemoryCacheStore;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFacadeStreamingTest {
+    private static final HttpRequest GET = new HttpRequest("GET", URI.create("http://x/export"), Map.of(), null);
+
+    /** Body publisher that records demand instead of producing data. */
+    static class RecordingBody implements Flow.Publisher<ByteBuffer> {
+        final AtomicLong requested = new AtomicLong();
+        int subscribers;
+        @Override public void subscribe(Flow.Subscriber<? super ByteBuffer> s) {
+            subscribers++;
+            s.onSubscribe(new Flow.Subscription() {
+                @Override public void request(long n) { requested.addAndGet(n); }
+                @Override public void cancel() { }
+            });
+        }
+    }
+
+    static class StreamingPort implements HttpPort {
+        final RecordingBody body = new RecordingBody();
+        final int status;
+        final Map<String, List<String>> headers;
+        StreamingPort(int status, Map<String, List<String>> headers) { this.status = status; this.headers = headers; }
+        @Override public HttpResponse execute(HttpRequest request) { throw new AssertionError("buffered path used"); }
+        @Override public CompletionStage<HttpResponse> executeAsync(HttpRequest request) { throw new AssertionError("buffered path used"); }
+        @Override public CompletionStage<StreamingResponse> stream(HttpRequest request) {
+            return CompletableFuture.completedFuture(new StreamingResponse(status, headers, body));
+        }
+    }
+
+    private static AdapterProfile profile(List<SuccessRule> success, List<ErrorRule> errors, CachePolicy cache) {
+        return new AdapterProfile("files", "http://x", success, errors, ProblemDetails.of("about:blank", "Erreur", 502, ""),
+                cache, new RetrySpec(true, 3, 0, 0, false, false, true), HttpClientSpec.defaults(), new AuthSpec.None(), true);
+    }
+
+    private static AdapterProfile headerRulesProfile() {
+        SuccessRule ok = new SuccessRule("csv", new AndPredicate(List.of(new StatusPredicate(200, 299),
+                new HeaderRegexPredicate("Content-Type", "^text/csv"))), null);
+        ErrorRule notFound = new ErrorRule("missing", new StatusPredicate(404, 404), ProblemDetails.of("about:blank", "Introuvable", 404, ""));
+        return profile(List.of(ok), List.of(notFound), CachePolicy.disabled());
+    }
+
+    @Test
+    void success_decided_on_head_hands_back_the_unread_body() throws Exception {
+        StreamingPort port = new StreamingPort(200, Map.of("content-type", List.of("text/csv")));
+        AdapterProfile p = headerRulesProfile();
+        AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), id -> Optional.of(p),
+                new CacheGateway(new InMemoryCacheStore()), new RetryGateway());
+
+        Result res = facade.handle("files", GET);
+
+        Result.Streamed s = assertInstanceOf(Result.Streamed.class, res);
+        assertEquals("csv", s.ruleId());
+        assertEquals(200, s.response().statusCode());
+        assertSame(port.body, s.response().body());
+        assertEquals(0, port.body.subscribers, "body left for the caller to stream");
+    }
+
+    @Test
+    void failure_discards_the_body_and_maps_the_problem() throws Exception {
+        StreamingPort port = new StreamingPort(404, Map.of());
+        AdapterProfile p = headerRulesProfile();
+        AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), id -> Optional.of(p));
+
+        Result res = facade.handle("files", GET);
+
+        Result.Failure f = assertInstanceOf(Result.Failure.class, res);
+        assertEquals("missing", f.ruleId());
+        assertEquals(1, port.body.subscribers);
+        assertEquals(Long.MAX_VALUE, port.body.requested.get(), "drained so the connection can be reused");
+    }
+
+    @Test
+    void buffering_ports_still_stream_through_the_default() throws Exception {
+        HttpPort port = request -> new HttpResponse(200, Map.of("Content-Type", List.of("text/csv")), "a,b\n".getBytes());
+        AdapterProfile p = headerRulesProfile();
+        AdapterFacade facade = new AdapterFacade(port, new RuleEngine(), id -> Optional.of(p));
+
+        Result.Streamed s = assertInstanceOf(Result.Streamed.class, facade.handle("files", GET));
+        List<ByteBuffer> chunks = new ArrayList<>();
+        s.response().body().subscribe(new Flow.Subscriber<>() {
+            @Override public void onSubscribe(Flow.Subscription sub) { sub.request(1); }
+            @Override public void onNext(ByteBuffer item) { chunks.add(item); }
+            @Override public void onError(Throwable t) { fail(t); }
+            @Override public void onComplete() { }
+        });
+        assertEquals(1, chunks.size());
+        assertEquals("a,b\n", StandardCharsets.UTF_8.decode(chunks.get(0)).toString());
+        assertTrue(chunks.get(0).isReadOnly());
+    }
+
+    @Test
+    void streaming_profiles_reject_body_rules_and_cache() {
+        SuccessRule bodyRule = new SuccessRule("ok", new BodyRegexPredicate("done"), null);
+        assertThrows(IllegalArgumentException.class, () -> profile(List.of(bodyRule), List.of(), CachePolicy.disabled()));
+        SuccessRule pick = new SuccessRule("ok", new StatusPredicate(200, 200), "/data");
+        assertThrows(IllegalArgumentException.class, () -> profile(List.of(pick), List.of(), CachePolicy.disabled()));
+        ErrorRule jsonError = new ErrorRule("e", JsonPointerPredicate.existsAt("/error"), ProblemDetails.of("about:blank", "t", 502, ""));
+        assertThrows(IllegalArgumentException.class, () -> profile(List.of(), List.of(jsonError), CachePolicy.disabled()));
+        CachePolicy cache = new CachePolicy(true, 60, 0, 0, true, true, List.of(), 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> profile(List.of(new SuccessRule("ok", new StatusPredicate(200, 200), null)), List.of(), cache));
+
+        assertFalse(headerRulesProfile().rules().needsBody());
+        assertTrue(CompiledRules.compile(List.of(bodyRule), List.of()).needsBody());
+    }
+}
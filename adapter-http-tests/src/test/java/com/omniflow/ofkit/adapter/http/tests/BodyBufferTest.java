@@ -0,0 +1,65 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.domain.model.BodyBuffer;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+import com.omniflow.ofkit.adapter.http.domain.model.Result;
+import com.omniflow.ofkit.adapter.http.domain.rules.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BodyBufferTest {
+
+    private static ByteBuffer direct(String s) {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocateDirect(b.length).put(b).flip();
+    }
+
+    @Test
+    void array_backed_body_is_never_copied() {
+        byte[] bytes = "abc".getBytes(StandardCharsets.UTF_8);
+        HttpResponse resp = new HttpResponse(200, Map.of(), bytes);
+        assertSame(bytes, resp.body());
+        assertSame(bytes, new ResponseContext(resp).body());
+        assertNull(new HttpResponse(204, Map.of(), (byte[]) null).payload());
+        assertSame(BodyBuffer.EMPTY, BodyBuffer.of(new byte[0]));
+    }
+
+    @Test
+    void buffer_view_is_read_only_and_shares_memory() {
+        ByteBuffer source = direct("xxhello");
+        source.position(2);
+        BodyBuffer body = BodyBuffer.of(source);
+
+        assertEquals(5, body.size());
+        assertEquals('h', body.get(0));
+        assertTrue(body.asByteBuffer().isReadOnly());
+        source.put(2, (byte) 'j');
+        assertEquals('j', body.get(0), "a view, not a copy");
+        assertEquals("jello", body.toString(StandardCharsets.UTF_8));
+        assertSame(body.bytes(), body.bytes(), "array form is copied at most once");
+    }
+
+    @Test
+    void predicates_read_a_buffer_body_and_success_passes_it_through() {
+        BodyBuffer body = BodyBuffer.of(direct("{\"status\":\"OK\",\"data\":{\"id\":7}}"));
+        HttpResponse resp = new HttpResponse(200, Map.of(), body);
+        RuleEngine engine = new RuleEngine();
+        ProblemDetails generic = ProblemDetails.of("about:blank", "t", 502, "");
+
+        SuccessRule ok = new SuccessRule("ok", new AndPredicate(List.of(new BodyRegexPredicate("\"status\":\"OK\""),
+                JsonPointerPredicate.equalsAt("/data/id", "7"))), null);
+        Result r = engine.evaluate(new ResponseContext(resp), List.of(ok), List.of(), generic);
+        assertSame(body, assertInstanceOf(Result.Success.class, r).response().payload());
+
+        SuccessRule pick = new SuccessRule("pick", new StatusPredicate(200, 200), "/data");
+        Result picked = engine.evaluate(new ResponseContext(resp), List.of(pick), List.of(), generic);
+        assertEquals("{\"id\":7}", new String(((Result.Success) picked).response().body(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+import com.omniflow.ofkit.adapter.http.domain.model.Result;
+import com.omniflow.ofkit.adapter.http.domain.rules.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledRulesTest {
+    private static final ProblemDetails GENERIC = ProblemDetails.of("about:blank", "generic", 502, "");
+
+    @Test
+    void compiled_evaluation_matches_linear_first_match() {
+        Random rnd = new Random(42);
+        RuleEngine engine = new RuleEngine();
+        List<HttpResponse> responses = new ArrayList<>();
+        for (int status : new int[]{99, 100, 200, 204, 299, 301, 404, 409, 429, 500, 503, 599, 600, 700}) {
+            responses.add(new HttpResponse(status, Map.of("X-Kind", List.of("a")), "{\"code\":\"E1\",\"data\":{\"id\":1}}".getBytes(StandardCharsets.UTF_8)));
+            responses.add(new HttpResponse(status, Map.of("x-kind", List.of("b")), "plain text E2".getBytes(StandardCharsets.UTF_8)));
+        }
+        for (int round = 0; round < 200; round++) {
+            List<SuccessRule> success = new ArrayList<>();
+            List<ErrorRule> errors = new ArrayList<>();
+            for (int i = rnd.nextInt(4); i > 0; i--) success.add(new SuccessRule("s" + success.size(), randomPredicate(rnd, 2), rnd.nextBoolean() ? "/data" : null));
+            for (int i = rnd.nextInt(8); i > 0; i--) errors.add(new ErrorRule("e" + errors.size(), randomPredicate(rnd, 2), ProblemDetails.of("about:blank", "e", 400 + errors.size(), "")));
+            CompiledRules compiled = CompiledRules.compile(success, errors);
+            for (HttpResponse resp : responses) {
+                Result expected = engine.evaluate(new ResponseContext(resp), success, errors, GENERIC);
+                Result actual = engine.evaluate(new ResponseContext(resp), compiled, GENERIC);
+                assertEquals(describe(expected), describe(actual), "round " + round + " status " + resp.statusCode());
+            }
+        }
+    }
+
+    @Test
+    void unconditional_success_skips_error_rules_and_cheap_checks_run_first() {
+        AtomicInteger errorChecks = new AtomicInteger();
+        AtomicInteger customChecks = new AtomicInteger();
+        ResponsePredicate countingError = ctx -> { errorChecks.incrementAndGet(); return false; };
+        ResponsePredicate custom = ctx -> { customChecks.incrementAndGet(); return true; };
+        List<SuccessRule> success = List.of(
+                new SuccessRule("flagged", new AndPredicate(List.of(custom, new HeaderRegexPredicate("X-Flag", "^on$"), new StatusPredicate(200, 299))), null),
+                new SuccessRule("ok", new StatusPredicate(200, 299), null));
+        List<ErrorRule> errors = List.of(new ErrorRule("any", countingError, GENERIC));
+        CompiledRules compiled = CompiledRules.compile(success, errors);
+        RuleEngine engine = new RuleEngine();
+
+        Result r = engine.evaluate(new ResponseContext(new HttpResponse(200, Map.of(), new byte[0])), compiled, GENERIC);
+        assertEquals("ok", ((Result.Success) r).ruleId());
+        assertEquals(0, customChecks.get(), "header check must short-circuit before the custom predicate");
+        assertEquals(0, errorChecks.get(), "error rules are not candidates once an unconditional success matches");
+
+        r = engine.evaluate(new ResponseContext(new HttpResponse(500, Map.of(), new byte[0])), compiled, GENERIC);
+        assertEquals("generic_problem", ((Result.Failure) r).ruleId());
+        assertEquals(1, errorChecks.get());
+    }
+
+    private static ResponsePredicate randomPredicate(Random rnd, int depth) {
+        int pick = rnd.nextInt(depth > 0 ? 7 : 6);
+        return switch (pick) {
+            case 0, 1 -> {
+                int lo = 100 * (1 + rnd.nextInt(6)) + (rnd.nextBoolean() ? 0 : rnd.nextInt(50));
+                yield new StatusPredicate(lo - (rnd.nextInt(10) == 0 ? 100 : 0), lo + rnd.nextInt(150));
+            }
+            case 2 -> new HeaderRegexPredicate("X-Kind", rnd.nextBoolean() ? "^a$" : "^b$");
+            case 3 -> rnd.nextBoolean() ? JsonPointerPredicate.equalsAt("/code", "E1") : JsonPointerPredicate.existsAt("/data/id");
+            case 4 -> new BodyRegexPredicate(rnd.nextBoolean() ? "E2" : "E\\d");
+            case 5 -> {
+                boolean v = rnd.nextBoolean();
+                yield ctx -> v;
+            }
+            default -> {
+                List<ResponsePredicate> parts = new ArrayList<>();
+                for (int i = 1 + rnd.nextInt(3); i > 0; i--) parts.add(randomPredicate(rnd, depth - 1));
+                yield new AndPredicate(parts);
+            }
+        };
+    }
+
+    private static String describe(Result r) {
+        if (r instanceof Result.Success s) {
+            return "S:" + s.ruleId() + ":" + new String(s.response().body(), StandardCharsets.UTF_8);
+        }
+        Result.Failure f = (Result.Failure) r;
+        return "F:" + f.ruleId() + ":" + f.problem().status() + ":" + f.problem().detail();
+    }
+}
@@ -0,0 +1,117 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.omniflow.ofkit.adapter.http.domain.model.BodyBuffer;
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+import com.omniflow.ofkit.adapter.http.domain.model.Result;
+import com.omniflow.ofkit.adapter.http.domain.rules.*;
+import com.omniflow.ofkit.adapter.http.infra.http.BrotliCoding;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentCodingTest {
+    static final String JSON = "{\"status\":\"OK\",\"data\":{\"id\":\"x\"}}";
+
+    static byte[] gzip(byte[] b) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream z = new GZIPOutputStream(out)) { z.write(b); }
+        return out.toByteArray();
+    }
+
+    static byte[] deflate(byte[] b, boolean raw) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream z = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) { z.write(b); }
+        return out.toByteArray();
+    }
+
+    static ResponseContext ctx(String encoding, byte[] body) {
+        return new ResponseContext(new HttpResponse(200, Map.of("content-encoding", List.of(encoding)), body));
+    }
+
+    @Test
+    void body_rules_see_the_decoded_body_and_the_payload_stays_encoded() throws Exception {
+        byte[] plain = JSON.getBytes(StandardCharsets.UTF_8);
+        for (ResponseContext ctx : List.of(ctx("gzip", gzip(plain)), ctx("deflate", deflate(plain, false)),
+                ctx("deflate", deflate(plain, true)), ctx("deflate, gzip", gzip(deflate(plain, false))))) {
+            assertTrue(new BodyRegexPredicate("\"status\":\"OK\"").test(ctx));
+            assertTrue(JsonPointerPredicate.equalsAt("/data/id", "x").test(ctx));
+            assertTrue(ctx.encoded());
+            assertNotEquals(JSON, new String(ctx.body(), StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    @Test
+    void decoding_stops_at_the_cap() throws Exception {
+        byte[] bomb = gzip(new byte[4 * 1024 * 1024]); // ~4 KB that inflates to 4 MB
+        Map<String, List<String>> headers = Map.of("Content-Encoding", List.of("gzip"));
+
+        assertThrows(DecodedBodyTooLargeException.class, () -> ContentCoding.decode(headers, BodyBuffer.of(bomb), 64 * 1024));
+        assertEquals(4 * 1024 * 1024, ContentCoding.decode(headers, BodyBuffer.of(bomb), 4 * 1024 * 1024).size(), "exactly at the cap is fine");
+
+        ResponseContext ctx = new ResponseContext(new HttpResponse(200, headers, bomb), 64 * 1024);
+        assertNull(ctx.decodedPayload(), "over the cap counts as undecodable");
+        assertFalse(new BodyRegexPredicate(".*").test(ctx));
+    }
+
+    @Test
+    void brotli_is_decoded_once_registered() throws Exception {
+        Assumptions.assumeTrue(BrotliCoding.install(), "native brotli not available on this platform");
+        byte[] br = Encoder.compress(JSON.getBytes(StandardCharsets.UTF_8));
+        assertTrue(JsonPointerPredicate.equalsAt("/status", "OK").test(ctx("br", br)));
+        assertTrue(ContentCoding.acceptEncoding().contains("br"));
+    }
+
+    @Test
+    void undecodable_body_matches_no_body_rule() {
+        ResponseContext corrupt = ctx("gzip", "not gzip".getBytes(StandardCharsets.UTF_8));
+        assertFalse(new BodyRegexPredicate(".*").test(corrupt));
+        assertNull(corrupt.json(JsonPointer.compile("/status")));
+        assertNull(ctx("compress", new byte[] {1, 2}).bodyText());
+    }
+
+    @Test
+    void pick_returns_plain_json_without_the_coding_headers() throws Exception {
+        byte[] body = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+        HttpResponse resp = new HttpResponse(200, Map.of("Content-Encoding", List.of("gzip"),
+                "Content-Length", List.of(Integer.toString(body.length)), "Content-Type", List.of("application/json")), body);
+        SuccessRule pick = new SuccessRule("pick", new StatusPredicate(200, 200), "/data");
+        Result r = new RuleEngine().evaluate(new ResponseContext(resp), List.of(pick), List.of(), ProblemDetails.of("about:blank", "t", 502, ""));
+
+        HttpResponse out = ((Result.Success) r).response();
+        assertEquals("{\"id\":\"x\"}", new String(out.body(), StandardCharsets.UTF_8));
+        assertTrue(ContentCoding.codings(out.headers()).isEmpty());
+        assertFalse(out.headers().containsKey("Content-Length"));
+        assertEquals(List.of("application/json"), out.headers().get("Content-Type"));
+    }
+
+    @Test
+    void accept_encoding_negotiation() {
+        Map<String, List<String>> gz = Map.of("Content-Encoding", List.of("gzip"));
+        assertTrue(ContentCoding.accepted(Map.of("accept-encoding", List.of("gzip, deflate")), gz));
+        assertTrue(ContentCoding.accepted(Map.of("Accept-Encoding", List.of("br;q=1.0, *;q=0.1")), gz));
+        assertFalse(ContentCoding.accepted(Map.of("Accept-Encoding", List.of("gzip;q=0, *")), gz));
+        assertFalse(ContentCoding.accepted(Map.of("Accept-Encoding", List.of("identity")), gz));
+        assertFalse(ContentCoding.accepted(Map.of(), gz));
+        assertTrue(ContentCoding.accepted(Map.of(), Map.of("Content-Encoding", List.of("identity"))));
+        assertEquals(List.of("deflate", "gzip"), ContentCoding.codings(Map.of("Content-Encoding", List.of("deflate, GZIP"))));
+    }
+
+    @Test
+    void decode_reads_a_buffer_body_in_place() throws Exception {
+        byte[] gz = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+        BodyBuffer direct = BodyBuffer.of(java.nio.ByteBuffer.allocateDirect(gz.length).put(gz).flip());
+        assertEquals(JSON, ContentCoding.decode(Map.of("Content-Encoding", List.of("gzip")), direct).toString(StandardCharsets.UTF_8));
+        assertSame(direct, ContentCoding.decode(Map.of(), direct));
+    }
+}
@@ -0,0 +1,108 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omniflow.ofkit.adapter.http.domain.rules.JsonPointer;
+import com.omniflow.ofkit.adapter.http.domain.rules.JsonPointerEvaluator;
+import com.omniflow.ofkit.adapter.http.domain.rules.JsonSlice;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPointerEvaluatorTest {
+    private static final ObjectMapper OM = new ObjectMapper();
+    private static final String BODY = """
+            \uFEFF{ "status" : "OK",
+              "n": { "i": -42, "big": 123456789012345678901, "d": 1.50, "e": 1e2, "z": -0 },
+              "flags": [true, false, null],
+              "esc": "a\\"b\\\\c\\u00e9\\n\\ud83d\\ude00",
+              "a/b": { "m~n": "slash-tilde" },
+              "arr": [ {"id": "x"}, {"id": "y", "tags": ["t1", "t2"]} ],
+              "data": { "id": "acc-1", "nested": { "s": "with \\"quote\\" and ] } braces" }, "list": [1, 2.0, "3"] },
+              "empty": {}, "emptyArr": []
+            }""";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "/status", "/n/i", "/n/big", "/n/d", "/n/e", "/n/z", "/flags/0", "/flags/1", "/flags/2",
+            "/esc", "/a~1b/m~0n", "/arr/1/tags/1", "/arr/1", "/arr/01", "/arr/2", "/arr/-", "/data", "/data/nested/s",
+            "/data/list", "/missing", "/status/x", "/empty", "/emptyArr", "/emptyArr/0", "/empty/x"})
+    void matches_jackson_semantics(String ptr) throws Exception {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        JsonNode expected = OM.readTree(body).at(ptr);
+        JsonSlice actual = JsonPointerEvaluator.resolve(body, JsonPointer.compile(ptr));
+        if (expected.isMissingNode()) {
+            assertNull(actual, ptr);
+            return;
+        }
+        assertNotNull(actual, ptr);
+        assertEquals(expected.asText(), actual.asText(), ptr);
+        assertEquals(expected.toString(), new String(actual.toJson(), StandardCharsets.UTF_8), ptr);
+    }
+
+    @Test
+    void malformed_or_non_json_bodies_resolve_to_null() {
+        JsonPointer p = JsonPointer.compile("/a/b");
+        assertNull(JsonPointerEvaluator.resolve("<html>".getBytes(StandardCharsets.UTF_8), p));
+        assertNull(JsonPointerEvaluator.resolve("{\"a\":{\"b\"".getBytes(StandardCharsets.UTF_8), p));
+        assertNull(JsonPointerEvaluator.resolve(new byte[0], p));
+        assertNull(JsonPointerEvaluator.resolve(null, p));
+        assertNull(JsonPointerEvaluator.resolve("{\"a\":1}".getBytes(StandardCharsets.UTF_8), JsonPointer.compile("a")));
+    }
+
+    @Test
+    void a_malformed_tail_fails_the_lookup_even_past_the_target() {
+        byte[] body = "{\"a\":\"hit\", \"b\": <<<garbage".getBytes(StandardCharsets.UTF_8);
+        assertNull(JsonPointerEvaluator.resolve(body, JsonPointer.compile("/a")));
+    }
+
+    @Test
+    void the_last_of_duplicate_keys_wins() {
+        byte[] body = "{\"a\":{\"b\":1},\"s\":\"first\",\"a\":{\"c\":2},\"s\":\"last\"}".getBytes(StandardCharsets.UTF_8);
+        assertEquals("last", JsonPointerEvaluator.resolve(body, JsonPointer.compile("/s")).asText());
+        assertNull(JsonPointerEvaluator.resolve(body, JsonPointer.compile("/a/b")), "replaced by the later /a");
+        assertEquals("2", JsonPointerEvaluator.resolve(body, JsonPointer.compile("/a/c")).asText());
+    }
+
+    /** Each body against {@code /a/0/b}: resolved exactly when Jackson's readTree parses it, to the same value. */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"a\":[{\"b\":\"x\"}],\"a\":[{\"b\":\"y\"}]}",
+            "{\"a\":[{\"b\":\"x\"}]",
+            "{\"a\":[{\"b\":\"x\"}],\"c\":[1,2",
+            "{\"a\":[{\"b\":\"x\"}],\"c\":\"open",
+            "{\"a\":[{\"b\":\"x\"}],}",
+            "{\"a\":[{\"b\":\"x\"}],\"c\":01}",
+            "{\"a\":[{\"b\":\"x\"}],\"c\":tru}",
+            "{\"a\":[{\"b\":\"x\"}],\"c\":1.}",
+            "{\"a\":[{\"b\":\"x\"}],\"c\":\"bad \\q escape\"}",
+            "{\"a\":[{\"b\":\"x\"}],\"c\":\"tab\there\"}",
+            "{\"a\":[{\"b\":\"x\"}] \"c\":1}",
+            "{\"a\":[{\"b\":\"x\"}]} trailing ignored",
+            "{\"a\":[{\"b\":-0.5e+3}]}",
+            "[1]"})
+    void validity_and_duplicates_match_jackson(String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        JsonPointer p = JsonPointer.compile("/a/0/b");
+        String expected;
+        try {
+            JsonNode n = OM.readTree(body).at("/a/0/b");
+            expected = n.isMissingNode() ? null : n.toString();
+        } catch (Exception malformed) {
+            expected = null;
+        }
+        JsonSlice actual = JsonPointerEvaluator.resolve(body, p);
+        assertEquals(expected, actual == null ? null : new String(actual.toJson(), StandardCharsets.UTF_8), json);
+    }
+
+    @Test
+    void invalid_utf8_and_excessive_nesting_are_malformed() {
+        byte[] badUtf8 = {'{', '"', 'a', '"', ':', '"', (byte) 0xC3, '"', '}'};
+        assertNull(JsonPointerEvaluator.resolve(badUtf8, JsonPointer.compile("/a")));
+        String deep = "{\"a\":1,\"d\":" + "[".repeat(1200) + "]".repeat(1200) + "}";
+        assertNull(JsonPointerEvaluator.resolve(deep.getBytes(StandardCharsets.UTF_8), JsonPointer.compile("/a")));
+    }
+}
@@ -0,0 +1,114 @@
+package com.omniflow.ofkit.adapter.http.tests;
+
+import com.omniflow.ofkit.adapter.http.domain.model.HttpResponse;
+import com.omniflow.ofkit.adapter.http.domain.model.ProblemDetails;
+import com.omniflow.ofkit.adapter.http.domain.model.Result;
+import com.omniflow.ofkit.adapter.http.domain.rules.AndPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.JsonPointer;
+import com.omniflow.ofkit.adapter.http.domain.rules.JsonPointerEvaluator;
+import com.omniflow.ofkit.adapter.http.domain.rules.JsonPointerPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.JsonSlice;
+import com.omniflow.ofkit.adapter.http.domain.rules.ResponseContext;
+import com.omniflow.ofkit.adapter.http.domain.rules.RuleEngine;
+import com.omniflow.ofkit.adapter.http.domain.rules.StatusPredicate;
+import com.omniflow.ofkit.adapter.http.domain.rules.SuccessRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseContextTest {
+    private static final List<String> POINTERS = List.of("", "/status", "/data", "/data/id", "/data/list/1",
+            "/data/list/3", "/arr/1/tags/0", "/arr/0/id", "/arr/1/id", "/dup", "/missing", "/status/x", "/arr/-", "/esc");
+
+    @Test
+    void body_text_is_decoded_once() {
+        ResponseContext ctx = new ResponseContext(new HttpResponse(200, Map.of(), "héllo".getBytes(StandardCharsets.UTF_8)));
+        CharSequence first = ctx.bodyText();
+        assertEquals("héllo", first.toString());
+        assertSame(first, ctx.bodyText());
+        assertSame(first, ctx.bodyAsString());
+        assertNull(new ResponseContext(new HttpResponse(200, Map.of(), (byte[]) null)).bodyText());
+    }
+
+    @Test
+    void header_lookup_prefers_exact_name_then_ignores_case() {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        headers.put("x-flag", List.of("lower"));
+        headers.put("X-Flag", List.of("exact"));
+        headers.put("Content-Type", List.of("application/json"));
+        ResponseContext ctx = new ResponseContext(new HttpResponse(200, headers, new byte[0]));
+        assertEquals(List.of("exact"), ctx.header("X-Flag"));
+        assertEquals(List.of("lower"), ctx.header("X-FLAG"));
+        assertEquals(List.of("application/json"), ctx.header("content-type"));
+        assertNull(ctx.header("missing"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"status\":\"OK\",\"dup\":1,\"dup\":2,\"esc\":\"a\\u00e9\",\"arr\":[{\"id\":\"x\"},{\"id\":\"y\",\"tags\":[\"t1\"]}],"
+                    + "\"data\":{\"id\":\"acc-1\",\"list\":[1, 2.0, \"3\"]}}",
+            "[1, 2, 3]",
+            "{\"status\":\"OK\",\"data\":{\"id\":\"acc-1\", \"list\": [1, <<<garbage",
+            "{\"arr\":[{\"id\":\"x\"},{\"id\":",
+            "<html>not json</html>",
+            ""})
+    void memoized_lookups_agree_with_streaming_evaluator_in_any_order(String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        List<String> reversed = new ArrayList<>(POINTERS);
+        Collections.reverse(reversed);
+        for (List<String> order : List.of(POINTERS, reversed)) {
+            ResponseContext ctx = new ResponseContext(new HttpResponse(200, Map.of(), body));
+            for (int pass = 0; pass < 2; pass++) {
+                for (String ptr : order) {
+                    JsonPointer p = JsonPointer.compile(ptr);
+                    JsonSlice expected = JsonPointerEvaluator.resolve(body, p);
+                    JsonSlice actual = ctx.json(p);
+                    if (expected == null) {
+                        assertNull(actual, ptr);
+                    } else {
+                        assertNotNull(actual, ptr);
+                        assertEquals(expected.asText(), actual.asText(), ptr);
+                        assertArrayEquals(expected.toJson(), actual.toJson(), ptr);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void a_truncated_body_matches_no_json_pointer_rule() {
+        byte[] truncated = "{\"status\":\"OK\",\"data\":{\"id\":\"acc-1\",\"list\":[1,".getBytes(StandardCharsets.UTF_8);
+        SuccessRule ok = new SuccessRule("ok", new AndPredicate(List.of(new StatusPredicate(200, 299),
+                JsonPointerPredicate.equalsAt("/status", "OK"))), null);
+        ProblemDetails generic = ProblemDetails.of("about:blank", "Erreur", 502, "");
+        Result r = new RuleEngine().evaluate(new ResponseContext(new HttpResponse(200, Map.of(), truncated)), List.of(ok), List.of(), generic);
+        assertInstanceOf(Result.Failure.class, r, "the target lies before the cut, but the document is invalid");
+        assertNull(new ResponseContext(new HttpResponse(200, Map.of(), truncated)).json(JsonPointer.compile("/status")));
+    }
+
+    @Test
+    void the_memoized_tree_keeps_the_last_of_duplicate_keys() {
+        ResponseContext ctx = new ResponseContext(new HttpResponse(200, Map.of(),
+                "{\"a\":{\"b\":1},\"a\":{\"c\":2}}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("2", ctx.json(JsonPointer.compile("/a/c")).asText());
+        assertNull(ctx.json(JsonPointer.compile("/a/b")));
+    }
+
+    @Test
+    void repeated_pointer_returns_the_memoized_slice() {
+        ResponseContext ctx = new ResponseContext(new HttpResponse(200, Map.of(),
+                "{\"a\":{\"b\":[10,20]}}".getBytes(StandardCharsets.UTF_8)));
+        JsonSlice first = ctx.json(JsonPointer.compile("/a/b/1"));
+        assertEquals("20", first.asText());
+        assertSame(first, ctx.json(JsonPointer.compile("/a/b/1")));
+    }
+}